@@ -0,0 +1,68 @@
+package com.example.store.component.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link TokenBucket#tryAcquire()} with 1,000 keys hammered from many threads through a bounded
+ * Caffeine map, the way the rate-limit filter looks buckets up. {@code admit} refills fast enough that most calls
+ * succeed; {@code reject} drains its buckets first, so the measured path is the exhausted one a flood of requests
+ * takes. Both include the CAS retries of contended keys. Run with
+ * {@code ./gradlew jmh -PjmhArgs="TokenBucketContention"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class TokenBucketContentionBenchmark {
+    private static final int KEYS = 1_000;
+
+    private Cache<Integer, TokenBucket> admitting;
+    private Cache<Integer, TokenBucket> rejecting;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        admitting = Caffeine.newBuilder().maximumSize(KEYS * 2L).build();
+        rejecting = Caffeine.newBuilder().maximumSize(KEYS * 2L).build();
+        for (int key = 0; key < KEYS; key++) {
+            admitting.put(key, new TokenBucket(TokenBucket.MAX_CAPACITY, 100_000));
+            final TokenBucket drained = new TokenBucket(100, 1);
+            while (drained.tryAcquire()) {
+                // Drain, so every measured call is rejected
+            }
+            rejecting.put(key, drained);
+        }
+    }
+
+    @Benchmark
+    public boolean admit() {
+        return bucket(admitting).tryAcquire();
+    }
+
+    @Benchmark
+    public boolean reject() {
+        return bucket(rejecting).tryAcquire();
+    }
+
+    private static TokenBucket bucket(final Cache<Integer, TokenBucket> buckets) {
+        return buckets.getIfPresent(ThreadLocalRandom.current().nextInt(KEYS));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.store.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a cache built by {@link CacheConfig}, through Spring's {@link Cache} abstraction as
+ * {@code @Cacheable} uses it. {@code hit} reads a working set that fits the configured maximum size; {@code churn}
+ * reads and fills a key space four times larger, so eviction runs on the measured path. Both run on four threads to
+ * include contention. Run with {@code ./gradlew jmh -PjmhArgs="CacheConfig"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class CacheConfigBenchmark {
+    private static final int MAXIMUM_SIZE = 500;
+
+    private Cache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new CacheConfig().cacheManager().getCache("benchmark");
+        for (long key = 0; key < MAXIMUM_SIZE / 2; key++) {
+            cache.put(key, "value-" + key);
+        }
+    }
+
+    @Benchmark
+    public Object hit() {
+        return cache.get(ThreadLocalRandom.current().nextLong(MAXIMUM_SIZE / 2));
+    }
+
+    @Benchmark
+    public Object churn() {
+        final long key = ThreadLocalRandom.current().nextLong(MAXIMUM_SIZE * 4L);
+        final Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        cache.put(key, "value-" + key);
+        return null;
+    }
+}
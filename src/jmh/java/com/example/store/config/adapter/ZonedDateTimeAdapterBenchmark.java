@@ -0,0 +1,81 @@
+package com.example.store.config.adapter;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ZonedDateTimeBiSerializer} with {@link ZonedDateTimeTypeAdapter} on a DTO-shaped object carrying
+ * {@code created}/{@code updated} timestamps. Run with {@code ./gradlew jmh -PjmhArgs="ZonedDateTimeAdapter -prof gc"}
+ * to see the allocation rate next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZonedDateTimeAdapterBenchmark {
+
+    @Param({"UTC", "Europe/Amsterdam"})
+    private String zone;
+
+    private Gson biSerializerGson;
+    private Gson typeAdapterGson;
+    private Stamped stamped;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        biSerializerGson = new GsonBuilder()
+                .registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeBiSerializer())
+                .create();
+        typeAdapterGson = new GsonBuilder()
+                .registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeTypeAdapter())
+                .create();
+
+        final ZonedDateTime created = ZonedDateTime.of(2024, 3, 14, 9, 26, 53, 589_793_000, ZoneId.of(zone));
+        stamped = new Stamped(created, created.plusMinutes(42));
+        json = typeAdapterGson.toJson(stamped);
+    }
+
+    @Benchmark
+    public String serializeBiSerializer() {
+        return biSerializerGson.toJson(stamped);
+    }
+
+    @Benchmark
+    public String serializeTypeAdapter() {
+        return typeAdapterGson.toJson(stamped);
+    }
+
+    @Benchmark
+    public Stamped deserializeBiSerializer() {
+        return biSerializerGson.fromJson(json, Stamped.class);
+    }
+
+    @Benchmark
+    public Stamped deserializeTypeAdapter() {
+        return typeAdapterGson.fromJson(json, Stamped.class);
+    }
+
+    /**
+     * Plain holder without {@code @JsonAdapter}, so each Gson instance uses its registered adapter.
+     */
+    public record Stamped(ZonedDateTime created, ZonedDateTime updated) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode cost of a list page of orders or products as JSON, gzipped JSON and CBOR, through the same
+ * {@link DtoCodec}s the HTTP converters use. Payload sizes are printed once per trial, since JMH only measures time.
+ * Run with {@code ./gradlew jmh -PjmhArgs="PayloadFormat -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder().build();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
+    @Param({"30", "1000"})
+    private int pageSize;
+
+    @Param({"orders", "products"})
+    private String resource;
+
+    @Param({"json", "json-gzip", "cbor"})
+    private String format;
+
+    private DtoCodec<Object> codec;
+    private List<Object> page;
+    private byte[] encoded;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        final boolean orders = "orders".equals(resource);
+        codec = (DtoCodec<Object>) (orders ? new OrderDTOCodec() : new ProductDTOCodec());
+        page = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            page.add(orders ? order(i) : product(i));
+        }
+
+        buffer = new ByteArrayOutputStream(pageSize * 256);
+        encoded = encode();
+        System.out.printf("%n%s x %d as %s: %d bytes%n", resource, pageSize, format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        buffer.reset();
+        try (OutputStream out = wrap(buffer);
+             JsonGenerator generator = factory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartArray(page, page.size());
+            for (final Object value : page) {
+                codec.write(generator, value);
+            }
+            generator.writeEndArray();
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public List<Object> decode() throws IOException {
+        final List<Object> values = new ArrayList<>(pageSize);
+        try (InputStream in = unwrap(encoded); JsonParser parser = factory().createParser(in)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                values.add(codec.read(parser));
+            }
+        }
+        return values;
+    }
+
+    private JsonFactory factory() {
+        return "cbor".equals(format) ? CBOR_FACTORY : JSON_FACTORY;
+    }
+
+    private OutputStream wrap(final OutputStream out) throws IOException {
+        return "json-gzip".equals(format) ? new GZIPOutputStream(out) : out;
+    }
+
+    private InputStream unwrap(final byte[] bytes) throws IOException {
+        final InputStream in = new ByteArrayInputStream(bytes);
+        return "json-gzip".equals(format) ? new GZIPInputStream(in) : in;
+    }
+
+    private static OrderDTO order(final int i) {
+        final OrderDTO order = new OrderDTO();
+        order.setId((long) i);
+        order.setDescription("Order " + i + " for the spring catalogue");
+        order.setCustomerId((long) (i % 97) + 1);
+        order.setProductIds(Set.of((long) i, (long) i + 1, (long) i + 2));
+        order.setCreated(ZonedDateTime.of(2024, 3, 14, 9, 26, 53, 589_000_000, ZoneOffset.UTC).plusMinutes(i));
+        return order;
+    }
+
+    private static ProductDTO product(final int i) {
+        final ProductDTO product = new ProductDTO();
+        product.setId((long) i);
+        product.setDescription("Product " + i + " with a typical catalogue description");
+        product.setSku(UUID.nameUUIDFromBytes(Integer.toString(i).getBytes()));
+        product.setOrderIds(Set.of((long) i, (long) i * 2));
+        product.setCreated(ZonedDateTime.of(2024, 3, 14, 9, 26, 53, 589_000_000, ZoneOffset.UTC).plusMinutes(i));
+        return product;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.store.controller.handler;
+
+import com.example.store.config.i18n.MessageCatalog;
+import com.example.store.dto.error.ViolationDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.validation.FieldError;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the violations of a registration body that fails every constraint, as a bot posting bad bodies would
+ * cause, through the {@link MessageCatalog} and, for comparison, through the
+ * {@link ReloadableResourceBundleMessageSource} it replaced. Run with
+ * {@code ./gradlew jmh -PjmhArgs="FieldErrorExtractor"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldErrorExtractorBenchmark {
+
+    @Param({"catalog", "reloadable"})
+    private String messageSource;
+
+    private FieldErrorExtractor extractor;
+    private List<FieldError> fieldErrors;
+
+    @Setup
+    public void setUp() {
+        extractor = new FieldErrorExtractor(createMessageSource());
+        fieldErrors = List.of(
+                fieldError("firstName", "", "auth.400.003"),
+                fieldError("lastName", "", "auth.400.004"),
+                fieldError("email", "not-an-email", "auth.400.000"),
+                fieldError("password", "short", "auth.400.005", 2147483647, 8),
+                fieldError("name", "x".repeat(300), "customer.400.001", 225, 0));
+    }
+
+    @Benchmark
+    public List<ViolationDTO> extract() {
+        return extractor.extractErrorObjects(fieldErrors);
+    }
+
+    private MessageSource createMessageSource() {
+        if ("catalog".equals(messageSource)) {
+            return new MessageCatalog("i18n/messages", Duration.ZERO);
+        }
+        final ReloadableResourceBundleMessageSource reloadable = new ReloadableResourceBundleMessageSource();
+        reloadable.setBasename("classpath:i18n/messages");
+        reloadable.setDefaultEncoding("UTF-8");
+        reloadable.setCacheSeconds(3600);
+        return reloadable;
+    }
+
+    /**
+     * Shaped like the errors Spring's validator adapter produces: the field itself as the first argument, followed
+     * by the constraint attributes.
+     */
+    private static FieldError fieldError(final String field, final Object rejected, final String key,
+                                         final Object... attributes) {
+        final Object[] arguments = new Object[attributes.length + 1];
+        arguments[0] = new DefaultMessageSourceResolvable(new String[]{"regReqDTO." + field, field}, field);
+        System.arraycopy(attributes, 0, arguments, 1, attributes.length);
+        return new FieldError("regReqDTO", field, rejected, false, new String[]{key}, arguments, key);
+    }
+}
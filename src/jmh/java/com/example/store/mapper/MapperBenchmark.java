@@ -0,0 +1,127 @@
+package com.example.store.mapper;
+
+import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
+import com.example.store.persistence.entity.AbstractSuperEntity;
+import com.example.store.persistence.entity.Customer;
+import com.example.store.persistence.entity.Order;
+import com.example.store.persistence.entity.Product;
+import com.example.store.persistence.entity.ProductOrder;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping of a default list page through the generated MapStruct mappers, with id sets the size of a
+ * typical, a busy and an outlier association. Entities are detached, so this measures mapping and id collection
+ * only, not lazy loading. Run with {@code ./gradlew jmh -PjmhArgs="MapperBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private static final int PAGE_SIZE = 30;
+    private static final ZonedDateTime CREATED = ZonedDateTime.of(2024, 3, 14, 9, 26, 53, 0, ZoneOffset.UTC);
+
+    @Param({"3", "30", "300"})
+    private int idSetSize;
+
+    private final CustomerMapper customerMapper = Mappers.getMapper(CustomerMapper.class);
+    private final OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+    private final ProductMapper productMapper = Mappers.getMapper(ProductMapper.class);
+
+    private List<Customer> customers;
+    private List<Order> orders;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        customers = new ArrayList<>(PAGE_SIZE);
+        orders = new ArrayList<>(PAGE_SIZE);
+        products = new ArrayList<>(PAGE_SIZE);
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            final Customer customer = stamp(new Customer(), i);
+            customer.setName("Customer " + i);
+            final Set<Order> customerOrders = new HashSet<>();
+            for (long j = 0; j < idSetSize; j++) {
+                customerOrders.add(stamp(new Order(), i * 1_000 + j));
+            }
+            customer.setOrders(customerOrders);
+            customers.add(customer);
+
+            final Order order = stamp(new Order(), i);
+            order.setDescription("Order " + i + " for the spring catalogue");
+            order.setCustomer(customer);
+            final List<ProductOrder> lines = new ArrayList<>(idSetSize);
+            for (long j = 0; j < idSetSize; j++) {
+                lines.add(line(order, stamp(new Product(), i * 1_000 + j)));
+            }
+            order.setProducts(lines);
+            orders.add(order);
+
+            final Product product = stamp(new Product(), i);
+            product.setDescription("Product " + i + " with a typical catalogue description");
+            product.setSku(UUID.nameUUIDFromBytes(Long.toString(i).getBytes()));
+            final List<ProductOrder> productLines = new ArrayList<>(idSetSize);
+            for (long j = 0; j < idSetSize; j++) {
+                productLines.add(line(stamp(new Order(), i * 1_000 + j), product));
+            }
+            product.setOrders(productLines);
+            products.add(product);
+        }
+    }
+
+    @Benchmark
+    public List<CustomerDTO> customersToDTOs() {
+        return customerMapper.toCustomerDTOs(customers);
+    }
+
+    @Benchmark
+    public List<OrderDTO> ordersToDTOs() {
+        return orderMapper.ordersToOrderDTOs(orders);
+    }
+
+    @Benchmark
+    public List<ProductDTO> productsToDTOs() {
+        return productMapper.toProductDTOList(products);
+    }
+
+    private static <T extends AbstractSuperEntity> T stamp(final T entity, final long id) {
+        entity.setId(id);
+        entity.setCreated(CREATED);
+        entity.setUpdated(CREATED);
+        return entity;
+    }
+
+    private static ProductOrder line(final Order order, final Product product) {
+        final ProductOrder line = new ProductOrder();
+        line.setOrder(order);
+        line.setProduct(product);
+        line.setQuantity(1);
+        line.setPrice(BigDecimal.TEN);
+        return line;
+    }
+}
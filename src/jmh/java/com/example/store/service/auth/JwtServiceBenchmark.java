@@ -0,0 +1,73 @@
+package com.example.store.service.auth;
+
+import com.example.store.config.security.JwtProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and checking tokens, as paid on every login, refresh and authenticated request. Verification runs
+ * the same parse the JWT filter does per request. Run with {@code ./gradlew jmh -PjmhArgs="JwtService"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private UserDetails user;
+    private UUID familyId;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        final JwtProperties properties = new JwtProperties();
+        properties.setSecretKey(SECRET_KEY);
+        properties.setExpiration(TimeUnit.HOURS.toMillis(12));
+        properties.setRefreshExpiration(TimeUnit.DAYS.toMillis(3));
+        jwtService = new JwtService(properties);
+
+        user = User.withUsername("jane.doe@example.com")
+                .password("{noop}unused")
+                .authorities("USER")
+                .build();
+        familyId = UUID.randomUUID();
+        accessToken = jwtService.generateAccessToken(user, familyId);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user, familyId);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtService.generateRefreshToken(user, UUID.randomUUID(), familyId);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(accessToken);
+    }
+
+    @Benchmark
+    public Boolean isTokenValid() {
+        return jwtService.isTokenValid(accessToken, user);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.store.util;
+
+import com.example.store.dto.SortEnumDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning list query parameters into a {@link Pageable}, with every parameter defaulted and with
+ * every parameter given. Run with {@code ./gradlew jmh -PjmhArgs="PageableBuilder"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageableBuilderBenchmark {
+    private final PageableBuilder pageableBuilder = new PageableBuilder();
+
+    @Benchmark
+    public Pageable defaults() {
+        return pageableBuilder.buildPageable(null, null, null, null, 30, "id", "asc");
+    }
+
+    @Benchmark
+    public Pageable explicit() {
+        return pageableBuilder.buildPageable(3, 50, "name", SortEnumDTO.desc, 30, "id", "asc");
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.store.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation HdrHistograms of the measured requests, in microseconds.
+ * <p>
+ * Two latencies are kept. <em>Response time</em> runs from when the request was due under the arrival schedule, so a
+ * server that stalls is charged for the requests queued behind the stall instead of hiding them (coordinated
+ * omission). <em>Service time</em> runs from when the request was actually sent.
+ */
+public final class LatencyRecorder {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    public LatencyRecorder() {
+        for (final Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public void recordResponse(final Operation operation, final int status, final long dueNanos, final long sentNanos,
+                               final long doneNanos) {
+        final Stats s = stats.get(operation);
+        s.responseTime.recordValue(toMicros(doneNanos - dueNanos));
+        s.serviceTime.recordValue(toMicros(doneNanos - sentNanos));
+        s.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * A request that got no HTTP response, e.g. a timeout or a refused connection.
+     */
+    public void recordFailure(final Operation operation, final Throwable failure) {
+        stats.get(operation).failures.computeIfAbsent(failure.getClass().getSimpleName(), key -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * A request that was due but not sent because {@code maxInFlight} requests were already outstanding.
+     */
+    public void recordDropped(final Operation operation) {
+        stats.get(operation).dropped.increment();
+    }
+
+    public Map<Operation, Stats> stats() {
+        return stats;
+    }
+
+    /**
+     * All operations' response times merged.
+     */
+    public Histogram totalResponseTime() {
+        final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        stats.values().forEach(s -> total.add(s.responseTime));
+        return total;
+    }
+
+    private static long toMicros(final long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public static final class Stats {
+        private final ConcurrentHistogram responseTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final ConcurrentHistogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+
+        public Histogram responseTime() {
+            return responseTime;
+        }
+
+        public Histogram serviceTime() {
+            return serviceTime;
+        }
+
+        public Map<Integer, Long> statuses() {
+            return sum(statuses);
+        }
+
+        public Map<String, Long> failures() {
+            return sum(failures);
+        }
+
+        public long dropped() {
+            return dropped.sum();
+        }
+
+        /**
+         * Responses outside 2xx, plus requests that got no response.
+         */
+        public long errors() {
+            long errors = failures().values().stream().mapToLong(Long::longValue).sum();
+            for (final Map.Entry<Integer, Long> entry : statuses().entrySet()) {
+                if (entry.getKey() / 100 != 2) {
+                    errors += entry.getValue();
+                }
+            }
+            return errors;
+        }
+
+        private static <K> Map<K, Long> sum(final Map<K, LongAdder> counters) {
+            final Map<K, Long> sums = new TreeMap<>();
+            counters.forEach((key, adder) -> sums.put(key, adder.sum()));
+            return sums;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.store.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Macro load test for a running store app: logs in, then sends a weighted mix of customer, order and product requests
+ * at a fixed arrival rate and reports throughput and latency percentiles.
+ * <p>
+ * The load is an open model: request {@code i} is due at {@code start + i / rate} whether or not earlier requests
+ * have completed, like independent clients would send it. Each request runs on its own virtual thread, so a slow
+ * server shows up as growing latency rather than as a lower send rate. Requests due while {@code maxInFlight} are
+ * outstanding are dropped and counted, which bounds the memory of a run against a server that has stopped answering.
+ * <p>
+ * Run with {@code ./gradlew loadTest -PloadTestArgs="scenario=browse rate=500 duration=2m"}; see
+ * {@link LoadTestConfig} for the options.
+ */
+public final class LoadTest {
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private final LoadTestConfig config;
+    private final HttpClient httpClient;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    LoadTest(final LoadTestConfig config, final HttpClient httpClient) {
+        this.config = config;
+        this.httpClient = httpClient;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestConfig config = LoadTestConfig.parse(args);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(executor)
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(config.timeout())
+                     .build()) {
+            new LoadTest(config, httpClient).run();
+        }
+    }
+
+    void run() throws Exception {
+        final StoreClient client = new StoreClient(httpClient, config.baseUrl(), config.timeout());
+        final List<String> authorizations = new ArrayList<>(config.users());
+        for (int user = 0; user < config.users(); user++) {
+            authorizations.add(client.login(user, config.password()));
+        }
+        final Targets targets = client.discover(authorizations.getFirst());
+        System.out.printf("Logged in %d users; targeting %d customers, %d orders and %d products%n",
+                authorizations.size(), targets.customerIds().size(), targets.orderIds().size(),
+                targets.productIds().size());
+        System.out.printf("Running %s (%s) at %.1f req/s: %s warm-up, %s measured%n", config.scenario(),
+                config.mix(), config.rate(), config.warmup(), config.duration());
+
+        final Instant startedAt = Instant.now();
+        drive(authorizations, targets);
+
+        final LoadTestReport report = LoadTestReport.of(config, startedAt, recorder);
+        Files.createDirectories(config.reportDir());
+        final String name = config.scenario().name().toLowerCase(Locale.ROOT) + "-" + FILE_TIMESTAMP.format(startedAt);
+        final Path json = config.reportDir().resolve(name + ".json");
+        final Path html = config.reportDir().resolve(name + ".html");
+        report.writeJson(json);
+        report.writeHtml(html, recorder);
+        printSummary(report);
+        System.out.println("Reports: " + json.toAbsolutePath() + " and " + html.toAbsolutePath());
+    }
+
+    /**
+     * Sends requests on the arrival schedule until the measured window ends, then waits for the stragglers.
+     */
+    private void drive(final List<String> authorizations, final Targets targets) {
+        final SplittableRandom random = new SplittableRandom(config.seed());
+        final Semaphore inFlight = new Semaphore(config.maxInFlight());
+        final double intervalNanos = 1e9 / config.rate();
+        final long start = System.nanoTime();
+        final long measureFrom = start + config.warmup().toNanos();
+        final long end = measureFrom + config.duration().toNanos();
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                final long due = start + Math.round(i * intervalNanos);
+                if (due >= end) {
+                    break;
+                }
+                final long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                final Operation operation = config.mix().pick(random);
+                final HttpRequest request = operation.request(config.baseUrl(),
+                        authorizations.get((int) (i % authorizations.size())), config.timeout(), targets, random);
+                final boolean measured = due >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        recorder.recordDropped(operation);
+                    }
+                    continue;
+                }
+                senders.execute(() -> {
+                    try {
+                        send(operation, request, due, measured);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void send(final Operation operation, final HttpRequest request, final long due, final boolean measured) {
+        final long sent = System.nanoTime();
+        try {
+            final HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (measured) {
+                recorder.recordResponse(operation, response.statusCode(), due, sent, System.nanoTime());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            if (measured) {
+                recorder.recordFailure(operation, e);
+            }
+        }
+    }
+
+    private static void printSummary(final LoadTestReport report) {
+        System.out.printf("%n%-24s %9s %9s %7s %7s %9s %9s %9s %9s%n", "operation", "requests", "req/s", "errors",
+                "dropped", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        report.operations().forEach(LoadTest::printRow);
+        printRow(report.total());
+    }
+
+    private static void printRow(final LoadTestReport.Summary summary) {
+        final LoadTestReport.Latency latency = summary.responseTime();
+        System.out.printf("%-24s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f%n", summary.operation(),
+                summary.requests(), summary.throughput(), summary.errors(), summary.dropped(), latency.p50(),
+                latency.p90(), latency.p99(), latency.max());
+    }
+}
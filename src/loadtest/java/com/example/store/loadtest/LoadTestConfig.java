@@ -0,0 +1,97 @@
+package com.example.store.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of one load-test run, parsed from {@code key=value} arguments. Every key is optional:
+ * <ul>
+ *     <li>{@code baseUrl}: the running app, default {@code http://localhost:8080}</li>
+ *     <li>{@code scenario}: one of {@link Scenario}, default {@code mixed}</li>
+ *     <li>{@code mix}: a custom mix such as {@code GET_ORDER:5,CREATE_ORDER:1}; replaces the scenario's</li>
+ *     <li>{@code rate}: requests started per second, whatever the response times, default 200</li>
+ *     <li>{@code warmup} and {@code duration}: e.g. {@code 10s}, {@code 2m}; only requests due after the warm-up
+ *     are recorded, default 10s and 60s</li>
+ *     <li>{@code users}: accounts the requests are spread over, since the API rate limit is per user, default 10</li>
+ *     <li>{@code maxInFlight}: requests outstanding at once before new arrivals are dropped and counted, default 2000</li>
+ *     <li>{@code timeout}: per-request timeout, default 10s</li>
+ *     <li>{@code seed}: seeds the operation and target choice, so two runs send the same sequence, default 42</li>
+ *     <li>{@code reportDir}: where the JSON and HTML reports go, default {@code build/reports/loadtest}</li>
+ * </ul>
+ */
+public record LoadTestConfig(URI baseUrl,
+                             Scenario scenario,
+                             Mix mix,
+                             double rate,
+                             Duration warmup,
+                             Duration duration,
+                             int users,
+                             String password,
+                             int maxInFlight,
+                             Duration timeout,
+                             long seed,
+                             Path reportDir) {
+
+    private static final Set<String> KEYS = Set.of("baseUrl", "scenario", "mix", "rate", "warmup", "duration", "users",
+            "password", "maxInFlight", "timeout", "seed", "reportDir");
+
+    public static LoadTestConfig parse(final String[] args) {
+        final Map<String, String> values = new HashMap<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but was '" + arg + "'");
+            }
+            final String key = arg.substring(0, separator);
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option '" + key + "', expected one of " + KEYS);
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+
+        final Scenario scenario = Scenario.fromName(values.getOrDefault("scenario", "mixed"));
+        final Mix mix = values.containsKey("mix") ? Mix.parse(values.get("mix")) : scenario.mix();
+        final LoadTestConfig config = new LoadTestConfig(
+                URI.create(stripTrailingSlash(values.getOrDefault("baseUrl", "http://localhost:8080"))),
+                scenario,
+                mix,
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                parseDuration(values.getOrDefault("warmup", "10s")),
+                parseDuration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("users", "10")),
+                values.getOrDefault("password", "load-test-password"),
+                Integer.parseInt(values.getOrDefault("maxInFlight", "2000")),
+                parseDuration(values.getOrDefault("timeout", "10s")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("reportDir", "build/reports/loadtest")));
+        if (config.rate() <= 0 || config.users() <= 0 || config.maxInFlight() <= 0 || config.duration().isZero()) {
+            throw new IllegalArgumentException("rate, users, maxInFlight and duration must be positive");
+        }
+        return config;
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s}, {@code 2m} or {@code 1h}.
+     */
+    static Duration parseDuration(final String value) {
+        final String trimmed = value.trim();
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        final long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1));
+        return switch (trimmed.charAt(trimmed.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration '" + value + "', use ms, s, m or h");
+        };
+    }
+
+    private static String stripTrailingSlash(final String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.store.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a run: throughput and latency percentiles, overall and per operation, written as JSON for diffing
+ * runs and as a self-contained HTML page for reading. Latencies are in milliseconds.
+ */
+public record LoadTestReport(String scenario,
+                             String mix,
+                             String baseUrl,
+                             String startedAt,
+                             double offeredRate,
+                             double measuredSeconds,
+                             int users,
+                             long seed,
+                             Summary total,
+                             List<Summary> operations) {
+
+    // HdrHistogram records microseconds; the reports are in milliseconds
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    public record Summary(String operation,
+                          long requests,
+                          long errors,
+                          long dropped,
+                          double throughput,
+                          Latency responseTime,
+                          Latency serviceTime,
+                          Map<Integer, Long> statuses,
+                          Map<String, Long> failures) {
+    }
+
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(final Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return new Latency(0, 0, 0, 0, 0, 0);
+            }
+            return new Latency(
+                    histogram.getMean() / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+    }
+
+    public static LoadTestReport of(final LoadTestConfig config, final Instant startedAt,
+                                    final LatencyRecorder recorder) {
+        final double seconds = config.duration().toNanos() / 1e9;
+        final List<Summary> operations = new ArrayList<>();
+        final Histogram totalServiceTime = new Histogram(3);
+        final Map<Integer, Long> totalStatuses = new LinkedHashMap<>();
+        final Map<String, Long> totalFailures = new LinkedHashMap<>();
+        long errors = 0;
+        long dropped = 0;
+        for (final Map.Entry<Operation, LatencyRecorder.Stats> entry : recorder.stats().entrySet()) {
+            final LatencyRecorder.Stats stats = entry.getValue();
+            final long requests = stats.responseTime().getTotalCount();
+            if (requests == 0 && stats.dropped() == 0 && stats.failures().isEmpty()) {
+                continue;
+            }
+            operations.add(new Summary(entry.getKey().name(), requests, stats.errors(), stats.dropped(),
+                    requests / seconds, Latency.of(stats.responseTime()), Latency.of(stats.serviceTime()),
+                    stats.statuses(), stats.failures()));
+            totalServiceTime.add(stats.serviceTime());
+            stats.statuses().forEach((status, count) -> totalStatuses.merge(status, count, Long::sum));
+            stats.failures().forEach((failure, count) -> totalFailures.merge(failure, count, Long::sum));
+            errors += stats.errors();
+            dropped += stats.dropped();
+        }
+
+        final Histogram totalResponseTime = recorder.totalResponseTime();
+        final Summary total = new Summary("TOTAL", totalResponseTime.getTotalCount(), errors, dropped,
+                totalResponseTime.getTotalCount() / seconds, Latency.of(totalResponseTime),
+                Latency.of(totalServiceTime), totalStatuses, totalFailures);
+        return new LoadTestReport(config.scenario().name(), config.mix().toString(), config.baseUrl().toString(),
+                startedAt.toString(), config.rate(), seconds, config.users(), config.seed(), total,
+                List.copyOf(operations));
+    }
+
+    public void writeJson(final Path file) throws IOException {
+        new ObjectMapper()
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(file.toFile(), this);
+    }
+
+    /**
+     * Writes a page with the summary table and, per operation, HdrHistogram's full percentile distribution of the
+     * response time.
+     */
+    public void writeHtml(final Path file, final LatencyRecorder recorder) throws IOException {
+        final StringBuilder html = new StringBuilder(16_384)
+                .append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"utf-8\">\n")
+                .append("<title>Load test ").append(escape(scenario)).append(' ').append(startedAt).append("</title>\n")
+                .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+                .append("th,td{border:1px solid #ccc;padding:.3em .6em;text-align:right}")
+                .append("th:first-child,td:first-child{text-align:left}pre{font-size:.8em}</style>\n")
+                .append("</head>\n<body>\n")
+                .append("<h1>Load test: ").append(escape(scenario)).append("</h1>\n<p>")
+                .append(escape(baseUrl)).append(", started ").append(startedAt)
+                .append(", offered ").append(format(offeredRate)).append(" req/s for ").append(format(measuredSeconds))
+                .append(" s over ").append(users).append(" users, seed ").append(seed).append("</p>\n")
+                .append("<p>Mix: <code>").append(escape(mix)).append("</code></p>\n")
+                .append("<table>\n<tr><th>Operation</th><th>Requests</th><th>req/s</th><th>Errors</th><th>Dropped</th>")
+                .append("<th>Mean</th><th>p50</th><th>p90</th><th>p99</th><th>p99.9</th><th>Max</th>")
+                .append("<th>Service p99</th><th>Statuses</th></tr>\n");
+        for (final Summary summary : operations) {
+            appendRow(html, summary);
+        }
+        appendRow(html, total);
+        html.append("</table>\n<p>Latencies in ms. Response time counts from when each request was due, service ")
+                .append("time from when it was sent.</p>\n");
+
+        for (final Map.Entry<Operation, LatencyRecorder.Stats> entry : recorder.stats().entrySet()) {
+            final Histogram histogram = entry.getValue().responseTime();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            html.append("<h2>").append(entry.getKey()).append("</h2>\n<pre>")
+                    .append(escape(distribution(histogram))).append("</pre>\n");
+        }
+        html.append("</body>\n</html>\n");
+        Files.writeString(file, html, StandardCharsets.UTF_8);
+    }
+
+    private static void appendRow(final StringBuilder html, final Summary summary) {
+        final Latency latency = summary.responseTime();
+        html.append("<tr><td>").append(summary.operation())
+                .append("</td><td>").append(summary.requests())
+                .append("</td><td>").append(format(summary.throughput()))
+                .append("</td><td>").append(summary.errors())
+                .append("</td><td>").append(summary.dropped())
+                .append("</td><td>").append(format(latency.mean()))
+                .append("</td><td>").append(format(latency.p50()))
+                .append("</td><td>").append(format(latency.p90()))
+                .append("</td><td>").append(format(latency.p99()))
+                .append("</td><td>").append(format(latency.p999()))
+                .append("</td><td>").append(format(latency.max()))
+                .append("</td><td>").append(format(summary.serviceTime().p99()))
+                .append("</td><td>").append(escape(summary.statuses().toString()))
+                .append("</td></tr>\n");
+    }
+
+    private static String distribution(final Histogram histogram) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PrintStream printStream = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(printStream, MICROS_PER_MILLI);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String format(final double value) {
+        return String.format("%.2f", value);
+    }
+
+    private static String escape(final String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
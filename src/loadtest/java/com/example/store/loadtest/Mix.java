@@ -0,0 +1,81 @@
+package com.example.store.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A weighted choice of {@link Operation}s. Weights are relative: {@code GET_ORDER:3,CREATE_ORDER:1} sends three order
+ * reads for every order created.
+ */
+public final class Mix {
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+
+    public Mix(final Map<Operation, Integer> weights) {
+        this.weights = new EnumMap<>(weights);
+        final List<Operation> chosen = new ArrayList<>();
+        final List<Integer> bounds = new ArrayList<>();
+        int sum = 0;
+        for (final Map.Entry<Operation, Integer> entry : this.weights.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Negative weight for " + entry.getKey());
+            }
+            if (entry.getValue() > 0) {
+                sum += entry.getValue();
+                chosen.add(entry.getKey());
+                bounds.add(sum);
+            }
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("A mix needs at least one operation with a positive weight");
+        }
+        this.operations = chosen.toArray(Operation[]::new);
+        this.cumulative = bounds.stream().mapToInt(Integer::intValue).toArray();
+        this.total = sum;
+    }
+
+    /**
+     * Parses {@code OPERATION:weight} pairs separated by commas, e.g. {@code GET_ORDER:5,CREATE_ORDER:1}.
+     */
+    public static Mix parse(final String value) {
+        final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (final String pair : value.split(",")) {
+            final String[] parts = pair.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected OPERATION:weight but was '" + pair + "'");
+            }
+            weights.merge(Operation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()), Integer::sum);
+        }
+        return new Mix(weights);
+    }
+
+    public Operation pick(final SplittableRandom random) {
+        final int point = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (point < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Map<Operation, Integer> weights() {
+        return Map.copyOf(weights);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (weight > 0) {
+                sb.append(sb.isEmpty() ? "" : ",").append(operation).append(':').append(weight);
+            }
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.store.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * One kind of request the load test can send. Each builds its request from the known {@link Targets}, so reads hit
+ * existing rows and writes reference existing customers.
+ */
+public enum Operation {
+    LIST_CUSTOMERS {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/customers?limit=30&page=" + random.nextInt(5);
+        }
+    },
+    GET_CUSTOMER {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/customers/" + targets.customerId(random);
+        }
+    },
+    SEARCH_CUSTOMERS {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/customers?limit=30&name=" + URLEncoder.encode(targets.nameSearch(random), StandardCharsets.UTF_8);
+        }
+    },
+    CREATE_CUSTOMER {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/customers";
+        }
+
+        @Override
+        String body(final Targets targets, final SplittableRandom random) {
+            return "{\"name\":\"Load Test Customer " + random.nextInt(1_000_000) + "\"}";
+        }
+    },
+    LIST_ORDERS {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/orders?limit=30&page=" + random.nextInt(5);
+        }
+    },
+    LIST_ORDER_FIELDS {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/orders?fields=id,description,customerId&limit=100&page=" + random.nextInt(5);
+        }
+    },
+    GET_ORDER {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/orders/" + targets.orderId(random);
+        }
+    },
+    GET_ORDER_WITH_INCLUDES {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/orders/" + targets.orderId(random) + "?include=customer,products";
+        }
+    },
+    CREATE_ORDER {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/orders";
+        }
+
+        @Override
+        String body(final Targets targets, final SplittableRandom random) {
+            return "{\"description\":\"Load test order " + random.nextInt(1_000_000) + "\",\"customerId\":"
+                    + targets.customerId(random) + ",\"productIds\":[]}";
+        }
+    },
+    LIST_PRODUCTS {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/products?limit=30&page=" + random.nextInt(5);
+        }
+    },
+    GET_PRODUCT {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/products/" + targets.productId(random);
+        }
+    },
+    MULTI_GET_PRODUCTS {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            final StringJoiner ids = new StringJoiner(",");
+            for (int i = 0; i < 10; i++) {
+                ids.add(String.valueOf(targets.productId(random)));
+            }
+            return "/products?ids=" + ids;
+        }
+    },
+    CREATE_PRODUCT {
+        @Override
+        String path(final Targets targets, final SplittableRandom random) {
+            return "/products";
+        }
+
+        @Override
+        String body(final Targets targets, final SplittableRandom random) {
+            return "{\"description\":\"Load test product " + random.nextInt(1_000_000) + "\",\"sku\":\""
+                    + new UUID(random.nextLong(), random.nextLong()) + "\"}";
+        }
+    };
+
+    abstract String path(Targets targets, SplittableRandom random);
+
+    /**
+     * @return the JSON body to POST, or {@code null} for a GET
+     */
+    String body(final Targets targets, final SplittableRandom random) {
+        return null;
+    }
+
+    /**
+     * Builds the request; the random choices are made on the calling thread, so a seeded run is reproducible.
+     */
+    public HttpRequest request(final URI baseUrl, final String authorization, final Duration timeout,
+                               final Targets targets, final SplittableRandom random) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path(targets, random)))
+                .timeout(timeout)
+                .header("Authorization", authorization)
+                .header("Accept", "application/json");
+        final String body = body(targets, random);
+        if (body == null) {
+            return builder.GET().build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.store.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.example.store.loadtest.Operation.CREATE_CUSTOMER;
+import static com.example.store.loadtest.Operation.CREATE_ORDER;
+import static com.example.store.loadtest.Operation.CREATE_PRODUCT;
+import static com.example.store.loadtest.Operation.GET_CUSTOMER;
+import static com.example.store.loadtest.Operation.GET_ORDER;
+import static com.example.store.loadtest.Operation.GET_ORDER_WITH_INCLUDES;
+import static com.example.store.loadtest.Operation.GET_PRODUCT;
+import static com.example.store.loadtest.Operation.LIST_CUSTOMERS;
+import static com.example.store.loadtest.Operation.LIST_ORDERS;
+import static com.example.store.loadtest.Operation.LIST_ORDER_FIELDS;
+import static com.example.store.loadtest.Operation.LIST_PRODUCTS;
+import static com.example.store.loadtest.Operation.MULTI_GET_PRODUCTS;
+import static com.example.store.loadtest.Operation.SEARCH_CUSTOMERS;
+
+/**
+ * Named request mixes, selected with {@code scenario=<name>}.
+ */
+public enum Scenario {
+    /**
+     * Storefront traffic: almost only single-entity and paged reads, served mostly from the caches.
+     */
+    BROWSE(Map.of(
+            GET_PRODUCT, 30,
+            LIST_PRODUCTS, 20,
+            MULTI_GET_PRODUCTS, 10,
+            GET_ORDER, 15,
+            GET_CUSTOMER, 10,
+            LIST_ORDERS, 10,
+            CREATE_ORDER, 5)),
+    /**
+     * Back-office traffic: reads across all three resources with one request in five writing.
+     */
+    MIXED(Map.ofEntries(
+            Map.entry(GET_CUSTOMER, 12),
+            Map.entry(LIST_CUSTOMERS, 8),
+            Map.entry(SEARCH_CUSTOMERS, 5),
+            Map.entry(GET_ORDER, 12),
+            Map.entry(GET_ORDER_WITH_INCLUDES, 8),
+            Map.entry(LIST_ORDERS, 8),
+            Map.entry(LIST_ORDER_FIELDS, 5),
+            Map.entry(GET_PRODUCT, 12),
+            Map.entry(LIST_PRODUCTS, 10),
+            Map.entry(CREATE_ORDER, 10),
+            Map.entry(CREATE_CUSTOMER, 5),
+            Map.entry(CREATE_PRODUCT, 5))),
+    /**
+     * Ingest traffic: half the requests write, so each write also evicts the list caches.
+     */
+    WRITE_HEAVY(Map.of(
+            CREATE_ORDER, 30,
+            CREATE_CUSTOMER, 10,
+            CREATE_PRODUCT, 10,
+            GET_ORDER, 20,
+            LIST_ORDERS, 15,
+            GET_CUSTOMER, 15)),
+    /**
+     * The endpoints whose cost grows with the data: name searches, include graphs and multi-gets.
+     */
+    SEARCH(Map.of(
+            SEARCH_CUSTOMERS, 40,
+            GET_ORDER_WITH_INCLUDES, 30,
+            MULTI_GET_PRODUCTS, 20,
+            LIST_ORDER_FIELDS, 10));
+
+    private final Mix mix;
+
+    Scenario(final Map<Operation, Integer> weights) {
+        this.mix = new Mix(new EnumMap<>(weights));
+    }
+
+    public Mix mix() {
+        return mix;
+    }
+
+    /**
+     * Resolves {@code write-heavy}, {@code WRITE_HEAVY} and the like.
+     */
+    public static Scenario fromName(final String name) {
+        final String normalized = name.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.name().equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unknown scenario '" + name + "', expected one of " + Arrays.toString(values())));
+    }
+}
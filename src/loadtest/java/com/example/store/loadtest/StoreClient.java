@@ -0,0 +1,173 @@
+package com.example.store.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The set-up calls made before the measured run: logging in the load-test users and looking up ids to target.
+ * These go through the same {@link HttpClient} as the load itself but are never recorded.
+ */
+public final class StoreClient {
+    // The /auth endpoints are rate limited per client IP, so logging in many users has to wait for refills
+    private static final int MAX_ATTEMPTS = 30;
+    private static final int DISCOVERY_PAGES = 10;
+    private static final int DISCOVERY_PAGE_SIZE = 100;
+    private static final int SEED_ROWS = 10;
+
+    private final HttpClient httpClient;
+    private final URI baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public StoreClient(final HttpClient httpClient, final URI baseUrl, final Duration timeout) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Registers {@code load-test-<n>@example.com} on the first run and authenticates it on later ones.
+     *
+     * @return the {@code Authorization} header value for the user
+     */
+    public String login(final int user, final String password) throws IOException, InterruptedException {
+        final String email = "load-test-" + user + "@example.com";
+        final String registration = objectMapper.createObjectNode()
+                .put("firstName", "Load")
+                .put("lastName", "Test " + user)
+                .put("email", email)
+                .put("password", password)
+                .toString();
+        HttpResponse<String> response = send(post("/auth/register", registration, null));
+        if (response.statusCode() == 409) {
+            final String credentials = objectMapper.createObjectNode()
+                    .put("email", email)
+                    .put("password", password)
+                    .toString();
+            response = send(post("/auth/authenticate", credentials, null));
+        }
+        return "Bearer " + expectOk(response).get("accessToken").asText();
+    }
+
+    /**
+     * Reads up to a thousand ids of each resource. An empty database is given a few rows first, so every operation
+     * has something to target; for realistic data volumes load a dataset before the run instead.
+     */
+    public Targets discover(final String authorization) throws IOException, InterruptedException {
+        List<JsonNode> customers = readAll("/customers", authorization);
+        if (customers.isEmpty()) {
+            seed(authorization);
+            customers = readAll("/customers", authorization);
+        }
+        final List<JsonNode> orders = readAll("/orders", authorization);
+        final List<JsonNode> products = readAll("/products", authorization);
+
+        final Set<String> nameSearches = new LinkedHashSet<>();
+        for (final JsonNode customer : customers) {
+            final String name = customer.path("name").asText("");
+            // A prefix of the first word matches that customer and any others sharing it
+            final String word = name.split("\\s+")[0];
+            if (word.length() >= 3) {
+                nameSearches.add(word.substring(0, Math.min(word.length(), 5)));
+            }
+        }
+        if (nameSearches.isEmpty()) {
+            nameSearches.add("a");
+        }
+
+        final Targets targets = new Targets(ids(customers), ids(orders), ids(products), List.copyOf(nameSearches));
+        if (targets.customerIds().isEmpty() || targets.orderIds().isEmpty() || targets.productIds().isEmpty()) {
+            throw new IllegalStateException("Found no customers, orders or products to target at " + baseUrl);
+        }
+        return targets;
+    }
+
+    private void seed(final String authorization) throws IOException, InterruptedException {
+        System.out.println("No customers found, creating " + SEED_ROWS + " customers, products and orders");
+        for (int i = 0; i < SEED_ROWS; i++) {
+            final long customerId = expectOk(send(post("/customers",
+                    objectMapper.createObjectNode().put("name", "Load Test Customer " + i).toString(),
+                    authorization))).get("id").asLong();
+            expectOk(send(post("/products", objectMapper.createObjectNode()
+                    .put("description", "Load test product " + i)
+                    .put("sku", UUID.randomUUID().toString())
+                    .toString(), authorization)));
+            final var order = objectMapper.createObjectNode()
+                    .put("description", "Load test order " + i)
+                    .put("customerId", customerId);
+            order.putArray("productIds");
+            expectOk(send(post("/orders", order.toString(), authorization)));
+        }
+    }
+
+    private List<JsonNode> readAll(final String path, final String authorization)
+            throws IOException, InterruptedException {
+        final List<JsonNode> rows = new ArrayList<>();
+        for (int page = 0; page < DISCOVERY_PAGES; page++) {
+            final HttpRequest request = HttpRequest.newBuilder(
+                            URI.create(baseUrl + path + "?limit=" + DISCOVERY_PAGE_SIZE + "&page=" + page))
+                    .timeout(timeout)
+                    .header("Authorization", authorization)
+                    .GET()
+                    .build();
+            final JsonNode body = expectOk(send(request));
+            body.forEach(rows::add);
+            if (body.size() < DISCOVERY_PAGE_SIZE) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    private static List<Long> ids(final List<JsonNode> rows) {
+        return rows.stream().map(row -> row.get("id").asLong()).distinct().toList();
+    }
+
+    private HttpRequest post(final String path, final String json, final String authorization) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Sends {@code request}, waiting out {@code 429} and {@code 503} answers for as long as their
+     * {@code Retry-After} asks.
+     */
+    private HttpResponse<String> send(final HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 429 && response.statusCode() != 503) {
+                return response;
+            }
+            final long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            Thread.sleep(Duration.ofSeconds(Math.max(1, retryAfter)));
+        }
+        return response;
+    }
+
+    private JsonNode expectOk(final HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.store.loadtest;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Ids and name fragments that exist in the database under test, read once before the run so that the generated
+ * requests hit real rows.
+ *
+ * @param customerIds  known customer ids
+ * @param orderIds     known order ids
+ * @param productIds   known product ids
+ * @param nameSearches substrings of existing customer names
+ */
+public record Targets(List<Long> customerIds, List<Long> orderIds, List<Long> productIds, List<String> nameSearches) {
+
+    public long customerId(final SplittableRandom random) {
+        return pick(customerIds, random);
+    }
+
+    public long orderId(final SplittableRandom random) {
+        return pick(orderIds, random);
+    }
+
+    public long productId(final SplittableRandom random) {
+        return pick(productIds, random);
+    }
+
+    public String nameSearch(final SplittableRandom random) {
+        return nameSearches.get(random.nextInt(nameSearches.size()));
+    }
+
+    private static long pick(final List<Long> ids, final SplittableRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
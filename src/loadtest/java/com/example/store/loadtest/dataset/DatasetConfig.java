@@ -0,0 +1,72 @@
+package com.example.store.loadtest.dataset;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of one dataset generation, parsed from {@code key=value} arguments. Every key is optional:
+ * <ul>
+ *     <li>{@code url}, {@code user} and {@code password}: the database, default the dev compose database
+ *     {@code jdbc:postgresql://localhost:5433/store} as {@code admin}/{@code admin}</li>
+ *     <li>{@code customers}, {@code products} and {@code orders}: row counts, default 1,000,000, 100,000 and
+ *     10,000,000</li>
+ *     <li>{@code itemsPerOrder}: mean number of distinct products per order, default 3, so about 30,000,000
+ *     {@code product_order} rows by default</li>
+ *     <li>{@code productSkew}: Zipf exponent of product popularity, default 1.0</li>
+ *     <li>{@code customerSkew}: Zipf exponent of orders per customer, default 0.6; a few customers place thousands of
+ *     orders while most place a handful</li>
+ *     <li>{@code seed}: the same seed and counts always produce the same rows, default 42</li>
+ * </ul>
+ */
+public record DatasetConfig(String url,
+                            String user,
+                            String password,
+                            int customers,
+                            int products,
+                            long orders,
+                            double itemsPerOrder,
+                            double productSkew,
+                            double customerSkew,
+                            long seed) {
+
+    private static final Set<String> KEYS = Set.of("url", "user", "password", "customers", "products", "orders",
+            "itemsPerOrder", "productSkew", "customerSkew", "seed");
+
+    public static DatasetConfig parse(final String[] args) {
+        final Map<String, String> values = new HashMap<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but was '" + arg + "'");
+            }
+            final String key = arg.substring(0, separator);
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option '" + key + "', expected one of " + KEYS);
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+
+        final DatasetConfig config = new DatasetConfig(
+                values.getOrDefault("url", "jdbc:postgresql://localhost:5433/store"),
+                values.getOrDefault("user", "admin"),
+                values.getOrDefault("password", "admin"),
+                Integer.parseInt(values.getOrDefault("customers", "1000000")),
+                Integer.parseInt(values.getOrDefault("products", "100000")),
+                Long.parseLong(values.getOrDefault("orders", "10000000")),
+                Double.parseDouble(values.getOrDefault("itemsPerOrder", "3")),
+                Double.parseDouble(values.getOrDefault("productSkew", "1.0")),
+                Double.parseDouble(values.getOrDefault("customerSkew", "0.6")),
+                Long.parseLong(values.getOrDefault("seed", "42")));
+        if (config.customers() <= 0 || config.products() <= 0 || config.orders() <= 0) {
+            throw new IllegalArgumentException("customers, products and orders must be positive");
+        }
+        if (config.itemsPerOrder() < 1 || config.itemsPerOrder() > config.products()) {
+            throw new IllegalArgumentException("itemsPerOrder must be between 1 and the number of products");
+        }
+        if (config.productSkew() < 0 || config.customerSkew() < 0) {
+            throw new IllegalArgumentException("productSkew and customerSkew must not be negative");
+        }
+        return config;
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.store.loadtest.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Replaces the customers, products, orders and order lines of a store database with a large generated dataset,
+ * streamed in with {@code COPY}.
+ * <p>
+ * Product popularity and orders per customer follow {@link ZipfDistribution}s, so a few products appear on a large
+ * share of the orders and a few customers own most of them, as in production. Every value, timestamps included, comes
+ * from the seed and the row counts, so two runs with the same arguments load identical tables and benchmark runs
+ * against them are comparable.
+ * <p>
+ * Everything happens in one transaction that starts with {@code TRUNCATE}, which lets Postgres write the copied rows
+ * already frozen. Users, refresh tokens and idempotency keys are left alone. Restart the app afterwards, since its
+ * caches still hold the old rows.
+ * <p>
+ * Run with {@code ./gradlew generateDataset -PdatasetArgs="orders=10000000 seed=7"}; see {@link DatasetConfig} for
+ * the options.
+ */
+public final class DatasetGenerator {
+    // Orders are spread evenly over the two years from this instant; customers and products exist from before it
+    private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    private static final long ORDER_SPAN_SECONDS = Duration.ofDays(730).toSeconds();
+    private static final long SIGN_UP_SPAN_SECONDS = Duration.ofDays(365).toSeconds();
+    private static final int MAX_ITEMS_PER_ORDER = 25;
+    private static final int MAX_DISTINCT_ATTEMPTS = 100;
+    private static final int COPY_BUFFER_SIZE = 1 << 20;
+    // Foreign keys are checked by after-row triggers queued in memory until the end of each COPY, so the orders and
+    // their lines go in as one COPY per this many orders rather than one per table
+    private static final long ORDERS_PER_COPY = 500_000;
+
+    private static final String[] FIRST_NAMES = {
+        "Amelia", "Ben", "Chloe", "Daniel", "Emma", "Farah", "George", "Hana", "Isaac", "Julia", "Kofi", "Lena",
+        "Mateo", "Nadia", "Oliver", "Priya", "Quinn", "Rosa", "Samuel", "Thandi", "Umar", "Vera", "William", "Xin",
+        "Yusuf", "Zoe", "Aisha", "Bruno", "Carmen", "Diego", "Elena", "Felix", "Grace", "Hugo", "Ines", "Jonas"
+    };
+    private static final String[] LAST_NAMES = {
+        "Adams", "Botha", "Chen", "Dlamini", "Evans", "Fischer", "Garcia", "Hughes", "Ivanova", "Jansen", "Khan",
+        "Lopez", "Moreau", "Nkosi", "Okafor", "Patel", "Quispe", "Rossi", "Smith", "Tanaka", "Usman", "Van Wyk",
+        "Walker", "Xu", "Yilmaz", "Zulu", "Becker", "Costa", "Dubois", "Ferreira", "Kowalski", "Mokoena", "Nguyen"
+    };
+    private static final String[] ADJECTIVES = {
+        "Ergonomic", "Rustic", "Sleek", "Compact", "Durable", "Handmade", "Lightweight", "Premium", "Refurbished",
+        "Smart", "Vintage", "Wireless", "Heavy-duty", "Portable", "Modular", "Classic"
+    };
+    private static final String[] MATERIALS = {
+        "Steel", "Wooden", "Cotton", "Leather", "Granite", "Plastic", "Bamboo", "Ceramic", "Glass", "Rubber", "Wool",
+        "Aluminium"
+    };
+    private static final String[] NOUNS = {
+        "Chair", "Table", "Lamp", "Keyboard", "Backpack", "Kettle", "Jacket", "Shoes", "Headphones", "Bottle",
+        "Watch", "Desk", "Blanket", "Speaker", "Mug", "Bicycle", "Notebook", "Pillow", "Wallet", "Gloves"
+    };
+    private static final String[] ORDER_KINDS = {
+        "Standard", "Express", "Gift", "Repeat", "Bulk", "Weekend", "Click and collect", "Subscription"
+    };
+
+    private final DatasetConfig config;
+    private long lastOrderLineId;
+
+    DatasetGenerator(final DatasetConfig config) {
+        this.config = config;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        new DatasetGenerator(DatasetConfig.parse(args)).run();
+    }
+
+    void run() throws SQLException, IOException {
+        // Each table draws from its own stream, so changing one table's generation leaves the others identical
+        final SplittableRandom root = new SplittableRandom(config.seed());
+        final SplittableRandom customerRandom = root.split();
+        final SplittableRandom productRandom = root.split();
+        final SplittableRandom orderRandom = root.split();
+        final SplittableRandom itemRandom = root.split();
+        final ZipfDistribution customerPopularity =
+                new ZipfDistribution(config.customers(), config.customerSkew(), root.split());
+        final ZipfDistribution productPopularity =
+                new ZipfDistribution(config.products(), config.productSkew(), root.split());
+        System.out.printf("Seed %d: the busiest customer places %.2f%% of the orders, the most popular product is on "
+                + "%.2f%% of the order lines%n", config.seed(), customerPopularity.topShare() * 100,
+                productPopularity.topShare() * 100);
+
+        try (Connection connection = DriverManager.getConnection(config.url(), config.user(), config.password())) {
+            connection.setAutoCommit(false);
+            final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("TRUNCATE product_order, \"order\", product, customer RESTART IDENTITY");
+            }
+
+            timed("customer", () -> copy(pgConnection, "customer (id, name, created, updated)",
+                    out -> writeCustomers(out, customerRandom)));
+            timed("product", () -> copy(pgConnection, "product (id, description, sku, created, updated)",
+                    out -> writeProducts(out, productRandom)));
+            timed("order", () -> copyPerOrders(pgConnection,
+                    "\"order\" (id, description, customer_id, created, updated)",
+                    (out, from, to) -> writeOrders(out, orderRandom, customerPopularity, from, to)));
+            timed("product_order", () -> copyPerOrders(pgConnection,
+                    "product_order (id, order_id, product_id, quantity, price, created, updated)",
+                    (out, from, to) -> writeOrderLines(out, itemRandom, productPopularity, from, to)));
+
+            try (Statement statement = connection.createStatement()) {
+                for (final String table : new String[] {"customer", "product", "\"order\"", "product_order"}) {
+                    // The ids were copied in explicitly, so move each sequence past them for the app's inserts
+                    statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                            + "(SELECT max(id) FROM " + table + "))");
+                }
+            }
+            connection.commit();
+
+            // ANALYZE outside the load transaction, so the planner sees the new row counts right away
+            connection.setAutoCommit(true);
+            timed("analyze", () -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE customer, product, \"order\", product_order");
+                }
+                return -1;
+            });
+        }
+    }
+
+    private long writeCustomers(final Writer out, final SplittableRandom random) throws IOException {
+        for (int id = 1; id <= config.customers(); id++) {
+            final Instant created = EPOCH.minusSeconds(random.nextLong(SIGN_UP_SPAN_SECONDS));
+            out.append(Integer.toString(id)).append('\t')
+                    .append(pick(FIRST_NAMES, random)).append(' ').append(pick(LAST_NAMES, random)).append('\t')
+                    .append(created.toString()).append('\t')
+                    .append(created.toString()).append('\n');
+        }
+        return config.customers();
+    }
+
+    private long writeProducts(final Writer out, final SplittableRandom random) throws IOException {
+        for (int id = 1; id <= config.products(); id++) {
+            final Instant created = EPOCH.minusSeconds(random.nextLong(SIGN_UP_SPAN_SECONDS));
+            out.append(Integer.toString(id)).append('\t')
+                    .append(pick(ADJECTIVES, random)).append(' ').append(pick(MATERIALS, random)).append(' ')
+                    .append(pick(NOUNS, random)).append('\t')
+                    .append(new UUID(random.nextLong(), random.nextLong()).toString()).append('\t')
+                    .append(created.toString()).append('\t')
+                    .append(created.toString()).append('\n');
+        }
+        return config.products();
+    }
+
+    private long writeOrders(final Writer out, final SplittableRandom random,
+                             final ZipfDistribution customerPopularity, final long from, final long to)
+            throws IOException {
+        for (long id = from; id <= to; id++) {
+            final String created = orderCreated(id).toString();
+            out.append(Long.toString(id)).append('\t')
+                    .append(pick(ORDER_KINDS, random)).append(" order ").append(Long.toString(id)).append('\t')
+                    .append(Integer.toString(customerPopularity.sample(random))).append('\t')
+                    .append(created).append('\t')
+                    .append(created).append('\n');
+        }
+        return to - from + 1;
+    }
+
+    /**
+     * Writes each order's lines: a geometric number of distinct products, with mean {@code itemsPerOrder}, priced at
+     * the product's list price.
+     */
+    private long writeOrderLines(final Writer out, final SplittableRandom random,
+                                 final ZipfDistribution productPopularity, final long from, final long to)
+            throws IOException {
+        final int maxItems = Math.min(MAX_ITEMS_PER_ORDER, config.products());
+        final double logMiss = Math.log(1 - 1 / config.itemsPerOrder());
+        final int[] productIds = new int[maxItems];
+        final long firstLineId = lastOrderLineId;
+        for (long orderId = from; orderId <= to; orderId++) {
+            final int items = logMiss == Double.NEGATIVE_INFINITY
+                    ? 1
+                    : (int) Math.min(maxItems, 1 + Math.floor(Math.log(1 - random.nextDouble()) / logMiss));
+            final String created = orderCreated(orderId).toString();
+            for (int item = 0; item < items; item++) {
+                final int productId = distinctProduct(productIds, item, random, productPopularity);
+                productIds[item] = productId;
+                out.append(Long.toString(++lastOrderLineId)).append('\t')
+                        .append(Long.toString(orderId)).append('\t')
+                        .append(Integer.toString(productId)).append('\t')
+                        .append(Integer.toString(1 + random.nextInt(5))).append('\t')
+                        .append(price(productId)).append('\t')
+                        .append(created).append('\t')
+                        .append(created).append('\n');
+            }
+        }
+        return lastOrderLineId - firstLineId;
+    }
+
+    /**
+     * A product not among the first {@code count} of {@code chosen}; falls back to uniform picks when a steep skew
+     * keeps returning the same few products.
+     */
+    private int distinctProduct(final int[] chosen, final int count, final SplittableRandom random,
+                                final ZipfDistribution productPopularity) {
+        for (int attempt = 0; ; attempt++) {
+            final int productId = attempt < MAX_DISTINCT_ATTEMPTS
+                    ? productPopularity.sample(random)
+                    : 1 + random.nextInt(config.products());
+            if (!contains(chosen, count, productId)) {
+                return productId;
+            }
+        }
+    }
+
+    private static boolean contains(final int[] values, final int count, final int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Instant orderCreated(final long orderId) {
+        return EPOCH.plusSeconds((orderId - 1) * ORDER_SPAN_SECONDS / config.orders());
+    }
+
+    /**
+     * A list price between 5.00 and 504.99 derived from the product id and seed, so every line of a product agrees.
+     */
+    private String price(final int productId) {
+        final long cents = 500 + Math.floorMod(new SplittableRandom(config.seed() ^ productId).nextLong(), 50_000L);
+        final long fraction = cents % 100;
+        return (cents / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private static String pick(final String[] values, final SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Streams rows written in {@code COPY}'s text format into {@code target}, a table and its column list.
+     */
+    private static long copy(final PGConnection connection, final String target, final RowWriter rows)
+            throws SQLException, IOException {
+        final String sql = "COPY " + target + " FROM STDIN WITH (FORMAT text, FREEZE)";
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, sql, COPY_BUFFER_SIZE), StandardCharsets.UTF_8),
+                COPY_BUFFER_SIZE)) {
+            return rows.write(out);
+        }
+    }
+
+    /**
+     * Copies the rows for all orders, {@link #ORDERS_PER_COPY} orders per {@code COPY}.
+     */
+    private long copyPerOrders(final PGConnection connection, final String target, final OrderRangeWriter rows)
+            throws SQLException, IOException {
+        long copied = 0;
+        for (long from = 1; from <= config.orders(); from += ORDERS_PER_COPY) {
+            final long start = from;
+            final long end = Math.min(config.orders(), from + ORDERS_PER_COPY - 1);
+            copied += copy(connection, target, out -> rows.write(out, start, end));
+        }
+        return copied;
+    }
+
+    private static void timed(final String step, final Step work) throws SQLException, IOException {
+        final long start = System.nanoTime();
+        final long rows = work.run();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        if (rows < 0) {
+            System.out.printf("%-14s %14s %8.1f s%n", step, "", seconds);
+        } else {
+            System.out.printf("%-14s %,14d %8.1f s %,12.0f rows/s%n", step, rows, seconds, rows / seconds);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        long write(Writer out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface OrderRangeWriter {
+        long write(Writer out, long from, long to) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        long run() throws SQLException, IOException;
+    }
+}
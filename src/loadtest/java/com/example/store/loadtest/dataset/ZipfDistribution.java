@@ -0,0 +1,52 @@
+package com.example.store.loadtest.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Picks ids from {@code 1..n} with Zipf-distributed popularity: the id of rank {@code k} is picked with probability
+ * proportional to {@code 1 / k^exponent}. An exponent of 0 is uniform.
+ * <p>
+ * Ranks are assigned to ids by a seeded shuffle, so the popular ids are scattered over the table rather than being the
+ * first rows inserted, which would put them all on the same few pages.
+ */
+final class ZipfDistribution {
+    private final double[] cumulative;
+    private final int[] idByRank;
+
+    ZipfDistribution(final int n, final double exponent, final SplittableRandom random) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+
+        idByRank = new int[n];
+        for (int rank = 0; rank < n; rank++) {
+            idByRank[rank] = rank + 1;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int id = idByRank[i];
+            idByRank[i] = idByRank[j];
+            idByRank[j] = id;
+        }
+    }
+
+    int sample(final SplittableRandom random) {
+        final int found = Arrays.binarySearch(cumulative, random.nextDouble());
+        final int rank = found >= 0 ? found : Math.min(-found - 1, cumulative.length - 1);
+        return idByRank[rank];
+    }
+
+    /**
+     * @return the share of all picks that go to the most popular id
+     */
+    double topShare() {
+        return cumulative[0];
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.store.component;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+public class BatchProps {
+    @Value("${global.batch.max-requests:20}")
+    private int maxRequests;
+
+    @Value("${global.batch.concurrency:4}")
+    private int concurrency;
+}
@@ -15,4 +15,10 @@ public class CustomerSearchProps {
 
     @Value("${customer.search.sort-direction:asc}")
     private String direction;
+
+    @Value("${customer.search.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${customer.search.max-ids:100}")
+    private int maxIds;
 }
@@ -15,4 +15,13 @@ public class GlobalSearchProps {
 
     @Value("${global.search.sort-direction:asc}")
     private String direction;
+
+    @Value("${global.search.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${global.search.max-ids:100}")
+    private int maxIds;
+
+    @Value("${global.search.include-batch-size:1000}")
+    private int includeBatchSize;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.store.component;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+public class MessagesProps {
+    @Value("${global.messages.basename:i18n/messages}")
+    private String basename;
+
+    @Value("${global.messages.refresh-interval:0s}")
+    private Duration refreshInterval;
+}
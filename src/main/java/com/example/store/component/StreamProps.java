@@ -0,0 +1,15 @@
+package com.example.store.component;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+public class StreamProps {
+    @Value("${global.stream.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${global.stream.flush-every:100}")
+    private int flushEvery;
+}
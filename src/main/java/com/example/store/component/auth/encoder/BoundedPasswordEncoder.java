@@ -0,0 +1,179 @@
+package com.example.store.component.auth.encoder;
+
+import com.example.store.config.security.PasswordHashingProperties;
+import com.example.store.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link PasswordEncoder} that runs BCrypt on a dedicated, bounded pool of platform threads.
+ * <p>
+ * BCrypt is pure CPU work; running it on the request's virtual thread pins a carrier thread for the whole hash
+ * and starves every other request sharing the carrier pool. Here the calling (virtual) thread merely parks on a
+ * {@link Future} while a fixed set of platform threads does the hashing. Once the queue is full new work is
+ * rejected immediately with {@link PasswordHashingRejectedException}, which the API surfaces as a 429.
+ * <p>
+ * A caller that waits longer than the timeout gets the same 429. Its job is dropped if it has not started yet; a hash
+ * already running still finishes, since BCrypt never checks for interrupts, and only then frees its thread. Both are
+ * counted by {@code store.password.hash.abandoned}, tagged {@code stage=queued} or {@code stage=running}.
+ * <p>
+ * {@link #upgradeEncoding(String)} reports hashes created with a lower work factor than configured, so a
+ * {@code DaoAuthenticationProvider} with a {@code UserDetailsPasswordService} re-hashes them on successful login.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    private static final String REJECTED_MSG_KEY = "auth.429.001";
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+    private final Counter skippedCounter;
+    private final Counter orphanedCounter;
+
+    public BoundedPasswordEncoder(final PasswordHashingProperties properties, final MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(properties.getStrength());
+        this.timeoutMillis = properties.getTimeoutMillis();
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(),
+                properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("bcrypt-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("store.password.hash.duration")
+                .description("Time spent computing BCrypt hashes")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("store.password.hash.duration")
+                .description("Time spent computing BCrypt hashes")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("store.password.hash.rejected")
+                .description("Hash requests rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("store.password.hash.abandoned")
+                .description("Hash jobs whose caller stopped waiting")
+                .tag("stage", "queued")
+                .register(meterRegistry);
+        this.orphanedCounter = Counter.builder("store.password.hash.abandoned")
+                .description("Hash jobs whose caller stopped waiting")
+                .tag("stage", "running")
+                .register(meterRegistry);
+        Gauge.builder("store.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("store.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * Only parses the stored hash prefix, so it runs inline on the caller.
+     */
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(final Callable<T> task, final Timer timer) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        final AtomicBoolean abandoned = new AtomicBoolean();
+        final Future<T> future;
+        try {
+            future = executor.submit(() -> hash(task, timer, deadline, abandoned));
+        } catch (final RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing queue is full ({} pending), rejecting request", executor.getQueue().size());
+            throw new PasswordHashingRejectedException(REJECTED_MSG_KEY);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            abandon(future, abandoned);
+            throw timedOut();
+        } catch (final InterruptedException e) {
+            abandon(future, abandoned);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException(REJECTED_MSG_KEY);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw timedOut();
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Runs on the hashing pool. Skips the hash when its caller has already given up, so a backlog left behind by
+     * timed-out callers drains without burning CPU.
+     */
+    private <T> T hash(final Callable<T> task, final Timer timer, final long deadline, final AtomicBoolean abandoned)
+            throws Exception {
+        if (abandoned.get() || System.nanoTime() - deadline >= 0) {
+            abandoned.set(true);
+            skippedCounter.increment();
+            throw new TimeoutException("Caller stopped waiting before hashing started");
+        }
+        try {
+            return timer.recordCallable(task);
+        } finally {
+            if (abandoned.get()) {
+                orphanedCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops a job that is still queued. A running one is left to finish: interrupting the thread would not stop BCrypt.
+     */
+    private void abandon(final Future<?> future, final AtomicBoolean abandoned) {
+        if (abandoned.compareAndSet(false, true) && executor.remove((Runnable) future)) {
+            skippedCounter.increment();
+        }
+    }
+
+    private PasswordHashingRejectedException timedOut() {
+        rejectedCounter.increment();
+        log.warn("Password hashing did not complete within {}ms", timeoutMillis);
+        return new PasswordHashingRejectedException(REJECTED_MSG_KEY);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.store.component.auth.filter;
 
+import com.example.store.component.auth.token.RefreshTokenRevocationIndex;
 import com.example.store.config.security.JwtProperties;
+import com.example.store.config.security.PublicEndpoints;
 import com.example.store.service.auth.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -27,6 +29,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final JwtProperties jwtProperties;
+    private final RefreshTokenRevocationIndex revocationIndex;
+
+    /**
+     * Public endpoints never need a principal, so a stale {@code Authorization} header there must not cost a token
+     * parse and a user lookup.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull final HttpServletRequest request) {
+        return PublicEndpoints.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -49,7 +61,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 final UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
-                if (Boolean.TRUE.equals(jwtService.isTokenValid(jwt, userDetails))) {
+                if (Boolean.TRUE.equals(jwtService.isTokenValid(jwt, userDetails)) && !isFamilyRevoked(jwt)) {
                     final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -65,4 +77,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Access tokens issued for a refresh-token family die with it. Served from memory unless the family is revoked.
+     */
+    private boolean isFamilyRevoked(final String jwt) {
+        final String familyId = jwtService.extractFamily(jwt);
+        if (familyId != null && revocationIndex.isRevoked(familyId)) {
+            log.debug("Rejected access token of revoked token family {}", familyId);
+            return true;
+        }
+        return false;
+    }
 }
\ No newline at end of file
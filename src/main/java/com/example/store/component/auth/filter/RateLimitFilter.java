@@ -0,0 +1,139 @@
+package com.example.store.component.auth.filter;
+
+import com.example.store.component.ratelimit.TokenBucket;
+import com.example.store.config.security.RateLimitProperties;
+import com.example.store.dto.error.ErrorDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+
+/**
+ * Throttles requests with per-key {@link TokenBucket}s.
+ * <p>
+ * {@code /auth/**} is keyed by client IP, since those calls are unauthenticated and drive BCrypt. Every other
+ * request that {@link JwtAuthenticationFilter} authenticated is keyed by the JWT subject. Buckets live in bounded
+ * Caffeine maps and are dropped once idle, so rotating keys cannot grow memory without limit.
+ * Must be placed after {@link JwtAuthenticationFilter} in the security chain.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String AUTH_PATH_PREFIX = "/auth/";
+    private static final String MSG_KEY = "global.429.001";
+
+    private final RateLimitProperties properties;
+    private final Gson gson;
+    private final MessageSource messageSource;
+    private final Cache<String, TokenBucket> authBuckets;
+    private final Cache<String, TokenBucket> apiBuckets;
+    private final Counter authRejected;
+    private final Counter apiRejected;
+
+    public RateLimitFilter(final RateLimitProperties properties, final Gson gson,
+                           final MessageSource messageSource, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.gson = gson;
+        this.messageSource = messageSource;
+        this.authBuckets = newBucketMap();
+        this.apiBuckets = newBucketMap();
+        this.authRejected = rejectedCounter(meterRegistry, "auth");
+        this.apiRejected = rejectedCounter(meterRegistry, "api");
+        Gauge.builder("store.ratelimit.buckets", authBuckets, Cache::estimatedSize)
+                .tag("scope", "auth")
+                .register(meterRegistry);
+        Gauge.builder("store.ratelimit.buckets", apiBuckets, Cache::estimatedSize)
+                .tag("scope", "api")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull final HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull final HttpServletRequest request,
+            @NonNull final HttpServletResponse response,
+            @NonNull final FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        final TokenBucket bucket;
+        final Counter rejected;
+
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith(AUTH_PATH_PREFIX)) {
+            bucket = authBuckets.get(request.getRemoteAddr(), key -> newBucket(properties.getAuth()));
+            rejected = authRejected;
+        } else {
+            final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null) {
+                // Public or unauthenticated request; the latter is turned away by the entry point anyway
+                filterChain.doFilter(request, response);
+                return;
+            }
+            bucket = apiBuckets.get(authentication.getName(), key -> newBucket(properties.getApi()));
+            rejected = apiRejected;
+        }
+
+        if (bucket.tryAcquire()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.increment();
+        reject(response, bucket.retryAfterSeconds());
+    }
+
+    private void reject(final HttpServletResponse response, final long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+
+        final String errorMessage = messageSource.getMessage(MSG_KEY, new Object[]{retryAfterSeconds},
+                "Too many requests", Locale.getDefault());
+        final ErrorDTO errorDTO = new ErrorDTO(
+                HttpStatus.TOO_MANY_REQUESTS.name(),
+                errorMessage,
+                null,
+                ZonedDateTime.now()
+        );
+
+        response.getWriter().write(gson.toJson(errorDTO));
+    }
+
+    private Cache<String, TokenBucket> newBucketMap() {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    private static TokenBucket newBucket(final RateLimitProperties.Bucket config) {
+        return new TokenBucket(config.getCapacity(), config.getRefillPerSecond());
+    }
+
+    private static Counter rejectedCounter(final MeterRegistry meterRegistry, final String scope) {
+        return Counter.builder("store.ratelimit.rejected")
+                .description("Requests rejected by the token-bucket rate limiter")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.store.component.auth.token;
+
+import com.example.store.config.security.JwtProperties;
+import com.example.store.persistence.repo.RefreshTokenRepo;
+import com.example.store.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory view of revoked refresh-token families.
+ * <p>
+ * Revoked (and not yet expired) family ids are kept in a {@link BloomFilter}. The common "not revoked" answer is
+ * served from memory; only a filter hit is confirmed against the {@code refresh_token} table. The filter is rebuilt
+ * from the table every {@code revocationRefreshInterval}, which both drops expired families and picks up
+ * revocations made by other instances.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenRevocationIndex {
+    private final RefreshTokenRepo refreshTokenRepo;
+    private final JwtProperties jwtProperties;
+
+    // Local revocations from the last two refresh intervals, re-applied so a rebuild racing a revoke cannot lose it
+    private final Map<UUID, Long> recentlyRevoked = new ConcurrentHashMap<>();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile BloomFilter revokedFamilies;
+    private volatile long loadedAtNanos;
+
+    /**
+     * @param familyId the {@code fam} claim of a refresh or access token
+     * @return true if the family has been revoked or the id is malformed
+     */
+    public boolean isRevoked(final String familyId) {
+        final UUID id;
+        try {
+            id = UUID.fromString(familyId);
+        } catch (final IllegalArgumentException e) {
+            return true;
+        }
+        return isRevoked(id);
+    }
+
+    public boolean isRevoked(final UUID familyId) {
+        return currentFilter().mightContain(familyId) && refreshTokenRepo.existsByFamilyIdAndRevokedTrue(familyId);
+    }
+
+    public void markRevoked(final UUID familyId) {
+        recentlyRevoked.put(familyId, System.nanoTime());
+        currentFilter().put(familyId);
+    }
+
+    private BloomFilter currentFilter() {
+        final BloomFilter filter = revokedFamilies;
+        if (filter == null) {
+            return loadInitial();
+        }
+        if (System.nanoTime() - loadedAtNanos > refreshIntervalNanos() && reloading.compareAndSet(false, true)) {
+            try {
+                return reload();
+            } finally {
+                reloading.set(false);
+            }
+        }
+        return filter;
+    }
+
+    private synchronized BloomFilter loadInitial() {
+        final BloomFilter filter = revokedFamilies;
+        return filter != null ? filter : reload();
+    }
+
+    private BloomFilter reload() {
+        final long now = System.nanoTime();
+        final BloomFilter next = new BloomFilter(
+                jwtProperties.getRevocationExpectedInsertions(),
+                jwtProperties.getRevocationFalsePositiveRate());
+
+        refreshTokenRepo.findRevokedFamilyIds(ZonedDateTime.now()).forEach(next::put);
+        recentlyRevoked.values().removeIf(revokedAt -> now - revokedAt > 2 * refreshIntervalNanos());
+        recentlyRevoked.keySet().forEach(next::put);
+
+        revokedFamilies = next;
+        loadedAtNanos = now;
+        // Catch revocations that were written into the previous filter while this one was being built
+        recentlyRevoked.keySet().forEach(next::put);
+
+        log.debug("Rebuilt refresh-token revocation filter");
+        return next;
+    }
+
+    private long refreshIntervalNanos() {
+        return jwtProperties.getRevocationRefreshInterval().toNanos();
+    }
+}
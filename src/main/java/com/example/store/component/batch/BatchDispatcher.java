@@ -0,0 +1,206 @@
+package com.example.store.component.batch;
+
+import com.example.store.component.BatchProps;
+import com.example.store.component.auth.filter.RateLimitFilter;
+import com.example.store.component.bulkhead.BulkheadContext;
+import com.example.store.component.deadline.DeadlineContext;
+import com.example.store.component.timing.RequestTimings;
+import com.example.store.component.timing.TimingContext;
+import com.example.store.component.deadline.RequestDeadline;
+import com.example.store.component.ratelimit.ConcurrencyLimitFilter;
+import com.example.store.dto.batch.BatchItemReqDTO;
+import com.example.store.dto.batch.BatchItemRespDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the calls of a batch through the {@link DispatcherServlet}, so they reach the same controllers, validation
+ * and exception handlers as standalone requests.
+ * <p>
+ * The batch request has already passed the security filter chain; its authentication is handed to every call
+ * instead of verifying the JWT again, and its bulkhead, deadline and request timings along with it. Each call is
+ * still admitted like a standalone request: it counts against the concurrency limit, spends a token of the caller's
+ * rate-limit bucket and is checked against the chain's authorization rules, so a batch gets no more than its calls
+ * would one by one. Calls run on virtual threads, at most {@code global.batch.concurrency} at a time per batch, and
+ * their responses are collected in memory and returned in request order.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class BatchDispatcher {
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final ObjectProvider<DispatcherServlet> dispatcherServlet;
+    private final ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final ObjectMapper objectMapper;
+    private final BatchProps batchProps;
+
+    /**
+     * Executes {@code items} and waits for all of them.
+     *
+     * @param request  the batch request; supplies the authentication and the inherited headers
+     * @param response the batch response; only wrapped, never written to
+     * @param items    the calls to make
+     * @return one response per call, in request order
+     */
+    public List<BatchItemRespDTO> execute(final HttpServletRequest request, final HttpServletResponse response,
+                                          final List<BatchItemReqDTO> items) {
+        final FilterChain chain = admissionChain(dispatcherServlet.getObject());
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final String bulkhead = BulkheadContext.current();
+        final RequestDeadline deadline = DeadlineContext.current();
+        final RequestTimings timings = TimingContext.current();
+        final Map<String, String> inherited = inheritedHeaders(request);
+        final Semaphore permits = new Semaphore(batchProps.getConcurrency());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<BatchItemRespDTO>> calls = items.stream()
+                    .map(item -> executor.submit(() -> {
+                        permits.acquire();
+                        BulkheadContext.bind(bulkhead);
+                        DeadlineContext.bind(deadline);
+                        TimingContext.bind(timings);
+                        try {
+                            return dispatch(chain, authentication, request, response, inherited, item);
+                        } finally {
+                            BulkheadContext.bind(null);
+                            DeadlineContext.bind(null);
+                            TimingContext.bind(null);
+                            permits.release();
+                        }
+                    }))
+                    .toList();
+            return calls.stream().map(BatchDispatcher::await).toList();
+        }
+    }
+
+    /**
+     * The filters a standalone request passes besides authentication, in chain order, ending in the servlet.
+     * Sub-requests carry their own attributes, so the once-per-request filters do not mistake them for the batch.
+     */
+    private FilterChain admissionChain(final DispatcherServlet servlet) {
+        final FilterChain authorized = (request, response) -> {
+            final HttpServletRequest subRequest = (HttpServletRequest) request;
+            if (privilegeEvaluator.isAllowed(subRequest.getContextPath(), subRequest.getServletPath(),
+                    subRequest.getMethod(), SecurityContextHolder.getContext().getAuthentication())) {
+                servlet.service(request, response);
+            } else {
+                ((HttpServletResponse) response).sendError(HttpStatus.FORBIDDEN.value());
+            }
+        };
+        final FilterChain rateLimited = (request, response) -> rateLimitFilter.doFilter(request, response, authorized);
+        final ConcurrencyLimitFilter concurrencyLimit = concurrencyLimitFilter.getIfAvailable();
+        if (concurrencyLimit == null) {
+            return rateLimited;
+        }
+        return (request, response) -> concurrencyLimit.doFilter(request, response, rateLimited);
+    }
+
+    private BatchItemRespDTO dispatch(final FilterChain chain, final Authentication authentication,
+                                      final HttpServletRequest request, final HttpServletResponse response,
+                                      final Map<String, String> inherited, final BatchItemReqDTO item) {
+        final Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+        headers.putAll(inherited);
+        if (item.headers() != null) {
+            headers.putAll(item.headers());
+        }
+        // Bodies are embedded verbatim in the batch response, so every call has to answer in JSON
+        headers.put(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+
+        final SubRequest subRequest = new SubRequest(request, item.method(), item.path(), headers, NO_BODY);
+        final BufferedResponse subResponse = new BufferedResponse(response);
+
+        final SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            chain.doFilter(subRequest, subResponse);
+        } catch (final ServletException | IOException | RuntimeException e) {
+            log.warn("Batched {} {} failed: {}", item.method(), item.path(), e.getMessage());
+            return new BatchItemRespDTO(HttpStatus.INTERNAL_SERVER_ERROR.value(), Map.of(), null);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return toItem(subResponse);
+    }
+
+    private BatchItemRespDTO toItem(final BufferedResponse subResponse) {
+        final Map<String, String> headers = subResponse.headers();
+        // Describes the sub-response on its own, not its slice of the batch body
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+        final byte[] bytes = subResponse.body();
+        if (bytes.length == 0) {
+            return new BatchItemRespDTO(subResponse.status(), headers, null);
+        }
+        final Charset charset = Charset.forName(subResponse.getCharacterEncoding());
+        final String text = new String(bytes, charset);
+        if (isJson(subResponse.getContentType())) {
+            return new BatchItemRespDTO(subResponse.status(), headers, text);
+        }
+        try {
+            return new BatchItemRespDTO(subResponse.status(), headers, objectMapper.writeValueAsString(text));
+        } catch (final JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isJson(final String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        final MediaType mediaType = MediaType.parseMediaType(contentType);
+        return MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) || mediaType.getSubtype().endsWith("+json");
+    }
+
+    private static Map<String, String> inheritedHeaders(final HttpServletRequest request) {
+        final Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+        final String language = request.getHeader(HttpHeaders.ACCEPT_LANGUAGE);
+        if (language != null) {
+            headers.put(HttpHeaders.ACCEPT_LANGUAGE, language);
+        }
+        return headers;
+    }
+
+    private static BatchItemRespDTO await(final Future<BatchItemRespDTO> call) {
+        try {
+            return call.get();
+        } catch (final ExecutionException e) {
+            log.warn("Batched call failed", e.getCause());
+            return new BatchItemRespDTO(HttpStatus.INTERNAL_SERVER_ERROR.value(), Map.of(), null);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new BatchItemRespDTO(HttpStatus.SERVICE_UNAVAILABLE.value(), Map.of(), null);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.store.component.batch;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Collects the status, headers and body of one call of a batch in memory.
+ * <p>
+ * Nothing reaches the enclosing batch response; it is only wrapped for the methods that do not write, such as
+ * URL encoding.
+ */
+final class BufferedResponse extends HttpServletResponseWrapper {
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+    private int status = SC_OK;
+    private Charset charset = StandardCharsets.UTF_8;
+    private Locale locale = Locale.getDefault();
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    BufferedResponse(final HttpServletResponse batch) {
+        super(batch);
+    }
+
+    int status() {
+        return status;
+    }
+
+    /**
+     * @return the first value of every header
+     */
+    Map<String, String> headers() {
+        final Map<String, String> first = new LinkedCaseInsensitiveMap<>();
+        headers.forEach((name, values) -> first.put(name, values.getFirst()));
+        return first;
+    }
+
+    byte[] body() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return body.toByteArray();
+    }
+
+    @Override
+    public void setStatus(final int sc) {
+        this.status = sc;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(final int sc) {
+        sendError(sc, null);
+    }
+
+    @Override
+    public void sendError(final int sc, final String msg) {
+        resetBuffer();
+        this.status = sc;
+    }
+
+    @Override
+    public void sendRedirect(final String location) {
+        resetBuffer();
+        this.status = SC_FOUND;
+        setHeader(HttpHeaders.LOCATION, location);
+    }
+
+    @Override
+    public void setHeader(final String name, final String value) {
+        if (value == null) {
+            headers.remove(name);
+        } else {
+            headers.put(name, new ArrayList<>(List.of(value)));
+        }
+    }
+
+    @Override
+    public void addHeader(final String name, final String value) {
+        if (value != null) {
+            headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(final String name, final int value) {
+        setHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void addIntHeader(final String name, final int value) {
+        addHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void setDateHeader(final String name, final long date) {
+        setHeader(name, formatDate(date));
+    }
+
+    @Override
+    public void addDateHeader(final String name, final long date) {
+        addHeader(name, formatDate(date));
+    }
+
+    private static String formatDate(final long date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC));
+    }
+
+    @Override
+    public boolean containsHeader(final String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public String getHeader(final String name) {
+        final List<String> values = headers.get(name);
+        return values == null ? null : values.getFirst();
+    }
+
+    @Override
+    public Collection<String> getHeaders(final String name) {
+        return List.copyOf(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return List.copyOf(headers.keySet());
+    }
+
+    @Override
+    public void addCookie(final Cookie cookie) {
+        // The API is stateless; a cookie set by a batched call has nowhere to go
+    }
+
+    @Override
+    public void setTrailerFields(final Supplier<Map<String, String>> supplier) {
+        // Trailers need a chunked response of their own; batched calls have none
+    }
+
+    @Override
+    public void setContentType(final String type) {
+        setHeader(HttpHeaders.CONTENT_TYPE, type);
+        if (type != null) {
+            final int index = type.toLowerCase(Locale.ROOT).indexOf("charset=");
+            if (index >= 0) {
+                setCharacterEncoding(type.substring(index + "charset=".length()).strip());
+            }
+        }
+    }
+
+    @Override
+    public String getContentType() {
+        return getHeader(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public void setCharacterEncoding(final String charset) {
+        if (charset != null && writer == null) {
+            this.charset = Charset.forName(charset);
+        }
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return charset.name();
+    }
+
+    @Override
+    public void setContentLength(final int len) {
+        setIntHeader(HttpHeaders.CONTENT_LENGTH, len);
+    }
+
+    @Override
+    public void setContentLengthLong(final long len) {
+        setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(len));
+    }
+
+    @Override
+    public void setLocale(final Locale locale) {
+        this.locale = locale;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(final WriteListener writeListener) {
+                    throw new UnsupportedOperationException("Batched responses are written synchronously");
+                }
+
+                @Override
+                public void write(final int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) {
+                    body.write(b, off, len);
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, charset));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setBufferSize(final int size) {
+        // Everything is buffered until the batch completes
+    }
+
+    @Override
+    public int getBufferSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        body.reset();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.store.component.bulkhead;
+
+import com.example.store.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed partition of database connections, bounded by a fair {@link Semaphore}.
+ * <p>
+ * Waiting for a permit parks the calling thread without pinning its carrier, so virtual threads queue here as
+ * cheaply as on the pool itself. A zero {@code maxWait} fails fast; anything longer is the deadline after which the
+ * caller gets a {@link BulkheadFullException} instead of a connection.
+ */
+public class Bulkhead {
+    private static final String MSG_KEY = "global.503.002";
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final Counter rejected;
+    private final Timer waitTime;
+
+    public Bulkhead(final String name, final int maxConcurrent, final Duration maxWait,
+                    final MeterRegistry meterRegistry) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs at least one permit");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.rejected = Counter.builder("store.bulkhead.rejected")
+                .description("Connection requests refused because the bulkhead stayed full")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("store.bulkhead.wait")
+                .description("Time spent waiting for a bulkhead permit")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("store.bulkhead.in-use", this, Bulkhead::getInUse)
+                .description("Connections currently held through the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("store.bulkhead.limit", this, Bulkhead::getMaxConcurrent)
+                .description("Connections the bulkhead admits at once")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("store.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads queued for a bulkhead permit")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("store.bulkhead.saturation", this, Bulkhead::getSaturation)
+                .description("Share of the bulkhead's permits in use")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a permit, waiting at most the configured deadline for one.
+     *
+     * @throws BulkheadFullException if no permit became available in time, or the thread was interrupted
+     */
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (maxWaitNanos <= 0) {
+            reject();
+        }
+        final long start = System.nanoTime();
+        boolean acquired = false;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waitTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            reject();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getInUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public double getSaturation() {
+        return (double) getInUse() / maxConcurrent;
+    }
+
+    private void reject() {
+        rejected.increment();
+        throw new BulkheadFullException(MSG_KEY, new Object[]{name});
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.store.component.bulkhead;
+
+/**
+ * Carries the bulkhead of the work running on the current thread to {@link BulkheadDataSource}.
+ * <p>
+ * Set by {@link BulkheadFilter} for the request thread. Threads the request hands work to, such as batched calls and
+ * streamed bodies, have to copy it over themselves; anything without a bulkhead falls back to the default one.
+ */
+public final class BulkheadContext {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    /**
+     * @return the bulkhead name bound to this thread, or {@code null}
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds {@code name} to this thread, returning the previous binding so callers can restore it.
+     */
+    public static String bind(final String name) {
+        final String previous = CURRENT.get();
+        if (name == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(name);
+        }
+        return previous;
+    }
+}
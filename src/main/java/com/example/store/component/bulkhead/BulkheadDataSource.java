@@ -0,0 +1,122 @@
+package com.example.store.component.bulkhead;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Partitions the connection pool: every connection is taken through the {@link Bulkhead} named by
+ * {@link BulkheadContext}, and gives its permit back when it is closed, i.e. returned to the pool.
+ * <p>
+ * The permit is taken before asking the pool, so a group that has used up its share queues on its own semaphore
+ * and never occupies a pool slot that another group could have used.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+    private final Map<String, Bulkhead> bulkheads;
+    private final Bulkhead defaultBulkhead;
+
+    public BulkheadDataSource(final DataSource target, final Map<String, Bulkhead> bulkheads,
+                              final String defaultBulkhead) {
+        super(target);
+        this.bulkheads = Map.copyOf(bulkheads);
+        this.defaultBulkhead = bulkheads.get(defaultBulkhead);
+        if (this.defaultBulkhead == null) {
+            throw new IllegalArgumentException("Unknown default bulkhead " + defaultBulkhead);
+        }
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        final Bulkhead bulkhead = resolve();
+        bulkhead.acquire();
+        return guard(bulkhead, super::getConnection);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull final String username, @NonNull final String password)
+            throws SQLException {
+        final Bulkhead bulkhead = resolve();
+        bulkhead.acquire();
+        return guard(bulkhead, () -> super.getConnection(username, password));
+    }
+
+    private Bulkhead resolve() {
+        final String name = BulkheadContext.current();
+        return name == null ? defaultBulkhead : bulkheads.getOrDefault(name, defaultBulkhead);
+    }
+
+    private static Connection guard(final Bulkhead bulkhead, final ConnectionSupplier supplier) throws SQLException {
+        final Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (final SQLException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ReleasingHandler(connection, bulkhead));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Delegates everything to the pooled connection and releases the permit on the first {@code close()}.
+     */
+    private static final class ReleasingHandler implements InvocationHandler {
+        private final Connection target;
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleasingHandler(final Connection target, final Bulkhead bulkhead) {
+            this.target = target;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "unwrap" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                }
+                case "isWrapperFor" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                }
+                default -> {
+                }
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    bulkhead.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.store.component.bulkhead;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Assigns each request to a bulkhead before anything touches the database, authentication included:
+ * <ul>
+ *     <li>{@code auth}: {@code /auth/**}</li>
+ *     <li>{@code bulk}: {@code POST /batch}, streamed lists ({@code stream=true}) and name searches; the streamed
+ *     body keeps the group on the async thread it is written on</li>
+ *     <li>{@code writes}: any other method than {@code GET}, {@code HEAD} or {@code OPTIONS}</li>
+ *     <li>{@code reads}: everything else</li>
+ * </ul>
+ * Work no request is bound to, such as scheduled jobs, goes to {@code background}.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+    public static final String AUTH = "auth";
+    public static final String READS = "reads";
+    public static final String WRITES = "writes";
+    public static final String BULK = "bulk";
+    public static final String BACKGROUND = "background";
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull final HttpServletRequest request,
+            @NonNull final HttpServletResponse response,
+            @NonNull final FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        final String previous = BulkheadContext.bind(classify(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            BulkheadContext.bind(previous);
+        }
+    }
+
+    static String classify(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/auth/")) {
+            return AUTH;
+        }
+        if (path.equals("/batch")) {
+            return BULK;
+        }
+        final String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return "true".equals(request.getParameter("stream")) || request.getParameter("name") != null
+                    ? BULK
+                    : READS;
+        }
+        return WRITES;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.store.component.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Batch view of the per-id entries that {@code @Cacheable(key = "'id_' + #id")} lookups put in a cache.
+ * <p>
+ * Ids already cached are served from the cache; the misses are loaded together in one call and written back, so a
+ * following single or batch lookup hits the cache as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class PerIdCache {
+    private static final String KEY_PREFIX = "id_";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Resolves {@code ids} in request order. Duplicates are returned once and ids that do not exist are left out.
+     *
+     * @param cacheName the cache holding the per-id entries
+     * @param ids       the ids to resolve
+     * @param type      the cached value type
+     * @param loader    loads the missing ids in one call, keyed by id; ids it does not return are treated as absent
+     * @return the values found, in the order their ids were first requested
+     */
+    public <T> List<T> findAll(final String cacheName, final Collection<Long> ids, final Class<T> type,
+                               final Function<Collection<Long>, Map<Long, T>> loader) {
+        final Cache cache = Objects.requireNonNull(cacheManager.getCache(cacheName), cacheName);
+        final Collection<Long> requested = new LinkedHashSet<>(ids);
+        final Map<Long, T> found = HashMap.newHashMap(requested.size());
+        final List<Long> misses = new ArrayList<>();
+
+        for (final Long id : requested) {
+            final Cache.ValueWrapper cached = cache.get(KEY_PREFIX + id);
+            if (cached == null) {
+                misses.add(id);
+            } else if (type.isInstance(cached.get())) {
+                found.put(id, type.cast(cached.get()));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            loader.apply(misses).forEach((id, value) -> {
+                cache.put(KEY_PREFIX + id, value);
+                found.put(id, value);
+            });
+        }
+
+        return requested.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
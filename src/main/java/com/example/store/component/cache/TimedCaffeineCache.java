@@ -0,0 +1,81 @@
+package com.example.store.component.cache;
+
+import com.example.store.component.jfr.CacheEvictEvent;
+import com.example.store.component.jfr.CacheGetEvent;
+import com.example.store.component.timing.RequestTimings;
+import com.example.store.component.timing.TimingContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link CaffeineCache} that counts its lookups as hits or misses of the current request's {@link RequestTimings},
+ * and reports lookups and evictions as {@link CacheGetEvent}s and {@link CacheEvictEvent}s to JFR.
+ * <p>
+ * Both {@code @Cacheable} and {@link PerIdCache} look entries up through {@link #lookup(Object)};
+ * {@code @CacheEvict(allEntries = true)} clears through {@link #clear()} or {@link #invalidate()}.
+ */
+public class TimedCaffeineCache extends CaffeineCache {
+
+    public TimedCaffeineCache(final String name, final Cache<Object, Object> cache, final boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(@NonNull final Object key) {
+        final CacheGetEvent event = new CacheGetEvent();
+        event.begin();
+        final Object value = super.lookup(key);
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = getName();
+            event.key = String.valueOf(key);
+            event.hit = value != null;
+            event.commit();
+        }
+
+        final RequestTimings timings = TimingContext.current();
+        if (timings != null) {
+            timings.recordCacheLookup(value != null);
+        }
+        return value;
+    }
+
+    @Override
+    public void evict(@NonNull final Object key) {
+        super.evict(key);
+        commitEvict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull final Object key) {
+        final boolean evicted = super.evictIfPresent(key);
+        commitEvict(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        commitEvict(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        final boolean invalidated = super.invalidate();
+        commitEvict(null);
+        return invalidated;
+    }
+
+    private void commitEvict(@Nullable final Object key) {
+        final CacheEvictEvent event = new CacheEvictEvent();
+        if (event.shouldCommit()) {
+            event.cache = getName();
+            event.key = key == null ? null : String.valueOf(key);
+            event.allEntries = key == null;
+            event.commit();
+        }
+    }
+}
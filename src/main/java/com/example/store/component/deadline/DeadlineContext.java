@@ -0,0 +1,35 @@
+package com.example.store.component.deadline;
+
+/**
+ * Carries the {@link RequestDeadline} of the work running on the current thread to {@link DeadlineDataSource}.
+ * <p>
+ * Set by {@link DeadlineFilter} for the request thread; threads the request hands work to, such as batched calls and
+ * streamed bodies, have to copy it over themselves. Work without a deadline, such as scheduled jobs, runs without a
+ * query timeout.
+ */
+public final class DeadlineContext {
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    /**
+     * @return the deadline bound to this thread, or {@code null}
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds {@code deadline} to this thread, returning the previous binding so callers can restore it.
+     */
+    public static RequestDeadline bind(final RequestDeadline deadline) {
+        final RequestDeadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.store.component.deadline;
+
+import com.example.store.exception.DeadlineExceededException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the remaining budget of the current {@link RequestDeadline} to every statement as its JDBC query timeout,
+ * so the database cancels a query once the caller has stopped waiting for it.
+ * <p>
+ * An expired deadline fails with {@link DeadlineExceededException} before a connection is taken or a statement is
+ * sent. JDBC query timeouts have whole-second resolution, so the remaining budget is rounded up.
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+    private static final String MSG_KEY = "global.504.001";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    public DeadlineDataSource(final DataSource target) {
+        super(target);
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection() throws SQLException {
+        checkNotExpired();
+        return guard(super.getConnection());
+    }
+
+    @Override
+    @NonNull
+    public Connection getConnection(@NonNull final String username, @NonNull final String password)
+            throws SQLException {
+        checkNotExpired();
+        return guard(super.getConnection(username, password));
+    }
+
+    /**
+     * @return the remaining budget as a query timeout in seconds, or {@code 0} (none) without a deadline
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    static int queryTimeoutSeconds() {
+        final RequestDeadline deadline = DeadlineContext.current();
+        if (deadline == null) {
+            return 0;
+        }
+        final long remaining = deadline.remainingNanos();
+        if (remaining <= 0) {
+            throw expired(deadline);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.ceilDiv(remaining, NANOS_PER_SECOND));
+    }
+
+    private static void checkNotExpired() {
+        final RequestDeadline deadline = DeadlineContext.current();
+        if (deadline != null && deadline.isExpired()) {
+            throw expired(deadline);
+        }
+    }
+
+    private static DeadlineExceededException expired(final RequestDeadline deadline) {
+        return new DeadlineExceededException(MSG_KEY, new Object[]{deadline.elapsedMillis()});
+    }
+
+    private static Connection guard(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new TimeoutHandler(connection));
+    }
+
+    /**
+     * Delegates everything to the pooled connection and sets the query timeout on each statement it creates.
+     */
+    private record TimeoutHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "unwrap" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                }
+                case "isWrapperFor" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                }
+                default -> {
+                }
+            }
+            final int timeout = STATEMENT_FACTORIES.contains(method.getName()) ? queryTimeoutSeconds() : 0;
+            final Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (timeout > 0 && result instanceof Statement statement) {
+                statement.setQueryTimeout(timeout);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.store.component.deadline;
+
+import com.example.store.config.limit.DeadlineProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every request a {@link RequestDeadline} and binds it to the request thread and the request attributes.
+ * <p>
+ * The budget is the client's {@code X-Request-Timeout} header in milliseconds, capped at {@code max-timeout}, or
+ * else the timeout of the first matching {@code endpoints} rule, or else {@code default-timeout}. The clock starts
+ * when the request reaches this filter, so time spent queuing for a connection counts against it.
+ */
+@Log4j2
+public class DeadlineFilter extends OncePerRequestFilter {
+    private final String header;
+    private final long defaultTimeoutNanos;
+    private final long maxTimeoutNanos;
+    private final List<Rule> rules;
+
+    public DeadlineFilter(final DeadlineProperties properties) {
+        this.header = properties.getHeader();
+        this.defaultTimeoutNanos = properties.getDefaultTimeout().toNanos();
+        this.maxTimeoutNanos = properties.getMaxTimeout().toNanos();
+        this.rules = properties.getEndpoints().stream()
+                .map(endpoint -> new Rule(
+                        endpoint.getMethod() == null || endpoint.getMethod().isBlank() ? null : endpoint.getMethod(),
+                        PathPatternParser.defaultInstance.parse(endpoint.getPattern()),
+                        endpoint.getTimeout().toNanos()))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull final HttpServletRequest request,
+            @NonNull final HttpServletResponse response,
+            @NonNull final FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        final RequestDeadline deadline = RequestDeadline.startingNow(timeoutNanos(request));
+        request.setAttribute(RequestDeadline.ATTRIBUTE, deadline);
+        final RequestDeadline previous = DeadlineContext.bind(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DeadlineContext.bind(previous);
+        }
+    }
+
+    long timeoutNanos(final HttpServletRequest request) {
+        final String requested = request.getHeader(header);
+        if (requested != null) {
+            try {
+                final long millis = Long.parseLong(requested.trim());
+                if (millis > 0) {
+                    return Math.min(TimeUnit.MILLISECONDS.toNanos(millis), maxTimeoutNanos);
+                }
+            } catch (final NumberFormatException e) {
+                // Falls through to the endpoint default below
+            }
+            log.debug("Ignored invalid {} header '{}'", header, requested);
+        }
+
+        final PathContainer path = PathContainer.parsePath(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        for (final Rule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(request.getMethod()))
+                    && rule.pattern().matches(path)) {
+                return rule.timeoutNanos();
+            }
+        }
+        return defaultTimeoutNanos;
+    }
+
+    private record Rule(String method, PathPattern pattern, long timeoutNanos) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.store.component.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time budget of one request, measured on {@link System#nanoTime()} from the moment it was admitted.
+ *
+ * @param startNanos    when the request was admitted
+ * @param deadlineNanos when the caller stops waiting for it
+ */
+public record RequestDeadline(long startNanos, long deadlineNanos) {
+    public static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    public static RequestDeadline startingNow(final long timeoutNanos) {
+        final long now = System.nanoTime();
+        return new RequestDeadline(now, now + timeoutNanos);
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
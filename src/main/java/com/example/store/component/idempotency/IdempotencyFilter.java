@@ -0,0 +1,233 @@
+package com.example.store.component.idempotency;
+
+import com.example.store.dto.error.ErrorDTO;
+import com.google.gson.Gson;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Makes {@code POST /customers}, {@code /orders} and {@code /products} safe to retry when the client sends an
+ * {@code Idempotency-Key} header.
+ * <p>
+ * The first request with a key executes and its response is stored by {@link IdempotencyStore}; a retry with the
+ * same key and payload gets that response back, marked with {@code Idempotent-Replayed: true}, without executing
+ * again. Reusing a key for a different payload is rejected with 422, and a duplicate of a request still in flight
+ * elsewhere with 409. The body is read into memory to hash it, so bodies over {@code max-body-size} are rejected
+ * with 413 before anything executes. Responses with a 5xx status are not stored, so the retry executes. Keys are
+ * scoped to the JWT subject, so this filter must be placed after {@code JwtAuthenticationFilter} in the security
+ * chain.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> PATHS = Set.of("/customers", "/orders", "/products");
+
+    private final IdempotencyStore idempotencyStore;
+    private final Gson gson;
+    private final MessageSource messageSource;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(final IdempotencyStore idempotencyStore, final Gson gson,
+                             final MessageSource messageSource, final int maxBodyBytes) {
+        this.idempotencyStore = idempotencyStore;
+        this.gson = gson;
+        this.messageSource = messageSource;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull final HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !PATHS.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull final HttpServletRequest request,
+            @NonNull final HttpServletResponse response,
+            @NonNull final FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        final String key = request.getHeader(HEADER).strip();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "global.400.018", new Object[]{MAX_KEY_LENGTH});
+            return;
+        }
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            // Turned away by the entry point anyway
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final byte[] body = readBody(request);
+        if (body == null) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "global.413.001", new Object[]{maxBodyBytes});
+            return;
+        }
+        final String requestHash = hash(path(request), body);
+
+        switch (idempotencyStore.claim(authentication.getName(), key, requestHash)) {
+            case IdempotencyStore.Replay(StoredResponse stored) when stored.requestHash().equals(requestHash) ->
+                    replay(response, stored);
+            case IdempotencyStore.Replay ignored ->
+                    reject(response, HttpStatus.UNPROCESSABLE_ENTITY, "global.422.001", new Object[]{key});
+            case IdempotencyStore.InProgress ignored -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpStatus.CONFLICT, "global.409.001", new Object[]{key});
+            }
+            case IdempotencyStore.Acquired acquired ->
+                    execute(new CachedBodyRequest(request, body), response, filterChain, acquired);
+        }
+    }
+
+    private void execute(final HttpServletRequest request, final HttpServletResponse response,
+                         final FilterChain filterChain, final IdempotencyStore.Acquired acquired)
+            throws ServletException, IOException {
+        final ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, recorder);
+            if (recorder.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                idempotencyStore.complete(acquired, recorder.getStatus(), recorder.getContentType(),
+                        recorder.getContentAsByteArray());
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyStore.release(acquired);
+            }
+            recorder.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Reads the body into memory, refusing a declared or actual length over {@code maxBodyBytes}.
+     *
+     * @return the body, or {@code null} if it is too large
+     */
+    private byte[] readBody(final HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            return null;
+        }
+        final byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        return body.length > maxBodyBytes ? null : body;
+    }
+
+    private static void replay(final HttpServletResponse response, final StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void reject(final HttpServletResponse response, final HttpStatus status, final String messageKey,
+                        final Object[] args) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        final String errorMessage = messageSource.getMessage(messageKey, args, status.getReasonPhrase(),
+                Locale.getDefault());
+        final ErrorDTO errorDTO = new ErrorDTO(status.name(), errorMessage, null, ZonedDateTime.now());
+
+        response.getWriter().write(gson.toJson(errorDTO));
+    }
+
+    private static String path(final HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String hash(final String path, final byte[] body) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(path.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Serves the request body from memory, since it had to be read up front to hash it.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(final HttpServletRequest request, final byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            final ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(final ReadListener readListener) {
+                    throw new UnsupportedOperationException("The cached body is read synchronously");
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            final String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
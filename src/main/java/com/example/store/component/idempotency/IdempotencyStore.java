@@ -0,0 +1,236 @@
+package com.example.store.component.idempotency;
+
+import com.example.store.config.idempotency.IdempotencyProperties;
+import com.example.store.persistence.repo.IdempotencyRecordRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Idempotency-Key bookkeeping: the {@code idempotency_key} table is the source of truth across instances, fronted
+ * by two in-memory structures.
+ * <p>
+ * Completed responses sit in a bounded Caffeine index, so a retry is normally answered without touching the
+ * database. Requests still executing on this instance are tracked as futures; a duplicate arriving meanwhile waits
+ * for the first one (up to {@code claim-timeout}) and is answered with its response instead of racing it. A
+ * duplicate in flight on another instance is only visible as a pending row and is reported as
+ * {@link InProgress}. Expired rows are taken over on the next claim and purged every {@code purge-interval}.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+    private final IdempotencyRecordRepo idempotencyRecordRepo;
+    private final IdempotencyProperties props;
+    private final Cache<String, StoredResponse> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeNanos;
+
+    public IdempotencyStore(final IdempotencyRecordRepo idempotencyRecordRepo, final IdempotencyProperties props) {
+        this.idempotencyRecordRepo = idempotencyRecordRepo;
+        this.props = props;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(props.getMaxHotKeys())
+                .expireAfter(new ReplayWindowExpiry(props.getHotTtl()))
+                .build();
+        this.nextPurgeNanos = new AtomicLong(System.nanoTime() + props.getPurgeInterval().toNanos());
+    }
+
+    /**
+     * Outcome of {@link #claim}.
+     */
+    public sealed interface Claim permits Acquired, Replay, InProgress {
+    }
+
+    /**
+     * The caller owns the key and must finish with {@link #complete} or {@link #release}; {@code claimToken} tells
+     * its row apart from a later claim that took the key over after this one expired.
+     */
+    public record Acquired(String id, String scope, String key, String requestHash, UUID claimToken,
+                           CompletableFuture<StoredResponse> waiters) implements Claim {
+    }
+
+    /**
+     * The key has already been answered; {@code response} must be replayed if the request hash matches.
+     */
+    public record Replay(StoredResponse response) implements Claim {
+    }
+
+    /**
+     * Another request with the key is still executing and did not finish within the claim timeout.
+     */
+    public record InProgress() implements Claim {
+    }
+
+    /**
+     * Claims {@code key} for {@code scope}, waiting for an in-flight duplicate on this instance to finish first.
+     *
+     * @param scope       the client the key belongs to
+     * @param key         the {@code Idempotency-Key} header value
+     * @param requestHash hash identifying the request payload
+     * @return how the request should proceed
+     */
+    public Claim claim(final String scope, final String key, final String requestHash) {
+        final String id = scope + '\n' + key;
+        while (true) {
+            final StoredResponse hot = completed.getIfPresent(id);
+            if (hot != null) {
+                return new Replay(hot);
+            }
+
+            final CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            final CompletableFuture<StoredResponse> leader = inFlight.putIfAbsent(id, mine);
+            if (leader == null) {
+                return claimInDatabase(id, scope, key, requestHash, mine);
+            }
+
+            final StoredResponse outcome = await(leader);
+            if (outcome != null) {
+                return new Replay(outcome);
+            }
+            if (!leader.isDone()) {
+                return new InProgress();
+            }
+            // The first request failed and released the key; compete for it again
+        }
+    }
+
+    private Claim claimInDatabase(final String id, final String scope, final String key, final String requestHash,
+                                  final CompletableFuture<StoredResponse> mine) {
+        boolean acquired = false;
+        StoredResponse stored = null;
+        try {
+            purgeIfDue();
+            final ZonedDateTime now = ZonedDateTime.now();
+            final UUID claimToken = UUID.randomUUID();
+            if (idempotencyRecordRepo.claim(scope, key, requestHash, claimToken, now.plus(props.getClaimTimeout()),
+                    now) == 1) {
+                acquired = true;
+                return new Acquired(id, scope, key, requestHash, claimToken, mine);
+            }
+            stored = idempotencyRecordRepo.findByScopeAndIdemKey(scope, key)
+                    .filter(record -> record.getStatus() != null && record.getExpiresAt().isAfter(now))
+                    .map(StoredResponse::of)
+                    .orElse(null);
+            if (stored != null) {
+                completed.put(id, stored);
+                return new Replay(stored);
+            }
+            return new InProgress();
+        } finally {
+            // Without the key, this request is answered right away; wake anyone who queued behind it
+            if (!acquired) {
+                finish(id, mine, stored);
+            }
+        }
+    }
+
+    /**
+     * Stores the response of an acquired request and hands it to the duplicates waiting on it. A failed write is
+     * logged rather than thrown, since the request itself has already been executed. If the claim expired and
+     * another request took the key over meanwhile, the response is dropped and the new owner's row left alone.
+     */
+    public void complete(final Acquired acquired, final int status, final String contentType, final byte[] body) {
+        final ZonedDateTime now = ZonedDateTime.now();
+        final ZonedDateTime expiresAt = now.plus(props.getTtl());
+        final StoredResponse stored = new StoredResponse(acquired.requestHash(), status, contentType, body,
+                expiresAt.toInstant());
+        boolean owned = true;
+        try {
+            owned = idempotencyRecordRepo.complete(acquired.scope(), acquired.key(), acquired.claimToken(), status,
+                    contentType, body, expiresAt, now) == 1;
+            if (!owned) {
+                log.warn("Idempotency-Key '{}' was taken over after its claim expired; response not stored",
+                        acquired.key());
+            }
+        } catch (final RuntimeException e) {
+            log.warn("Could not store response for Idempotency-Key '{}': {}", acquired.key(), e.getMessage());
+        } finally {
+            if (owned) {
+                completed.put(acquired.id(), stored);
+            }
+            finish(acquired.id(), acquired.waiters(), owned ? stored : null);
+        }
+    }
+
+    /**
+     * Gives up an acquired key without a stored response, so a retry executes again.
+     */
+    public void release(final Acquired acquired) {
+        try {
+            idempotencyRecordRepo.release(acquired.scope(), acquired.key(), acquired.claimToken());
+        } catch (final RuntimeException e) {
+            log.warn("Could not release Idempotency-Key '{}': {}", acquired.key(), e.getMessage());
+        } finally {
+            finish(acquired.id(), acquired.waiters(), null);
+        }
+    }
+
+    private void finish(final String id, final CompletableFuture<StoredResponse> future, final StoredResponse outcome) {
+        inFlight.remove(id, future);
+        future.complete(outcome);
+    }
+
+    private StoredResponse await(final CompletableFuture<StoredResponse> leader) {
+        try {
+            return leader.get(props.getClaimTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException | ExecutionException e) {
+            return null;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void purgeIfDue() {
+        final long now = System.nanoTime();
+        final long due = nextPurgeNanos.get();
+        if (now - due < 0 || !nextPurgeNanos.compareAndSet(due, now + props.getPurgeInterval().toNanos())) {
+            return;
+        }
+        try {
+            final int purged = idempotencyRecordRepo.deleteExpired(ZonedDateTime.now());
+            log.debug("Purged {} expired idempotency keys", purged);
+        } catch (final RuntimeException e) {
+            log.warn("Could not purge expired idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Keeps an entry for {@code hotTtl} at most, and never past the end of its replay window.
+     */
+    private record ReplayWindowExpiry(Duration hotTtl) implements Expiry<String, StoredResponse> {
+
+        @Override
+        public long expireAfterCreate(final String key, final StoredResponse value,
+                                      final long currentTime) {
+            final long untilExpiry = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(0, Math.min(hotTtl.toNanos(), untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final StoredResponse value,
+                                      final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final StoredResponse value,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.store.component.idempotency;
+
+import com.example.store.persistence.entity.IdempotencyRecord;
+
+import java.time.Instant;
+
+/**
+ * A completed response kept for replay.
+ *
+ * @param requestHash hash of the request that produced it; a retry must match it
+ * @param status      the HTTP status
+ * @param contentType the response content type, may be null
+ * @param body        the response body
+ * @param expiresAt   end of the replay window
+ */
+public record StoredResponse(String requestHash, int status, String contentType, byte[] body, Instant expiresAt) {
+
+    static StoredResponse of(final IdempotencyRecord record) {
+        return new StoredResponse(record.getRequestHash(), record.getStatus(), record.getContentType(),
+                record.getResponseBody() == null ? new byte[0] : record.getResponseBody(),
+                record.getExpiresAt().toInstant());
+    }
+}
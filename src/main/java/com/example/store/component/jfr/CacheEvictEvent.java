@@ -0,0 +1,30 @@
+package com.example.store.component.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * An eviction from, or a clear of, one of the Caffeine caches. Writes evict whole caches, so these are rare and
+ * recorded with their stack trace to show which write caused them.
+ */
+@Name("com.example.store.CacheEvict")
+@Label("Cache Evict")
+@Category({"Store", "Cache"})
+@Description("Eviction of a key from, or clear of, an application cache")
+@Threshold("0 ms")
+public class CacheEvictEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    @Description("The evicted key, or null when the whole cache was cleared")
+    public String key;
+
+    @Label("All Entries")
+    public boolean allEntries;
+}
@@ -0,0 +1,31 @@
+package com.example.store.component.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A lookup in one of the Caffeine caches. Lookups take well under a microsecond, so with the default threshold only
+ * contended ones are recorded; set it to {@code 0 ms} to see every hit and miss.
+ */
+@Name("com.example.store.CacheGet")
+@Label("Cache Get")
+@Category({"Store", "Cache"})
+@Description("Lookup of a key in an application cache")
+@StackTrace(false)
+@Threshold("100 us")
+public class CacheGetEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Hit")
+    public boolean hit;
+}
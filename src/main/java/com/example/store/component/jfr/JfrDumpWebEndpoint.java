@@ -0,0 +1,68 @@
+package com.example.store.component.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@code GET /actuator/jfrdump} downloads a snapshot of the running recording as a {@code .jfr} file, for JDK Mission
+ * Control or {@code jfr print}; 404 when nothing is being recorded.
+ */
+@WebEndpoint(id = "jfrdump")
+@RequiredArgsConstructor
+public class JfrDumpWebEndpoint {
+    private final JfrRecorder recorder;
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        final Path file = recorder.dump();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    /**
+     * Deletes the dump once it has been streamed to the client.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(final Path file) {
+            super(file);
+        }
+
+        @Override
+        @NonNull
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        /**
+         * Not a file as far as the web layer is concerned, so it is streamed through {@link #getInputStream()}
+         * rather than sent from disk directly.
+         */
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.store.component.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * {@code /actuator/jfr}: {@code GET} shows the recording, {@code POST} starts it with optional {@code settings},
+ * {@code maxAge} and {@code maxSize}, {@code DELETE} stops it. Download it with {@link JfrDumpWebEndpoint}.
+ */
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+    private final JfrRecorder recorder;
+
+    @ReadOperation
+    public JfrRecorder.Status status() {
+        return recorder.status();
+    }
+
+    @WriteOperation
+    public JfrRecorder.Status start(@OptionalParameter final String settings,
+                                    @OptionalParameter final Duration maxAge,
+                                    @OptionalParameter final DataSize maxSize) throws IOException, ParseException {
+        return recorder.start(settings, maxAge, maxSize);
+    }
+
+    @DeleteOperation
+    public JfrRecorder.Status stop() {
+        return recorder.stop();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.store.component.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.lang.NonNull;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Times the calls to one MapStruct mapper as {@link MapperCallEvent}s.
+ */
+public class JfrMapperInterceptor implements MethodInterceptor {
+    private final String mapper;
+
+    public JfrMapperInterceptor(final String mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Object invoke(@NonNull final MethodInvocation invocation) throws Throwable {
+        final MapperCallEvent event = new MapperCallEvent();
+        Object result = null;
+        event.begin();
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                final Object[] arguments = invocation.getArguments();
+                event.mapper = mapper;
+                event.method = invocation.getMethod().getName();
+                event.inputSize = arguments.length == 0 ? 0 : size(arguments[0]);
+                event.outputSize = size(result);
+                event.commit();
+            }
+        }
+    }
+
+    static int size(final Object value) {
+        return switch (value) {
+            case null -> 0;
+            case Collection<?> collection -> collection.size();
+            case Map<?, ?> map -> map.size();
+            default -> 1;
+        };
+    }
+}
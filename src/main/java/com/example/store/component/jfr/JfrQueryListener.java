@@ -0,0 +1,25 @@
+package com.example.store.component.jfr;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Hands every statement datasource-proxy sees to the {@link RepositoryCallEvent} being timed on the current thread.
+ */
+public class JfrQueryListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        // Nothing to do until the statement has run
+    }
+
+    @Override
+    public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        for (final QueryInfo queryInfo : queryInfoList) {
+            RepositoryCallTracker.recordStatement(queryInfo.getQuery());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.store.component.jfr;
+
+import com.example.store.config.observability.JfrProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Owns the one on-demand JFR recording of the app, started, dumped and stopped through the {@code jfr} and
+ * {@code jfrdump} actuator endpoints.
+ * <p>
+ * The recording is a ring buffer on disk bounded by age and size, so it can be left running and dumped after an
+ * incident. The store events keep their default thresholds unless the settings override them.
+ */
+@Log4j2
+public class JfrRecorder {
+    static final String RECORDING_NAME = "store";
+
+    private final JfrProperties properties;
+    private Recording recording;
+
+    public JfrRecorder(final JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Starts the recording unless it is already running, in which case it is left as it is.
+     *
+     * @param settings a JDK settings name such as {@code default} or {@code profile}, or {@code null} for the
+     *                 configured one
+     * @param maxAge   how much history to keep, or {@code null} for the configured age
+     * @param maxSize  how much data to keep, or {@code null} for the configured size
+     */
+    public synchronized Status start(final String settings, final Duration maxAge, final DataSize maxSize)
+            throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        close();
+
+        final String settingsName = settings != null ? settings : properties.getSettings();
+        final Recording started = new Recording(Configuration.getConfiguration(settingsName));
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge != null ? maxAge : properties.getMaxAge());
+        started.setMaxSize((maxSize != null ? maxSize : properties.getMaxSize()).toBytes());
+        started.start();
+        recording = started;
+        log.info("Started JFR recording with {} settings, keeping {} up to {} bytes", settingsName,
+                started.getMaxAge(), started.getMaxSize());
+        return status();
+    }
+
+    public synchronized Status status() {
+        if (recording == null) {
+            return new Status(RecordingState.CLOSED.name(), null, null, null, 0);
+        }
+        return new Status(recording.getState().name(),
+                recording.getStartTime() == null ? null : recording.getStartTime().toString(),
+                String.valueOf(recording.getMaxAge()),
+                recording.getMaxSize(),
+                recording.getSize());
+    }
+
+    /**
+     * Writes the data recorded so far to a new temporary file, leaving the recording running.
+     *
+     * @return the file, which the caller deletes, or {@code null} when nothing is being recorded
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        final Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (final IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Stops and discards the recording; dump it first to keep the data.
+     */
+    public synchronized Status stop() {
+        close();
+        return status();
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            log.info("Closed JFR recording");
+        }
+    }
+
+    /**
+     * @param state   the recording state, {@code CLOSED} when there is none
+     * @param started when it started, ISO-8601
+     * @param maxAge  the history kept
+     * @param maxSize the bytes kept
+     * @param size    the bytes recorded so far
+     */
+    public record Status(String state, String started, String maxAge, Long maxSize, long size) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.store.component.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.NonNull;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * Times the calls to one Spring Data repository as {@link RepositoryCallEvent}s.
+ */
+public class JfrRepositoryInterceptor implements MethodInterceptor {
+    private final String repository;
+
+    public JfrRepositoryInterceptor(final Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(@NonNull final MethodInvocation invocation) throws Throwable {
+        final RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        final RepositoryCallTracker tracker = RepositoryCallTracker.start();
+        Object result = null;
+        event.begin();
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            event.end();
+            tracker.finish();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.statements = tracker.statements();
+                event.sql = tracker.sql();
+                event.rows = rows(result);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Rows the call returned. A count or a modifying query returns one scalar row, so its value is not taken as a row
+     * count.
+     */
+    static long rows(final Object result) {
+        return switch (result) {
+            case null -> 0;
+            case Collection<?> collection -> collection.size();
+            case Slice<?> slice -> slice.getNumberOfElements();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case BaseStream<?, ?> ignored -> -1;
+            default -> 1;
+        };
+    }
+}
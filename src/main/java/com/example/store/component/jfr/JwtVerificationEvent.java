@@ -0,0 +1,26 @@
+package com.example.store.component.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One JWT signature verification and claims parse in {@code JwtService}. An authenticated request parses its token
+ * several times, so expect a few of these per request when the threshold is lowered.
+ */
+@Name("com.example.store.JwtVerification")
+@Label("JWT Verification")
+@Category({"Store", "Security"})
+@Description("Signature verification and claims parsing of a JWT")
+@StackTrace(false)
+@Threshold("1 ms")
+public class JwtVerificationEvent extends Event {
+
+    @Label("Verified")
+    @Description("Whether the signature was valid and the token unexpired")
+    public boolean verified;
+}
@@ -0,0 +1,36 @@
+package com.example.store.component.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A call into one of the MapStruct mappers from outside it. Calls a generated mapper makes to its own methods, such
+ * as per-element mapping inside a list mapping, are part of the outer call.
+ */
+@Name("com.example.store.MapperCall")
+@Label("Mapper Call")
+@Category({"Store", "Mapping"})
+@Description("Entity to DTO mapping, or back, through a MapStruct mapper")
+@StackTrace(false)
+@Threshold("1 ms")
+public class MapperCallEvent extends Event {
+
+    @Label("Mapper")
+    public String mapper;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Input Size")
+    @Description("Elements of the first collection argument, or 1 for a single object, 0 for null")
+    public int inputSize;
+
+    @Label("Output Size")
+    @Description("Elements of the returned collection, or 1 for a single object, 0 for null")
+    public int outputSize;
+}
@@ -0,0 +1,40 @@
+package com.example.store.component.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A call to a Spring Data repository, with the SQL it ran and the rows it returned. Statements Hibernate defers to
+ * the flush at commit, such as the inserts of a {@code save}, run after the call and are not listed.
+ */
+@Name("com.example.store.RepositoryCall")
+@Label("Repository Call")
+@Category({"Store", "Persistence"})
+@Description("Call to a Spring Data repository and the SQL statements it executed")
+@StackTrace(false)
+@Threshold("10 ms")
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Statements")
+    @Description("SQL statements executed during the call")
+    public int statements;
+
+    @Label("SQL")
+    @Description("The statements executed during the call, truncated")
+    public String sql;
+
+    @Label("Rows")
+    @Description("Elements returned, 1 for scalar results such as counts, -1 for streams")
+    public long rows;
+}
@@ -0,0 +1,62 @@
+package com.example.store.component.jfr;
+
+/**
+ * Collects the SQL run on the current thread while a {@link RepositoryCallEvent} is being timed, for
+ * {@link JfrQueryListener} to fill in and {@link JfrRepositoryInterceptor} to read back.
+ * <p>
+ * Only set while the event is enabled, so recording nothing costs one {@link ThreadLocal} read per statement.
+ */
+final class RepositoryCallTracker {
+    private static final int MAX_SQL_LENGTH = 4096;
+    private static final ThreadLocal<RepositoryCallTracker> CURRENT = new ThreadLocal<>();
+
+    private final RepositoryCallTracker outer;
+    private final StringBuilder sql = new StringBuilder();
+    private int statements;
+
+    private RepositoryCallTracker(final RepositoryCallTracker outer) {
+        this.outer = outer;
+    }
+
+    /**
+     * Starts tracking a call; nested repository calls get their own tracker and also count towards the outer one.
+     */
+    static RepositoryCallTracker start() {
+        final RepositoryCallTracker tracker = new RepositoryCallTracker(CURRENT.get());
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    static void recordStatement(final String statement) {
+        for (RepositoryCallTracker tracker = CURRENT.get(); tracker != null; tracker = tracker.outer) {
+            tracker.append(statement);
+        }
+    }
+
+    void finish() {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    String sql() {
+        return sql.toString();
+    }
+
+    private void append(final String statement) {
+        statements++;
+        if (sql.length() >= MAX_SQL_LENGTH) {
+            return;
+        }
+        if (!sql.isEmpty()) {
+            sql.append(";\n");
+        }
+        sql.append(statement, 0, Math.min(statement.length(), MAX_SQL_LENGTH - sql.length()));
+    }
+}
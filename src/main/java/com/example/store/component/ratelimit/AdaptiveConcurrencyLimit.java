@@ -0,0 +1,150 @@
+package com.example.store.component.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to observed latency, after the gradient algorithm of Netflix's concurrency-limits.
+ * <p>
+ * Request latencies are averaged over sample windows. Each closed window compares the long-term latency (a slow
+ * moving average across windows) with the window's latency: while they agree, the limit grows by roughly its
+ * square root, the allowance for a small queue; once the window is slower than {@code tolerance} times the long-term
+ * latency, the limit shrinks in proportion, down to half per window. A window containing a dropped request (a
+ * timeout or an overload response further down) backs the limit off by {@code backoffRatio} regardless of latency.
+ * <p>
+ * The limit only grows while demand actually reaches it, so a quiet period cannot inflate it beyond what was
+ * proven safe. Admission is a single atomic increment; the window bookkeeping runs under a lock once per completed
+ * request.
+ */
+public final class AdaptiveConcurrencyLimit {
+    // Weight of each window in the long-term latency; about the last 20 windows count
+    private static final double LONG_RTT_SMOOTHING = 0.05;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private double longRttNanos;
+    private long windowStartNanos;
+    private long windowRttSumNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    /**
+     * @param initialLimit     the limit until the first window closes
+     * @param minLimit         floor of the limit, at least 1
+     * @param maxLimit         ceiling of the limit
+     * @param smoothing        share of each window's estimate applied to the limit, in (0, 1]
+     * @param tolerance        how much slower than the long-term latency a window may be before the limit shrinks
+     * @param backoffRatio     factor applied to the limit after a drop, in (0, 1)
+     * @param windowNanos      minimum duration of a sample window
+     * @param minWindowSamples minimum number of completed requests in a sample window
+     * @param nanoClock        monotonic time source, {@code System::nanoTime} outside tests
+     */
+    public AdaptiveConcurrencyLimit(final int initialLimit, final int minLimit, final int maxLimit,
+                                    final double smoothing, final double tolerance, final double backoffRatio,
+                                    final long windowNanos, final int minWindowSamples, final LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (smoothing <= 0 || smoothing > 1 || tolerance < 1 || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid smoothing, tolerance or backoff ratio");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = Math.max(1, minWindowSamples);
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.windowStartNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Admits a request if fewer than {@link #getLimit()} are in flight. An admitted request must be
+     * {@link #release released}.
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Completes an admitted request and feeds its latency into the current window.
+     *
+     * @param rttNanos how long the request took
+     * @param dropped  whether it timed out or was rejected for overload further down
+     */
+    public void release(final long rttNanos, final boolean dropped) {
+        final int inFlightAtCompletion = inFlight.getAndDecrement();
+        sample(rttNanos, inFlightAtCompletion, dropped);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(final long rttNanos, final int inFlightAtCompletion, final boolean dropped) {
+        windowRttSumNanos += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        windowDropped |= dropped;
+
+        final long now = nanoClock.getAsLong();
+        if (windowSamples < minWindowSamples || now - windowStartNanos < windowNanos) {
+            return;
+        }
+        limit = nextLimit((double) windowRttSumNanos / windowSamples);
+
+        windowStartNanos = now;
+        windowRttSumNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private double nextLimit(final double shortRttNanos) {
+        final double current = limit;
+        if (windowDropped) {
+            return Math.max(minLimit, current * backoffRatio);
+        }
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos += (shortRttNanos - longRttNanos) * LONG_RTT_SMOOTHING;
+        }
+        // Latency has dropped well below the long-term view (e.g. after an incident); catch up faster
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        final double gradient = Math.clamp(tolerance * longRttNanos / shortRttNanos, MIN_GRADIENT, 1.0);
+        double estimate = current * gradient + Math.sqrt(current);
+        if (windowMaxInFlight * 2 < current) {
+            // Demand never came close to the limit, so this window says nothing about raising it
+            estimate = Math.min(estimate, current);
+        }
+        final double next = current * (1 - smoothing) + estimate * smoothing;
+        return Math.clamp(next, minLimit, maxLimit);
+    }
+}
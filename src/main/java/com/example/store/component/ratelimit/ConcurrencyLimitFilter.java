@@ -0,0 +1,152 @@
+package com.example.store.component.ratelimit;
+
+import com.example.store.dto.error.ErrorDTO;
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+
+/**
+ * Sheds load before it queues up on the connection pool: requests beyond the {@link AdaptiveConcurrencyLimit} are
+ * rejected straight away with 503 and {@code Retry-After}, ahead of authentication and everything else.
+ * <p>
+ * A request counts against the limit until its response is complete, including async (streamed) responses.
+ * Responses with 503 or 504, and exceptions, are reported to the limit as drops. {@code /actuator/**} is exempt,
+ * so health checks keep working while the service sheds load.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String ACTUATOR_PATH_PREFIX = "/actuator/";
+    private static final String MSG_KEY = "global.503.001";
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final long retryAfterSeconds;
+    private final Gson gson;
+    private final MessageSource messageSource;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(final AdaptiveConcurrencyLimit limit, final long retryAfterSeconds, final Gson gson,
+                                  final MessageSource messageSource, final MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.gson = gson;
+        this.messageSource = messageSource;
+        this.rejected = Counter.builder("store.concurrency.rejected")
+                .description("Requests shed by the adaptive concurrency limiter")
+                .register(meterRegistry);
+        Gauge.builder("store.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("store.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently counted against the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull final HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + ACTUATOR_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull final HttpServletRequest request,
+            @NonNull final HttpServletResponse response,
+            @NonNull final FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!limit.tryAcquire()) {
+            rejected.increment();
+            reject(response);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(start));
+            } else {
+                limit.release(System.nanoTime() - start, failed || isDropped(response.getStatus()));
+            }
+        }
+    }
+
+    private static boolean isDropped(final int status) {
+        return status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    private void reject(final HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+
+        final String errorMessage = messageSource.getMessage(MSG_KEY, new Object[]{retryAfterSeconds},
+                "Service overloaded", Locale.getDefault());
+        final ErrorDTO errorDTO = new ErrorDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.name(),
+                errorMessage,
+                null,
+                ZonedDateTime.now()
+        );
+
+        response.getWriter().write(gson.toJson(errorDTO));
+    }
+
+    /**
+     * Releases the permit of an async request once its response has been written, or has failed.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+        private final long start;
+        private boolean released;
+
+        private ReleaseOnCompletion(final long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            release(event.getSuppliedResponse() instanceof HttpServletResponse response
+                    && isDropped(response.getStatus()));
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void release(final boolean dropped) {
+            if (!released) {
+                released = true;
+                limit.release(System.nanoTime() - start, dropped);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.store.component.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * The whole bucket state lives in one {@code long} so that refill and consume happen in a single CAS:
+ * the low {@value #TOKEN_BITS} bits hold the available tokens, the remaining high bits hold the time (millis since
+ * the bucket was created) up to which refills have been credited. Only whole tokens are credited and the refill
+ * timestamp advances by exactly the time those tokens represent, so no fractional refill is lost between calls.
+ */
+public final class TokenBucket {
+    static final int TOKEN_BITS = 20;
+    static final long MAX_CAPACITY = (1L << TOKEN_BITS) - 1;
+    private static final long TOKEN_MASK = MAX_CAPACITY;
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    private final long capacity;
+    private final long refillPerSecond;
+    private final long originNanos;
+    private final AtomicLong state;
+
+    /**
+     * @param capacity        maximum burst size, 1..{@value #MAX_CAPACITY}
+     * @param refillPerSecond tokens credited per second, must be positive
+     */
+    public TokenBucket(final long capacity, final long refillPerSecond) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (refillPerSecond < 1) {
+            throw new IllegalArgumentException("refillPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.originNanos = System.nanoTime();
+        this.state = new AtomicLong(pack(0L, capacity));
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(nowMillis());
+    }
+
+    boolean tryAcquire(final long nowMillis) {
+        for (;;) {
+            final long current = state.get();
+            final long refilled = refill(current, nowMillis);
+            final long tokens = tokens(refilled);
+            if (tokens == 0) {
+                return false;
+            }
+            if (state.compareAndSet(current, pack(refillMillis(refilled), tokens - 1))) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * @return whole seconds a caller should wait before a token becomes available, at least 1
+     */
+    public long retryAfterSeconds() {
+        return retryAfterSeconds(nowMillis());
+    }
+
+    long retryAfterSeconds(final long nowMillis) {
+        final long refilled = refill(state.get(), nowMillis);
+        if (tokens(refilled) > 0) {
+            return 1L;
+        }
+        final long millisPerToken = Math.ceilDiv(MILLIS_PER_SECOND, refillPerSecond);
+        final long waitMillis = Math.max(0L, refillMillis(refilled) + millisPerToken - nowMillis);
+        return Math.max(1L, Math.ceilDiv(waitMillis, MILLIS_PER_SECOND));
+    }
+
+    long availableTokens(final long nowMillis) {
+        return tokens(refill(state.get(), nowMillis));
+    }
+
+    long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - originNanos);
+    }
+
+    private long refill(final long packed, final long nowMillis) {
+        final long tokens = tokens(packed);
+        final long lastRefill = refillMillis(packed);
+        final long elapsed = nowMillis - lastRefill;
+        if (elapsed <= 0) {
+            return packed;
+        }
+
+        final long credited = elapsed * refillPerSecond / MILLIS_PER_SECOND;
+        if (credited == 0) {
+            return packed;
+        }
+        if (tokens + credited >= capacity) {
+            return pack(nowMillis, capacity);
+        }
+        return pack(lastRefill + credited * MILLIS_PER_SECOND / refillPerSecond, tokens + credited);
+    }
+
+    private static long pack(final long refillMillis, final long tokens) {
+        return (refillMillis << TOKEN_BITS) | tokens;
+    }
+
+    private static long tokens(final long packed) {
+        return packed & TOKEN_MASK;
+    }
+
+    private static long refillMillis(final long packed) {
+        return packed >>> TOKEN_BITS;
+    }
+}
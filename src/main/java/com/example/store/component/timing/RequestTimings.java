@@ -0,0 +1,87 @@
+package com.example.store.component.timing;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where the time of one request went: SQL statements and their duration, cache hits and misses, JWT verification
+ * and body (de)serialization.
+ * <p>
+ * Filled in by the hooks through {@link TimingContext}; safe to record into from the worker threads a batch request
+ * fans out to.
+ */
+public final class RequestTimings {
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long startNanos;
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder dbNanos = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder authNanos = new LongAdder();
+    private final LongAdder serializationNanos = new LongAdder();
+
+    public RequestTimings(final long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public void recordQuery(final int statementCount, final long nanos) {
+        statements.add(statementCount);
+        dbNanos.add(nanos);
+    }
+
+    public void recordCacheLookup(final boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    public void recordAuth(final long nanos) {
+        authNanos.add(nanos);
+    }
+
+    public void recordSerialization(final long nanos) {
+        serializationNanos.add(nanos);
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getDbNanos() {
+        return dbNanos.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getAuthNanos() {
+        return authNanos.sum();
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos.sum();
+    }
+
+    /**
+     * Renders the timings recorded so far as a {@code Server-Timing} header value, e.g.
+     * {@code db;dur=4.12;desc="3 statements", cache;desc="2 hits 1 misses", auth;dur=0.31, ser;dur=0.08, app;dur=7.90}.
+     *
+     * @param nowNanos the time the header is written; {@code app} is the time spent in the app up to then
+     */
+    public String toServerTiming(final long nowNanos) {
+        return "db;dur=" + millis(getDbNanos()) + ";desc=\"" + getStatements() + " statements\""
+                + ", cache;desc=\"" + getCacheHits() + " hits " + getCacheMisses() + " misses\""
+                + ", auth;dur=" + millis(getAuthNanos())
+                + ", ser;dur=" + millis(getSerializationNanos())
+                + ", app;dur=" + millis(nowNanos - startNanos);
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.store.component.timing;
+
+import com.example.store.config.observability.ServerTimingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Collects {@link RequestTimings} for every request and publishes them as {@code store.request.*} meters, tagged by
+ * method and URI pattern.
+ * <p>
+ * Callers holding one of the configured roles also get them in a {@code Server-Timing} header. The header is written
+ * just before the response commits, so it covers everything up to then; serialization is only complete when the body
+ * fits in the response buffer. {@code /actuator/**} is not timed.
+ * <p>
+ * The meters of an async (streamed) request are published once its response is complete, so they include the
+ * statements the body ran on the async thread.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Server-Timing";
+    private static final String ACTUATOR_PATH_PREFIX = "/actuator/";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final Set<String> roles;
+    private final LongSupplier nanoClock;
+    private final Meter.MeterProvider<DistributionSummary> statements;
+    private final Meter.MeterProvider<Timer> dbTime;
+    private final Meter.MeterProvider<Counter> cacheLookups;
+    private final Meter.MeterProvider<Timer> authTime;
+    private final Meter.MeterProvider<Timer> serializationTime;
+
+    public ServerTimingFilter(final ServerTimingProperties properties, final MeterRegistry meterRegistry,
+                              final LongSupplier nanoClock) {
+        this.roles = Set.copyOf(properties.getRoles());
+        this.nanoClock = nanoClock;
+        this.statements = DistributionSummary.builder("store.request.db.statements")
+                .description("SQL statements executed per request")
+                .withRegistry(meterRegistry);
+        this.dbTime = Timer.builder("store.request.db.duration")
+                .description("Time per request spent executing SQL statements")
+                .withRegistry(meterRegistry);
+        this.cacheLookups = Counter.builder("store.request.cache.lookups")
+                .description("Cache lookups made while serving requests")
+                .withRegistry(meterRegistry);
+        this.authTime = Timer.builder("store.request.auth.duration")
+                .description("Time per request spent verifying JWTs")
+                .withRegistry(meterRegistry);
+        this.serializationTime = Timer.builder("store.request.serialization.duration")
+                .description("Time per request spent reading and writing DTO bodies")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull final HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + ACTUATOR_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull final HttpServletRequest request,
+            @NonNull final HttpServletResponse response,
+            @NonNull final FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        final RequestTimings timings = new RequestTimings(nanoClock.getAsLong());
+        final ServerTimingResponse timedResponse = new ServerTimingResponse(response, timings);
+        final RequestTimings previous = TimingContext.bind(timings);
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, timedResponse);
+            failed = false;
+        } finally {
+            TimingContext.bind(previous);
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new PublishOnCompletion(request, timings));
+            } else {
+                publish(request, timings);
+            }
+        }
+    }
+
+    /**
+     * Whether the authenticated caller may see the timings; read while the security context is still populated.
+     */
+    boolean isExposedTo(final Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        for (final GrantedAuthority authority : authentication.getAuthorities()) {
+            if (roles.contains(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publish(final HttpServletRequest request, final RequestTimings timings) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        final Tags tags = Tags.of("method", request.getMethod(),
+                "uri", pattern == null ? UNKNOWN_URI : pattern.toString());
+
+        statements.withTags(tags).record(timings.getStatements());
+        dbTime.withTags(tags).record(timings.getDbNanos(), TimeUnit.NANOSECONDS);
+        if (timings.getCacheHits() > 0) {
+            cacheLookups.withTags(tags.and("result", "hit")).increment(timings.getCacheHits());
+        }
+        if (timings.getCacheMisses() > 0) {
+            cacheLookups.withTags(tags.and("result", "miss")).increment(timings.getCacheMisses());
+        }
+        if (timings.getAuthNanos() > 0) {
+            authTime.withTags(tags).record(timings.getAuthNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (timings.getSerializationNanos() > 0) {
+            serializationTime.withTags(tags).record(timings.getSerializationNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Publishes the timings of an async request once its response has been written, or has failed.
+     */
+    private final class PublishOnCompletion implements AsyncListener {
+        private final HttpServletRequest request;
+        private final RequestTimings timings;
+        private boolean published;
+
+        private PublishOnCompletion(final HttpServletRequest request, final RequestTimings timings) {
+            this.request = request;
+            this.timings = timings;
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            publishOnce();
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            publishOnce();
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            publishOnce();
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void publishOnce() {
+            if (!published) {
+                published = true;
+                publish(request, timings);
+            }
+        }
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header as the response is about to commit, the last moment headers can change.
+     */
+    private final class ServerTimingResponse extends OnCommittedResponseWrapper {
+        private final RequestTimings timings;
+
+        private ServerTimingResponse(final HttpServletResponse response, final RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (isExposedTo(SecurityContextHolder.getContext().getAuthentication())) {
+                setHeader(HEADER, timings.toServerTiming(nanoClock.getAsLong()));
+            }
+        }
+    }
+}
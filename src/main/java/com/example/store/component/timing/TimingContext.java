@@ -0,0 +1,35 @@
+package com.example.store.component.timing;
+
+/**
+ * Carries the {@link RequestTimings} of the request running on the current thread to the hooks that record into it:
+ * the datasource-proxy listener, the Caffeine caches, {@code JwtService} and the DTO message converter.
+ * <p>
+ * Set by {@link ServerTimingFilter} for the request thread; threads the request hands work to, such as batched calls
+ * and streamed bodies, have to copy it over themselves. Without a binding the hooks record nothing.
+ */
+public final class TimingContext {
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private TimingContext() {
+    }
+
+    /**
+     * @return the timings bound to this thread, or {@code null}
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds {@code timings} to this thread, returning the previous binding so callers can restore it.
+     */
+    public static RequestTimings bind(final RequestTimings timings) {
+        final RequestTimings previous = CURRENT.get();
+        if (timings == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timings);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.store.component.timing;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Adds every statement datasource-proxy sees to the current {@link RequestTimings}. A batch counts each of its
+ * statements. Statements are timed here rather than by datasource-proxy, whose elapsed time is in whole milliseconds
+ * and rounds most single-row statements down to zero.
+ */
+public class TimingQueryListener implements QueryExecutionListener {
+    private final LongSupplier nanoClock;
+    // Holder rather than a Long, so timing a statement does not box
+    private final ThreadLocal<long[]> startNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    public TimingQueryListener(final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        if (TimingContext.current() != null) {
+            startNanos.get()[0] = nanoClock.getAsLong();
+        }
+    }
+
+    @Override
+    public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        final RequestTimings timings = TimingContext.current();
+        if (timings != null) {
+            timings.recordQuery(Math.max(1, execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size()),
+                    nanoClock.getAsLong() - startNanos.get()[0]);
+        }
+    }
+}
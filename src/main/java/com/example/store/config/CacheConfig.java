@@ -1,11 +1,14 @@
 package com.example.store.config;
 
+import com.example.store.component.cache.TimedCaffeineCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
 
 import java.util.concurrent.TimeUnit;
 
@@ -13,9 +16,20 @@ import java.util.concurrent.TimeUnit;
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Hands out {@link TimedCaffeineCache}s, so cache hits and misses show up in the request timings and JFR.
+     */
     @Bean
     public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            @NonNull
+            protected Cache adaptCaffeineCache(
+                    @NonNull final String name,
+                    @NonNull final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new TimedCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
         cacheManager.setCaffeine(caffeineCacheBuilder());
         return cacheManager;
     }
@@ -0,0 +1,59 @@
+package com.example.store.config;
+
+import com.example.store.config.codec.AuthReqDTOCodec;
+import com.example.store.config.codec.AuthRespDTOCodec;
+import com.example.store.config.codec.CustomerDTOCodec;
+import com.example.store.config.codec.DtoCodecHttpMessageConverter;
+import com.example.store.config.codec.DtoCodecs;
+import com.example.store.config.codec.ErrorDTOCodec;
+import com.example.store.config.codec.OrderDTOCodec;
+import com.example.store.config.codec.ProductDTOCodec;
+import com.example.store.config.codec.RegReqDTOCodec;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Puts the hand-written DTO codecs in front of Jackson. Types without a codec are still handled by Jackson.
+ * <p>
+ * Besides JSON, every endpoint can answer {@code application/cbor} for clients that ask for it in {@code Accept};
+ * JSON stays first, so it remains the default for {@code *}{@code /*} and missing {@code Accept} headers.
+ */
+@Configuration
+public class CodecConfig implements WebMvcConfigurer {
+
+    @Bean
+    public DtoCodecs dtoCodecs() {
+        return new DtoCodecs(List.of(
+                new CustomerDTOCodec(),
+                new OrderDTOCodec(),
+                new ProductDTOCodec(),
+                new ErrorDTOCodec(),
+                new AuthReqDTOCodec(),
+                new RegReqDTOCodec(),
+                new AuthRespDTOCodec()
+        ));
+    }
+
+    /**
+     * CBOR fallback for types without a codec, built from Boot's builder so it shares the JSON mapper's settings.
+     * Replaces the default CBOR converter Spring MVC would otherwise register with a plain mapper.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        converters.addFirst(new DtoCodecHttpMessageConverter(dtoCodecs(), new CBORFactory(), MediaType.APPLICATION_CBOR));
+        converters.addFirst(new DtoCodecHttpMessageConverter(dtoCodecs()));
+    }
+}
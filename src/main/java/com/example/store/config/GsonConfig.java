@@ -1,27 +1,22 @@
 package com.example.store.config;
 
-import com.example.store.config.adapter.ZonedDateTimeBiSerializer;
+import com.example.store.config.adapter.ZonedDateTimeTypeAdapter;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.ZonedDateTime;
 
 @Configuration
-@RequiredArgsConstructor
 public class GsonConfig {
 
-    private final ZonedDateTimeBiSerializer zonedDateTimeBiSerializer;
-
     @Bean
     public Gson gson() {
         return new GsonBuilder()
-                .registerTypeAdapter(ZonedDateTime.class, zonedDateTimeBiSerializer)
+                .registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeTypeAdapter())
                 .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
-                .setPrettyPrinting()
                 .create();
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,18 @@
 package com.example.store.config;
 
+import com.example.store.component.MessagesProps;
+import com.example.store.config.i18n.MessageCatalog;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 @Configuration
 public class MessageSourceConfig {
 
     @Bean
-    public MessageSource messageSource() {
-        final var messageSource = new ReloadableResourceBundleMessageSource();
-        messageSource.setBasename("classpath:messages");
-        messageSource.setDefaultEncoding("UTF-8");
-        messageSource.setCacheSeconds(3600); // Cache for 1 hour
-        return messageSource;
+    public MessageSource messageSource(final MessagesProps messagesProps) {
+        return new MessageCatalog(messagesProps.getBasename(), messagesProps.getRefreshInterval());
     }
 
     @Bean
@@ -24,4 +21,4 @@ public class MessageSourceConfig {
         bean.setValidationMessageSource(messageSource);
         return bean;
     }
-}
\ No newline at end of file
+}
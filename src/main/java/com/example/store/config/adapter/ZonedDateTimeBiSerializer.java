@@ -16,6 +16,12 @@ import java.time.format.DateTimeFormatter;
 
 import static java.util.Objects.nonNull;
 
+/**
+ * Tree-model {@link ZonedDateTime} adapter formatting through {@link DateTimeFormatter#ISO_ZONED_DATE_TIME}.
+ * <p>
+ * Superseded by {@link ZonedDateTimeTypeAdapter} for the application's Gson instance; kept as the baseline for the
+ * serialization benchmarks.
+ */
 @Log4j2
 @Component
 public class ZonedDateTimeBiSerializer implements JsonSerializer<ZonedDateTime>, JsonDeserializer<ZonedDateTime> {
@@ -41,7 +47,8 @@ public class ZonedDateTimeBiSerializer implements JsonSerializer<ZonedDateTime>,
                     ? ZonedDateTime.parse(dateTimeStr, FORMATTER)
                     : null;
         } catch (Exception e) {
-            log.error("Error parsing ZonedDateTime: {}", e.getMessage(), e);
+            // Bad client input, not a server fault: no stack trace, and only when debugging
+            log.debug("Rejected ZonedDateTime: {}", e.getMessage());
             // Only carry a message key and fallback message; let a higher layer localize it.
             String valueStr = null;
             try {
@@ -0,0 +1,180 @@
+package com.example.store.config.adapter;
+
+import com.example.store.exception.LocalizedJsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Streaming Gson adapter for {@link ZonedDateTime}, producing exactly what {@link DateTimeFormatter#ISO_ZONED_DATE_TIME}
+ * produces.
+ * <p>
+ * Writing bypasses the formatter and the intermediate {@code JsonElement} tree: the timestamp is assembled in a
+ * small, presized {@link StringBuilder} that never has to grow. Nothing is kept per thread, since requests run on
+ * short-lived virtual threads. UTC values, the common case for persisted {@code created}/{@code updated} fields, skip
+ * the offset arithmetic and reuse a shared {@code yyyy-MM-ddT} prefix while values fall on the same day. Years
+ * outside {@code 0000-9999} fall back to the formatter, which handles the sign and padding rules.
+ * <p>
+ * Unparseable input is logged at debug level without a stack trace and surfaces as a
+ * {@link LocalizedJsonParseException}, the same as {@link ZonedDateTimeBiSerializer}.
+ */
+@Log4j2
+public class ZonedDateTimeTypeAdapter extends TypeAdapter<ZonedDateTime> {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_ZONED_DATE_TIME;
+    private static final String MSG_KEY = "global.400.011";
+    // Room for a date, a time with nanoseconds and an offset with seconds; only region ids make it grow
+    private static final int FORMATTED_CAPACITY = 40;
+
+    // The last UTC date prefix written, replaced as a whole so every thread sees a matching day and prefix
+    private static volatile DatePrefix utcDatePrefix = new DatePrefix(Long.MIN_VALUE, "");
+
+    @Override
+    public void write(final JsonWriter out, final ZonedDateTime value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(format(value));
+    }
+
+    @Override
+    public ZonedDateTime read(final JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            in.skipValue();
+            log.debug("Rejected ZonedDateTime: expected a string but was {}", token);
+            throw new LocalizedJsonParseException(MSG_KEY, new Object[]{null}, "Error parsing ZonedDateTime", null);
+        }
+
+        final String value = in.nextString();
+        if (value.isBlank()) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value, FORMATTER);
+        } catch (final DateTimeException e) {
+            log.debug("Rejected ZonedDateTime '{}': {}", value, e.getMessage());
+            throw new LocalizedJsonParseException(MSG_KEY, new Object[]{value}, "Error parsing ZonedDateTime", e);
+        }
+    }
+
+    /**
+     * Formats {@code value} as {@link DateTimeFormatter#ISO_ZONED_DATE_TIME} would.
+     *
+     * @param value The timestamp to format.
+     * @return The ISO-8601 representation, including the bracketed region id for non-offset zones.
+     */
+    static String format(final ZonedDateTime value) {
+        final int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return FORMATTER.format(value);
+        }
+
+        final StringBuilder sb = new StringBuilder(FORMATTED_CAPACITY);
+
+        final ZoneOffset offset = value.getOffset();
+        final boolean utc = offset.getTotalSeconds() == 0;
+        if (utc) {
+            final long epochDay = value.toLocalDate().toEpochDay();
+            final DatePrefix cached = utcDatePrefix;
+            if (epochDay != cached.epochDay()) {
+                appendDate(sb, year, value.getMonthValue(), value.getDayOfMonth());
+                utcDatePrefix = new DatePrefix(epochDay, sb.toString());
+            } else {
+                sb.append(cached.prefix());
+            }
+        } else {
+            appendDate(sb, year, value.getMonthValue(), value.getDayOfMonth());
+        }
+
+        append2(sb, value.getHour());
+        sb.append(':');
+        append2(sb, value.getMinute());
+        sb.append(':');
+        append2(sb, value.getSecond());
+        appendFraction(sb, value.getNano());
+
+        if (utc) {
+            sb.append('Z');
+        } else {
+            appendOffset(sb, offset.getTotalSeconds());
+        }
+        if (!(value.getZone() instanceof ZoneOffset)) {
+            sb.append('[').append(value.getZone().getId()).append(']');
+        }
+        return sb.toString();
+    }
+
+    private static void appendDate(final StringBuilder sb, final int year, final int month, final int day) {
+        append2(sb, year / 100);
+        append2(sb, year % 100);
+        sb.append('-');
+        append2(sb, month);
+        sb.append('-');
+        append2(sb, day);
+        sb.append('T');
+    }
+
+    /**
+     * Appends the fraction of second with trailing zeros stripped, matching the formatter's
+     * {@code appendFraction(NANO_OF_SECOND, 0, 9, true)}.
+     */
+    private static void appendFraction(final StringBuilder sb, final int nano) {
+        if (nano == 0) {
+            return;
+        }
+        int digits = 9;
+        int value = nano;
+        while (value % 10 == 0) {
+            value /= 10;
+            digits--;
+        }
+        sb.append('.');
+        for (int divisor = pow10(digits - 1); divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static void appendOffset(final StringBuilder sb, final int totalSeconds) {
+        final int abs = Math.abs(totalSeconds);
+        sb.append(totalSeconds < 0 ? '-' : '+');
+        append2(sb, abs / 3600);
+        sb.append(':');
+        append2(sb, abs / 60 % 60);
+        final int seconds = abs % 60;
+        if (seconds != 0) {
+            sb.append(':');
+            append2(sb, seconds);
+        }
+    }
+
+    private static void append2(final StringBuilder sb, final int value) {
+        sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static int pow10(final int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    /**
+     * A UTC day and its {@code yyyy-MM-ddT} prefix, so same-day values skip the date arithmetic.
+     */
+    private record DatePrefix(long epochDay, String prefix) {
+    }
+}
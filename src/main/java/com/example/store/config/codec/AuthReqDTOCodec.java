@@ -0,0 +1,43 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.auth.req.AuthReqDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+import static com.example.store.config.codec.JsonCodecSupport.nextField;
+import static com.example.store.config.codec.JsonCodecSupport.readString;
+import static com.example.store.config.codec.JsonCodecSupport.requireStartObject;
+import static com.example.store.config.codec.JsonCodecSupport.writeString;
+
+public class AuthReqDTOCodec implements DtoCodec<AuthReqDTO> {
+
+    @Override
+    public Class<AuthReqDTO> type() {
+        return AuthReqDTO.class;
+    }
+
+    @Override
+    public void write(final JsonGenerator generator, final AuthReqDTO value) throws IOException {
+        generator.writeStartObject(value);
+        writeString(generator, "email", value.email());
+        writeString(generator, "password", value.password());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public AuthReqDTO read(final JsonParser parser) throws IOException {
+        requireStartObject(parser);
+        String email = null;
+        String password = null;
+        for (String field = nextField(parser); field != null; field = nextField(parser)) {
+            switch (field) {
+                case "email" -> email = readString(parser);
+                case "password" -> password = readString(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new AuthReqDTO(email, password);
+    }
+}
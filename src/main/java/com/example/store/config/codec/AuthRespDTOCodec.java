@@ -0,0 +1,48 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.auth.resp.AuthRespDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+import static com.example.store.config.codec.JsonCodecSupport.nextField;
+import static com.example.store.config.codec.JsonCodecSupport.readLong;
+import static com.example.store.config.codec.JsonCodecSupport.readString;
+import static com.example.store.config.codec.JsonCodecSupport.requireStartObject;
+import static com.example.store.config.codec.JsonCodecSupport.writeLong;
+import static com.example.store.config.codec.JsonCodecSupport.writeString;
+
+public class AuthRespDTOCodec implements DtoCodec<AuthRespDTO> {
+
+    @Override
+    public Class<AuthRespDTO> type() {
+        return AuthRespDTO.class;
+    }
+
+    @Override
+    public void write(final JsonGenerator generator, final AuthRespDTO value) throws IOException {
+        generator.writeStartObject(value);
+        writeString(generator, "accessToken", value.accessToken());
+        writeString(generator, "refreshToken", value.refreshToken());
+        writeString(generator, "tokenType", value.tokenType());
+        writeLong(generator, "expiresIn", value.expiresIn());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public AuthRespDTO read(final JsonParser parser) throws IOException {
+        requireStartObject(parser);
+        final AuthRespDTO.Builder builder = AuthRespDTO.builder();
+        for (String field = nextField(parser); field != null; field = nextField(parser)) {
+            switch (field) {
+                case "accessToken" -> builder.accessToken(readString(parser));
+                case "refreshToken" -> builder.refreshToken(readString(parser));
+                case "tokenType" -> builder.tokenType(readString(parser));
+                case "expiresIn" -> builder.expiresIn(readLong(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.CustomerDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+import static com.example.store.config.codec.JsonCodecSupport.nextField;
+import static com.example.store.config.codec.JsonCodecSupport.readLongs;
+import static com.example.store.config.codec.JsonCodecSupport.readString;
+import static com.example.store.config.codec.JsonCodecSupport.readSuperField;
+import static com.example.store.config.codec.JsonCodecSupport.requireStartObject;
+import static com.example.store.config.codec.JsonCodecSupport.writeLongs;
+import static com.example.store.config.codec.JsonCodecSupport.writeString;
+import static com.example.store.config.codec.JsonCodecSupport.writeSuperFields;
+
+public class CustomerDTOCodec implements DtoCodec<CustomerDTO> {
+
+    @Override
+    public Class<CustomerDTO> type() {
+        return CustomerDTO.class;
+    }
+
+    @Override
+    public void write(final JsonGenerator generator, final CustomerDTO value) throws IOException {
+        generator.writeStartObject(value);
+        writeSuperFields(generator, value);
+        writeString(generator, "name", value.getName());
+        writeLongs(generator, "orders", value.getOrders());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public CustomerDTO read(final JsonParser parser) throws IOException {
+        requireStartObject(parser);
+        final CustomerDTO dto = new CustomerDTO();
+        for (String field = nextField(parser); field != null; field = nextField(parser)) {
+            if (readSuperField(parser, field, dto)) {
+                continue;
+            }
+            switch (field) {
+                case "name" -> dto.setName(readString(parser));
+                case "orders" -> dto.setOrders(readLongs(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return dto;
+    }
+}
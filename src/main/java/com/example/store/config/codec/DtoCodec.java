@@ -0,0 +1,28 @@
+package com.example.store.config.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+/**
+ * Hand-written JSON reader and writer for one DTO type, driven directly by the Jackson streaming API.
+ * No reflection, no per-type serializer lookup, no intermediate tree.
+ *
+ * @param <T> the DTO type
+ */
+public interface DtoCodec<T> {
+
+    Class<T> type();
+
+    /**
+     * Writes {@code value} as one JSON object. {@code value} is never null.
+     */
+    void write(JsonGenerator generator, T value) throws IOException;
+
+    /**
+     * Reads one JSON object. The parser is positioned on its {@code START_OBJECT} token and is left on the matching
+     * {@code END_OBJECT}. Unknown fields are skipped.
+     */
+    T read(JsonParser parser) throws IOException;
+}
@@ -0,0 +1,186 @@
+package com.example.store.config.codec;
+
+import com.example.store.component.timing.RequestTimings;
+import com.example.store.component.timing.TimingContext;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes the DTOs registered in {@link DtoCodecs}, and lists of them, through their hand-written codecs
+ * instead of Jackson databind. Any other type falls through to the next converter.
+ * <p>
+ * The codecs only talk to the streaming {@link JsonGenerator}/{@link JsonParser} API, so the same codecs serve any
+ * Jackson token format; the {@link JsonFactory} decides whether the wire format is JSON text or e.g. CBOR.
+ * <p>
+ * Reading and writing count towards the serialization time of the current request's {@link RequestTimings}.
+ */
+public class DtoCodecHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    private final DtoCodecs codecs;
+    private final JsonFactory factory;
+
+    public DtoCodecHttpMessageConverter(final DtoCodecs codecs) {
+        this(codecs, JsonFactory.builder().build(), MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    public DtoCodecHttpMessageConverter(final DtoCodecs codecs, final JsonFactory factory,
+                                        final MediaType... supportedMediaTypes) {
+        super(supportedMediaTypes);
+        this.codecs = codecs;
+        this.factory = factory;
+    }
+
+    @Override
+    protected boolean supports(@NonNull final Class<?> clazz) {
+        return codecs.supports(clazz);
+    }
+
+    @Override
+    public boolean canRead(@NonNull final Type type, @Nullable final Class<?> contextClass,
+                           @Nullable final MediaType mediaType) {
+        return resolve(type) != null && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable final Type type, @NonNull final Class<?> clazz,
+                            @Nullable final MediaType mediaType) {
+        final Target target = type != null ? resolve(type) : resolve(clazz);
+        return target != null && canWrite(mediaType);
+    }
+
+    @Override
+    @NonNull
+    public Object read(@NonNull final Type type, @Nullable final Class<?> contextClass,
+                       @NonNull final HttpInputMessage inputMessage) throws IOException {
+        final Target target = resolve(type);
+        if (target == null) {
+            throw new HttpMessageNotReadableException("No codec for " + type, inputMessage);
+        }
+
+        final long start = System.nanoTime();
+        try (JsonParser parser = factory.createParser(inputMessage.getBody())) {
+            final JsonToken first = parser.nextToken();
+            final Object value = target.collection() ? readList(parser, target.codec()) : readValue(parser, target.codec());
+            if (first == null || value == null) {
+                throw new HttpMessageNotReadableException("Request body is empty or null", inputMessage);
+            }
+            return value;
+        } catch (final JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Parse error: " + e.getOriginalMessage(), e, inputMessage);
+        } finally {
+            recordSerialization(start);
+        }
+    }
+
+    @Override
+    @NonNull
+    protected Object readInternal(@NonNull final Class<?> clazz, @NonNull final HttpInputMessage inputMessage)
+            throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull final Object value, @Nullable final Type type,
+                                 @NonNull final HttpOutputMessage outputMessage) throws IOException {
+        final OutputStream body = StreamUtils.nonClosing(outputMessage.getBody());
+        final long start = System.nanoTime();
+        try (JsonGenerator generator = factory.createGenerator(body, JsonEncoding.UTF8)) {
+            if (value instanceof Collection<?> collection) {
+                generator.writeStartArray(collection, collection.size());
+                for (final Object element : collection) {
+                    writeValue(generator, element);
+                }
+                generator.writeEndArray();
+            } else {
+                writeValue(generator, value);
+            }
+        } finally {
+            recordSerialization(start);
+        }
+    }
+
+    private static void recordSerialization(final long startNanos) {
+        final RequestTimings timings = TimingContext.current();
+        if (timings != null) {
+            timings.recordSerialization(System.nanoTime() - startNanos);
+        }
+    }
+
+    private void writeValue(final JsonGenerator generator, final Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        final DtoCodec<Object> codec = codecFor(value.getClass());
+        if (codec == null) {
+            throw new HttpMessageNotWritableException("No codec for " + value.getClass().getName());
+        }
+        codec.write(generator, value);
+    }
+
+    private static Object readValue(final JsonParser parser, final DtoCodec<?> codec) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : codec.read(parser);
+    }
+
+    private static List<Object> readList(final JsonParser parser, final DtoCodec<?> codec) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a JSON array");
+        }
+        final List<Object> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readValue(parser, codec));
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private DtoCodec<Object> codecFor(final Class<?> type) {
+        return (DtoCodec<Object>) codecs.find(type);
+    }
+
+    /**
+     * Resolves a registered DTO type, or a {@link Collection} of one.
+     */
+    private Target resolve(final Type type) {
+        final ResolvableType resolvable = ResolvableType.forType(type);
+        final Class<?> raw = resolvable.resolve();
+        if (raw == null) {
+            return null;
+        }
+        if (Collection.class.isAssignableFrom(raw)) {
+            // Only interfaces a List satisfies, so reading can hand back an ArrayList
+            if (!raw.isAssignableFrom(ArrayList.class)) {
+                return null;
+            }
+            final Class<?> element = resolvable.asCollection().resolveGeneric(0);
+            final DtoCodec<?> codec = element == null ? null : codecs.find(element);
+            return codec == null ? null : new Target(codec, true);
+        }
+        final DtoCodec<?> codec = codecs.find(raw);
+        return codec == null ? null : new Target(codec, false);
+    }
+
+    private record Target(DtoCodec<?> codec, boolean collection) {
+    }
+}
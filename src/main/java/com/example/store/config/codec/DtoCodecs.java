@@ -0,0 +1,29 @@
+package com.example.store.config.codec;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of {@link DtoCodec}s keyed by their exact DTO class.
+ */
+public class DtoCodecs {
+    private final Map<Class<?>, DtoCodec<?>> codecs;
+
+    public DtoCodecs(final Collection<? extends DtoCodec<?>> codecs) {
+        this.codecs = codecs.stream().collect(Collectors.toUnmodifiableMap(DtoCodec::type, Function.identity()));
+    }
+
+    /**
+     * @return the codec for {@code type}, or null if it has none
+     */
+    @SuppressWarnings("unchecked")
+    public <T> DtoCodec<T> find(final Class<T> type) {
+        return (DtoCodec<T>) codecs.get(type);
+    }
+
+    public boolean supports(final Class<?> type) {
+        return codecs.containsKey(type);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.error.ErrorDTO;
+import com.example.store.dto.error.ViolationDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.store.config.codec.JsonCodecSupport.nextField;
+import static com.example.store.config.codec.JsonCodecSupport.readString;
+import static com.example.store.config.codec.JsonCodecSupport.readZonedDateTime;
+import static com.example.store.config.codec.JsonCodecSupport.requireStartObject;
+import static com.example.store.config.codec.JsonCodecSupport.writeString;
+import static com.example.store.config.codec.JsonCodecSupport.writeZonedDateTime;
+
+/**
+ * Codec for {@link ErrorDTO} and its nested {@link ViolationDTO}s.
+ */
+public class ErrorDTOCodec implements DtoCodec<ErrorDTO> {
+
+    @Override
+    public Class<ErrorDTO> type() {
+        return ErrorDTO.class;
+    }
+
+    @Override
+    public void write(final JsonGenerator generator, final ErrorDTO value) throws IOException {
+        generator.writeStartObject(value);
+        writeString(generator, "name", value.getName());
+        writeString(generator, "message", value.getMessage());
+        generator.writeFieldName("violations");
+        if (value.getViolations() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray(value.getViolations(), value.getViolations().size());
+            for (final ViolationDTO violation : value.getViolations()) {
+                writeViolation(generator, violation);
+            }
+            generator.writeEndArray();
+        }
+        writeZonedDateTime(generator, "timestamp", value.getTimestamp());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public ErrorDTO read(final JsonParser parser) throws IOException {
+        requireStartObject(parser);
+        final ErrorDTO dto = new ErrorDTO();
+        for (String field = nextField(parser); field != null; field = nextField(parser)) {
+            switch (field) {
+                case "name" -> dto.setName(readString(parser));
+                case "message" -> dto.setMessage(readString(parser));
+                case "violations" -> dto.setViolations(readViolations(parser));
+                case "timestamp" -> dto.setTimestamp(readZonedDateTime(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return dto;
+    }
+
+    private static void writeViolation(final JsonGenerator generator, final ViolationDTO violation) throws IOException {
+        if (violation == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject(violation);
+        writeString(generator, "field", violation.getField());
+        writeString(generator, "rjctValue", violation.getRjctValue());
+        writeString(generator, "errMsg", violation.getErrMsg());
+        writeString(generator, "errCode", violation.getErrCode());
+        generator.writeEndObject();
+    }
+
+    private static List<ViolationDTO> readViolations(final JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an array for 'violations'");
+        }
+        final List<ViolationDTO> violations = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                violations.add(null);
+                continue;
+            }
+            requireStartObject(parser);
+            final ViolationDTO violation = new ViolationDTO();
+            for (String field = nextField(parser); field != null; field = nextField(parser)) {
+                switch (field) {
+                    case "field" -> violation.setField(readString(parser));
+                    case "rjctValue" -> violation.setRjctValue(readString(parser));
+                    case "errMsg" -> violation.setErrMsg(readString(parser));
+                    case "errCode" -> violation.setErrCode(readString(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+            violations.add(violation);
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.AbstractSuperDTO;
+import com.example.store.exception.LocalizedJsonParseException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Field-level helpers shared by the {@link DtoCodec}s. Value formats match what Jackson produced for the same DTOs,
+ * so switching codecs does not change the wire format.
+ */
+final class JsonCodecSupport {
+    private static final DateTimeFormatter WRITE_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final DateTimeFormatter READ_FORMATTER = DateTimeFormatter.ISO_ZONED_DATE_TIME;
+
+    private JsonCodecSupport() {
+    }
+
+    static void requireStartObject(final JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object but found " + parser.currentToken());
+        }
+    }
+
+    /**
+     * Advances to the next field of the current object.
+     *
+     * @return the field name, with the parser on its value, or null at the end of the object
+     */
+    static String nextField(final JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.FIELD_NAME) {
+            return null;
+        }
+        final String name = parser.currentName();
+        parser.nextToken();
+        return name;
+    }
+
+    static String readString(final JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_STRING, VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT, VALUE_TRUE, VALUE_FALSE -> parser.getText();
+            default -> throw new JsonParseException(parser, "Expected a string for '" + parser.currentName() + "'");
+        };
+    }
+
+    static Long readLong(final JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case VALUE_STRING -> {
+                try {
+                    yield Long.valueOf(parser.getText().trim());
+                } catch (final NumberFormatException e) {
+                    throw new JsonParseException(parser, "Expected a number for '" + parser.currentName() + "'", e);
+                }
+            }
+            default -> throw new JsonParseException(parser, "Expected a number for '" + parser.currentName() + "'");
+        };
+    }
+
+    static Set<Long> readLongs(final JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an array for '" + parser.currentName() + "'");
+        }
+        final Set<Long> values = new LinkedHashSet<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readLong(parser));
+        }
+        return values;
+    }
+
+    static UUID readUuid(final JsonParser parser) throws IOException {
+        final String value = readString(parser);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (final IllegalArgumentException e) {
+            throw new JsonParseException(parser, "Expected a UUID for '" + parser.currentName() + "'", e);
+        }
+    }
+
+    static ZonedDateTime readZonedDateTime(final JsonParser parser) throws IOException {
+        final String value = readString(parser);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(value, READ_FORMATTER);
+        } catch (final DateTimeParseException e) {
+            throw new LocalizedJsonParseException("global.400.011", new Object[]{value}, "Error parsing ZonedDateTime", e);
+        }
+    }
+
+    static void writeString(final JsonGenerator generator, final String name, final String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    static void writeLong(final JsonGenerator generator, final String name, final Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    static void writeLongs(final JsonGenerator generator, final String name, final Collection<Long> values)
+            throws IOException {
+        generator.writeFieldName(name);
+        if (values == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray(values, values.size());
+        for (final Long value : values) {
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    static void writeUuid(final JsonGenerator generator, final String name, final UUID value) throws IOException {
+        writeString(generator, name, value == null ? null : value.toString());
+    }
+
+    static void writeZonedDateTime(final JsonGenerator generator, final String name, final ZonedDateTime value)
+            throws IOException {
+        writeString(generator, name, value == null ? null : WRITE_FORMATTER.format(value));
+    }
+
+    static void writeSuperFields(final JsonGenerator generator, final AbstractSuperDTO dto) throws IOException {
+        writeLong(generator, "id", dto.getId());
+        writeZonedDateTime(generator, "created", dto.getCreated());
+        writeZonedDateTime(generator, "updated", dto.getUpdated());
+    }
+
+    /**
+     * Reads {@code field} into {@code dto} if it is one of the {@link AbstractSuperDTO} fields.
+     *
+     * @return false if the field belongs to the subclass
+     */
+    static boolean readSuperField(final JsonParser parser, final String field, final AbstractSuperDTO dto)
+            throws IOException {
+        switch (field) {
+            case "id" -> dto.setId(readLong(parser));
+            case "created" -> dto.setCreated(readZonedDateTime(parser));
+            case "updated" -> dto.setUpdated(readZonedDateTime(parser));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+}
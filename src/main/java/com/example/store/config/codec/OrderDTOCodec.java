@@ -0,0 +1,54 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.OrderDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+import static com.example.store.config.codec.JsonCodecSupport.nextField;
+import static com.example.store.config.codec.JsonCodecSupport.readLong;
+import static com.example.store.config.codec.JsonCodecSupport.readLongs;
+import static com.example.store.config.codec.JsonCodecSupport.readString;
+import static com.example.store.config.codec.JsonCodecSupport.readSuperField;
+import static com.example.store.config.codec.JsonCodecSupport.requireStartObject;
+import static com.example.store.config.codec.JsonCodecSupport.writeLong;
+import static com.example.store.config.codec.JsonCodecSupport.writeLongs;
+import static com.example.store.config.codec.JsonCodecSupport.writeString;
+import static com.example.store.config.codec.JsonCodecSupport.writeSuperFields;
+
+public class OrderDTOCodec implements DtoCodec<OrderDTO> {
+
+    @Override
+    public Class<OrderDTO> type() {
+        return OrderDTO.class;
+    }
+
+    @Override
+    public void write(final JsonGenerator generator, final OrderDTO value) throws IOException {
+        generator.writeStartObject(value);
+        writeSuperFields(generator, value);
+        writeString(generator, "description", value.getDescription());
+        writeLong(generator, "customerId", value.getCustomerId());
+        writeLongs(generator, "productIds", value.getProductIds());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public OrderDTO read(final JsonParser parser) throws IOException {
+        requireStartObject(parser);
+        final OrderDTO dto = new OrderDTO();
+        for (String field = nextField(parser); field != null; field = nextField(parser)) {
+            if (readSuperField(parser, field, dto)) {
+                continue;
+            }
+            switch (field) {
+                case "description" -> dto.setDescription(readString(parser));
+                case "customerId" -> dto.setCustomerId(readLong(parser));
+                case "productIds" -> dto.setProductIds(readLongs(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+import static com.example.store.config.codec.JsonCodecSupport.nextField;
+import static com.example.store.config.codec.JsonCodecSupport.readLongs;
+import static com.example.store.config.codec.JsonCodecSupport.readString;
+import static com.example.store.config.codec.JsonCodecSupport.readSuperField;
+import static com.example.store.config.codec.JsonCodecSupport.readUuid;
+import static com.example.store.config.codec.JsonCodecSupport.requireStartObject;
+import static com.example.store.config.codec.JsonCodecSupport.writeLongs;
+import static com.example.store.config.codec.JsonCodecSupport.writeString;
+import static com.example.store.config.codec.JsonCodecSupport.writeSuperFields;
+import static com.example.store.config.codec.JsonCodecSupport.writeUuid;
+
+public class ProductDTOCodec implements DtoCodec<ProductDTO> {
+
+    @Override
+    public Class<ProductDTO> type() {
+        return ProductDTO.class;
+    }
+
+    @Override
+    public void write(final JsonGenerator generator, final ProductDTO value) throws IOException {
+        generator.writeStartObject(value);
+        writeSuperFields(generator, value);
+        writeString(generator, "description", value.getDescription());
+        writeUuid(generator, "sku", value.getSku());
+        writeLongs(generator, "orderIds", value.getOrderIds());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public ProductDTO read(final JsonParser parser) throws IOException {
+        requireStartObject(parser);
+        final ProductDTO dto = new ProductDTO();
+        for (String field = nextField(parser); field != null; field = nextField(parser)) {
+            if (readSuperField(parser, field, dto)) {
+                continue;
+            }
+            switch (field) {
+                case "description" -> dto.setDescription(readString(parser));
+                case "sku" -> dto.setSku(readUuid(parser));
+                case "orderIds" -> dto.setOrderIds(readLongs(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return dto;
+    }
+}
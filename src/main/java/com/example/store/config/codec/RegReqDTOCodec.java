@@ -0,0 +1,49 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.auth.req.RegReqDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+import static com.example.store.config.codec.JsonCodecSupport.nextField;
+import static com.example.store.config.codec.JsonCodecSupport.readString;
+import static com.example.store.config.codec.JsonCodecSupport.requireStartObject;
+import static com.example.store.config.codec.JsonCodecSupport.writeString;
+
+public class RegReqDTOCodec implements DtoCodec<RegReqDTO> {
+
+    @Override
+    public Class<RegReqDTO> type() {
+        return RegReqDTO.class;
+    }
+
+    @Override
+    public void write(final JsonGenerator generator, final RegReqDTO value) throws IOException {
+        generator.writeStartObject(value);
+        writeString(generator, "firstName", value.firstName());
+        writeString(generator, "lastName", value.lastName());
+        writeString(generator, "email", value.email());
+        writeString(generator, "password", value.password());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public RegReqDTO read(final JsonParser parser) throws IOException {
+        requireStartObject(parser);
+        String firstName = null;
+        String lastName = null;
+        String email = null;
+        String password = null;
+        for (String field = nextField(parser); field != null; field = nextField(parser)) {
+            switch (field) {
+                case "firstName" -> firstName = readString(parser);
+                case "lastName" -> lastName = readString(parser);
+                case "email" -> email = readString(parser);
+                case "password" -> password = readString(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new RegReqDTO(firstName, lastName, email, password);
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.store.config.i18n;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link MessageSource} over an immutable snapshot of the {@code <basename>*.properties} bundles, parsed once.
+ * <p>
+ * Every message is compiled when the snapshot is built: messages without placeholders are stored fully rendered,
+ * the rest as a {@link MessageFormat} prototype that is cloned per call, so formatting needs neither parsing nor the
+ * lock {@code ReloadableResourceBundleMessageSource} takes on its shared formats. Each bundle locale gets its own
+ * merged view of its parent locales, the system locale and the base bundle, so a lookup is a handful of map reads.
+ * <p>
+ * Resolution mirrors {@code ReloadableResourceBundleMessageSource} with its defaults: without arguments a message
+ * is returned as written, with arguments it goes through {@link MessageFormat}, and resolvable arguments are
+ * resolved first. With a positive refresh interval the snapshot is rebuilt on the first lookup after it expires,
+ * which is meant for development; {@link #reload()} does the same on demand.
+ */
+@Slf4j
+public class MessageCatalog implements MessageSource {
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final String basename;
+    private final long refreshNanos;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param basename        classpath location of the bundles without suffix, e.g. {@code i18n/messages}
+     * @param refreshInterval how long a snapshot is used before it is rebuilt; zero or negative never rebuilds it
+     */
+    public MessageCatalog(final String basename, final Duration refreshInterval) {
+        this.basename = basename;
+        this.refreshNanos = refreshInterval.toNanos();
+        this.snapshot = load();
+    }
+
+    /**
+     * Re-reads the bundles and swaps in the new snapshot. Lookups in progress finish on the old one.
+     */
+    public void reload() {
+        snapshot = load();
+        log.debug("Reloaded message catalog '{}'", basename);
+    }
+
+    @Override
+    @Nullable
+    public String getMessage(@NonNull final String code, @Nullable final Object[] args,
+                             @Nullable final String defaultMessage, @NonNull final Locale locale) {
+        final Template template = current().lookup(code, locale);
+        if (template != null) {
+            return template.render(resolveArguments(args, locale), locale);
+        }
+        return defaultMessage == null ? null : renderDefault(defaultMessage, resolveArguments(args, locale), locale);
+    }
+
+    @Override
+    @NonNull
+    public String getMessage(@NonNull final String code, @Nullable final Object[] args, @NonNull final Locale locale) {
+        final Template template = current().lookup(code, locale);
+        if (template == null) {
+            throw new NoSuchMessageException(code, locale);
+        }
+        return template.render(resolveArguments(args, locale), locale);
+    }
+
+    @Override
+    @NonNull
+    public String getMessage(@NonNull final MessageSourceResolvable resolvable, @NonNull final Locale locale) {
+        final Snapshot current = current();
+        final String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            for (final String code : codes) {
+                final Template template = current.lookup(code, locale);
+                if (template != null) {
+                    return template.render(resolveArguments(resolvable.getArguments(), locale), locale);
+                }
+            }
+        }
+        final String defaultMessage = resolvable.getDefaultMessage();
+        if (defaultMessage != null) {
+            if (resolvable instanceof DefaultMessageSourceResolvable resolvableWithDefault
+                    && !resolvableWithDefault.shouldRenderDefaultMessage()) {
+                return defaultMessage;
+            }
+            return renderDefault(defaultMessage, resolveArguments(resolvable.getArguments(), locale), locale);
+        }
+        throw new NoSuchMessageException(codes != null && codes.length > 0 ? codes[codes.length - 1] : "", locale);
+    }
+
+    private Snapshot current() {
+        final Snapshot current = snapshot;
+        if (refreshNanos > 0 && System.nanoTime() - current.loadedAt() > refreshNanos
+                && reloading.compareAndSet(false, true)) {
+            try {
+                reload();
+            } finally {
+                reloading.set(false);
+            }
+            return snapshot;
+        }
+        return current;
+    }
+
+    private Object[] resolveArguments(@Nullable final Object[] args, final Locale locale) {
+        if (args == null || args.length == 0) {
+            return NO_ARGS;
+        }
+        Object[] resolved = args;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable resolvable) {
+                if (resolved == args) {
+                    resolved = args.clone();
+                }
+                resolved[i] = getMessage(resolvable, locale);
+            }
+        }
+        return resolved;
+    }
+
+    private static String renderDefault(final String defaultMessage, final Object[] args, final Locale locale) {
+        if (args.length == 0) {
+            return defaultMessage;
+        }
+        try {
+            return new MessageFormat(defaultMessage, locale).format(args);
+        } catch (final IllegalArgumentException e) {
+            // Not a valid pattern, e.g. a literal brace in a fallback text
+            return defaultMessage;
+        }
+    }
+
+    private Snapshot load() {
+        final Map<Locale, Map<String, String>> bundles = new HashMap<>();
+        try {
+            final Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:" + basename + "*.properties");
+            final String prefix = StringUtils.getFilename(basename);
+            for (final Resource resource : resources) {
+                final Locale locale = bundleLocale(prefix, resource.getFilename());
+                if (locale == null) {
+                    continue;
+                }
+                final Properties properties = new Properties();
+                try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                final Map<String, String> bundle = bundles.computeIfAbsent(locale, key -> new HashMap<>());
+                properties.stringPropertyNames().forEach(key -> bundle.putIfAbsent(key, properties.getProperty(key)));
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Cannot load message bundles " + basename, e);
+        }
+
+        final List<Locale> systemChain = candidates(Locale.getDefault());
+        final Map<Locale, Map<String, Template>> byLocale = new HashMap<>();
+        for (final Locale locale : bundles.keySet()) {
+            if (!Locale.ROOT.equals(locale)) {
+                byLocale.put(locale, merge(bundles, candidates(locale), systemChain, locale));
+            }
+        }
+        final Map<String, Template> fallback = merge(bundles, List.of(), systemChain, Locale.getDefault());
+        // Error responses mostly render in the default locale; it resolves with a single map read
+        byLocale.putIfAbsent(Locale.getDefault(), fallback);
+        return new Snapshot(Map.copyOf(byLocale), fallback, System.nanoTime());
+    }
+
+    /**
+     * Merges the bundles of {@code chain}, then of the system locale, then the base bundle; the first one wins.
+     */
+    private static Map<String, Template> merge(final Map<Locale, Map<String, String>> bundles,
+                                               final List<Locale> chain, final List<Locale> systemChain,
+                                               final Locale formatLocale) {
+        final List<Locale> order = new ArrayList<>(chain);
+        systemChain.stream().filter(locale -> !order.contains(locale)).forEach(order::add);
+        order.add(Locale.ROOT);
+
+        final Map<String, Template> merged = new LinkedHashMap<>();
+        for (final Locale locale : order) {
+            bundles.getOrDefault(locale, Map.of()).forEach((code, pattern) ->
+                    merged.computeIfAbsent(code, key -> Template.compile(key, pattern, formatLocale)));
+        }
+        return Map.copyOf(merged);
+    }
+
+    /**
+     * @return {@code locale} and its parents, most specific first, without the root locale
+     */
+    private static List<Locale> candidates(final Locale locale) {
+        final List<Locale> candidates = new ArrayList<>(3);
+        if (!locale.getVariant().isEmpty()) {
+            candidates.add(Locale.of(locale.getLanguage(), locale.getCountry(), locale.getVariant()));
+        }
+        if (!locale.getCountry().isEmpty()) {
+            candidates.add(Locale.of(locale.getLanguage(), locale.getCountry()));
+        }
+        if (!locale.getLanguage().isEmpty()) {
+            candidates.add(Locale.of(locale.getLanguage()));
+        }
+        return candidates;
+    }
+
+    /**
+     * @return the locale of a bundle file, {@link Locale#ROOT} for the base bundle, or {@code null} for files that
+     * only share the prefix
+     */
+    @Nullable
+    private static Locale bundleLocale(final String prefix, @Nullable final String filename) {
+        if (filename == null || !filename.startsWith(prefix) || !filename.endsWith(".properties")) {
+            return null;
+        }
+        final String suffix = filename.substring(prefix.length(), filename.length() - ".properties".length());
+        if (suffix.isEmpty()) {
+            return Locale.ROOT;
+        }
+        return suffix.charAt(0) == '_' ? StringUtils.parseLocale(suffix.substring(1)) : null;
+    }
+
+    private record Snapshot(Map<Locale, Map<String, Template>> byLocale, Map<String, Template> fallback,
+                            long loadedAt) {
+
+        @Nullable
+        Template lookup(final String code, final Locale locale) {
+            Map<String, Template> templates = byLocale.get(locale);
+            if (templates == null && !byLocale.isEmpty()) {
+                for (final Locale candidate : candidates(locale)) {
+                    templates = byLocale.get(candidate);
+                    if (templates != null) {
+                        break;
+                    }
+                }
+            }
+            return (templates != null ? templates : fallback).get(code);
+        }
+    }
+
+    /**
+     * A compiled message. {@code rendered} is set for messages without placeholders, {@code prototype} for the
+     * others; the prototype is never formatted itself, only cloned, so it can be shared between threads.
+     */
+    private record Template(String pattern, @Nullable String rendered, @Nullable MessageFormat prototype) {
+
+        static Template compile(final String code, final String pattern, final Locale locale) {
+            try {
+                final MessageFormat format = new MessageFormat(pattern, locale);
+                return format.getFormats().length == 0
+                        ? new Template(pattern, format.format(NO_ARGS), null)
+                        : new Template(pattern, null, format);
+            } catch (final IllegalArgumentException e) {
+                log.warn("Message '{}' is not a valid MessageFormat pattern, it is returned as written", code);
+                return new Template(pattern, pattern, null);
+            }
+        }
+
+        String render(final Object[] args, final Locale locale) {
+            if (args.length == 0) {
+                return pattern;
+            }
+            if (prototype == null) {
+                return rendered;
+            }
+            final MessageFormat format = (MessageFormat) prototype.clone();
+            format.setLocale(locale);
+            return format.format(args);
+        }
+    }
+}
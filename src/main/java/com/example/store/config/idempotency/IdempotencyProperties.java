@@ -0,0 +1,20 @@
+package com.example.store.config.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.idempotency")
+public class IdempotencyProperties {
+    private Duration ttl = Duration.ofHours(24);            // How long a response is replayed for retries
+    private Duration claimTimeout = Duration.ofSeconds(30); // Wait for a duplicate; also when a claim can be taken over
+    private Duration hotTtl = Duration.ofMinutes(10);       // How long a response stays in the in-memory index
+    private long maxHotKeys = 10_000;
+    private Duration purgeInterval = Duration.ofHours(1);   // How often expired keys are deleted from the table
+    private DataSize maxBodySize = DataSize.ofMegabytes(1); // Largest body read into memory to hash; larger get 413
+}
@@ -0,0 +1,61 @@
+package com.example.store.config.limit;
+
+import com.example.store.component.bulkhead.Bulkhead;
+import com.example.store.component.bulkhead.BulkheadDataSource;
+import com.example.store.component.bulkhead.BulkheadFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "application.bulkhead", name = "enabled", matchIfMissing = true)
+public class BulkheadConfig {
+
+    /**
+     * Wraps the pool in a {@link BulkheadDataSource}. Static, and resolving its dependencies lazily, so that
+     * registering the post-processor does not initialize the properties or the meter registry early.
+     */
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(
+            final ObjectProvider<BulkheadProperties> properties, final ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull final Object bean, @NonNull final String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    final BulkheadProperties props = properties.getObject();
+                    return new BulkheadDataSource(dataSource, bulkheads(props, meterRegistry.getObject()),
+                            props.getDefaultGroup());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Runs after the concurrency limiter, so shed requests are never classified, and before the security chain,
+     * whose JWT filter already loads the user.
+     */
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilterRegistration() {
+        final FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(new BulkheadFilter());
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 5);
+        return registration;
+    }
+
+    private static Map<String, Bulkhead> bulkheads(final BulkheadProperties props, final MeterRegistry meterRegistry) {
+        final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+        props.getGroups().forEach((name, group) -> bulkheads.put(name,
+                new Bulkhead(name, group.getMaxConcurrent(), group.getMaxWait(), meterRegistry)));
+        return bulkheads;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.store.config.limit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = true;
+    private String defaultGroup = "background"; // Used for connections taken outside a classified request
+    private Map<String, Group> groups = new LinkedHashMap<>(Map.of(
+            "auth", new Group(10, Duration.ofMillis(500)),
+            "reads", new Group(30, Duration.ofMillis(250)),
+            "writes", new Group(15, Duration.ofMillis(500)),
+            "bulk", new Group(5, Duration.ZERO),
+            "background", new Group(5, Duration.ofSeconds(2))));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+        private int maxConcurrent;
+        private Duration maxWait = Duration.ZERO;   // Zero fails fast when every permit is taken
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.store.config.limit;
+
+import com.example.store.component.ratelimit.AdaptiveConcurrencyLimit;
+import com.example.store.component.ratelimit.ConcurrencyLimitFilter;
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+    private final ConcurrencyLimitProperties properties;
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit() {
+        return new AdaptiveConcurrencyLimit(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getSmoothing(),
+                properties.getTolerance(),
+                properties.getBackoffRatio(),
+                properties.getWindow().toNanos(),
+                properties.getMinWindowSamples(),
+                System::nanoTime);
+    }
+
+    /**
+     * Also applied by the batch dispatcher, so every batched call counts against the limit.
+     */
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(final Gson gson, final MessageSource messageSource,
+                                                         final MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitFilter(adaptiveConcurrencyLimit(), properties.getRetryAfterSeconds(), gson,
+                messageSource, meterRegistry);
+    }
+
+    /**
+     * Runs ahead of the security chain, so shed requests cost no JWT verification or database work.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            final ConcurrencyLimitFilter concurrencyLimitFilter) {
+        final FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(concurrencyLimitFilter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
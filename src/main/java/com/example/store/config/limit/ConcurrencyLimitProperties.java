@@ -0,0 +1,23 @@
+package com.example.store.config.limit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private int initialLimit = 40;
+    private int minLimit = 8;
+    private int maxLimit = 400;
+    private double smoothing = 0.2;             // Share of each window's estimate applied to the limit
+    private double tolerance = 1.5;             // Latency increase accepted before the limit shrinks
+    private double backoffRatio = 0.9;          // Limit multiplier after a timed-out or overloaded request
+    private Duration window = Duration.ofMillis(500);
+    private int minWindowSamples = 20;
+    private long retryAfterSeconds = 1;
+}
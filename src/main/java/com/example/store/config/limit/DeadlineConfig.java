@@ -0,0 +1,50 @@
+package com.example.store.config.limit;
+
+import com.example.store.component.deadline.DeadlineDataSource;
+import com.example.store.component.deadline.DeadlineFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.deadline", name = "enabled", matchIfMissing = true)
+public class DeadlineConfig {
+    private final DeadlineProperties properties;
+
+    /**
+     * Wraps the pool in a {@link DeadlineDataSource}. Static so that registering it does not create this
+     * configuration early.
+     */
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull final Object bean, @NonNull final String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineDataSource)) {
+                    return new DeadlineDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Starts the clock after the concurrency limiter and before the bulkheads, so waiting for a connection counts
+     * against the budget but a shed request never gets one.
+     */
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilterRegistration() {
+        final FilterRegistrationBean<DeadlineFilter> registration =
+                new FilterRegistrationBean<>(new DeadlineFilter(properties));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 7);
+        return registration;
+    }
+}
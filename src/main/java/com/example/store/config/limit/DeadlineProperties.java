@@ -0,0 +1,31 @@
+package com.example.store.config.limit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.deadline")
+public class DeadlineProperties {
+    private boolean enabled = true;
+    private String header = "X-Request-Timeout";    // Client budget in milliseconds
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+    private Duration maxTimeout = Duration.ofSeconds(30);  // Upper bound on client-supplied budgets
+    private List<Endpoint> endpoints = new ArrayList<>();  // First match wins, before default-timeout
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+        private String method;                      // Any method when empty
+        private String pattern;
+        private Duration timeout;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.store.config.observability;
+
+import com.example.store.component.jfr.JfrDumpWebEndpoint;
+import com.example.store.component.jfr.JfrEndpoint;
+import com.example.store.component.jfr.JfrMapperInterceptor;
+import com.example.store.component.jfr.JfrQueryListener;
+import com.example.store.component.jfr.JfrRecorder;
+import com.example.store.component.jfr.JfrRepositoryInterceptor;
+import com.example.store.mapper.CustomerMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Emits the store's custom JFR events (JWT verification, cache gets and evictions, repository calls and mapper
+ * calls) and exposes the {@code jfr} and {@code jfrdump} actuator endpoints to record them.
+ * <p>
+ * Each event has a threshold, so the hooks stay in place with negligible cost whether or not a recording runs.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.jfr", name = "enabled", matchIfMissing = true)
+public class JfrConfig {
+    // @Mapper is not retained at runtime, so the generated mappers are recognised by the package of their interface
+    private static final String MAPPER_PACKAGE = CustomerMapper.class.getPackageName();
+
+    private final JfrProperties properties;
+
+    /**
+     * Adds a {@link JfrRepositoryInterceptor} to every Spring Data repository proxy, and wraps the MapStruct mappers
+     * in a proxy with a {@link JfrMapperInterceptor}. Static so that registering it does not create this
+     * configuration early.
+     */
+    @Bean
+    public static BeanPostProcessor jfrEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull final Object bean, @NonNull final String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new JfrRepositoryInterceptor(information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(@NonNull final Object bean, @NonNull final String beanName) {
+                for (final Class<?> type : ClassUtils.getAllInterfacesForClass(bean.getClass())) {
+                    if (type.getPackageName().equals(MAPPER_PACKAGE)) {
+                        final ProxyFactory proxyFactory = new ProxyFactory(bean);
+                        proxyFactory.addAdvice(new JfrMapperInterceptor(type.getSimpleName()));
+                        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Picked up by the datasource-proxy starter, which registers every {@code QueryExecutionListener} bean.
+     */
+    @Bean
+    public JfrQueryListener jfrQueryListener() {
+        return new JfrQueryListener();
+    }
+
+    @Bean
+    public JfrRecorder jfrRecorder() {
+        return new JfrRecorder(properties);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = JfrEndpoint.class)
+    public JfrEndpoint jfrEndpoint() {
+        return new JfrEndpoint(jfrRecorder());
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint(endpoint = JfrDumpWebEndpoint.class)
+    public JfrDumpWebEndpoint jfrDumpWebEndpoint() {
+        return new JfrDumpWebEndpoint(jfrRecorder());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.store.config.observability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.jfr")
+public class JfrProperties {
+    private boolean enabled = true;
+    private String settings = "default";                 // JDK settings a recording starts with unless told otherwise
+    private Duration maxAge = Duration.ofMinutes(30);    // History a recording keeps
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+}
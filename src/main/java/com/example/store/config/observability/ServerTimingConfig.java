@@ -0,0 +1,39 @@
+package com.example.store.config.observability;
+
+import com.example.store.component.timing.ServerTimingFilter;
+import com.example.store.component.timing.TimingQueryListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "application.server-timing", name = "enabled", matchIfMissing = true)
+public class ServerTimingConfig {
+    private final ServerTimingProperties properties;
+
+    /**
+     * Picked up by the datasource-proxy starter, which registers every {@code QueryExecutionListener} bean.
+     */
+    @Bean
+    public TimingQueryListener timingQueryListener() {
+        return new TimingQueryListener(System::nanoTime);
+    }
+
+    /**
+     * Runs after the concurrency limiter, so shed requests are not timed, and ahead of the deadline, the bulkheads
+     * and the security chain, so the JWT verification and the user lookup are.
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilterRegistration(
+            final MeterRegistry meterRegistry) {
+        final FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingFilter(properties, meterRegistry, System::nanoTime));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 8);
+        return registration;
+    }
+}
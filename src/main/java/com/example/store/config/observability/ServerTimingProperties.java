@@ -0,0 +1,16 @@
+package com.example.store.config.observability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.server-timing")
+public class ServerTimingProperties {
+    private boolean enabled = true;
+    private Set<String> roles = new LinkedHashSet<>(Set.of("ADMIN"));  // Callers that get the Server-Timing header
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "application.security.jwt")
@@ -13,4 +15,8 @@ public class JwtProperties {
     private Long refreshExpiration;
     private String tokenPrefix = "Bearer ";
     private String headerString = "Authorization";
+    private long revocationExpectedInsertions = 100_000;        // Sizing of the revoked-family Bloom filter
+    private double revocationFalsePositiveRate = 0.01;          // Share of lookups that fall through to the DB
+    private Duration revocationRefreshInterval = Duration.ofMinutes(1);
+    private Duration purgeInterval = Duration.ofHours(1);              // How often expired refresh tokens are deleted
 }
\ No newline at end of file
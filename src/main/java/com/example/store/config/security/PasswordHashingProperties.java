@@ -0,0 +1,15 @@
+package com.example.store.config.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.security.password")
+public class PasswordHashingProperties {
+    private int strength = 10;              // BCrypt work factor (log2 rounds), 4..31
+    private int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 64;         // Pending hash jobs before 429 is returned
+    private long timeoutMillis = 5000;      // Max time a caller waits for a queued job
+}
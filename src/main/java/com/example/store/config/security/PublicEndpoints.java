@@ -0,0 +1,42 @@
+package com.example.store.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Endpoints reachable without authentication. {@link SecurityConfig} permits them, and filters that only matter
+ * for authenticated calls skip them; keeping one list means the two cannot drift apart.
+ */
+public final class PublicEndpoints {
+    public static final String[] PATTERNS = {
+            "/auth/**",
+            "/actuator/health",
+            "/v3/api-docs/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html"
+    };
+
+    // Parsed once; matching a PathPattern is a walk over pre-split segments, no regex or string splitting per call
+    private static final List<PathPattern> COMPILED = Arrays.stream(PATTERNS)
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    private PublicEndpoints() {
+    }
+
+    public static boolean matches(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        final PathContainer pathContainer = PathContainer.parsePath(path);
+        for (final PathPattern pattern : COMPILED) {
+            if (pattern.matches(pathContainer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.store.config.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "application.security.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Bucket auth = new Bucket(10, 1);    // Per client IP on /auth/**
+    private Bucket api = new Bucket(200, 50);   // Per JWT subject on the store endpoints
+    private long maxKeys = 100_000;             // Bound on tracked buckets per scope
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private long capacity;
+        private long refillPerSecond;
+    }
+}
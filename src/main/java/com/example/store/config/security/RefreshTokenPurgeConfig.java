@@ -0,0 +1,30 @@
+package com.example.store.config.security;
+
+import com.example.store.service.auth.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+
+/**
+ * Deletes expired refresh tokens every {@code application.security.jwt.purge-interval}, starting one interval after
+ * startup. Every instance purges; the delete is idempotent, so running it on several at once is harmless.
+ */
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class RefreshTokenPurgeConfig implements SchedulingConfigurer {
+    private final RefreshTokenService refreshTokenService;
+    private final JwtProperties jwtProperties;
+
+    @Override
+    public void configureTasks(@NonNull final ScheduledTaskRegistrar registrar) {
+        final Duration interval = jwtProperties.getPurgeInterval();
+        registrar.addFixedDelayTask(new FixedDelayTask(refreshTokenService::purgeExpired, interval, interval));
+    }
+}
@@ -1,9 +1,21 @@
 package com.example.store.config.security;
 
+import com.example.store.component.auth.encoder.BoundedPasswordEncoder;
 import com.example.store.component.auth.entrypoint.JwtAuthenticationEntryPoint;
 import com.example.store.component.auth.filter.JwtAuthenticationFilter;
+import com.example.store.component.auth.filter.RateLimitFilter;
+import com.example.store.component.auth.token.RefreshTokenRevocationIndex;
+import com.example.store.component.idempotency.IdempotencyFilter;
+import com.example.store.component.idempotency.IdempotencyStore;
+import com.example.store.config.idempotency.IdempotencyProperties;
+import com.example.store.persistence.entity.Role;
 import com.example.store.service.auth.JwtService;
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,8 +27,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -36,10 +48,50 @@ public class SecurityConfig {
     private final JwtService jwtService;
     private final JwtProperties jwtProperties;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final PasswordHashingProperties passwordHashingProperties;
+    private final MeterRegistry meterRegistry;
+    private final RateLimitProperties rateLimitProperties;
+    private final Gson gson;
+    private final MessageSource messageSource;
+    private final RefreshTokenRevocationIndex refreshTokenRevocationIndex;
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties idempotencyProperties;
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtService, userDetailsService, jwtProperties);
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, jwtProperties, refreshTokenRevocationIndex);
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter(rateLimitProperties, gson, messageSource, meterRegistry);
+    }
+
+    /**
+     * The rate limiter only makes sense inside the security chain, after the JWT subject is known.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        final FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter());
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter() {
+        return new IdempotencyFilter(idempotencyStore, gson, messageSource,
+                Math.toIntExact(idempotencyProperties.getMaxBodySize().toBytes()));
+    }
+
+    /**
+     * Idempotency keys are scoped to the JWT subject, so the filter only runs inside the security chain.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration() {
+        final FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(idempotencyFilter());
+        registration.setEnabled(false);
+        return registration;
     }
 
     @Bean
@@ -53,15 +105,19 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints
-                .requestMatchers("/auth/**").permitAll()
-                .requestMatchers("/actuator/health").permitAll()
-                .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                .requestMatchers(PublicEndpoints.PATTERNS).permitAll()
+                // Completes a streamed response whose request was authorized on its first dispatch; the JWT filter
+                // does not run again for it
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Protected endpoints
+                .requestMatchers("/actuator/jfr/**", "/actuator/jfrdump/**").hasAuthority(Role.ADMIN.name())
                 .requestMatchers("/customers/**", "/orders/**", "/products/**").authenticated()
                 .anyRequest().authenticated()
             )
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter(), JwtAuthenticationFilter.class)
+            .addFilterAfter(idempotencyFilter(), RateLimitFilter.class);
 
         return http.build();
     }
@@ -84,6 +140,8 @@ public class SecurityConfig {
         final DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes stored passwords with the configured work factor on successful login
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -94,6 +152,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(passwordHashingProperties, meterRegistry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.store.controller;
+
+import com.example.store.component.BatchProps;
+import com.example.store.component.batch.BatchDispatcher;
+import com.example.store.dto.batch.BatchItemRespDTO;
+import com.example.store.dto.batch.BatchReqDTO;
+import com.example.store.exception.PageSizeExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/batch")
+@RequiredArgsConstructor
+@Validated
+public class BatchController {
+    private final BatchDispatcher batchDispatcher;
+    private final BatchProps batchProps;
+
+    /**
+     * Executes up to {@code global.batch.max-requests} GET calls against {@code /customers}, {@code /orders} and
+     * {@code /products} in one round trip, authenticated once with the batch's own token. Each call gets its own
+     * status, so a failing, throttled or forbidden call does not fail the batch.
+     */
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<BatchItemRespDTO> executeBatch(@Valid @RequestBody final BatchReqDTO batch,
+                                               final HttpServletRequest request,
+                                               final HttpServletResponse response) {
+        if (batch.requests().size() > batchProps.getMaxRequests()) {
+            throw new PageSizeExceededException("global.400.016", new Object[]{batchProps.getMaxRequests()});
+        }
+        return batchDispatcher.execute(request, response, batch.requests());
+    }
+}
@@ -2,14 +2,19 @@ package com.example.store.controller;
 
 import com.example.store.component.CustomerSearchProps;
 import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.ResourceGraphDTO;
 import com.example.store.dto.SortEnumDTO;
 import com.example.store.service.store.CustomerService;
+import com.example.store.service.store.IncludeService;
+import com.example.store.util.IncludeTree;
+import com.example.store.util.JsonArrayStreamer;
 import com.example.store.util.PageableBuilder;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -31,8 +37,10 @@ import static java.util.Objects.isNull;
 @Validated
 public class CustomerController {
     private final CustomerService customerService;
+    private final IncludeService includeService;
     private final CustomerSearchProps customerSearchProps;
     private final PageableBuilder pageableBuilder;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     @GetMapping
     public List<CustomerDTO> findCustomers(
@@ -42,6 +50,7 @@ public class CustomerController {
             @RequestParam(required = false) final String sortBy,
             @RequestParam(required = false) final SortEnumDTO sortDir) {
 
+        pageableBuilder.checkMaxSize(limit, customerSearchProps.getMaxLimit());
         final Pageable pageable = pageableBuilder.buildPageable(page, limit, sortBy, sortDir, customerSearchProps.getLimit(),
                 customerSearchProps.getSortField(),
                 customerSearchProps.getDirection()
@@ -54,11 +63,58 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Same as {@link #findCustomers} but writes each customer as soon as it is read, so {@code limit} is not capped.
+     */
+    @GetMapping(params = {"stream=true", "!ids"})
+    public ResponseEntity<StreamingResponseBody> streamCustomers(
+            @RequestParam(required = false) final String name,
+            @RequestParam(required = false) @Min(value = 0, message = "global.400.006") final Integer page,
+            @RequestParam(required = false) @Min(value = 5, message = "global.400.005") final Integer limit,
+            @RequestParam(required = false) final String sortBy,
+            @RequestParam(required = false) final SortEnumDTO sortDir) {
+
+        final Pageable pageable = pageableBuilder.buildPageable(page, limit, sortBy, sortDir, customerSearchProps.getLimit(),
+                customerSearchProps.getSortField(),
+                customerSearchProps.getDirection()
+        );
+
+        if (isNull(name)) {
+            return jsonArrayStreamer.stream(sink -> customerService.streamAllCustomers(pageable, sink));
+        } else {
+            return jsonArrayStreamer.stream(sink -> customerService.streamCustomersNameContainingSubString(name, pageable, sink));
+        }
+    }
+
+    /**
+     * Multi-get: returns the customers with the given {@code ids} (e.g. {@code ids=3,1,2}) in request order, read
+     * with one {@code IN} query after serving what the per-id cache already holds. Unknown ids are left out.
+     */
+    @GetMapping(params = "ids")
+    public List<CustomerDTO> findCustomersByIds(@RequestParam final List<@Positive(message = "global.400.003") Long> ids) {
+        pageableBuilder.checkMaxIds(ids, customerSearchProps.getMaxIds());
+        return customerService.findCustomersByIds(ids);
+    }
+
     @GetMapping("{id}")
     public CustomerDTO findCustomerById(@PathVariable("id") @Positive(message = "global.400.003") final Long id) {
         return customerService.findCustomerById(id);
     }
 
+    /**
+     * Returns the customer with the related resources named in {@code include} embedded under {@code _embedded}, e.g.
+     * {@code include=orders.products}. Each level of the graph is read with one batched query per resource type, however
+     * many resources it holds.
+     */
+    @GetMapping(value = "{id}", params = "include")
+    public ResourceGraphDTO<CustomerDTO> findCustomerByIdWithIncludes(
+            @PathVariable("id") @Positive(message = "global.400.003") final Long id,
+            @RequestParam final String include) {
+        final IncludeTree tree = IncludeTree.parse(include, CustomerService.INCLUDES);
+        final CustomerDTO customer = customerService.findCustomerById(id);
+        return customer == null ? null : includeService.resolve(customer, tree);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public CustomerDTO createCustomer(@Valid @RequestBody final CustomerDTO customer) {
@@ -2,14 +2,20 @@ package com.example.store.controller;
 
 import com.example.store.component.GlobalSearchProps;
 import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ResourceGraphDTO;
 import com.example.store.dto.SortEnumDTO;
+import com.example.store.service.store.IncludeService;
 import com.example.store.service.store.OrderService;
+import com.example.store.util.IncludeTree;
+import com.example.store.util.JsonArrayStreamer;
 import com.example.store.util.PageableBuilder;
+import com.example.store.util.SparseFields;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,8 +26,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/orders")
@@ -29,8 +37,10 @@ import java.util.List;
 @Validated
 public class OrderController {
     private final OrderService orderService;
+    private final IncludeService includeService;
     private final GlobalSearchProps globalSearchProps;
     private final PageableBuilder pageableBuilder;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     @GetMapping
     public List<OrderDTO> findOrders(
@@ -39,6 +49,7 @@ public class OrderController {
             @RequestParam(required = false) final String sortBy,
             @RequestParam(required = false) final SortEnumDTO sortDir) {
 
+        pageableBuilder.checkMaxSize(limit, globalSearchProps.getMaxLimit());
         final Pageable pageable = pageableBuilder.buildPageable(page, limit, sortBy, sortDir, globalSearchProps.getLimit(),
                 globalSearchProps.getSortField(),
                 globalSearchProps.getDirection()
@@ -47,11 +58,75 @@ public class OrderController {
         return orderService.findAllOrders(pageable);
     }
 
+    /**
+     * Same as {@link #findOrders} but returns only the requested {@code fields} (e.g. {@code fields=id,description}),
+     * reading only the matching columns and skipping the product-id lookup unless {@code productIds} is requested.
+     */
+    @GetMapping(params = {"fields", "stream!=true", "!ids"})
+    public List<Map<String, Object>> findOrderFields(
+            @RequestParam final String fields,
+            @RequestParam(required = false) @Min(value = 0, message = "global.400.006") final Integer page,
+            @RequestParam(required = false) @Min(value = 5, message = "global.400.005") final Integer limit,
+            @RequestParam(required = false) final String sortBy,
+            @RequestParam(required = false) final SortEnumDTO sortDir) {
+
+        final SparseFields sparseFields = SparseFields.parse(fields, OrderService.SPARSE_FIELDS);
+        pageableBuilder.checkMaxSize(limit, globalSearchProps.getMaxLimit());
+        final Pageable pageable = pageableBuilder.buildPageable(page, limit, sortBy, sortDir, globalSearchProps.getLimit(),
+                globalSearchProps.getSortField(),
+                globalSearchProps.getDirection()
+        );
+
+        return orderService.findAllOrders(pageable, sparseFields);
+    }
+
+    /**
+     * Same as {@link #findOrders} but writes each order as soon as it is read, so {@code limit} is not capped.
+     */
+    @GetMapping(params = {"stream=true", "!ids"})
+    public ResponseEntity<StreamingResponseBody> streamOrders(
+            @RequestParam(required = false) @Min(value = 0, message = "global.400.006") final Integer page,
+            @RequestParam(required = false) @Min(value = 5, message = "global.400.005") final Integer limit,
+            @RequestParam(required = false) final String sortBy,
+            @RequestParam(required = false) final SortEnumDTO sortDir) {
+
+        final Pageable pageable = pageableBuilder.buildPageable(page, limit, sortBy, sortDir, globalSearchProps.getLimit(),
+                globalSearchProps.getSortField(),
+                globalSearchProps.getDirection()
+        );
+
+        return jsonArrayStreamer.stream(sink -> orderService.streamAllOrders(pageable, sink));
+    }
+
+    /**
+     * Multi-get: returns the orders with the given {@code ids} (e.g. {@code ids=3,1,2}) in request order, read
+     * with one {@code IN} query after serving what the per-id cache already holds. Unknown ids are left out.
+     */
+    @GetMapping(params = "ids")
+    public List<OrderDTO> findOrdersByIds(@RequestParam final List<@Positive(message = "global.400.003") Long> ids) {
+        pageableBuilder.checkMaxIds(ids, globalSearchProps.getMaxIds());
+        return orderService.findOrdersByIds(ids);
+    }
+
     @GetMapping("{id}")
     public OrderDTO getOrderById(@PathVariable("id") @Positive(message = "global.400.003") final Long id) {
         return orderService.findOrderById(id);
     }
 
+    /**
+     * Returns the order with the related resources named in {@code include} embedded under {@code _embedded}, e.g.
+     * {@code include=customer,products}. Each level of the graph is read with one batched query per resource type, however
+     * many resources it holds.
+     */
+    @GetMapping(value = "{id}", params = "include")
+    public ResourceGraphDTO<OrderDTO> getOrderByIdWithIncludes(
+            @PathVariable("id") @Positive(message = "global.400.003") final Long id,
+            @RequestParam final String include) {
+        final IncludeTree tree = IncludeTree.parse(include, OrderService.INCLUDES);
+        final OrderDTO order = orderService.findOrderById(id);
+        return order == null ? null : includeService.resolve(order, tree);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public OrderDTO createOrder(@Valid @RequestBody final OrderDTO orderDTO) {
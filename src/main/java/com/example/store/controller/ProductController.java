@@ -2,14 +2,20 @@ package com.example.store.controller;
 
 import com.example.store.component.GlobalSearchProps;
 import com.example.store.dto.ProductDTO;
+import com.example.store.dto.ResourceGraphDTO;
 import com.example.store.dto.SortEnumDTO;
+import com.example.store.service.store.IncludeService;
 import com.example.store.service.store.ProductService;
+import com.example.store.util.IncludeTree;
+import com.example.store.util.JsonArrayStreamer;
 import com.example.store.util.PageableBuilder;
+import com.example.store.util.SparseFields;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,8 +24,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/products")
@@ -27,7 +35,9 @@ import java.util.List;
 @Validated
 public class ProductController {
     private final PageableBuilder pageableBuilder;
+    private final JsonArrayStreamer jsonArrayStreamer;
     private final ProductService productService;
+    private final IncludeService includeService;
     private final GlobalSearchProps globalSearchProps;
 
     @GetMapping("{id}")
@@ -35,12 +45,27 @@ public class ProductController {
         return productService.findProductById(id);
     }
 
+    /**
+     * Returns the product with the related resources named in {@code include} embedded under {@code _embedded}, e.g.
+     * {@code include=orders.customer}. Each level of the graph is read with one batched query per resource type, however
+     * many resources it holds.
+     */
+    @GetMapping(value = "{id}", params = "include")
+    public ResourceGraphDTO<ProductDTO> findProductByIdWithIncludes(
+            @PathVariable("id") @Positive(message = "global.400.003") final Long id,
+            @RequestParam final String include) {
+        final IncludeTree tree = IncludeTree.parse(include, ProductService.INCLUDES);
+        final ProductDTO product = productService.findProductById(id);
+        return product == null ? null : includeService.resolve(product, tree);
+    }
+
     @GetMapping
     public List<ProductDTO> findProducts(@RequestParam(required = false) @Min(value = 0, message = "global.400.006") final Integer page,
                                          @RequestParam(required = false) @Min(value = 5, message = "global.400.005") final Integer limit,
                                          @RequestParam(required = false) final String sortBy,
                                          @RequestParam(required = false) final SortEnumDTO sortDir) {
 
+        pageableBuilder.checkMaxSize(limit, globalSearchProps.getMaxLimit());
         final Pageable pageable = pageableBuilder.buildPageable(page, limit, sortBy, sortDir, globalSearchProps.getLimit(),
                 globalSearchProps.getSortField(),
                 globalSearchProps.getDirection()
@@ -49,6 +74,54 @@ public class ProductController {
         return productService.findAllProducts(pageable);
     }
 
+    /**
+     * Same as {@link #findProducts} but returns only the requested {@code fields} (e.g. {@code fields=id,description}),
+     * reading only the matching columns and skipping the order-id lookup unless {@code orderIds} is requested.
+     */
+    @GetMapping(params = {"fields", "stream!=true", "!ids"})
+    public List<Map<String, Object>> findProductFields(@RequestParam final String fields,
+                                                       @RequestParam(required = false) @Min(value = 0, message = "global.400.006") final Integer page,
+                                                       @RequestParam(required = false) @Min(value = 5, message = "global.400.005") final Integer limit,
+                                                       @RequestParam(required = false) final String sortBy,
+                                                       @RequestParam(required = false) final SortEnumDTO sortDir) {
+
+        final SparseFields sparseFields = SparseFields.parse(fields, ProductService.SPARSE_FIELDS);
+        pageableBuilder.checkMaxSize(limit, globalSearchProps.getMaxLimit());
+        final Pageable pageable = pageableBuilder.buildPageable(page, limit, sortBy, sortDir, globalSearchProps.getLimit(),
+                globalSearchProps.getSortField(),
+                globalSearchProps.getDirection()
+        );
+
+        return productService.findAllProducts(pageable, sparseFields);
+    }
+
+    /**
+     * Same as {@link #findProducts} but writes each product as soon as it is read, so {@code limit} is not capped.
+     */
+    @GetMapping(params = {"stream=true", "!ids"})
+    public ResponseEntity<StreamingResponseBody> streamProducts(@RequestParam(required = false) @Min(value = 0, message = "global.400.006") final Integer page,
+                                                                @RequestParam(required = false) @Min(value = 5, message = "global.400.005") final Integer limit,
+                                                                @RequestParam(required = false) final String sortBy,
+                                                                @RequestParam(required = false) final SortEnumDTO sortDir) {
+
+        final Pageable pageable = pageableBuilder.buildPageable(page, limit, sortBy, sortDir, globalSearchProps.getLimit(),
+                globalSearchProps.getSortField(),
+                globalSearchProps.getDirection()
+        );
+
+        return jsonArrayStreamer.stream(sink -> productService.streamAllProducts(pageable, sink));
+    }
+
+    /**
+     * Multi-get: returns the products with the given {@code ids} (e.g. {@code ids=3,1,2}) in request order, read
+     * with one {@code IN} query after serving what the per-id cache already holds. Unknown ids are left out.
+     */
+    @GetMapping(params = "ids")
+    public List<ProductDTO> findProductsByIds(@RequestParam final List<@Positive(message = "global.400.003") Long> ids) {
+        pageableBuilder.checkMaxIds(ids, globalSearchProps.getMaxIds());
+        return productService.findProductsByIds(ids);
+    }
+
     @PostMapping
     public ProductDTO createProduct(@Valid @RequestBody final ProductDTO productDTO) {
         return productService.createProduct(productDTO);
@@ -1,19 +1,31 @@
 package com.example.store.controller.handler;
 
+import com.example.store.component.deadline.RequestDeadline;
 import com.example.store.dto.error.ErrorDTO;
 import com.example.store.dto.error.ViolationDTO;
+import com.example.store.exception.BulkheadFullException;
+import com.example.store.exception.DeadlineExceededException;
 import com.example.store.exception.CustomerNotFoundException;
 import com.example.store.exception.EmailAlreadyExistsException;
+import com.example.store.exception.InvalidFieldsException;
 import com.example.store.exception.InvalidRefreshTokenException;
 import com.example.store.exception.LocalizedJsonParseException;
+import com.example.store.exception.PageSizeExceededException;
+import com.example.store.exception.PasswordHashingRejectedException;
+import com.example.store.util.LogSampler;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -22,6 +34,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -36,10 +49,28 @@ public class ValidationExceptionHandler {
 
     private static final String GLOBAL_ERROR_CODE = "global.400.000";
     private static final Pattern QUOTED_TEXT_PATTERN = Pattern.compile("\"([^\"]*)\"");
+    // Rejected requests are expected traffic; a flood of them must not cost a log line each
+    private static final LogSampler LOG_SAMPLER = new LogSampler(10, Duration.ofSeconds(1));
 
     private final MessageSource messageSource;
     private final FieldErrorExtractor fieldErrorExtractor;
 
+    /**
+     * Logs a handled rejection at debug level, without a stack trace and at most a few times per second per call
+     * site. Nothing is evaluated unless debug logging is on.
+     */
+    private static void logRejected(final String format, final Object arg) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        final long dropped = LOG_SAMPLER.sample(format);
+        if (dropped > 0) {
+            log.debug(format + " ({} similar dropped)", arg, dropped);
+        } else if (dropped == 0) {
+            log.debug(format, arg);
+        }
+    }
+
     /**
      * Base exception handler that creates ErrorDTO with proper localization
      */
@@ -75,7 +106,7 @@ public class ValidationExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
     public ErrorDTO handleMethodArgumentNotValid(final MethodArgumentNotValidException ex) {
-        log.debug("Validation failed for request", ex);
+        logRejected("Validation failed for request: {} error(s)", ex.getErrorCount());
 
         List<ViolationDTO> violations = fieldErrorExtractor
                 .extractErrorObjects(ex.getBindingResult().getFieldErrors());
@@ -96,7 +127,7 @@ public class ValidationExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
     public ErrorDTO handleHandlerMethodValidation(final HandlerMethodValidationException ex) {
-        log.debug("Method parameter validation failed", ex);
+        logRejected("Method parameter validation failed: {} error(s)", ex.getAllErrors().size());
 
         List<ViolationDTO> violations = fieldErrorExtractor.extractErrorObjects(ex);
 
@@ -116,7 +147,7 @@ public class ValidationExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
     public ErrorDTO handleConstraintViolation(final ConstraintViolationException ex) {
-        log.debug("Constraint validation failed", ex);
+        logRejected("Constraint validation failed: {} violation(s)", ex.getConstraintViolations().size());
 
         List<ViolationDTO> violations = fieldErrorExtractor.extractErrorObjects(ex);
 
@@ -136,7 +167,7 @@ public class ValidationExceptionHandler {
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ResponseBody
     public ErrorDTO handleCustomerNotFound(final CustomerNotFoundException ex) {
-        log.debug("Customer not found: {}", ex.getMessage());
+        logRejected("Customer not found: {}", ex.getMessage());
 
         return createErrorResponse(
                 HttpStatus.NOT_FOUND,
@@ -147,6 +178,42 @@ public class ValidationExceptionHandler {
         );
     }
 
+    /**
+     * Handles list requests asking for a page larger than the configured maximum
+     */
+    @ExceptionHandler(PageSizeExceededException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorDTO handlePageSizeExceeded(final PageSizeExceededException ex) {
+        logRejected("Page size exceeded: {}", ex.getMessage());
+
+        return createErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage(),
+                ex.getArgs(),
+                "Page size too large",
+                null
+        );
+    }
+
+    /**
+     * Handles sparse fieldset requests naming a field the resource does not expose
+     */
+    @ExceptionHandler(InvalidFieldsException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorDTO handleInvalidFields(final InvalidFieldsException ex) {
+        logRejected("Invalid fields requested: {}", ex.getMessage());
+
+        return createErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage(),
+                ex.getArgs(),
+                "Invalid fields",
+                null
+        );
+    }
+
     /**
      * Handles email already exists exception
      */
@@ -154,7 +221,7 @@ public class ValidationExceptionHandler {
     @ResponseStatus(HttpStatus.CONFLICT)
     @ResponseBody
     public ErrorDTO handleEmailAlreadyExists(final EmailAlreadyExistsException ex) {
-        log.debug("Email already exists: {}", Arrays.stream(ex.getArgs()).findFirst().orElseThrow());
+        logRejected("Email already exists: {}", Arrays.stream(ex.getArgs()).findFirst().orElseThrow());
 
         return createErrorResponse(
                 HttpStatus.CONFLICT,
@@ -172,7 +239,7 @@ public class ValidationExceptionHandler {
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     @ResponseBody
     public ErrorDTO handleAuthenticationException(final Exception ex) {
-        log.debug("Authentication failed", ex);
+        logRejected("Authentication failed: {}", ex.getClass().getSimpleName());
 
         // Use same message for both to avoid user enumeration
         return createErrorResponse(
@@ -191,7 +258,7 @@ public class ValidationExceptionHandler {
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     @ResponseBody
     public ErrorDTO handleInvalidRefreshToken(final InvalidRefreshTokenException ex) {
-        log.debug("Invalid refresh token", ex);
+        logRejected("Invalid refresh token: {}", ex.getMessage());
 
         return createErrorResponse(
                 HttpStatus.UNAUTHORIZED,
@@ -202,6 +269,98 @@ public class ValidationExceptionHandler {
         );
     }
 
+    /**
+     * Handles login/registration requests shed because the password hashing pool is saturated
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ResponseBody
+    public ErrorDTO handlePasswordHashingRejected(final PasswordHashingRejectedException ex) {
+        logRejected("Password hashing rejected: {}", ex.getMessage());
+
+        return createErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS,
+                ex.getMessage(),
+                null,
+                "Too many authentication requests",
+                null
+        );
+    }
+
+    /**
+     * Handles requests refused a database connection because their bulkhead stayed full
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public ErrorDTO handleBulkheadFull(final BulkheadFullException ex) {
+        logRejected("Bulkhead full: {}", Arrays.toString(ex.getArgs()));
+
+        return createErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                ex.getArgs(),
+                "Service is busy",
+                null
+        );
+    }
+
+    /**
+     * Handles requests whose deadline passed before their next statement was sent
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    @ResponseBody
+    public ErrorDTO handleDeadlineExceeded(final DeadlineExceededException ex) {
+        logRejected("Deadline exceeded: {}", Arrays.toString(ex.getArgs()));
+
+        return createErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT,
+                ex.getMessage(),
+                ex.getArgs(),
+                "Request deadline exceeded",
+                null
+        );
+    }
+
+    /**
+     * Handles statements cancelled by the database once the request's query timeout ran out
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    @ResponseBody
+    public ErrorDTO handleQueryTimeout(final QueryTimeoutException ex, final HttpServletRequest request) {
+        logRejected("Query timed out: {}", ex.getMessage());
+
+        final Object[] args = request.getAttribute(RequestDeadline.ATTRIBUTE) instanceof RequestDeadline deadline
+                ? new Object[]{deadline.elapsedMillis()}
+                : null;
+        return createErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT,
+                args != null ? "global.504.001" : null,
+                args,
+                "Request deadline exceeded",
+                null
+        );
+    }
+
+    /**
+     * Handles transactions that could not get a connection; a full bulkhead or an expired deadline arrives here
+     * wrapped by the transaction manager
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    @ResponseBody
+    public ResponseEntity<ErrorDTO> handleCannotCreateTransaction(final CannotCreateTransactionException ex) {
+        final Throwable rootCause = NestedExceptionUtils.getRootCause(ex);
+        if (rootCause instanceof BulkheadFullException bulkheadFull) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(handleBulkheadFull(bulkheadFull));
+        }
+        if (rootCause instanceof DeadlineExceededException deadlineExceeded) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(handleDeadlineExceeded(deadlineExceeded));
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(handleGeneralException(ex));
+    }
+
     /**
      * Handles type mismatch exceptions
      */
@@ -209,7 +368,7 @@ public class ValidationExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
     public ErrorDTO handleTypeMismatch(final MethodArgumentTypeMismatchException ex) {
-        log.debug("Type mismatch for parameter: {}", ex.getName());
+        logRejected("Type mismatch for parameter: {}", ex.getName());
 
         String messageKey = "global.400.010";
         Object[] args = new Object[]{ex.getName(), ex.getValue()};
@@ -237,7 +396,7 @@ public class ValidationExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
     public ErrorDTO handleJsonParseException(final LocalizedJsonParseException ex) {
-        log.debug("JSON parse error", ex);
+        logRejected("JSON parse error: {}", ex.getMessageKey());
 
         return createErrorResponse(
                 HttpStatus.BAD_REQUEST,
@@ -1,7 +1,7 @@
 package com.example.store.dto;
 
 import com.google.gson.annotations.JsonAdapter;
-import com.example.store.config.adapter.ZonedDateTimeBiSerializer;
+import com.example.store.config.adapter.ZonedDateTimeTypeAdapter;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import lombok.Data;
@@ -12,9 +12,9 @@ import java.time.ZonedDateTime;
 public abstract class AbstractSuperDTO {
 
     private Long id;
-    @JsonAdapter(ZonedDateTimeBiSerializer.class)
+    @JsonAdapter(ZonedDateTimeTypeAdapter.class)
     private ZonedDateTime created;
-    @JsonAdapter(ZonedDateTimeBiSerializer.class)
+    @JsonAdapter(ZonedDateTimeTypeAdapter.class)
     private ZonedDateTime updated;
 
     @PrePersist
@@ -0,0 +1,40 @@
+package com.example.store.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A resource together with the related resources requested with {@code include=}.
+ * <p>
+ * The resource's own fields are written inline and the related resources under {@code _embedded}, keyed by relation
+ * name, so a response without includes reads the same as the plain DTO.
+ *
+ * @param <T> the resource type
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class ResourceGraphDTO<T extends AbstractSuperDTO> {
+    @JsonUnwrapped
+    private final T resource;
+
+    @JsonProperty("_embedded")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final Map<String, List<ResourceGraphDTO<?>>> embedded = new LinkedHashMap<>();
+
+    public ResourceGraphDTO(final T resource) {
+        this.resource = resource;
+    }
+
+    public void embed(final String relation, final List<ResourceGraphDTO<?>> related) {
+        embedded.put(relation, related);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.store.dto.batch;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+import java.util.Map;
+
+/**
+ * One call of a batch. Only reads can be batched: a write would bypass the Idempotency-Key handling, so a retried
+ * batch could repeat it. Dot segments and encoded separators are rejected in the path rather than left to the
+ * downstream matchers to interpret.
+ *
+ * @param method  {@code GET}
+ * @param path    the path and query string, relative to the context path, e.g. {@code /orders?ids=1,2}
+ * @param headers optional request headers, e.g. {@code Accept-Language}
+ */
+public record BatchItemReqDTO(
+        @NotBlank(message = "global.400.017")
+        @Pattern(regexp = "GET", message = "global.400.017")
+        String method,
+        @NotBlank(message = "global.400.017")
+        @Pattern(regexp = "/(customers|orders|products)"
+                + "(?![^?#]*(/\\.{1,2}(/|\\?|$)|%2[fFeE]|%5[cC]|\\\\))"
+                + "(/[^?#]*)?(\\?[^#]*)?", message = "global.400.017")
+        String path,
+        Map<String, String> headers
+) {
+}
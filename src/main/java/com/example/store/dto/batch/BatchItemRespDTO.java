@@ -0,0 +1,22 @@
+package com.example.store.dto.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.Map;
+
+/**
+ * The outcome of one call of a batch.
+ *
+ * @param status  the HTTP status the call would have returned on its own
+ * @param headers the response headers
+ * @param body    the response body as JSON, written verbatim; {@code null} when the call returned no body
+ */
+public record BatchItemRespDTO(
+        int status,
+        Map<String, String> headers,
+        @JsonRawValue
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String body
+) {
+}
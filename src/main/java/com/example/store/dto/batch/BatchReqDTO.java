@@ -0,0 +1,12 @@
+package com.example.store.dto.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BatchReqDTO(
+        @NotEmpty(message = "global.400.004")
+        List<@Valid BatchItemReqDTO> requests
+) {
+}
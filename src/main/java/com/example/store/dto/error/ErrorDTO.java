@@ -1,6 +1,6 @@
 package com.example.store.dto.error;
 
-import com.example.store.config.adapter.ZonedDateTimeBiSerializer;
+import com.example.store.config.adapter.ZonedDateTimeTypeAdapter;
 import com.google.gson.annotations.JsonAdapter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,6 +17,6 @@ public class ErrorDTO {
     private String name;
     private String message;
     private List<ViolationDTO> violations;
-    @JsonAdapter(ZonedDateTimeBiSerializer.class)
+    @JsonAdapter(ZonedDateTimeTypeAdapter.class)
     private ZonedDateTime timestamp;
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.store.exception;
+
+public class BulkheadFullException extends WithMsgSrcArgs {
+
+    public BulkheadFullException(final String message, final Object[] args) {
+        super(message, args);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.store.exception;
+
+public class DeadlineExceededException extends WithMsgSrcArgs {
+
+    public DeadlineExceededException(final String message, final Object[] args) {
+        super(message, args);
+    }
+}
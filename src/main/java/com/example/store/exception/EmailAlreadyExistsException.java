@@ -3,9 +3,8 @@ package com.example.store.exception;
 public class EmailAlreadyExistsException extends WithMsgSrcArgs {
 
     /**
-     * Constructs a new runtime exception with the specified detail message.
-     * The cause is not initialized, and may subsequently be initialized by a
-     * call to {@link #initCause}.
+     * Constructs a new runtime exception with the specified detail message,
+     * no cause and no stack trace.
      *
      * @param message the detail message. The detail message is saved for
      *                later retrieval by the {@link #getMessage()} method.
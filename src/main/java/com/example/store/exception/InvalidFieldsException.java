@@ -0,0 +1,8 @@
+package com.example.store.exception;
+
+public class InvalidFieldsException extends WithMsgSrcArgs {
+
+    public InvalidFieldsException(final String message, final Object[] args) {
+        super(message, args);
+    }
+}
@@ -1,8 +1,10 @@
-
 package com.example.store.exception;
 
+/**
+ * Expected outcome of a bad refresh request; carries no stack trace.
+ */
 public class InvalidRefreshTokenException extends RuntimeException {
     public InvalidRefreshTokenException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
@@ -3,6 +3,10 @@ package com.example.store.exception;
 import com.google.gson.JsonParseException;
 import lombok.Getter;
 
+/**
+ * Rejected JSON input, carrying a message key for the response. Gson's exceptions offer no stackless constructor,
+ * so {@link #fillInStackTrace()} is skipped instead; the cause, if any, keeps its own trace.
+ */
 @Getter
 public class LocalizedJsonParseException extends JsonParseException {
     private final String messageKey;
@@ -13,4 +17,9 @@ public class LocalizedJsonParseException extends JsonParseException {
         this.messageKey = messageKey;
         this.args = args;
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.store.exception;
+
+public class PageSizeExceededException extends WithMsgSrcArgs {
+
+    public PageSizeExceededException(final String message, final Object[] args) {
+        super(message, args);
+    }
+}
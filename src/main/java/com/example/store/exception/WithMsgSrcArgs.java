@@ -2,22 +2,26 @@ package com.example.store.exception;
 
 import lombok.Getter;
 
+/**
+ * Base of the domain exceptions that carry a message key and its arguments. They signal expected outcomes that
+ * become 4xx/5xx responses, so they skip stack-trace capture and suppression tracking; throwing one costs no more
+ * than allocating it.
+ */
 public abstract class WithMsgSrcArgs extends RuntimeException {
     @Getter
     private final Object[] args;
 
 
     /**
-     * Constructs a new runtime exception with the specified detail message.
-     * The cause is not initialized, and may subsequently be initialized by a
-     * call to {@link #initCause}.
+     * Constructs a new runtime exception with the specified detail message,
+     * no cause and no stack trace.
      *
      * @param message the detail message. The detail message is saved for
      *                later retrieval by the {@link #getMessage()} method.
      * @param args    args with error values.
      */
     WithMsgSrcArgs(String message, Object[] args) {
-        super(message);
+        super(message, null, false, false);
         this.args = args;
     }
 }
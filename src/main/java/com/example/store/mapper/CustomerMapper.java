@@ -5,6 +5,7 @@ import com.example.store.persistence.entity.Customer;
 import com.example.store.persistence.entity.Order;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.Collection;
 import java.util.List;
@@ -21,6 +22,13 @@ public interface CustomerMapper {
     CustomerDTO toCustomerDTO(Customer customer);
 
     List<CustomerDTO> toCustomerDTOs(List<Customer> customer);
+
+    /**
+     * Maps without touching the lazy {@code orders} collection; the caller fills {@code orders} in batch.
+     */
+    @Named("withoutOrders")
+    @Mapping(target = "orders", ignore = true)
+    CustomerDTO toCustomerDTOWithoutOrders(Customer customer);
     
     default Set<Long> mapOrdersToIds(Set<Order> orders) {
         if (orders == null) {
@@ -5,6 +5,7 @@ import com.example.store.persistence.entity.Order;
 import com.example.store.persistence.entity.ProductOrder;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.List;
 import java.util.Set;
@@ -23,6 +24,14 @@ public interface OrderMapper {
 
     List<OrderDTO> ordersToOrderDTOs(List<Order> orders);
 
+    /**
+     * Maps without touching the lazy {@code products} collection; the caller fills {@code productIds} in batch.
+     */
+    @Named("withoutProductIds")
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "productIds", ignore = true)
+    OrderDTO toOrderDTOWithoutProductIds(Order order);
+
     // Custom mapping methods
     default Set<Long> mapProductOrdersToProductIds(List<ProductOrder> productOrders) {
         if (productOrders == null) {
@@ -5,6 +5,7 @@ import com.example.store.persistence.entity.Product;
 import com.example.store.persistence.entity.ProductOrder;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +26,14 @@ public interface ProductMapper {
 
     List<ProductDTO> toProductDTOList(List<Product> products);
 
+    /**
+     * Maps without touching the lazy {@code orders} collection; the caller fills {@code orderIds} in batch.
+     */
+    @Named("withoutOrderIds")
+    @Mapping(target = "orderIds", ignore = true)
+    @Mapping(target = "sku", expression = "java(product.getSku())")
+    ProductDTO toProductDTOWithoutOrderIds(Product product);
+
     // Custom mapping methods
     default Set<Long> mapProductOrdersToOrderIds(List<ProductOrder> productOrders) {
         if (productOrders == null) {
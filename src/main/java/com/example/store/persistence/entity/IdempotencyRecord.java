@@ -0,0 +1,36 @@
+package com.example.store.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * The outcome of one POST sent with an {@code Idempotency-Key}, per client ({@code scope}) and key.
+ * <p>
+ * {@code status} is null while the first request is still executing; {@code expiresAt} is then the end of its
+ * claim, and afterwards the end of the replay window. {@code claimToken} is new for every claim, so only the current
+ * claimant can complete or release the key.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "idempotency_key")
+public class IdempotencyRecord extends AbstractSuperEntity {
+    @Column(nullable = false, updatable = false)
+    private String scope;
+    @Column(nullable = false, updatable = false)
+    private String idemKey;
+    @Column(nullable = false)
+    private String requestHash;
+    private UUID claimToken;
+    private Integer status;
+    private String contentType;
+    private byte[] responseBody;
+    @Column(nullable = false)
+    private ZonedDateTime expiresAt;
+}
@@ -0,0 +1,36 @@
+package com.example.store.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * One issued refresh token. Tokens rotated from the same login share a {@code familyId}; a token is spent once
+ * {@code replacedBy} is set, and {@code revoked} marks the whole family as unusable.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "refresh_token")
+public class RefreshToken extends AbstractSuperEntity {
+    @Column(unique = true, nullable = false, updatable = false)
+    private UUID jti;
+    @Column(nullable = false, updatable = false)
+    private UUID familyId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User user;
+    @Column(nullable = false)
+    private ZonedDateTime expiresAt;
+    private UUID replacedBy;
+    @Column(nullable = false)
+    private Boolean revoked = false;
+}
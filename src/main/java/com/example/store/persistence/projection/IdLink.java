@@ -0,0 +1,26 @@
+package com.example.store.persistence.projection;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One row of a join table reduced to its two foreign keys, e.g. an order id and one of its product ids.
+ *
+ * @param ownerId  the id the lookup was keyed by
+ * @param linkedId the id linked to it
+ */
+public record IdLink(Long ownerId, Long linkedId) {
+
+    /**
+     * Groups links by owner. Every id in {@code ownerIds} gets an entry, empty if it has no links.
+     */
+    public static Map<Long, Set<Long>> group(final Collection<Long> ownerIds, final Collection<IdLink> links) {
+        final Map<Long, Set<Long>> grouped = HashMap.newHashMap(ownerIds.size());
+        ownerIds.forEach(id -> grouped.put(id, new HashSet<>()));
+        links.forEach(link -> grouped.computeIfAbsent(link.ownerId(), id -> new HashSet<>()).add(link.linkedId()));
+        return grouped;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.store.persistence.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+
+/**
+ * Reads pages of entities as plain column values, selecting only the attributes asked for. No entity is loaded,
+ * so there is nothing to dirty-check and no lazy association to trigger.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ColumnProjectionRepo {
+    public static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Reads one page of {@code entityClass}.
+     *
+     * @param entityClass the entity to read
+     * @param columns     output name to attribute path, e.g. {@code customerId -> customer.id}; a to-one path ending in
+     *                    {@code .id} reads the foreign key without a join
+     * @param pageable    the page and sort
+     * @return one map per row in {@code columns} order; {@link #ID} is always present, first
+     */
+    public List<Map<String, Object>> findPage(final Class<?> entityClass, final SequencedMap<String, String> columns,
+                                              final Pageable pageable) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<?> root = query.from(entityClass);
+
+        final List<Selection<?>> selections = new ArrayList<>(columns.size() + 1);
+        selections.add(root.get(ID).alias(ID));
+        columns.forEach((name, path) -> {
+            if (!ID.equals(name)) {
+                selections.add(path(root, path).alias(name));
+            }
+        });
+        query.multiselect(selections);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        final TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList().stream()
+                .map(ColumnProjectionRepo::toRow)
+                .toList();
+    }
+
+    private static Path<?> path(final Root<?> root, final String attributePath) {
+        Path<?> path = root;
+        for (final String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    private static Map<String, Object> toRow(final Tuple tuple) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        for (final TupleElement<?> element : tuple.getElements()) {
+            row.put(element.getAlias(), tuple.get(element));
+        }
+        return row;
+    }
+}
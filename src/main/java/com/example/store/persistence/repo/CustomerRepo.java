@@ -1,14 +1,18 @@
 package com.example.store.persistence.repo;
 
 import com.example.store.persistence.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CustomerRepo extends JpaRepository<Customer, Long> {
 
@@ -25,4 +29,19 @@ public interface CustomerRepo extends JpaRepository<Customer, Long> {
     @EntityGraph(attributePaths = {"orders"})
     Optional<Customer> findCustomerById(@Param("id") Long id);
 
+    /**
+     * Scrolls over a page of customers with a server-side cursor instead of loading it at once.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Customer> streamAllBy(Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Customer> streamCustomersByNameContainingIgnoreCase(String name, Pageable pageable);
 }
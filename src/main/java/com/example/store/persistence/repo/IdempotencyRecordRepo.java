@@ -0,0 +1,72 @@
+package com.example.store.persistence.repo;
+
+import com.example.store.persistence.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IdempotencyRecordRepo extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByScopeAndIdemKey(String scope, String idemKey);
+
+    /**
+     * Claims a key in a single statement: inserts a pending record, or takes over one whose claim or replay window
+     * has expired. Two concurrent claims for the same key cannot both succeed. {@code claimToken} identifies this
+     * claim to {@link #complete} and {@link #release}.
+     *
+     * @return 1 if the caller now owns the key, 0 if a live record already exists
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into idempotency_key (scope, idem_key, request_hash, claim_token, expires_at, created, updated)
+            values (:scope, :idemKey, :requestHash, :claimToken, :claimUntil, :now, :now)
+            on conflict (scope, idem_key) do update
+                set request_hash = excluded.request_hash, claim_token = excluded.claim_token, status = null,
+                    content_type = null, response_body = null, expires_at = excluded.expires_at,
+                    created = excluded.created, updated = excluded.updated
+                where idempotency_key.expires_at <= excluded.created""", nativeQuery = true)
+    int claim(@Param("scope") String scope, @Param("idemKey") String idemKey,
+              @Param("requestHash") String requestHash, @Param("claimToken") UUID claimToken,
+              @Param("claimUntil") ZonedDateTime claimUntil, @Param("now") ZonedDateTime now);
+
+    /**
+     * Stores the response of a pending claim. Does nothing once the claim has expired and been taken over.
+     *
+     * @return 1 if the response was stored, 0 if {@code claimToken} no longer owns the key
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update IdempotencyRecord r set r.status = :status, r.contentType = :contentType,
+                r.responseBody = :responseBody, r.expiresAt = :expiresAt, r.updated = :now
+            where r.scope = :scope and r.idemKey = :idemKey and r.claimToken = :claimToken and r.status is null""")
+    int complete(@Param("scope") String scope, @Param("idemKey") String idemKey,
+                 @Param("claimToken") UUID claimToken, @Param("status") int status,
+                 @Param("contentType") String contentType, @Param("responseBody") byte[] responseBody,
+                 @Param("expiresAt") ZonedDateTime expiresAt, @Param("now") ZonedDateTime now);
+
+    /**
+     * Deletes a pending claim. Does nothing once the claim has expired and been taken over.
+     *
+     * @return 1 if the claim was deleted, 0 if {@code claimToken} no longer owns the key
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from IdempotencyRecord r
+            where r.scope = :scope and r.idemKey = :idemKey and r.claimToken = :claimToken and r.status is null""")
+    int release(@Param("scope") String scope, @Param("idemKey") String idemKey,
+                @Param("claimToken") UUID claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") ZonedDateTime now);
+}
@@ -1,9 +1,31 @@
 package com.example.store.persistence.repo;
 
 import com.example.store.persistence.entity.Order;
-
+import com.example.store.persistence.projection.IdLink;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface OrderRepo extends JpaRepository<Order, Long> {
 
+    /**
+     * Scrolls over a page of orders with a server-side cursor instead of loading it at once.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Order> streamAllBy(Pageable pageable);
+
+    @Query("SELECT new com.example.store.persistence.projection.IdLink(o.customer.id, o.id) "
+            + "FROM Order o WHERE o.customer.id IN :customerIds")
+    List<IdLink> findOrderIdLinksByCustomerIds(Collection<Long> customerIds);
 }
@@ -1,9 +1,11 @@
 package com.example.store.persistence.repo;
 
 import com.example.store.persistence.entity.ProductOrder;
+import com.example.store.persistence.projection.IdLink;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -13,4 +15,12 @@ public interface ProductOrderRepo extends JpaRepository<ProductOrder, Long> {
 
     @Query("SELECT po.order.id FROM ProductOrder po WHERE po.product.id = :productId")
     Set<Long> findOrderIdsByProduct_Id(Long productId);
+
+    @Query("SELECT new com.example.store.persistence.projection.IdLink(po.order.id, po.product.id) "
+            + "FROM ProductOrder po WHERE po.order.id IN :orderIds")
+    List<IdLink> findProductIdLinksByOrderIds(Collection<Long> orderIds);
+
+    @Query("SELECT new com.example.store.persistence.projection.IdLink(po.product.id, po.order.id) "
+            + "FROM ProductOrder po WHERE po.product.id IN :productIds")
+    List<IdLink> findOrderIdLinksByProductIds(Collection<Long> productIds);
 }
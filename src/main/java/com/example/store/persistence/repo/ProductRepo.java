@@ -1,7 +1,23 @@
 package com.example.store.persistence.repo;
 
 import com.example.store.persistence.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
 
 public interface ProductRepo extends JpaRepository<Product, Long> {
+
+    /**
+     * Scrolls over a page of products with a server-side cursor instead of loading it at once.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Product> streamAllBy(Pageable pageable);
 }
@@ -0,0 +1,47 @@
+package com.example.store.persistence.repo;
+
+import com.example.store.persistence.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface RefreshTokenRepo extends JpaRepository<RefreshToken, Long> {
+
+    boolean existsByJti(UUID jti);
+
+    boolean existsByFamilyIdAndRevokedTrue(UUID familyId);
+
+    /**
+     * Spends a refresh token in a single conditional update, so two concurrent uses of the same token cannot both
+     * succeed.
+     *
+     * @return 1 if the token was live and is now replaced by {@code nextJti}, 0 if it is unknown, spent or revoked
+     */
+    @Modifying
+    @Query("""
+            update RefreshToken t set t.replacedBy = :nextJti, t.updated = :now
+            where t.jti = :jti and t.replacedBy is null and t.revoked = false and t.expiresAt > :now""")
+    int markRotated(@Param("jti") UUID jti, @Param("nextJti") UUID nextJti, @Param("now") ZonedDateTime now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true, t.updated = :now where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") ZonedDateTime now);
+
+    @Query("select distinct t.familyId from RefreshToken t where t.revoked = true and t.expiresAt > :now")
+    List<UUID> findRevokedFamilyIds(@Param("now") ZonedDateTime now);
+
+    /**
+     * Deletes expired tokens, spent, revoked or not. Past their expiry they can no longer be refreshed, and the
+     * revocation index already ignores them.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt <= :now")
+    int deleteExpired(@Param("now") ZonedDateTime now);
+}
@@ -2,10 +2,56 @@ package com.example.store.persistence.repo;
 
 import com.example.store.persistence.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
 import java.util.Optional;
 
 public interface UserRepo extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    /**
+     * Inserts {@code user} unless its email is taken, in a single statement. Unlike an exists-check followed by a
+     * save, concurrent registrations for the same email cannot both pass, and the loser sees an empty result
+     * instead of a constraint violation.
+     *
+     * @return the user with its generated id, or empty if the email is already registered
+     */
+    default Optional<User> insertIfAbsent(final User user) {
+        user.prePersist();
+        return insertIfAbsent(user.getEmail(), user.getPassword(), user.getFirstName(), user.getLastName(),
+                user.getRole().name(), user.getEnabled(), user.getAccountNonExpired(), user.getAccountNonLocked(),
+                user.getCredentialsNonExpired(), user.getCreated())
+                .map(id -> {
+                    user.setId(id);
+                    return user;
+                });
+    }
+
+    // Not @Modifying: RETURNING produces a result set, so this has to run as a query
+    @Query(value = """
+            insert into "user" (email, password, first_name, last_name, role, enabled, account_non_expired,
+                                account_non_locked, credentials_non_expired, created, updated)
+            values (:email, :password, :firstName, :lastName, :role, :enabled, :accountNonExpired,
+                    :accountNonLocked, :credentialsNonExpired, :created, :created)
+            on conflict (email) do nothing
+            returning id
+            """, nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("email") String email,
+                                  @Param("password") String password,
+                                  @Param("firstName") String firstName,
+                                  @Param("lastName") String lastName,
+                                  @Param("role") String role,
+                                  @Param("enabled") Boolean enabled,
+                                  @Param("accountNonExpired") Boolean accountNonExpired,
+                                  @Param("accountNonLocked") Boolean accountNonLocked,
+                                  @Param("credentialsNonExpired") Boolean credentialsNonExpired,
+                                  @Param("created") ZonedDateTime created);
 }
@@ -33,47 +33,46 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtProperties jwtProperties;
     private final MessageSource messageSource;
+    private final RefreshTokenService refreshTokenService;
     private final String TOKEN_TYPE = "Bearer";
 
+    /**
+     * Creates a user and signs them in with a single insert-if-absent, so a new email costs no select. A duplicate
+     * still pays for hashing its password; that cost is bounded by the password-hashing pool and the {@code /auth}
+     * rate limit rather than by a second round trip.
+     */
     @Transactional
     public AuthRespDTO register(final RegReqDTO request) {
         log.info("Registering new user with email: {}", request.email());
 
-        // Check if user already exists
-        if (userRepo.existsByEmail(request.email())) {
-            throw new EmailAlreadyExistsException("auth.400.011", new String[]{request.email()});
-        }
-
-        // Create new user
-        final User user = User.builder()
-                .firstName(request.firstName())
-                .lastName(request.lastName())
-                .email(request.email())
-                .password(passwordEncoder.encode(request.password()))
-                .role(Role.USER)
-                .enabled(true)
-                .accountNonExpired(true)
-                .accountNonLocked(true)
-                .credentialsNonExpired(true)
-                .build();
-
-        userRepo.save(user);
+        final User user = userRepo.insertIfAbsent(User.builder()
+                        .firstName(request.firstName())
+                        .lastName(request.lastName())
+                        .email(request.email())
+                        .password(passwordEncoder.encode(request.password()))
+                        .role(Role.USER)
+                        .enabled(true)
+                        .accountNonExpired(true)
+                        .accountNonLocked(true)
+                        .credentialsNonExpired(true)
+                        .build())
+                .orElseThrow(() -> new EmailAlreadyExistsException("auth.400.011", new String[]{request.email()}));
 
         // Generate tokens
-        String accessToken = jwtService.generateAccessToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
+        final RefreshTokenService.IssuedToken refreshToken = refreshTokenService.issue(user);
+        final String accessToken = jwtService.generateAccessToken(user, refreshToken.familyId());
 
         log.info("User registered successfully: {}", user.getEmail());
 
         return AuthRespDTO.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken)
+                .refreshToken(refreshToken.token())
                 .tokenType(TOKEN_TYPE)
                 .expiresIn(jwtProperties.getExpiration())
                 .build();
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
     public AuthRespDTO authenticate(final AuthReqDTO request) {
         log.info("Authenticating user: {}", request.email());
 
@@ -94,20 +93,24 @@ public class AuthService {
         User user = userRepo.findByEmail(request.email())
                 .orElseThrow(() -> new UsernameNotFoundException(userNotFoundMessage));
 
-        String accessToken = jwtService.generateAccessToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
+        final RefreshTokenService.IssuedToken refreshToken = refreshTokenService.issue(user);
+        final String accessToken = jwtService.generateAccessToken(user, refreshToken.familyId());
 
         log.info("User authenticated successfully: {}", user.getEmail());
 
         return AuthRespDTO.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken)
+                .refreshToken(refreshToken.token())
                 .tokenType(TOKEN_TYPE)
                 .expiresIn(jwtProperties.getExpiration())
                 .build();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Exchanges a refresh token for a new access token and a rotated refresh token. The presented token is spent;
+     * presenting it again revokes its whole family.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
     public AuthRespDTO refreshToken(final RefreshTokenReqDTO request) {
         final String refreshToken = request.refreshToken();
 
@@ -118,34 +121,33 @@ public class AuthService {
                 throw new InvalidRefreshTokenException("auth.400.006");
             }
 
-            final String userNotFoundMessage = messageSource.getMessage("auth.400.009", null, "User not found", Locale.getDefault());
             final User user = userRepo.findByEmail(userEmail)
-                    .orElseThrow(() -> {
-                        log.error("Error refreshing token: User not found");
-                        return new UsernameNotFoundException(userNotFoundMessage);
-                    });
+                    .orElseThrow(() -> new UsernameNotFoundException(
+                            messageSource.getMessage("auth.400.009", null, "User not found", Locale.getDefault())));
 
             if (!jwtService.isTokenValid(refreshToken, user)) {
                 throw new InvalidRefreshTokenException("auth.400.007");
             }
 
-            String newAccessToken = jwtService.generateAccessToken(user);
+            final RefreshTokenService.IssuedToken rotated = refreshTokenService.rotate(refreshToken, user);
+            final String newAccessToken = jwtService.generateAccessToken(user, rotated.familyId());
 
             log.info("Token refreshed for user: {}", user.getEmail());
 
             return AuthRespDTO.builder()
                     .accessToken(newAccessToken)
-                    .refreshToken(refreshToken)
+                    .refreshToken(rotated.token())
                     .tokenType(TOKEN_TYPE)
                     .expiresIn(jwtProperties.getExpiration())
                     .build();
 
         } catch (final UsernameNotFoundException e) {
-            log.error("Invalid refresh token: {}", refreshToken, e);
+            // Expected for tokens of deleted users; the handler answers 401 without a stack trace
+            log.debug("Refresh token of unknown user rejected");
             // Rethrow UsernameNotFoundException to maintain the expected exception type
             throw e;
         } catch (final InvalidRefreshTokenException e) {
-            log.error("Error refreshing token: {}", e.getMessage(), e);
+            log.debug("Refresh token rejected: {}", e.getMessage());
             // Rethrow InvalidRefreshTokenException to maintain the original error message
             throw e;
         } catch (final Exception e) {
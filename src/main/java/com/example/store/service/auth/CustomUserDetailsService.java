@@ -1,18 +1,24 @@
 package com.example.store.service.auth;
 
+import com.example.store.persistence.entity.User;
 import com.example.store.persistence.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Locale;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepo userRepo;
     private final MessageSource messageSource;
@@ -25,4 +31,24 @@ public class CustomUserDetailsService implements UserDetailsService {
                     return new UsernameNotFoundException(errorMessage);
                 });
     }
-}
\ No newline at end of file
+
+    /**
+     * Persists a re-hashed password after a successful login with an outdated BCrypt work factor.
+     * Runs in its own transaction because authentication itself happens inside a read-only one.
+     *
+     * @param user        the authenticated user
+     * @param newPassword the password hashed with the current work factor
+     * @return the user carrying the upgraded hash
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public UserDetails updatePassword(final UserDetails user, final String newPassword) {
+        userRepo.updatePasswordByEmail(user.getUsername(), newPassword);
+        log.info("Upgraded password hash for user: {}", user.getUsername());
+
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+        }
+        return user;
+    }
+}
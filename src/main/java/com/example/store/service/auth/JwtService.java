@@ -1,5 +1,8 @@
 package com.example.store.service.auth;
 
+import com.example.store.component.jfr.JwtVerificationEvent;
+import com.example.store.component.timing.RequestTimings;
+import com.example.store.component.timing.TimingContext;
 import com.example.store.config.security.JwtProperties;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -17,6 +20,7 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -24,35 +28,66 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class JwtService {
+    /**
+     * Refresh-token family shared by every token rotated from the same login; access tokens carry it too so a
+     * revoked family also invalidates its outstanding access tokens.
+     */
+    public static final String FAMILY_CLAIM = "fam";
+
     private final JwtProperties jwtProperties;
 
     public String extractUsername(final String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
+    public String extractId(final String token) {
+        return extractClaim(token, Claims::getId);
+    }
+
+    public String extractFamily(final String token) {
+        return extractClaim(token, claims -> claims.get(FAMILY_CLAIM, String.class));
+    }
+
     public <T> T extractClaim(final String token, final Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
 
     public String generateAccessToken(final UserDetails userDetails) {
+        return createToken(accessClaims(userDetails), userDetails.getUsername(), jwtProperties.getExpiration(), null);
+    }
+
+    public String generateAccessToken(final UserDetails userDetails, final UUID familyId) {
+        final Map<String, Object> claims = accessClaims(userDetails);
+        claims.put(FAMILY_CLAIM, familyId.toString());
+        return createToken(claims, userDetails.getUsername(), jwtProperties.getExpiration(), null);
+    }
+
+    private Map<String, Object> accessClaims(final UserDetails userDetails) {
         final Map<String, Object> claims = new HashMap<>();
         claims.put("authorities", userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
-        return createToken(claims, userDetails.getUsername(), jwtProperties.getExpiration());
+        return claims;
     }
 
     public String generateRefreshToken(final UserDetails userDetails) {
-        return createToken(new HashMap<>(), userDetails.getUsername(), jwtProperties.getRefreshExpiration());
+        return createToken(new HashMap<>(), userDetails.getUsername(), jwtProperties.getRefreshExpiration(), null);
     }
 
-    private String createToken(final Map<String, Object> claims, final String subject, final Long expiration) {
+    public String generateRefreshToken(final UserDetails userDetails, final UUID jti, final UUID familyId) {
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put(FAMILY_CLAIM, familyId.toString());
+        return createToken(claims, userDetails.getUsername(), jwtProperties.getRefreshExpiration(), jti);
+    }
+
+    private String createToken(final Map<String, Object> claims, final String subject, final Long expiration, final UUID jti) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
                 .claims(claims)
+                .id(jti != null ? jti.toString() : null)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -95,12 +130,34 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    /**
+     * Verifies the signature and parses the claims; the time taken counts towards the request's auth timing and is
+     * reported to JFR as a {@link JwtVerificationEvent}.
+     */
     private Claims extractAllClaims(final String token) throws ExpiredJwtException {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        final JwtVerificationEvent event = new JwtVerificationEvent();
+        final long start = System.nanoTime();
+        boolean verified = false;
+        event.begin();
+        try {
+            final Claims claims = Jwts.parser()
+                    .verifyWith(getSignInKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            verified = true;
+            return claims;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.verified = verified;
+                event.commit();
+            }
+            final RequestTimings timings = TimingContext.current();
+            if (timings != null) {
+                timings.recordAuth(System.nanoTime() - start);
+            }
+        }
     }
 
     private SecretKey getSignInKey() {
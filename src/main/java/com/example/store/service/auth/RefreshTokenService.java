@@ -0,0 +1,116 @@
+package com.example.store.service.auth;
+
+import com.example.store.component.auth.token.RefreshTokenRevocationIndex;
+import com.example.store.config.security.JwtProperties;
+import com.example.store.exception.InvalidRefreshTokenException;
+import com.example.store.persistence.entity.RefreshToken;
+import com.example.store.persistence.entity.User;
+import com.example.store.persistence.repo.RefreshTokenRepo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Issues, rotates and revokes refresh tokens tracked by {@code jti} in the {@code refresh_token} table.
+ * <p>
+ * Every refresh spends the presented token and issues a successor in the same family. Presenting a token that has
+ * already been spent means it leaked, so the whole family is revoked. Expired tokens are purged periodically.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    private final RefreshTokenRepo refreshTokenRepo;
+    private final RefreshTokenRevocationIndex revocationIndex;
+    private final JwtService jwtService;
+    private final JwtProperties jwtProperties;
+
+    public record IssuedToken(String token, UUID familyId) {
+    }
+
+    /**
+     * Starts a new token family, e.g. on login or registration.
+     */
+    @Transactional
+    public IssuedToken issue(final User user) {
+        return issue(user, UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    /**
+     * Spends {@code refreshToken} and issues its successor in the same family.
+     *
+     * @param refreshToken a refresh token whose signature and subject have already been validated
+     * @param user         the token's subject
+     * @return the successor token
+     * @throws InvalidRefreshTokenException if the token is untracked, spent, expired or its family is revoked
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public IssuedToken rotate(final String refreshToken, final User user) {
+        final UUID jti = parseUuid(jwtService.extractId(refreshToken));
+        final UUID familyId = parseUuid(jwtService.extractFamily(refreshToken));
+        if (jti == null || familyId == null) {
+            throw new InvalidRefreshTokenException("auth.400.006");
+        }
+
+        if (revocationIndex.isRevoked(familyId)) {
+            throw new InvalidRefreshTokenException("auth.400.007");
+        }
+
+        final UUID nextJti = UUID.randomUUID();
+        if (refreshTokenRepo.markRotated(jti, nextJti, ZonedDateTime.now()) == 0) {
+            if (refreshTokenRepo.existsByJti(jti)) {
+                log.warn("Refresh token reuse detected for user {}, revoking token family {}", user.getEmail(), familyId);
+                revokeFamily(familyId);
+            }
+            throw new InvalidRefreshTokenException("auth.400.007");
+        }
+
+        return issue(user, nextJti, familyId);
+    }
+
+    @Transactional
+    public void revokeFamily(final UUID familyId) {
+        refreshTokenRepo.revokeFamily(familyId, ZonedDateTime.now());
+        revocationIndex.markRevoked(familyId);
+    }
+
+    /**
+     * Deletes the refresh tokens that have expired, so the table only grows with the tokens still in use. Run every
+     * {@code application.security.jwt.purge-interval}; a failure is logged and retried on the next run.
+     */
+    public void purgeExpired() {
+        try {
+            final int purged = refreshTokenRepo.deleteExpired(ZonedDateTime.now());
+            log.debug("Purged {} expired refresh tokens", purged);
+        } catch (final RuntimeException e) {
+            log.warn("Could not purge expired refresh tokens: {}", e.getMessage());
+        }
+    }
+
+    private IssuedToken issue(final User user, final UUID jti, final UUID familyId) {
+        final RefreshToken entity = new RefreshToken();
+        entity.setJti(jti);
+        entity.setFamilyId(familyId);
+        entity.setUser(user);
+        entity.setExpiresAt(ZonedDateTime.now().plus(Duration.ofMillis(jwtProperties.getRefreshExpiration())));
+        refreshTokenRepo.save(entity);
+
+        return new IssuedToken(jwtService.generateRefreshToken(user, jti, familyId), familyId);
+    }
+
+    private static UUID parseUuid(final String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
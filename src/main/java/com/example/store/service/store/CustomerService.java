@@ -4,14 +4,26 @@ import com.example.store.dto.CustomerDTO;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
 
+    /**
+     * Related resources a client may embed with {@code include=}.
+     */
+    List<String> INCLUDES = List.of("orders", "orders.products");
+
     List<CustomerDTO> findAllCustomers(Pageable pageable);
 
     List<CustomerDTO> findCustomersNameContainingSubString(String name, Pageable pageable);
 
+    void streamAllCustomers(Pageable pageable, Consumer<? super CustomerDTO> sink);
+
+    void streamCustomersNameContainingSubString(String name, Pageable pageable, Consumer<? super CustomerDTO> sink);
+
     CustomerDTO createCustomer(CustomerDTO customer);
 
     CustomerDTO findCustomerById(Long id);
+
+    List<CustomerDTO> findCustomersByIds(List<Long> ids);
 }
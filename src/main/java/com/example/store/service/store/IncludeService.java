@@ -0,0 +1,10 @@
+package com.example.store.service.store;
+
+import com.example.store.dto.AbstractSuperDTO;
+import com.example.store.dto.ResourceGraphDTO;
+import com.example.store.util.IncludeTree;
+
+public interface IncludeService {
+
+    <T extends AbstractSuperDTO> ResourceGraphDTO<T> resolve(T root, IncludeTree include);
+}
@@ -1,16 +1,35 @@
 package com.example.store.service.store;
 
 import com.example.store.dto.OrderDTO;
+import com.example.store.util.SparseFields;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
+    /**
+     * Fields a client may select with {@code fields=}, in output order.
+     */
+    List<String> SPARSE_FIELDS = List.of("id", "description", "customerId", "productIds", "created", "updated");
+
+    /**
+     * Related resources a client may embed with {@code include=}.
+     */
+    List<String> INCLUDES = List.of("customer", "products");
+
     List<OrderDTO> findAllOrders(Pageable pageable);
 
+    void streamAllOrders(Pageable pageable, Consumer<? super OrderDTO> sink);
+
+    List<Map<String, Object>> findAllOrders(Pageable pageable, SparseFields fields);
+
     OrderDTO findOrderById(Long id);
 
+    List<OrderDTO> findOrdersByIds(List<Long> ids);
+
     OrderDTO createOrder(OrderDTO order);
     
     void clearOrdersCache();
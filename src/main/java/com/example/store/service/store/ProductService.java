@@ -1,15 +1,34 @@
 package com.example.store.service.store;
 
 import com.example.store.dto.ProductDTO;
+import com.example.store.util.SparseFields;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
+    /**
+     * Fields a client may select with {@code fields=}, in output order.
+     */
+    List<String> SPARSE_FIELDS = List.of("id", "description", "sku", "orderIds", "created", "updated");
+
+    /**
+     * Related resources a client may embed with {@code include=}.
+     */
+    List<String> INCLUDES = List.of("orders", "orders.customer");
+
     ProductDTO findProductById(Long id);
 
+    List<ProductDTO> findProductsByIds(List<Long> ids);
+
     ProductDTO createProduct(ProductDTO productDTO);
 
     List<ProductDTO> findAllProducts(final Pageable pageable);
+
+    void streamAllProducts(Pageable pageable, Consumer<? super ProductDTO> sink);
+
+    List<Map<String, Object>> findAllProducts(Pageable pageable, SparseFields fields);
 }
@@ -1,35 +1,83 @@
 package com.example.store.service.store.impl;
 
+import com.example.store.component.cache.PerIdCache;
 import com.example.store.dto.CustomerDTO;
 import com.example.store.mapper.CustomerMapper;
 import com.example.store.persistence.entity.Customer;
+import com.example.store.persistence.projection.IdLink;
 import com.example.store.persistence.repo.CustomerRepo;
+import com.example.store.persistence.repo.OrderRepo;
 import com.example.store.service.store.CustomerService;
+import com.example.store.util.StreamChunks;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepo customerRepo;
     private final CustomerMapper customerMapper;
+    private final EntityManager entityManager;
+    private final OrderRepo orderRepo;
+    private final PerIdCache perIdCache;
 
     @Cacheable(value = "customers", key = "'all_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Transactional(readOnly = true)
     public List<CustomerDTO> findAllCustomers(final Pageable pageable) {
         final Page<Customer> customerPage = customerRepo.findAll(pageable);
-        return customerMapper.toCustomerDTOs(customerPage.getContent());
+        return new ArrayList<>(withOrderIds(customerPage.getContent()).values());
     }
 
     @Cacheable(value = "customers", key = "'name_' + #name + '_page_' + #pageable.pageNumber + '_size_' + #pageable.pageSize")
+    @Transactional(readOnly = true)
     public List<CustomerDTO> findCustomersNameContainingSubString(final String name, Pageable pageable) {
-        return customerMapper.toCustomerDTOs(customerRepo.findCustomersByNameContainingIgnoreCase(name, pageable));
+        return new ArrayList<>(withOrderIds(customerRepo.findCustomersByNameContainingIgnoreCase(name, pageable)).values());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllCustomers(final Pageable pageable, final Consumer<? super CustomerDTO> sink) {
+        try (Stream<Customer> customers = customerRepo.streamAllBy(pageable)) {
+            emit(customers, sink);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCustomersNameContainingSubString(final String name, final Pageable pageable,
+                                                       final Consumer<? super CustomerDTO> sink) {
+        try (Stream<Customer> customers = customerRepo.streamCustomersByNameContainingIgnoreCase(name, pageable)) {
+            emit(customers, sink);
+        }
+    }
+
+    /**
+     * Maps and hands over streamed customers one fetch-sized chunk at a time, with one {@code IN} query for each
+     * chunk's order ids, then detaches them so the persistence context stays small.
+     */
+    private void emit(final Stream<Customer> customers, final Consumer<? super CustomerDTO> sink) {
+        StreamChunks.forEachChunk(customers, StreamChunks.FETCH_SIZE, chunk -> {
+            withOrderIds(chunk).values().forEach(sink);
+            chunk.forEach(entityManager::detach);
+        });
     }
 
     @CacheEvict(value = "customers", allEntries = true)
@@ -44,8 +92,43 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Cacheable(value = "customers", key = "'id_' + #id", unless = "#result == null")
     public CustomerDTO findCustomerById(final Long id) {
         final var optCustomer = customerRepo.findById(id);
         return optCustomer.map(customerMapper::toCustomerDTO).orElse(null);
     }
+
+    /**
+     * Retrieves several customers at once, in request order. Customers already in the per-id cache are served from
+     * it; the rest are read with one {@code IN} query for the customers and one for their order ids.
+     *
+     * @param ids the customer ids; duplicates are returned once and unknown ids are left out
+     * @return the customers found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerDTO> findCustomersByIds(final List<Long> ids) {
+        return perIdCache.findAll("customers", ids, CustomerDTO.class, this::loadCustomers);
+    }
+
+    private Map<Long, CustomerDTO> loadCustomers(final Collection<Long> ids) {
+        return withOrderIds(customerRepo.findAllById(ids));
+    }
+
+    /**
+     * Maps {@code customers} keyed by id, in the order given, and fills their order ids with one {@code IN} query
+     * instead of initializing each customer's lazy {@code orders} collection.
+     */
+    private Map<Long, CustomerDTO> withOrderIds(final List<Customer> customers) {
+        final Map<Long, CustomerDTO> customerDTOs = customers.stream()
+                .map(customerMapper::toCustomerDTOWithoutOrders)
+                .collect(Collectors.toMap(CustomerDTO::getId, Function.identity(), (first, second) -> first,
+                        LinkedHashMap::new));
+        if (!customerDTOs.isEmpty()) {
+            final Map<Long, Set<Long>> orderIds = IdLink.group(customerDTOs.keySet(),
+                    orderRepo.findOrderIdLinksByCustomerIds(customerDTOs.keySet()));
+            customerDTOs.forEach((id, customer) -> customer.setOrders(Set.copyOf(orderIds.get(id))));
+        }
+        return customerDTOs;
+    }
 }
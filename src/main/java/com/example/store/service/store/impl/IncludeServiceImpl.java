@@ -0,0 +1,125 @@
+package com.example.store.service.store.impl;
+
+import com.example.store.component.GlobalSearchProps;
+import com.example.store.dto.AbstractSuperDTO;
+import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
+import com.example.store.dto.ResourceGraphDTO;
+import com.example.store.exception.PageSizeExceededException;
+import com.example.store.service.store.CustomerService;
+import com.example.store.service.store.IncludeService;
+import com.example.store.service.store.OrderService;
+import com.example.store.service.store.ProductService;
+import com.example.store.util.BatchLoader;
+import com.example.store.util.IncludeTree;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolves {@code include=} graphs breadth-first. Every level collects the ids it links to into per-request
+ * {@link BatchLoader}s and dispatches them together, so a graph costs one multi-get per resource type and level
+ * however wide it fans out. The multi-gets go through the per-id caches, so cached resources cost no query at all.
+ * <p>
+ * Each relation of each resource may link at most {@code global.search.max-ids} resources, the same limit as a
+ * multi-get; a wider include is rejected rather than loading every linked resource into memory and the caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class IncludeServiceImpl implements IncludeService {
+    private static final String MAX_IDS_MSG_KEY = "global.400.014";
+
+    private final CustomerService customerService;
+    private final OrderService orderService;
+    private final ProductService productService;
+    private final GlobalSearchProps globalSearchProps;
+
+    /**
+     * Embeds the related resources selected by {@code include} below {@code root}. Related resources are ordered by
+     * id; links to resources that no longer exist are left out.
+     *
+     * @param root    the requested resource
+     * @param include the relations to embed, already checked against the resource's whitelist
+     * @return the resource graph
+     * @throws PageSizeExceededException if a resource links more than {@code global.search.max-ids} resources
+     *                                   through an included relation
+     */
+    @Override
+    public <T extends AbstractSuperDTO> ResourceGraphDTO<T> resolve(final T root, final IncludeTree include) {
+        final ResourceGraphDTO<T> graph = new ResourceGraphDTO<>(root);
+        final Map<String, BatchLoader<? extends AbstractSuperDTO>> loaders = newLoaders();
+        final int maxIds = globalSearchProps.getMaxIds();
+
+        List<Node> level = List.of(new Node(graph, include));
+        while (!level.isEmpty()) {
+            for (final Node node : level) {
+                node.include().children().forEach((relation, below) -> {
+                    final Collection<Long> ids = linkedIds(node.graph().getResource(), relation);
+                    if (ids.size() > maxIds) {
+                        throw new PageSizeExceededException(MAX_IDS_MSG_KEY, new Object[]{maxIds});
+                    }
+                    loaders.get(relation).enqueue(ids);
+                });
+            }
+            loaders.values().forEach(BatchLoader::dispatch);
+
+            final List<Node> next = new ArrayList<>();
+            for (final Node node : level) {
+                node.include().children().forEach((relation, below) -> {
+                    final Collection<Long> ids = linkedIds(node.graph().getResource(), relation);
+                    final List<ResourceGraphDTO<?>> related = new ArrayList<>();
+                    for (final AbstractSuperDTO resource : loaders.get(relation).get(ids)) {
+                        final ResourceGraphDTO<AbstractSuperDTO> child = new ResourceGraphDTO<>(resource);
+                        related.add(child);
+                        if (!below.isLeaf()) {
+                            next.add(new Node(child, below));
+                        }
+                    }
+                    node.graph().embed(relation, related);
+                });
+            }
+            level = next;
+        }
+        return graph;
+    }
+
+    /**
+     * One loader per resource type, keyed by the relation names that lead to it, so a resource reached along
+     * several paths of the same request is loaded once.
+     */
+    private Map<String, BatchLoader<? extends AbstractSuperDTO>> newLoaders() {
+        final int batchSize = globalSearchProps.getIncludeBatchSize();
+        return Map.of(
+                "customer", new BatchLoader<CustomerDTO>(customerService::findCustomersByIds, CustomerDTO::getId, batchSize),
+                "orders", new BatchLoader<OrderDTO>(orderService::findOrdersByIds, OrderDTO::getId, batchSize),
+                "products", new BatchLoader<ProductDTO>(productService::findProductsByIds, ProductDTO::getId, batchSize)
+        );
+    }
+
+    private static Collection<Long> linkedIds(final AbstractSuperDTO resource, final String relation) {
+        final Collection<Long> ids = switch (resource) {
+            case CustomerDTO customer when "orders".equals(relation) -> customer.getOrders();
+            case OrderDTO order when "products".equals(relation) -> order.getProductIds();
+            case OrderDTO order when "customer".equals(relation) -> Stream.ofNullable(order.getCustomerId()).toList();
+            case ProductDTO product when "orders".equals(relation) -> product.getOrderIds();
+            default -> throw new IllegalArgumentException(
+                    "No relation '" + relation + "' on " + resource.getClass().getSimpleName());
+        };
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private record Node(ResourceGraphDTO<?> graph, IncludeTree include) {
+    }
+}
@@ -1,34 +1,115 @@
 package com.example.store.service.store.impl;
 
+import com.example.store.component.cache.PerIdCache;
 import com.example.store.dto.OrderDTO;
 import com.example.store.exception.CustomerNotFoundException;
 import com.example.store.mapper.OrderMapper;
 import com.example.store.persistence.entity.Customer;
 import com.example.store.persistence.entity.Order;
+import com.example.store.persistence.projection.IdLink;
+import com.example.store.persistence.repo.ColumnProjectionRepo;
 import com.example.store.persistence.repo.CustomerRepo;
 import com.example.store.persistence.repo.OrderRepo;
+import com.example.store.persistence.repo.ProductOrderRepo;
 import com.example.store.service.store.OrderService;
+import com.example.store.util.SparseFields;
+import com.example.store.util.StreamChunks;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
+    private static final String PRODUCT_IDS = "productIds";
+    // Sparse field name to entity attribute path; productIds comes from product_order instead
+    private static final SequencedMap<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", "id");
+        COLUMNS.put("description", "description");
+        COLUMNS.put("customerId", "customer.id");
+        COLUMNS.put("created", "created");
+        COLUMNS.put("updated", "updated");
+    }
+
     private final OrderRepo orderRepo;
     private final OrderMapper orderMapper;
     private final CustomerRepo customerRepo;
+    private final EntityManager entityManager;
+    private final ColumnProjectionRepo columnProjectionRepo;
+    private final ProductOrderRepo productOrderRepo;
+    private final PerIdCache perIdCache;
 
     @Cacheable(value = "orders", key = "'all_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Transactional(readOnly = true)
     public List<OrderDTO> findAllOrders(final Pageable pageable) {
         final Page<Order> orderPage = orderRepo.findAll(pageable);
-        return orderMapper.ordersToOrderDTOs(orderPage.getContent());
+        return new ArrayList<>(withProductIds(orderPage.getContent()).values());
+    }
+
+    /**
+     * Streams a page of orders one fetch-sized chunk at a time, with one {@code IN} query for each chunk's product
+     * ids instead of one per order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllOrders(final Pageable pageable, final Consumer<? super OrderDTO> sink) {
+        try (Stream<Order> orders = orderRepo.streamAllBy(pageable)) {
+            StreamChunks.forEachChunk(orders, StreamChunks.FETCH_SIZE, chunk -> {
+                withProductIds(chunk).values().forEach(sink);
+                // Keep the persistence context from growing with the stream
+                chunk.forEach(entityManager::detach);
+            });
+        }
+    }
+
+    /**
+     * Reads a page of orders with only the requested fields. Only the matching columns are selected, and the
+     * product ids are fetched for the whole page in one query, and only if {@code productIds} was requested.
+     *
+     * @param pageable the pagination and sort information
+     * @param fields   the fields to return
+     * @return one map per order holding the requested fields
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllOrders(final Pageable pageable, final SparseFields fields) {
+        final SequencedMap<String, String> columns = new LinkedHashMap<>();
+        COLUMNS.forEach((name, path) -> {
+            if (fields.includes(name)) {
+                columns.put(name, path);
+            }
+        });
+        final List<Map<String, Object>> rows = columnProjectionRepo.findPage(Order.class, columns, pageable);
+
+        if (fields.includes(PRODUCT_IDS) && !rows.isEmpty()) {
+            final List<Long> ids = rows.stream().map(row -> (Long) row.get(ColumnProjectionRepo.ID)).toList();
+            final Map<Long, Set<Long>> productIds = IdLink.group(ids, productOrderRepo.findProductIdLinksByOrderIds(ids));
+            rows.forEach(row -> row.put(PRODUCT_IDS, productIds.get((Long) row.get(ColumnProjectionRepo.ID))));
+        }
+        if (!fields.includes(ColumnProjectionRepo.ID)) {
+            rows.forEach(row -> row.remove(ColumnProjectionRepo.ID));
+        }
+        return rows;
     }
 
     @Cacheable(value = "orders", key = "'id_' + #id")
@@ -36,11 +117,46 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.toOrderDTO(orderRepo.findById(id).orElse(null));
     }
 
+    /**
+     * Retrieves several orders at once, in request order. Orders already in the per-id cache are served from it;
+     * the rest are read with one {@code IN} query for the orders and one for their product ids.
+     *
+     * @param ids the order ids; duplicates are returned once and unknown ids are left out
+     * @return the orders found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> findOrdersByIds(final List<Long> ids) {
+        return perIdCache.findAll("orders", ids, OrderDTO.class, this::loadOrders);
+    }
+
+    private Map<Long, OrderDTO> loadOrders(final Collection<Long> ids) {
+        return withProductIds(orderRepo.findAllById(ids));
+    }
+
+    /**
+     * Maps {@code orders} keyed by id, in the order given, and fills their product ids with one {@code IN} query
+     * instead of initializing each order's lazy {@code products} collection.
+     */
+    private Map<Long, OrderDTO> withProductIds(final List<Order> orders) {
+        final Map<Long, OrderDTO> orderDTOs = orders.stream()
+                .map(orderMapper::toOrderDTOWithoutProductIds)
+                .collect(Collectors.toMap(OrderDTO::getId, Function.identity(), (first, second) -> first,
+                        LinkedHashMap::new));
+        if (!orderDTOs.isEmpty()) {
+            final Map<Long, Set<Long>> productIds = IdLink.group(orderDTOs.keySet(),
+                    productOrderRepo.findProductIdLinksByOrderIds(orderDTOs.keySet()));
+            orderDTOs.forEach((id, order) -> order.setProductIds(Set.copyOf(productIds.get(id))));
+        }
+        return orderDTOs;
+    }
+
     @CacheEvict(value = "orders", allEntries = true)
     public void clearOrdersCache() {
     }
 
-    @CacheEvict(value = "orders", allEntries = true)
+    // Customers are evicted too, since their cached entries list the customer's order ids
+    @CacheEvict(value = {"orders", "customers"}, allEntries = true)
     public OrderDTO createOrder(final OrderDTO orderDTO) {
         // Check if customer exists
         final Customer customer = customerRepo.findById(orderDTO.getCustomerId())
@@ -1,26 +1,58 @@
 package com.example.store.service.store.impl;
 
+import com.example.store.component.cache.PerIdCache;
 import com.example.store.dto.ProductDTO;
 import com.example.store.mapper.ProductMapper;
+import com.example.store.persistence.entity.Product;
+import com.example.store.persistence.projection.IdLink;
+import com.example.store.persistence.repo.ColumnProjectionRepo;
 import com.example.store.persistence.repo.ProductOrderRepo;
 import com.example.store.persistence.repo.ProductRepo;
 import com.example.store.service.store.ProductService;
+import com.example.store.util.SparseFields;
+import com.example.store.util.StreamChunks;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.Objects.isNull;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
+    private static final String ORDER_IDS = "orderIds";
+    // Sparse field name to entity attribute path; orderIds comes from product_order instead
+    private static final SequencedMap<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", "id");
+        COLUMNS.put("description", "description");
+        COLUMNS.put("sku", "sku");
+        COLUMNS.put("created", "created");
+        COLUMNS.put("updated", "updated");
+    }
+
     private final ProductRepo productRepo;
     private final ProductOrderRepo productOrderRepo;
     private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final ColumnProjectionRepo columnProjectionRepo;
+    private final PerIdCache perIdCache;
 
     /**
      * Retrieves a product by its unique identifier and maps it to a ProductDTO.
@@ -30,6 +62,7 @@ public class ProductServiceImpl implements ProductService {
      * @return a ProductDTO containing the product details and associated order IDs, or null if no product with the given ID exists
      */
     @Override
+    @Cacheable(value = "products", key = "'id_' + #id", unless = "#result == null")
     public ProductDTO findProductById(final Long id) {
         final var product = productRepo.findById(id).orElse(null);
         if (isNull(product)) {
@@ -37,12 +70,47 @@ public class ProductServiceImpl implements ProductService {
         }
 
         final var productOrders = findOrderIds(id);
-        final var productDTO = productMapper.toProductDTO(product);
+        // The order ids come from the query above; mapping them from the lazy collection would cost a second one
+        final var productDTO = productMapper.toProductDTOWithoutOrderIds(product);
 
         productDTO.setOrderIds(productOrders);
         return productDTO;
     }
 
+    /**
+     * Retrieves several products at once, in request order. Products already in the per-id cache are served from
+     * it; the rest are read with one {@code IN} query for the products and one for their order ids.
+     *
+     * @param ids the product ids; duplicates are returned once and unknown ids are left out
+     * @return the products found
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> findProductsByIds(final List<Long> ids) {
+        return perIdCache.findAll("products", ids, ProductDTO.class, this::loadProducts);
+    }
+
+    private Map<Long, ProductDTO> loadProducts(final Collection<Long> ids) {
+        return withOrderIds(productRepo.findAllById(ids));
+    }
+
+    /**
+     * Maps {@code products} keyed by id, in the order given, and fills their order ids with one {@code IN} query
+     * instead of initializing each product's lazy {@code orders} collection.
+     */
+    private Map<Long, ProductDTO> withOrderIds(final List<Product> products) {
+        final Map<Long, ProductDTO> productDTOs = products.stream()
+                .map(productMapper::toProductDTOWithoutOrderIds)
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity(), (first, second) -> first,
+                        LinkedHashMap::new));
+        if (!productDTOs.isEmpty()) {
+            final Map<Long, Set<Long>> orderIds = IdLink.group(productDTOs.keySet(),
+                    productOrderRepo.findOrderIdLinksByProductIds(productDTOs.keySet()));
+            productDTOs.forEach((id, product) -> product.setOrderIds(Set.copyOf(orderIds.get(id))));
+        }
+        return productDTOs;
+    }
+
     /**
      * Fetches and returns a set of order IDs associated with a specific product ID.
      *
@@ -70,17 +138,65 @@ public class ProductServiceImpl implements ProductService {
 
     /**
      * Retrieves a paginated list of all products and maps them to ProductDTOs.
-     * Each ProductDTO will also include a set of associated order IDs.
+     * The order ids of the whole page are fetched with one {@code IN} query, however large the page is.
      *
      * @param pageable the pagination information, including page number and size
      * @return a list of ProductDTO objects containing product details and their associated order IDs
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDTO> findAllProducts(final Pageable pageable) {
         final var productsPage = productRepo.findAll(pageable);
+        return new ArrayList<>(withOrderIds(productsPage.getContent()).values());
+    }
+
+    /**
+     * Reads a page of products with only the requested fields. Only the matching columns are selected, and the
+     * order ids are fetched for the whole page in one query, and only if {@code orderIds} was requested.
+     *
+     * @param pageable the pagination and sort information
+     * @param fields   the fields to return
+     * @return one map per product holding the requested fields
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllProducts(final Pageable pageable, final SparseFields fields) {
+        final SequencedMap<String, String> columns = new LinkedHashMap<>();
+        COLUMNS.forEach((name, path) -> {
+            if (fields.includes(name)) {
+                columns.put(name, path);
+            }
+        });
+        final List<Map<String, Object>> rows = columnProjectionRepo.findPage(Product.class, columns, pageable);
 
-        final var productsDto = productMapper.toProductDTOList(productsPage.getContent());
-        productsDto.forEach(p -> p.setOrderIds(productOrderRepo.findOrderIdsByProduct_Id(p.getId())));
-        return productsDto;
+        if (fields.includes(ORDER_IDS) && !rows.isEmpty()) {
+            final List<Long> ids = rows.stream().map(row -> (Long) row.get(ColumnProjectionRepo.ID)).toList();
+            final Map<Long, Set<Long>> orderIds = IdLink.group(ids, productOrderRepo.findOrderIdLinksByProductIds(ids));
+            rows.forEach(row -> row.put(ORDER_IDS, orderIds.get((Long) row.get(ColumnProjectionRepo.ID))));
+        }
+        if (!fields.includes(ColumnProjectionRepo.ID)) {
+            rows.forEach(row -> row.remove(ColumnProjectionRepo.ID));
+        }
+        return rows;
+    }
+
+    /**
+     * Streams a page of products, mapping them to ProductDTOs with their associated order IDs as they are read.
+     * Products are mapped one fetch-sized chunk at a time, with one {@code IN} query for the chunk's order ids, so
+     * the page is never held in memory as a whole and costs no query per product.
+     *
+     * @param pageable the pagination and sort information
+     * @param sink     receives each mapped ProductDTO in order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllProducts(final Pageable pageable, final Consumer<? super ProductDTO> sink) {
+        try (Stream<Product> products = productRepo.streamAllBy(pageable)) {
+            StreamChunks.forEachChunk(products, StreamChunks.FETCH_SIZE, chunk -> {
+                withOrderIds(chunk).values().forEach(sink);
+                // Keep the persistence context from growing with the stream
+                chunk.forEach(entityManager::detach);
+            });
+        }
     }
 }
@@ -0,0 +1,80 @@
+package com.example.store.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Request-scoped batching loader in the style of DataLoader: callers {@link #enqueue} the ids they will need, one
+ * {@link #dispatch} loads all of them together, and {@link #get} then reads the results.
+ * <p>
+ * Loaded values are remembered for the lifetime of the loader, so an id reached along several paths of the same
+ * request is loaded once. Not thread-safe; create one per request.
+ *
+ * @param <V> the loaded value type
+ */
+public final class BatchLoader<V> {
+    private final Function<List<Long>, List<V>> batchFunction;
+    private final Function<V, Long> idOf;
+    private final int maxBatchSize;
+    private final Map<Long, V> loaded = new HashMap<>();
+    private final Set<Long> pending = new LinkedHashSet<>();
+
+    /**
+     * @param batchFunction loads several ids in one call; ids it does not return are treated as absent
+     * @param idOf          extracts the id of a loaded value
+     * @param maxBatchSize  most ids handed to {@code batchFunction} at once; larger dispatches are split
+     */
+    public BatchLoader(final Function<List<Long>, List<V>> batchFunction, final Function<V, Long> idOf,
+                       final int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.batchFunction = batchFunction;
+        this.idOf = idOf;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Queues {@code ids} for the next {@link #dispatch}. Nulls and ids already loaded are skipped.
+     */
+    public void enqueue(final Collection<Long> ids) {
+        for (final Long id : ids) {
+            if (id != null && !loaded.containsKey(id)) {
+                pending.add(id);
+            }
+        }
+    }
+
+    /**
+     * Loads every queued id, in batches of at most {@code maxBatchSize}. Does nothing when nothing is queued.
+     */
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        final List<Long> ids = new ArrayList<>(pending);
+        pending.clear();
+        for (int from = 0; from < ids.size(); from += maxBatchSize) {
+            final List<Long> batch = ids.subList(from, Math.min(ids.size(), from + maxBatchSize));
+            batch.forEach(id -> loaded.put(id, null));
+            batchFunction.apply(batch).forEach(value -> loaded.put(idOf.apply(value), value));
+        }
+    }
+
+    /**
+     * Returns the values for {@code ids} in iteration order, leaving out ids that were not found or not dispatched.
+     */
+    public List<V> get(final Collection<Long> ids) {
+        return ids.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
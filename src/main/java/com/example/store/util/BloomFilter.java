@@ -0,0 +1,75 @@
+package com.example.store.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over {@link UUID}s.
+ * <p>
+ * A negative answer from {@link #mightContain(UUID)} is definite; a positive one must be confirmed against the
+ * source of truth. Random UUIDs already carry 128 well-distributed bits, so the two halves are mixed and combined
+ * by double hashing instead of running a general-purpose hash function.
+ */
+public final class BloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    /**
+     * @param expectedInsertions number of entries the filter is sized for
+     * @param falsePositiveRate  target false positive probability at {@code expectedInsertions}, in (0, 1)
+     */
+    public BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+
+        final long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        final int numWords = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) >>> 6));
+        this.words = new AtomicLongArray(numWords);
+        this.numBits = (long) numWords << 6;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * LN2));
+    }
+
+    public void put(final UUID value) {
+        final long h1 = mix(value.getMostSignificantBits());
+        final long h2 = mix(value.getLeastSignificantBits()) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, numBits);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.accumulateAndGet(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    public boolean mightContain(final UUID value) {
+        final long h1 = mix(value.getMostSignificantBits());
+        final long h2 = mix(value.getLeastSignificantBits()) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.store.util;
+
+import com.example.store.exception.InvalidFieldsException;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The related resources a client asked to embed with {@code include=a,a.b}, checked against the resource's
+ * whitelist and folded into a tree: {@code include=orders.products} becomes {@code orders -> products}.
+ *
+ * @param children the relations to embed at this level, each with the relations to embed below it
+ */
+public record IncludeTree(Map<String, IncludeTree> children) {
+    private static final IncludeTree LEAF = new IncludeTree(Map.of());
+
+    /**
+     * Parses a comma-separated list of dotted relation paths. Blank entries are ignored; a path implies its
+     * prefixes, so {@code orders.products} also embeds {@code orders}.
+     *
+     * @param include the raw {@code include} request parameter
+     * @param allowed the paths the resource can embed
+     * @return the include tree, never empty
+     * @throws InvalidFieldsException if a path is not whitelisted or no path was given
+     */
+    public static IncludeTree parse(final String include, final List<String> allowed) {
+        final Map<String, Object> root = new LinkedHashMap<>();
+        for (final String entry : include.split(",")) {
+            final String path = entry.strip();
+            if (path.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(path)) {
+                throw new InvalidFieldsException("global.400.015", new Object[]{path, String.join(", ", allowed)});
+            }
+            Map<String, Object> level = root;
+            for (final String relation : path.split("\\.")) {
+                level = castLevel(level.computeIfAbsent(relation, key -> new LinkedHashMap<String, Object>()));
+            }
+        }
+        if (root.isEmpty()) {
+            throw new InvalidFieldsException("global.400.015", new Object[]{include, String.join(", ", allowed)});
+        }
+        return freeze(root);
+    }
+
+    public boolean isLeaf() {
+        return children.isEmpty();
+    }
+
+    private static IncludeTree freeze(final Map<String, Object> level) {
+        if (level.isEmpty()) {
+            return LEAF;
+        }
+        final Map<String, IncludeTree> children = new LinkedHashMap<>();
+        level.forEach((relation, below) -> children.put(relation, freeze(castLevel(below))));
+        return new IncludeTree(Collections.unmodifiableMap(children));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castLevel(final Object level) {
+        return (Map<String, Object>) level;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.store.util;
+
+import com.example.store.component.StreamProps;
+import com.example.store.component.bulkhead.BulkheadContext;
+import com.example.store.component.deadline.DeadlineContext;
+import com.example.store.component.deadline.RequestDeadline;
+import com.example.store.component.timing.RequestTimings;
+import com.example.store.component.timing.TimingContext;
+import com.example.store.config.codec.DtoCodec;
+import com.example.store.config.codec.DtoCodecs;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes list responses as a JSON array one element at a time, so memory stays flat regardless of the page size.
+ * <p>
+ * Output goes through a buffer of {@code global.stream.buffer-size} bytes and is flushed to the client every
+ * {@code global.stream.flush-every} elements. The array has the same shape as the buffered list response.
+ * Elements with a {@link DtoCodec} are written through it, anything else through Jackson.
+ * <p>
+ * Clients that prefer {@code application/cbor} in their {@code Accept} header get a CBOR array instead; everyone
+ * else gets JSON.
+ * <p>
+ * The body is written on the async request thread. The request's bulkhead, deadline and request timings are
+ * captured when the response is built and bound around the write, so the streamed queries get the same connection
+ * share, query timeout and Server-Timing accounting as the rest of the request.
+ */
+@Component
+public class JsonArrayStreamer {
+    private final ObjectWriter objectWriter;
+    private final ObjectWriter cborWriter;
+    private final DtoCodecs dtoCodecs;
+    private final StreamProps streamProps;
+
+    public JsonArrayStreamer(final ObjectMapper objectMapper, final DtoCodecs dtoCodecs, final StreamProps streamProps) {
+        // Flushing after every element would defeat the buffer; flushes happen every flush-every elements instead
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.cborWriter = objectMapper.copyWith(new CBORFactory()).writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.dtoCodecs = dtoCodecs;
+        this.streamProps = streamProps;
+    }
+
+    /**
+     * Builds a streamed array response in the format the current request's {@code Accept} header prefers.
+     *
+     * @param source pushes each element into the given sink. It runs on the async request thread once the
+     *               response is being written, so it must open its own transaction
+     * @return a response whose body is written as {@code source} produces elements
+     */
+    public ResponseEntity<StreamingResponseBody> stream(final Consumer<Consumer<Object>> source) {
+        return stream(negotiate(), source);
+    }
+
+    /**
+     * Builds a streamed array response in the given format.
+     *
+     * @param mediaType {@link MediaType#APPLICATION_CBOR} for CBOR, anything else for JSON
+     * @param source    see {@link #stream(Consumer)}
+     * @return a response whose body is written as {@code source} produces elements
+     */
+    public ResponseEntity<StreamingResponseBody> stream(final MediaType mediaType, final Consumer<Consumer<Object>> source) {
+        final boolean cbor = MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType);
+        final ObjectWriter writer = cbor ? cborWriter : objectWriter;
+        final String bulkhead = BulkheadContext.current();
+        final RequestDeadline deadline = DeadlineContext.current();
+        final RequestTimings timings = TimingContext.current();
+        final StreamingResponseBody body = outputStream -> {
+            final String previousBulkhead = BulkheadContext.bind(bulkhead);
+            final RequestDeadline previousDeadline = DeadlineContext.bind(deadline);
+            final RequestTimings previousTimings = TimingContext.bind(timings);
+            try {
+                writeArray(writer, outputStream, source);
+            } finally {
+                BulkheadContext.bind(previousBulkhead);
+                DeadlineContext.bind(previousDeadline);
+                TimingContext.bind(previousTimings);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private void writeArray(final ObjectWriter writer, final OutputStream outputStream,
+                            final Consumer<Consumer<Object>> source) throws IOException {
+        final BufferedOutputStream buffered = new BufferedOutputStream(outputStream, streamProps.getBufferSize());
+        try (JsonGenerator generator = writer.createGenerator(buffered)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            source.accept(new Consumer<>() {
+                private int written;
+
+                @Override
+                public void accept(final Object element) {
+                    try {
+                        write(writer, generator, element);
+                        if (++written % streamProps.getFlushEvery() == 0) {
+                            generator.flush();
+                        }
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            generator.writeEndArray();
+        } catch (final UncheckedIOException e) {
+            // Usually the client went away mid-stream
+            throw e.getCause();
+        }
+        buffered.flush();
+    }
+
+    /**
+     * Picks CBOR only when the most preferred {@code Accept} entry that matches either format is CBOR; wildcards
+     * and missing or malformed headers resolve to JSON.
+     */
+    private static MediaType negotiate() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return MediaType.APPLICATION_JSON;
+        }
+        final String accept = attributes.getRequest().getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+
+        final List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(accepted);
+        } catch (final IllegalArgumentException e) {
+            // Malformed or oversized header
+            return MediaType.APPLICATION_JSON;
+        }
+        for (final MediaType mediaType : accepted) {
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(final ObjectWriter writer, final JsonGenerator generator, final Object element)
+            throws IOException {
+        final DtoCodec<Object> codec = element == null ? null : (DtoCodec<Object>) dtoCodecs.find(element.getClass());
+        if (codec != null) {
+            codec.write(generator, element);
+        } else {
+            writer.writeValue(generator, element);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.store.util;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets through at most {@code perWindow} log events per category and time window, and counts the rest.
+ * <p>
+ * The first event let through after some were dropped learns how many, so the log still shows the volume without
+ * paying for every line. Categories are expected to be a small fixed set, such as one per call site.
+ */
+public final class LogSampler {
+    private final int perWindow;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LogSampler(final int perWindow, final Duration window) {
+        this(perWindow, window.toNanos(), System::nanoTime);
+    }
+
+    LogSampler(final int perWindow, final long windowNanos, final LongSupplier nanoClock) {
+        if (perWindow < 1) {
+            throw new IllegalArgumentException("perWindow must be positive");
+        }
+        this.perWindow = perWindow;
+        this.windowNanos = windowNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Records an event of {@code category}.
+     *
+     * @return {@code -1} if the event should be dropped, otherwise the number of events of the category dropped
+     * since the last one let through
+     */
+    public long sample(final String category) {
+        final long now = nanoClock.getAsLong();
+        return windows.computeIfAbsent(category, key -> new Window(now)).sample(now);
+    }
+
+    private final class Window {
+        private long start;
+        private int admitted;
+        private long dropped;
+
+        private Window(final long start) {
+            this.start = start;
+        }
+
+        private synchronized long sample(final long now) {
+            if (now - start >= windowNanos) {
+                start = now;
+                admitted = 0;
+            }
+            if (admitted < perWindow) {
+                admitted++;
+                final long previouslyDropped = dropped;
+                dropped = 0;
+                return previouslyDropped;
+            }
+            dropped++;
+            return -1;
+        }
+    }
+}
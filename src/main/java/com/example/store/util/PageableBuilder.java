@@ -1,11 +1,14 @@
 package com.example.store.util;
 
 import com.example.store.dto.SortEnumDTO;
+import com.example.store.exception.PageSizeExceededException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+
 /**
  * Utility class for building Pageable objects with default values from configuration.
  * This centralizes the pagination logic that was previously duplicated across controllers.
@@ -45,4 +48,31 @@ public class PageableBuilder {
         
         return PageRequest.of(pageValue, sizeValue, sort);
     }
-}
\ No newline at end of file
+
+    /**
+     * Rejects page sizes above the configured maximum. A buffered list response holds the whole page in memory, so
+     * its size has to be bounded; streamed responses do not need this check.
+     *
+     * @param size the requested page size or null if the default is used
+     * @param maxSize the maximum page size from configuration
+     * @throws PageSizeExceededException if {@code size} is larger than {@code maxSize}
+     */
+    public void checkMaxSize(final Integer size, final int maxSize) {
+        if (size != null && size > maxSize) {
+            throw new PageSizeExceededException("global.400.012", new Object[]{maxSize});
+        }
+    }
+
+    /**
+     * Rejects multi-get requests for more ids than the configured maximum.
+     *
+     * @param ids the requested ids
+     * @param maxIds the maximum number of ids from configuration
+     * @throws PageSizeExceededException if more than {@code maxIds} ids were requested
+     */
+    public void checkMaxIds(final Collection<Long> ids, final int maxIds) {
+        if (ids.size() > maxIds) {
+            throw new PageSizeExceededException("global.400.014", new Object[]{maxIds});
+        }
+    }
+}
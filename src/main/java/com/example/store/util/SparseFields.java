@@ -0,0 +1,49 @@
+package com.example.store.util;
+
+import com.example.store.exception.InvalidFieldsException;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The fields a client asked for with {@code fields=a,b,c}, checked against the resource's whitelist.
+ *
+ * @param names the requested field names, in whitelist order
+ */
+public record SparseFields(Set<String> names) {
+
+    /**
+     * Parses a comma-separated field list. Blank entries are ignored.
+     *
+     * @param fields  the raw {@code fields} request parameter
+     * @param allowed the fields the resource exposes, in output order
+     * @return the selection, never empty
+     * @throws InvalidFieldsException if a field is not whitelisted or no field was given
+     */
+    public static SparseFields parse(final String fields, final List<String> allowed) {
+        final Set<String> requested = new LinkedHashSet<>();
+        for (final String field : fields.split(",")) {
+            final String name = field.strip();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new InvalidFieldsException("global.400.013", new Object[]{name, String.join(", ", allowed)});
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new InvalidFieldsException("global.400.013", new Object[]{fields, String.join(", ", allowed)});
+        }
+
+        final Set<String> names = new LinkedHashSet<>();
+        allowed.stream().filter(requested::contains).forEach(names::add);
+        return new SparseFields(Collections.unmodifiableSet(names));
+    }
+
+    public boolean includes(final String name) {
+        return names.contains(name);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.store.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Hands a stream over in fixed-size chunks, so per-row lookups can be done once per chunk with an {@code IN} query
+ * while the stream as a whole is still never held in memory.
+ */
+public final class StreamChunks {
+    /**
+     * The fetch size hinted on the streaming repository queries; a chunk of this size is one database round trip.
+     */
+    public static final int FETCH_SIZE = 256;
+
+    private StreamChunks() {
+    }
+
+    /**
+     * Passes {@code stream} to {@code action} in order, {@code chunkSize} elements at a time; the last chunk may be
+     * smaller. Each chunk is a fresh list the action may keep.
+     */
+    public static <T> void forEachChunk(final Stream<T> stream, final int chunkSize,
+                                        final Consumer<? super List<T>> action) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        final Iterator<T> iterator = stream.iterator();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize) {
+                action.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            action.accept(chunk);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.store.component.auth.encoder;
+
+import com.example.store.config.security.PasswordHashingProperties;
+import com.example.store.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("BoundedPasswordEncoder - {Unit}")
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(properties(5, 1, 1, 2000), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Should encode and match passwords on the hashing pool")
+    void shouldEncodeAndMatch() {
+        // When
+        final String hash = encoder.encode("password123");
+
+        // Then
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong-password", hash));
+        assertEquals(1L, meterRegistry.get("store.password.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(2L, meterRegistry.get("store.password.hash.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should flag hashes with a lower work factor for upgrade")
+    void shouldFlagWeakerHashesForUpgrade() {
+        // Given
+        final String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        final String currentHash = encoder.encode("password123");
+
+        // Then
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        assertFalse(encoder.upgradeEncoding(currentHash));
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the worker and queue are occupied")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given - one worker blocked on a latch and one job waiting in the queue
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread blocked = Thread.ofVirtual().start(() -> encoder.encode(new BlockingPassword(started, release)));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        final Thread queued = Thread.ofVirtual().start(() -> encoder.encode("queued-password"));
+        awaitQueueDepth(1);
+
+        // When / Then
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("rejected-password"));
+        assertEquals(1.0, meterRegistry.get("store.password.hash.rejected").counter().count());
+
+        release.countDown();
+        blocked.join();
+        queued.join();
+    }
+
+    @Test
+    @DisplayName("Should reject when the job does not finish within the timeout")
+    void shouldRejectOnTimeout() {
+        // Given
+        encoder.destroy();
+        encoder = new BoundedPasswordEncoder(properties(5, 1, 1, 50), meterRegistry);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        // When / Then
+        final PasswordHashingRejectedException exception = assertThrows(PasswordHashingRejectedException.class,
+                () -> encoder.encode(new BlockingPassword(started, release)));
+        assertNotNull(exception.getMessage());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should skip queued jobs of callers that timed out and count the hash left running")
+    void shouldSkipAbandonedJobs() throws Exception {
+        // Given - the only worker is blocked and a second job waits behind it
+        encoder.destroy();
+        encoder = new BoundedPasswordEncoder(properties(5, 1, 2, 100), meterRegistry);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread blocked = Thread.ofVirtual().start(() -> assertThrows(PasswordHashingRejectedException.class,
+                () -> encoder.encode(new BlockingPassword(started, release))));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        final AtomicBoolean hashed = new AtomicBoolean();
+
+        // When
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode(new TrackedPassword(hashed)));
+        blocked.join();
+        release.countDown();
+
+        // Then
+        awaitCount("running", 1);
+        assertFalse(hashed.get());
+        assertEquals(1.0, abandoned("queued"));
+        assertEquals(1.0, abandoned("running"));
+        assertEquals(0.0, meterRegistry.get("store.password.hash.queue.depth").gauge().value());
+        assertEquals(2.0, meterRegistry.get("store.password.hash.rejected").counter().count());
+    }
+
+    private double abandoned(final String stage) {
+        return meterRegistry.get("store.password.hash.abandoned").tag("stage", stage).counter().count();
+    }
+
+    private void awaitCount(final String stage, final double count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (abandoned(stage) < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitQueueDepth(final int depth) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (meterRegistry.get("store.password.hash.queue.depth").gauge().value() < depth
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordHashingProperties properties(final int strength, final int poolSize,
+                                                        final int queueCapacity, final long timeoutMillis) {
+        final PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setStrength(strength);
+        properties.setPoolSize(poolSize);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setTimeoutMillis(timeoutMillis);
+        return properties;
+    }
+
+    /**
+     * Password that notes whether a hashing thread ever read it.
+     */
+    private record TrackedPassword(AtomicBoolean hashed) implements CharSequence {
+        @Override
+        public int length() {
+            return toString().length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            hashed.set(true);
+            return "tracked-password";
+        }
+    }
+
+    /**
+     * Password that parks the hashing thread until released, so the pool can be saturated deterministically.
+     */
+    private record BlockingPassword(CountDownLatch started, CountDownLatch release) implements CharSequence {
+        @Override
+        public int length() {
+            return toString().length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "blocking-password";
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.store.component.auth.filter;
 
+import com.example.store.component.auth.token.RefreshTokenRevocationIndex;
 import com.example.store.config.security.JwtProperties;
 import com.example.store.service.auth.JwtService;
 import jakarta.servlet.FilterChain;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
@@ -24,8 +26,10 @@ import java.io.IOException;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
@@ -47,6 +51,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private JwtProperties jwtProperties;
 
+    @Mock
+    private RefreshTokenRevocationIndex revocationIndex;
+
     @Mock
     private HttpServletRequest request;
 
@@ -72,7 +79,7 @@ class JwtAuthenticationFilterTest {
         userDetails = new User(email, "password", Collections.emptyList());
 
         // Setup JWT properties
-        when(jwtProperties.getHeaderString()).thenReturn("Authorization");
+        lenient().when(jwtProperties.getHeaderString()).thenReturn("Authorization");
         lenient().when(jwtProperties.getTokenPrefix()).thenReturn("Bearer ");
     }
 
@@ -106,6 +113,26 @@ class JwtAuthenticationFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
+    @Test
+    @DisplayName("Should not authenticate when the token's refresh family is revoked")
+    void shouldNotAuthenticateWhenTokenFamilyIsRevoked() throws ServletException, IOException {
+        // Given
+        final String familyId = "6f1c2a9e-8d7b-4b35-9a51-0f6f7c1d2e3a";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(jwtService.extractUsername(validToken)).thenReturn(email);
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(userDetails);
+        when(jwtService.isTokenValid(validToken, userDetails)).thenReturn(true);
+        when(jwtService.extractFamily(validToken)).thenReturn(familyId);
+        when(revocationIndex.isRevoked(familyId)).thenReturn(true);
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
     @Test
     @DisplayName("Should authenticate user when token is valid")
     void shouldAuthenticateUserWhenTokenIsValid() throws ServletException, IOException {
@@ -202,4 +229,31 @@ class JwtAuthenticationFilterTest {
         // The existing authentication should still be in the context
         assertEquals(existingAuth, SecurityContextHolder.getContext().getAuthentication());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should not parse a stale token on public endpoints")
+    void shouldNotParseTokenOnPublicEndpoints() throws ServletException, IOException {
+        // Given
+        final MockHttpServletRequest publicRequest = new MockHttpServletRequest("POST", "/auth/authenticate");
+        publicRequest.addHeader("Authorization", "Bearer " + validToken);
+
+        // When
+        jwtAuthenticationFilter.doFilter(publicRequest, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(publicRequest, response);
+        verify(jwtService, never()).extractUsername(anyString());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should only skip the public endpoints")
+    void shouldOnlySkipPublicEndpoints() {
+        assertTrue(jwtAuthenticationFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health")));
+        assertTrue(jwtAuthenticationFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/v3/api-docs/store")));
+        assertTrue(jwtAuthenticationFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/swagger-ui/index.html")));
+        assertFalse(jwtAuthenticationFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/customers")));
+        assertFalse(jwtAuthenticationFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/metrics")));
+        assertFalse(jwtAuthenticationFilter.shouldNotFilter(new MockHttpServletRequest("GET", "/authors")));
+    }
+}
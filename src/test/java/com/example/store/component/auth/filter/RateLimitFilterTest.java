@@ -0,0 +1,141 @@
+package com.example.store.component.auth.filter;
+
+import com.example.store.config.security.RateLimitProperties;
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitFilter - {Unit}")
+class RateLimitFilterTest {
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        meterRegistry = new SimpleMeterRegistry();
+
+        final RateLimitProperties properties = new RateLimitProperties();
+        properties.setAuth(new RateLimitProperties.Bucket(2, 1));
+        properties.setApi(new RateLimitProperties.Bucket(1, 1));
+        rateLimitFilter = new RateLimitFilter(properties, new Gson(), messageSource, meterRegistry);
+
+        lenient().when(messageSource.getMessage(anyString(), any(), anyString(), any()))
+                .thenReturn("Too many requests. Please retry after 1 second(s)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should throttle /auth requests per client IP")
+    void shouldThrottleAuthRequestsPerClientIp() throws ServletException, IOException {
+        // When
+        final MockHttpServletResponse first = perform("/auth/authenticate", "10.0.0.1");
+        final MockHttpServletResponse second = perform("/auth/authenticate", "10.0.0.1");
+        final MockHttpServletResponse third = perform("/auth/authenticate", "10.0.0.1");
+        final MockHttpServletResponse otherIp = perform("/auth/authenticate", "10.0.0.2");
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals("1", third.getHeader("Retry-After"));
+        assertTrue(third.getContentAsString().contains("TOO_MANY_REQUESTS"));
+        assertEquals(200, otherIp.getStatus());
+        verify(filterChain, times(3)).doFilter(any(), any());
+        assertEquals(1.0, meterRegistry.get("store.ratelimit.rejected").tag("scope", "auth").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should throttle store requests per JWT subject")
+    void shouldThrottleStoreRequestsPerSubject() throws ServletException, IOException {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+
+        // When
+        final MockHttpServletResponse first = perform("/orders", "10.0.0.1");
+        final MockHttpServletResponse second = perform("/orders", "10.0.0.2");
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals(1.0, meterRegistry.get("store.ratelimit.rejected").tag("scope", "api").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should pass unauthenticated non-auth requests through untouched")
+    void shouldPassUnauthenticatedRequestsThrough() throws ServletException, IOException {
+        // When
+        perform("/actuator/health", "10.0.0.1");
+        perform("/actuator/health", "10.0.0.1");
+
+        // Then
+        verify(filterChain, times(2)).doFilter(any(), any());
+        verify(messageSource, never()).getMessage(anyString(), any(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should skip throttling entirely when disabled")
+    void shouldSkipWhenDisabled() throws ServletException, IOException {
+        // Given
+        final RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(false);
+        properties.setAuth(new RateLimitProperties.Bucket(1, 1));
+        rateLimitFilter = new RateLimitFilter(properties, new Gson(), messageSource, new SimpleMeterRegistry());
+
+        // When
+        perform("/auth/register", "10.0.0.1");
+        final MockHttpServletResponse second = perform("/auth/register", "10.0.0.1");
+
+        // Then
+        assertEquals(200, second.getStatus());
+        verify(filterChain, times(2)).doFilter(any(), any());
+    }
+
+    private MockHttpServletResponse perform(final String uri, final String remoteAddr) throws ServletException, IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr(remoteAddr);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.store.component.auth.token;
+
+import com.example.store.config.security.JwtProperties;
+import com.example.store.persistence.repo.RefreshTokenRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenRevocationIndex - {Unit}")
+class RefreshTokenRevocationIndexTest {
+
+    @Mock
+    private RefreshTokenRepo refreshTokenRepo;
+
+    private JwtProperties jwtProperties;
+    private RefreshTokenRevocationIndex revocationIndex;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setRevocationExpectedInsertions(1_000);
+        jwtProperties.setRevocationRefreshInterval(Duration.ofHours(1));
+        revocationIndex = new RefreshTokenRevocationIndex(refreshTokenRepo, jwtProperties);
+    }
+
+    @Test
+    @DisplayName("Should answer 'not revoked' from memory without a per-lookup query")
+    void shouldAnswerNotRevokedFromMemory() {
+        // Given
+        when(refreshTokenRepo.findRevokedFamilyIds(any(ZonedDateTime.class))).thenReturn(List.of());
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            assertFalse(revocationIndex.isRevoked(UUID.randomUUID()));
+        }
+
+        // Then
+        verify(refreshTokenRepo, times(1)).findRevokedFamilyIds(any(ZonedDateTime.class));
+        verify(refreshTokenRepo, never()).existsByFamilyIdAndRevokedTrue(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should confirm filter hits against the table")
+    void shouldConfirmFilterHitsAgainstTable() {
+        // Given
+        final UUID revoked = UUID.randomUUID();
+        when(refreshTokenRepo.findRevokedFamilyIds(any(ZonedDateTime.class))).thenReturn(List.of(revoked));
+        when(refreshTokenRepo.existsByFamilyIdAndRevokedTrue(revoked)).thenReturn(true);
+
+        // Then
+        assertTrue(revocationIndex.isRevoked(revoked));
+        assertTrue(revocationIndex.isRevoked(revoked.toString()));
+    }
+
+    @Test
+    @DisplayName("Should see local revocations immediately")
+    void shouldSeeLocalRevocationsImmediately() {
+        // Given
+        final UUID familyId = UUID.randomUUID();
+        when(refreshTokenRepo.findRevokedFamilyIds(any(ZonedDateTime.class))).thenReturn(List.of());
+        when(refreshTokenRepo.existsByFamilyIdAndRevokedTrue(familyId)).thenReturn(true);
+
+        // When
+        revocationIndex.markRevoked(familyId);
+
+        // Then
+        assertTrue(revocationIndex.isRevoked(familyId));
+    }
+
+    @Test
+    @DisplayName("Should keep local revocations across a rebuild")
+    void shouldKeepLocalRevocationsAcrossRebuild() throws InterruptedException {
+        // Given - the revocation is not in the table snapshot, e.g. because its transaction is still in flight
+        jwtProperties.setRevocationRefreshInterval(Duration.ofMillis(100));
+        final UUID familyId = UUID.randomUUID();
+        when(refreshTokenRepo.findRevokedFamilyIds(any(ZonedDateTime.class))).thenReturn(List.of());
+        when(refreshTokenRepo.existsByFamilyIdAndRevokedTrue(familyId)).thenReturn(true);
+        revocationIndex.markRevoked(familyId);
+
+        // When - the filter goes stale and is rebuilt on the next lookup
+        Thread.sleep(120);
+
+        // Then
+        assertTrue(revocationIndex.isRevoked(familyId));
+        verify(refreshTokenRepo, times(2)).findRevokedFamilyIds(any(ZonedDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should treat a malformed family id as revoked")
+    void shouldTreatMalformedFamilyAsRevoked() {
+        assertTrue(revocationIndex.isRevoked("not-a-uuid"));
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.store.component.batch;
+
+import com.example.store.component.BatchProps;
+import com.example.store.component.auth.filter.RateLimitFilter;
+import com.example.store.component.ratelimit.AdaptiveConcurrencyLimit;
+import com.example.store.component.ratelimit.ConcurrencyLimitFilter;
+import com.example.store.config.security.RateLimitProperties;
+import com.example.store.dto.batch.BatchItemReqDTO;
+import com.example.store.dto.batch.BatchItemRespDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+@DisplayName("BatchDispatcher - {Unit}")
+@ExtendWith(MockitoExtension.class)
+class BatchDispatcherTest {
+
+    @Mock
+    private ObjectProvider<DispatcherServlet> dispatcherServletProvider;
+
+    @Mock
+    private DispatcherServlet dispatcherServlet;
+
+    @Mock
+    private ObjectProvider<ConcurrencyLimitFilter> concurrencyLimitFilterProvider;
+
+    @Mock
+    private WebInvocationPrivilegeEvaluator privilegeEvaluator;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MockHttpServletRequest batchRequest = new MockHttpServletRequest("POST", "/batch");
+    private final MockHttpServletResponse batchResponse = new MockHttpServletResponse();
+    private final RateLimitProperties rateLimitProperties = new RateLimitProperties();
+    private BatchProps batchProps;
+    private BatchDispatcher batchDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        when(dispatcherServletProvider.getObject()).thenReturn(dispatcherServlet);
+        lenient().when(privilegeEvaluator.isAllowed(any(), anyString(), anyString(), any())).thenReturn(true);
+        batchProps = new BatchProps();
+        batchProps.setConcurrency(2);
+        createDispatcher();
+    }
+
+    private void createDispatcher() {
+        final RateLimitFilter rateLimitFilter = new RateLimitFilter(rateLimitProperties, new Gson(),
+                new StaticMessageSource(), new SimpleMeterRegistry());
+        batchDispatcher = new BatchDispatcher(dispatcherServletProvider, concurrencyLimitFilterProvider,
+                rateLimitFilter, privilegeEvaluator, objectMapper, batchProps);
+    }
+
+    private static void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static BatchItemReqDTO get(final String path) {
+        return new BatchItemReqDTO("GET", path, null);
+    }
+
+    @Test
+    @DisplayName("Should present each call as its own request and return the responses in request order")
+    void shouldDispatchEachCall() throws Exception {
+        // Given
+        batchRequest.addHeader(HttpHeaders.ACCEPT_LANGUAGE, "nl");
+        final Map<String, HttpServletRequest> seen = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            final HttpServletRequest request = invocation.getArgument(0);
+            final HttpServletResponse response = invocation.getArgument(1);
+            seen.put(request.getMethod() + " " + request.getRequestURI(), request);
+            response.setStatus(request.getRequestURI().equals("/orders") ? 200 : 203);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(12);
+            response.getWriter().write("{\"id\":" + request.getParameter("id") + "}");
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        final List<BatchItemReqDTO> items = List.of(
+                new BatchItemReqDTO("GET", "/orders?id=1&name=a+b%21", Map.of("Accept", "application/cbor")),
+                get("/products?id=2"));
+
+        // When
+        final List<BatchItemRespDTO> responses = batchDispatcher.execute(batchRequest, batchResponse, items);
+
+        // Then
+        assertEquals(List.of(200, 203), responses.stream().map(BatchItemRespDTO::status).toList());
+        assertEquals("{\"id\":1}", responses.get(0).body());
+        assertEquals("{\"id\":2}", responses.get(1).body());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, responses.get(0).headers().get("content-type"));
+        assertNull(responses.get(0).headers().get(HttpHeaders.CONTENT_LENGTH));
+
+        final HttpServletRequest order = seen.get("GET /orders");
+        assertEquals("a b!", order.getParameter("name"));
+        assertEquals("/orders", order.getServletPath());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, order.getHeader(HttpHeaders.ACCEPT));
+        assertEquals("nl", order.getHeader(HttpHeaders.ACCEPT_LANGUAGE));
+        assertEquals(0, order.getInputStream().readAllBytes().length);
+        assertEquals("2", seen.get("GET /products").getParameter("id"));
+        assertEquals(0, batchResponse.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Should run calls with the batch's authentication and within the concurrency limit")
+    void shouldPropagateAuthenticationWithinLimit() throws Exception {
+        // Given
+        final Authentication authentication = new UsernamePasswordAuthenticationToken("user@example.com", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final Map<Integer, Authentication> authentications = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            final HttpServletRequest request = invocation.getArgument(0);
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            authentications.put(Integer.parseInt(request.getParameter("n")),
+                    SecurityContextHolder.getContext().getAuthentication());
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        final List<BatchItemReqDTO> items = IntStream.range(0, 6).mapToObj(n -> get("/customers/1?n=" + n)).toList();
+
+        // When
+        final List<BatchItemRespDTO> responses = batchDispatcher.execute(batchRequest, batchResponse, items);
+
+        // Then
+        assertEquals(6, responses.size());
+        assertTrue(responses.stream().allMatch(response -> response.status() == 200 && response.body() == null));
+        assertTrue(maxRunning.get() <= batchProps.getConcurrency(), "ran " + maxRunning.get() + " at once");
+        assertEquals(6, authentications.size());
+        assertTrue(authentications.values().stream().allMatch(authentication::equals));
+    }
+
+    @Test
+    @DisplayName("Should turn a failing call into a 500 item without failing the batch")
+    void shouldIsolateFailingCall() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            final HttpServletRequest request = invocation.getArgument(0);
+            if (request.getRequestURI().equals("/orders/2")) {
+                throw new ServletException("boom");
+            }
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        // When
+        final List<BatchItemRespDTO> responses = batchDispatcher.execute(batchRequest, batchResponse,
+                List.of(get("/orders/1"), get("/orders/2")));
+
+        // Then
+        assertEquals(List.of(200, 500), responses.stream().map(BatchItemRespDTO::status).toList());
+    }
+
+    @Test
+    @DisplayName("Should embed a non-JSON body as a JSON string")
+    void shouldQuoteNonJsonBody() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            final HttpServletResponse response = invocation.getArgument(1);
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getOutputStream().write("say \"hi\"".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(dispatcherServlet).service(any(ServletRequest.class), any(ServletResponse.class));
+
+        // When
+        final List<BatchItemRespDTO> responses = batchDispatcher.execute(batchRequest, batchResponse,
+                List.of(get("/orders/1")));
+
+        // Then
+        assertEquals("\"say \\\"hi\\\"\"", responses.getFirst().body());
+    }
+
+    @Test
+    @DisplayName("Should answer a call the authorization rules deny with 403 without dispatching it")
+    void shouldForbidDeniedCall() throws Exception {
+        // Given
+        authenticate();
+        when(privilegeEvaluator.isAllowed(any(), eq("/customers/1"), eq("GET"), any())).thenReturn(false);
+
+        // When
+        final List<BatchItemRespDTO> responses = batchDispatcher.execute(batchRequest, batchResponse,
+                List.of(get("/orders/1?x=y"), get("/customers/1")));
+
+        // Then
+        assertEquals(List.of(200, 403), responses.stream().map(BatchItemRespDTO::status).toList());
+        verify(privilegeEvaluator).isAllowed(any(), eq("/orders/1"), eq("GET"), any());
+        verify(dispatcherServlet, never()).service(argThat(
+                request -> ((HttpServletRequest) request).getRequestURI().equals("/customers/1")), any());
+    }
+
+    @Test
+    @DisplayName("Should spend one rate-limit token per call and answer calls beyond the bucket with 429")
+    void shouldChargeRateLimitPerCall() {
+        // Given
+        authenticate();
+        rateLimitProperties.setApi(new RateLimitProperties.Bucket(2, 1));
+        createDispatcher();
+
+        // When
+        final List<BatchItemRespDTO> responses = batchDispatcher.execute(batchRequest, batchResponse,
+                List.of(get("/orders/1"), get("/orders/2"), get("/orders/3")));
+
+        // Then
+        final List<BatchItemRespDTO> throttled = responses.stream().filter(response -> response.status() == 429)
+                .toList();
+        assertEquals(1, throttled.size());
+        assertEquals("1", throttled.getFirst().headers().get(HttpHeaders.RETRY_AFTER));
+        assertEquals(2, responses.stream().filter(response -> response.status() == 200).count());
+    }
+
+    @Test
+    @DisplayName("Should count every call against the concurrency limit and shed calls beyond it with 503")
+    void shouldCountCallsAgainstConcurrencyLimit() throws Exception {
+        // Given
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 0.5, 1.5, 0.9,
+                TimeUnit.HOURS.toNanos(1), 1000, System::nanoTime);
+        when(concurrencyLimitFilterProvider.getIfAvailable()).thenReturn(new ConcurrencyLimitFilter(limit, 2,
+                new Gson(), new StaticMessageSource(), new SimpleMeterRegistry()));
+        // The batch request itself holds the only permit
+        assertTrue(limit.tryAcquire());
+
+        // When
+        final List<BatchItemRespDTO> responses = batchDispatcher.execute(batchRequest, batchResponse,
+                List.of(get("/orders/1"), get("/orders/2")));
+
+        // Then
+        assertEquals(List.of(503, 503), responses.stream().map(BatchItemRespDTO::status).toList());
+        assertEquals("2", responses.getFirst().headers().get(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, limit.getInFlight());
+        verify(dispatcherServlet, never()).service(any(ServletRequest.class), any(ServletResponse.class));
+    }
+}
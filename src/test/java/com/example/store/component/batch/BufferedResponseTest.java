@@ -0,0 +1,185 @@
+package com.example.store.component.batch;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("BufferedResponse - {Unit}")
+class BufferedResponseTest {
+
+    private final MockHttpServletResponse batch = new MockHttpServletResponse();
+    private final BufferedResponse response = new BufferedResponse(batch);
+
+    @Test
+    @DisplayName("Should keep headers case-insensitively and report the first value of each")
+    void shouldCollectHeaders() {
+        // When
+        response.setHeader("X-Trace", "a");
+        response.addHeader("x-trace", "b");
+        response.addIntHeader("X-Count", 3);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, 0);
+        response.addHeader("X-Ignored", null);
+
+        // Then
+        assertEquals(List.of("a", "b"), response.getHeaders("X-TRACE"));
+        assertEquals("a", response.getHeader("x-trace"));
+        assertEquals("3", response.getHeader("X-Count"));
+        assertEquals("Thu, 1 Jan 1970 00:00:00 GMT", response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertFalse(response.containsHeader("X-Ignored"));
+        assertEquals(Map.of("X-Trace", "a", "X-Count", "3", HttpHeaders.LAST_MODIFIED,
+                "Thu, 1 Jan 1970 00:00:00 GMT"), response.headers());
+        assertEquals(0, batch.getHeaderNames().size());
+    }
+
+    @Test
+    @DisplayName("Should remove a header set to null")
+    void shouldRemoveHeaderSetToNull() {
+        // Given
+        response.setHeader("X-Trace", "a");
+
+        // When
+        response.setHeader("X-Trace", null);
+
+        // Then
+        assertFalse(response.containsHeader("X-Trace"));
+        assertEquals(List.of(), response.getHeaders("X-Trace"));
+    }
+
+    @Test
+    @DisplayName("Should take the charset from the content type and write with it")
+    void shouldWriteWithContentTypeCharset() {
+        // Given
+        response.setContentType("text/plain; charset=ISO-8859-1");
+
+        // When
+        response.getWriter().write("café");
+
+        // Then
+        assertEquals("ISO-8859-1", response.getCharacterEncoding());
+        assertEquals("text/plain; charset=ISO-8859-1", response.getContentType());
+        assertArrayEquals("café".getBytes(StandardCharsets.ISO_8859_1), response.body());
+    }
+
+    @Test
+    @DisplayName("Should write UTF-8 by default and ignore charset changes once the writer is open")
+    void shouldKeepCharsetOnceWriting() {
+        // Given
+        final var writer = response.getWriter();
+
+        // When
+        response.setCharacterEncoding("ISO-8859-1");
+        writer.write("café");
+
+        // Then
+        assertEquals("UTF-8", response.getCharacterEncoding());
+        assertArrayEquals("café".getBytes(StandardCharsets.UTF_8), response.body());
+    }
+
+    @Test
+    @DisplayName("Should collect the output stream's bytes without touching the batch response")
+    void shouldCollectOutputStream() throws Exception {
+        // When
+        response.getOutputStream().write(new byte[]{1, 2, 3}, 0, 3);
+        response.getOutputStream().write(4);
+        response.flushBuffer();
+
+        // Then
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, response.body());
+        assertFalse(response.isCommitted());
+        assertEquals(0, batch.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Should refuse the writer after the output stream and the other way round")
+    void shouldRefuseMixingWriterAndStream() {
+        // Given
+        final BufferedResponse streaming = new BufferedResponse(batch);
+        streaming.getOutputStream();
+        final BufferedResponse writing = new BufferedResponse(batch);
+        writing.getWriter();
+
+        // When / Then
+        assertThrows(IllegalStateException.class, streaming::getWriter);
+        assertThrows(IllegalStateException.class, writing::getOutputStream);
+    }
+
+    @Test
+    @DisplayName("Should drop the body written so far on sendError and keep the status")
+    void shouldSendError() {
+        // Given
+        response.getWriter().write("partial");
+
+        // When
+        response.sendError(HttpServletResponse.SC_FORBIDDEN, "Forbidden");
+
+        // Then
+        assertEquals(HttpServletResponse.SC_FORBIDDEN, response.status());
+        assertEquals(HttpServletResponse.SC_FORBIDDEN, response.getStatus());
+        assertEquals(0, response.body().length);
+        assertEquals(HttpServletResponse.SC_OK, batch.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should answer a redirect with 302 and the location")
+    void shouldSendRedirect() {
+        // Given
+        response.getWriter().write("partial");
+
+        // When
+        response.sendRedirect("/orders/7");
+
+        // Then
+        assertEquals(HttpServletResponse.SC_FOUND, response.status());
+        assertEquals("/orders/7", response.getHeader(HttpHeaders.LOCATION));
+        assertEquals(0, response.body().length);
+        assertNull(batch.getRedirectedUrl());
+    }
+
+    @Test
+    @DisplayName("Should clear status, headers and body on reset")
+    void shouldReset() throws Exception {
+        // Given
+        response.setStatus(HttpServletResponse.SC_CREATED);
+        response.setHeader("X-Trace", "a");
+        response.getOutputStream().write(1);
+
+        // When
+        response.reset();
+
+        // Then
+        assertEquals(HttpServletResponse.SC_OK, response.status());
+        assertTrue(response.getHeaderNames().isEmpty());
+        assertEquals(0, response.body().length);
+    }
+
+    @Test
+    @DisplayName("Should set the content length as a header")
+    void shouldSetContentLength() {
+        // When
+        response.setContentLength(12);
+
+        // Then
+        assertEquals("12", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+
+        // When
+        response.setContentLengthLong(5_000_000_000L);
+
+        // Then
+        assertEquals("5000000000", response.getHeader(HttpHeaders.CONTENT_LENGTH));
+    }
+}
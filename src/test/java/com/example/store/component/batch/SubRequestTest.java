@@ -0,0 +1,182 @@
+package com.example.store.component.batch;
+
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+@DisplayName("SubRequest - {Unit}")
+class SubRequestTest {
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final MockHttpServletRequest batch = batch();
+
+    @Test
+    @DisplayName("Should take method, path and query from the target and the context path from the batch")
+    void shouldSplitTarget() {
+        // When
+        final SubRequest request = new SubRequest(batch, "GET", "/orders/7?page=1", Map.of(), NO_BODY);
+
+        // Then
+        assertEquals("GET", request.getMethod());
+        assertEquals("/orders/7", request.getServletPath());
+        assertNull(request.getPathInfo());
+        assertEquals("page=1", request.getQueryString());
+        assertEquals("/store/orders/7", request.getRequestURI());
+        assertEquals("http://localhost:8080/store/orders/7", request.getRequestURL().toString());
+        assertEquals(DispatcherType.REQUEST, request.getDispatcherType());
+    }
+
+    @Test
+    @DisplayName("Should decode plus signs and percent-escapes and keep repeated keys in order")
+    void shouldDecodeQueryParameters() {
+        // When
+        final SubRequest request = new SubRequest(batch, "GET",
+                "/products?q=blue+shoe&q=caf%C3%A9&sort=a%2Bb&flag", Map.of(), NO_BODY);
+
+        // Then
+        assertArrayEquals(new String[]{"blue shoe", "café"}, request.getParameterValues("q"));
+        assertEquals("blue shoe", request.getParameter("q"));
+        assertEquals("a+b", request.getParameter("sort"));
+        assertEquals("", request.getParameter("flag"));
+        assertNull(request.getParameter("missing"));
+        assertNull(request.getParameterValues("missing"));
+        assertEquals(List.of("q", "sort", "flag"), Collections.list(request.getParameterNames()));
+    }
+
+    @Test
+    @DisplayName("Should not share the batch request's query parameters")
+    void shouldNotInheritBatchParameters() {
+        // Given
+        batch.addParameter("stream", "true");
+
+        // When
+        final SubRequest request = new SubRequest(batch, "GET", "/orders", Map.of(), NO_BODY);
+
+        // Then
+        assertNull(request.getQueryString());
+        assertNull(request.getParameter("stream"));
+        assertEquals(Map.of(), request.getParameterMap());
+    }
+
+    @Test
+    @DisplayName("Should read its own headers case-insensitively and none of the batch's")
+    void shouldReadOwnHeaders() {
+        // Given
+        batch.addHeader("X-Batch", "yes");
+
+        // When
+        final SubRequest request = new SubRequest(batch, "GET", "/orders",
+                Map.of("Accept-Language", "de", "X-Page-Size", "20"), NO_BODY);
+
+        // Then
+        assertEquals("de", request.getHeader("accept-language"));
+        assertEquals(List.of("de"), Collections.list(request.getHeaders("ACCEPT-LANGUAGE")));
+        assertEquals(List.of(), Collections.list(request.getHeaders("X-Batch")));
+        assertNull(request.getHeader("X-Batch"));
+        assertEquals(20, request.getIntHeader("x-page-size"));
+        assertEquals(-1, request.getIntHeader("X-Missing"));
+    }
+
+    @Test
+    @DisplayName("Should parse date headers as epoch milliseconds")
+    void shouldParseDateHeader() {
+        // Given
+        final ZonedDateTime date = ZonedDateTime.parse("2024-03-01T10:15:30Z");
+
+        // When
+        final SubRequest request = new SubRequest(batch, "GET", "/orders",
+                Map.of(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME.format(date),
+                        "X-Bad-Date", "yesterday"),
+                NO_BODY);
+
+        // Then
+        assertEquals(date.toInstant().toEpochMilli(), request.getDateHeader("if-modified-since"));
+        assertEquals(-1, request.getDateHeader("X-Missing"));
+        assertThrows(IllegalArgumentException.class, () -> request.getDateHeader("X-Bad-Date"));
+    }
+
+    @Test
+    @DisplayName("Should default a body's content type to JSON and read it as UTF-8")
+    void shouldReadBody() throws Exception {
+        // Given
+        final byte[] body = "{\"name\":\"Zoë\"}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        final SubRequest request = new SubRequest(batch, "GET", "/customers", Map.of(), body);
+
+        // Then
+        assertEquals("application/json", request.getContentType());
+        assertEquals(body.length, request.getContentLength());
+        assertEquals("UTF-8", request.getCharacterEncoding());
+        assertArrayEquals(body, request.getInputStream().readAllBytes());
+        assertEquals("{\"name\":\"Zoë\"}", request.getReader().readLine());
+    }
+
+    @Test
+    @DisplayName("Should have no content type without a body")
+    void shouldHaveNoContentTypeWithoutBody() {
+        // When
+        final SubRequest request = new SubRequest(batch, "GET", "/orders", Map.of(), NO_BODY);
+
+        // Then
+        assertNull(request.getContentType());
+        assertEquals(0, request.getContentLength());
+    }
+
+    @Test
+    @DisplayName("Should keep its attributes apart from the batch request's")
+    void shouldKeepOwnAttributes() {
+        // Given
+        batch.setAttribute("shared", "batch");
+        final SubRequest request = new SubRequest(batch, "GET", "/orders", Map.of(), NO_BODY);
+
+        // When
+        request.setAttribute("own", "sub");
+        request.setAttribute("cleared", "value");
+        request.setAttribute("cleared", null);
+
+        // Then
+        assertNull(request.getAttribute("shared"));
+        assertEquals("sub", request.getAttribute("own"));
+        assertNull(request.getAttribute("cleared"));
+        assertNull(batch.getAttribute("own"));
+    }
+
+    @Test
+    @DisplayName("Should refuse async processing")
+    void shouldRefuseAsync() {
+        // When
+        final SubRequest request = new SubRequest(batch, "GET", "/orders", Map.of(), NO_BODY);
+
+        // Then
+        assertFalse(request.isAsyncSupported());
+        assertFalse(request.isAsyncStarted());
+        assertThrows(IllegalStateException.class, request::startAsync);
+    }
+
+    private static MockHttpServletRequest batch() {
+        final MockHttpServletRequest batch = new MockHttpServletRequest("POST", "/store/batch");
+        batch.setContextPath("/store");
+        batch.setServletPath("/batch");
+        batch.setServerName("localhost");
+        batch.setServerPort(8080);
+        return batch;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.store.component.bulkhead;
+
+import com.example.store.component.StreamProps;
+import com.example.store.config.CodecConfig;
+import com.example.store.exception.BulkheadFullException;
+import com.example.store.util.JsonArrayStreamer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkheadDataSource - {Unit}")
+class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    private Bulkhead reads;
+    private Bulkhead bulk;
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        reads = new Bulkhead(BulkheadFilter.READS, 1, Duration.ZERO, meterRegistry);
+        bulk = new Bulkhead(BulkheadFilter.BULK, 1, Duration.ZERO, meterRegistry);
+        dataSource = new BulkheadDataSource(target, Map.of(BulkheadFilter.READS, reads, BulkheadFilter.BULK, bulk),
+                BulkheadFilter.BULK);
+        lenient().when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        BulkheadContext.bind(null);
+    }
+
+    @Test
+    @DisplayName("Should hold the permit of the bound bulkhead until the connection is closed")
+    void shouldHoldPermitUntilClose() throws SQLException {
+        // Given
+        BulkheadContext.bind(BulkheadFilter.READS);
+
+        // When
+        final Connection connection = dataSource.getConnection();
+
+        // Then
+        assertEquals(1, reads.getInUse());
+        assertEquals(0, bulk.getInUse());
+        assertThrows(BulkheadFullException.class, dataSource::getConnection);
+
+        connection.close();
+        connection.close();
+        assertEquals(0, reads.getInUse());
+        dataSource.getConnection().close();
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default bulkhead without a bound or known one")
+    void shouldFallBackToDefault() throws SQLException {
+        // When
+        final Connection unbound = dataSource.getConnection();
+        BulkheadContext.bind("unknown");
+
+        // Then
+        assertEquals(1, bulk.getInUse());
+        assertThrows(BulkheadFullException.class, dataSource::getConnection);
+        unbound.close();
+    }
+
+    @Test
+    @DisplayName("Should queue unbound callers on a waiting default bulkhead instead of failing them")
+    void shouldQueueOnWaitingDefault() throws Exception {
+        // Given
+        final Bulkhead background = new Bulkhead(BulkheadFilter.BACKGROUND, 1, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+        final BulkheadDataSource waiting = new BulkheadDataSource(target,
+                Map.of(BulkheadFilter.READS, reads, BulkheadFilter.BACKGROUND, background), BulkheadFilter.BACKGROUND);
+        final Connection held = waiting.getConnection();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<Connection> queued = executor.submit(() -> waiting.getConnection());
+            Thread.sleep(50);
+            assertFalse(queued.isDone());
+            held.close();
+
+            // Then
+            queued.get(5, TimeUnit.SECONDS).close();
+        }
+        assertEquals(0, background.getInUse());
+    }
+
+    @Test
+    @DisplayName("Should take the connections of a streamed body from its request's bulkhead, not the default")
+    void shouldUseRequestBulkheadForStreamedBody() throws Exception {
+        // Given
+        final BulkheadDataSource readsByDefault = new BulkheadDataSource(target,
+                Map.of(BulkheadFilter.READS, reads, BulkheadFilter.BULK, bulk), BulkheadFilter.READS);
+        final StreamProps streamProps = new StreamProps();
+        streamProps.setBufferSize(64);
+        streamProps.setFlushEvery(1);
+        final JsonArrayStreamer streamer = new JsonArrayStreamer(new ObjectMapper(), new CodecConfig().dtoCodecs(),
+                streamProps);
+        final int[] inUse = new int[2];
+        BulkheadContext.bind(BulkheadFilter.BULK);
+        final StreamingResponseBody body = streamer.stream(sink -> {
+            try (Connection ignored = readsByDefault.getConnection()) {
+                inUse[0] = bulk.getInUse();
+                inUse[1] = reads.getInUse();
+            } catch (final SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }).getBody();
+        BulkheadContext.bind(null);
+
+        // When - written on another thread, as the async dispatch does
+        CompletableFuture.runAsync(() -> {
+            try {
+                body.writeTo(new ByteArrayOutputStream());
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(1, inUse[0]);
+        assertEquals(0, inUse[1]);
+        assertEquals(0, bulk.getInUse());
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the pool fails")
+    void shouldReleaseOnPoolFailure() throws SQLException {
+        // Given
+        BulkheadContext.bind(BulkheadFilter.READS);
+        when(target.getConnection()).thenThrow(new SQLException("pool timeout"));
+
+        // When
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        // Then
+        assertEquals(0, reads.getInUse());
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should classify requests into bulkheads")
+    void shouldClassifyRequests() {
+        // Given
+        final MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/orders");
+        stream.setParameter("stream", "true");
+        final MockHttpServletRequest search = new MockHttpServletRequest("GET", "/customers");
+        search.setParameter("name", "ann");
+
+        // When / Then
+        assertEquals(BulkheadFilter.AUTH, BulkheadFilter.classify(new MockHttpServletRequest("POST", "/auth/authenticate")));
+        assertEquals(BulkheadFilter.BULK, BulkheadFilter.classify(new MockHttpServletRequest("POST", "/batch")));
+        assertEquals(BulkheadFilter.BULK, BulkheadFilter.classify(stream));
+        assertEquals(BulkheadFilter.BULK, BulkheadFilter.classify(search));
+        assertEquals(BulkheadFilter.WRITES, BulkheadFilter.classify(new MockHttpServletRequest("DELETE", "/orders/1")));
+        assertEquals(BulkheadFilter.READS, BulkheadFilter.classify(new MockHttpServletRequest("GET", "/orders/1")));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.store.component.bulkhead;
+
+import com.example.store.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("Bulkhead - {Unit}")
+class BulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should fail fast once every permit is taken when max-wait is zero")
+    void shouldFailFast() {
+        // Given
+        final Bulkhead bulkhead = new Bulkhead("bulk", 2, Duration.ZERO, meterRegistry);
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        // When
+        final BulkheadFullException exception = assertThrows(BulkheadFullException.class, bulkhead::acquire);
+
+        // Then
+        assertEquals("global.503.002", exception.getMessage());
+        assertArrayEquals(new Object[]{"bulk"}, exception.getArgs());
+        assertEquals(1.0, meterRegistry.get("store.bulkhead.rejected").tag("bulkhead", "bulk").counter().count());
+        assertEquals(1.0, meterRegistry.get("store.bulkhead.saturation").tag("bulkhead", "bulk").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should give up after the deadline")
+    void shouldGiveUpAfterDeadline() {
+        // Given
+        final Bulkhead bulkhead = new Bulkhead("reads", 1, Duration.ofMillis(20), meterRegistry);
+        bulkhead.acquire();
+
+        // When
+        final long start = System.nanoTime();
+        assertThrows(BulkheadFullException.class, bulkhead::acquire);
+
+        // Then
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(1, meterRegistry.get("store.bulkhead.wait").tag("bulkhead", "reads").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should hand a released permit to a queued virtual thread")
+    void shouldHandPermitToWaiter() throws InterruptedException {
+        // Given
+        final Bulkhead bulkhead = new Bulkhead("writes", 1, Duration.ofSeconds(5), meterRegistry);
+        bulkhead.acquire();
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final Thread waiter = Thread.ofVirtual().start(() -> {
+            bulkhead.acquire();
+            acquired.countDown();
+        });
+        while (meterRegistry.get("store.bulkhead.waiting").tag("bulkhead", "writes").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        bulkhead.release();
+
+        // Then
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        waiter.join();
+        assertEquals(1, bulkhead.getInUse());
+    }
+
+    @Test
+    @DisplayName("Should reject a bulkhead without permits")
+    void shouldRejectEmptyBulkhead() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new Bulkhead("auth", 0, Duration.ZERO, meterRegistry));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.store.component.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Tag("unit")
+@DisplayName("PerIdCache - {Unit}")
+class PerIdCacheTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private PerIdCache perIdCache;
+    private List<Collection<Long>> loads;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        perIdCache = new PerIdCache(cacheManager);
+        loads = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should load only the misses, in one call, and keep the request order")
+    void shouldLoadOnlyMisses() {
+        // Given
+        cacheManager.getCache("orders").put("id_2", "cached-2");
+
+        // When
+        final List<String> result = perIdCache.findAll("orders", List.of(3L, 2L, 1L, 3L), String.class, this::load);
+
+        // Then
+        assertEquals(List.of("loaded-3", "cached-2", "loaded-1"), result);
+        assertEquals(List.of(List.of(3L, 1L)), loads);
+    }
+
+    @Test
+    @DisplayName("Should write loaded values back so the next lookup is served from the cache")
+    void shouldWriteBack() {
+        // Given
+        perIdCache.findAll("orders", List.of(1L, 2L), String.class, this::load);
+
+        // When
+        final List<String> result = perIdCache.findAll("orders", List.of(2L, 1L), String.class, this::load);
+
+        // Then
+        assertEquals(List.of("loaded-2", "loaded-1"), result);
+        assertEquals(1, loads.size());
+        assertEquals("loaded-1", cacheManager.getCache("orders").get("id_1", String.class));
+    }
+
+    @Test
+    @DisplayName("Should leave out ids the loader does not find and cached nulls")
+    void shouldLeaveOutUnknownIds() {
+        // Given
+        cacheManager.getCache("orders").put("id_7", null);
+
+        // When
+        final List<String> result = perIdCache.findAll("orders", List.of(7L, 404L, 1L), String.class,
+                ids -> load(ids.stream().filter(id -> id != 404L).toList()));
+
+        // Then
+        assertEquals(List.of("loaded-1"), result);
+        assertNull(cacheManager.getCache("orders").get("id_404"));
+    }
+
+    private Map<Long, String> load(final Collection<Long> ids) {
+        loads.add(List.copyOf(ids));
+        return ids.stream().collect(Collectors.toMap(Function.identity(), id -> "loaded-" + id));
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.store.component.cache;
+
+import com.example.store.component.timing.RequestTimings;
+import com.example.store.component.timing.TimingContext;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("TimedCaffeineCache - {Unit}")
+class TimedCaffeineCacheTest {
+    private static final String CACHE_GET = "com.example.store.CacheGet";
+    private static final String CACHE_EVICT = "com.example.store.CacheEvict";
+
+    private final TimedCaffeineCache cache = new TimedCaffeineCache("orders", Caffeine.newBuilder().build(), true);
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        recording = new Recording();
+        recording.enable(CACHE_GET).withThreshold(Duration.ZERO);
+        recording.enable(CACHE_EVICT).withThreshold(Duration.ZERO);
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+        TimingContext.bind(null);
+    }
+
+    @Test
+    @DisplayName("Should count lookups as hits or misses of the request being timed")
+    void shouldCountLookupsOfBoundRequest() {
+        // Given
+        final RequestTimings timings = new RequestTimings(0);
+        TimingContext.bind(timings);
+        cache.put("id_1", "order-1");
+
+        // When
+        cache.get("id_1");
+        cache.get("id_1", String.class);
+        cache.get("id_2");
+
+        // Then
+        assertEquals(2, timings.getCacheHits());
+        assertEquals(1, timings.getCacheMisses());
+    }
+
+    @Test
+    @DisplayName("Should look entries up without a request being timed")
+    void shouldLookUpWithoutBoundRequest() {
+        // Given
+        cache.put("id_1", "order-1");
+
+        // When / Then
+        assertEquals("order-1", cache.get("id_1", String.class));
+        assertNull(cache.get("id_2"));
+    }
+
+    @Test
+    @DisplayName("Should report every lookup as a cache get with whether it hit")
+    void shouldCommitCacheGetEvents() throws Exception {
+        // Given
+        cache.put("id_1", "order-1");
+
+        // When
+        cache.get("id_1");
+        cache.get("id_2");
+
+        // Then
+        final List<RecordedEvent> events = events(CACHE_GET);
+        assertEquals(2, events.size());
+        assertEquals("orders", events.get(0).getString("cache"));
+        assertEquals("id_1", events.get(0).getString("key"));
+        assertTrue(events.get(0).getBoolean("hit"));
+        assertEquals("id_2", events.get(1).getString("key"));
+        assertFalse(events.get(1).getBoolean("hit"));
+    }
+
+    @Test
+    @DisplayName("Should report single-key evictions with their key")
+    void shouldCommitEvictEvents() throws Exception {
+        // Given
+        cache.put("id_1", "order-1");
+
+        // When
+        cache.evict("id_1");
+        cache.evictIfPresent("id_2");
+
+        // Then
+        final List<RecordedEvent> events = events(CACHE_EVICT);
+        assertEquals(List.of("id_1", "id_2"), events.stream().map(e -> e.getString("key")).toList());
+        assertTrue(events.stream().noneMatch(e -> e.getBoolean("allEntries")));
+    }
+
+    @Test
+    @DisplayName("Should report clear and invalidate as evicting all entries")
+    void shouldCommitClearEvents() throws Exception {
+        // Given
+        cache.put("id_1", "order-1");
+
+        // When
+        cache.clear();
+        cache.invalidate();
+
+        // Then
+        final List<RecordedEvent> events = events(CACHE_EVICT);
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getBoolean("allEntries")));
+        assertNull(events.get(0).getString("key"));
+    }
+
+    private List<RecordedEvent> events(final String name) throws Exception {
+        final Path dump = Files.createTempFile("cache", ".jfr");
+        try {
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(e -> e.getEventType().getName().equals(name) && cache.getName().equals(e.getString("cache")))
+                    .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.store.component.deadline;
+
+import com.example.store.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeadlineDataSource - {Unit}")
+class DeadlineDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private DeadlineDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new DeadlineDataSource(target);
+        lenient().when(target.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement("select 1")).thenReturn(statement);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DeadlineContext.bind(null);
+    }
+
+    private static RequestDeadline remaining(final long millis) {
+        final long now = System.nanoTime();
+        return new RequestDeadline(now - TimeUnit.MILLISECONDS.toNanos(250), now + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("Should apply the remaining budget, rounded up to seconds, as the query timeout")
+    void shouldApplyRemainingBudget() throws SQLException {
+        // Given
+        DeadlineContext.bind(remaining(2500));
+
+        // When
+        dataSource.getConnection().prepareStatement("select 1");
+
+        // Then
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    @DisplayName("Should leave statements alone without a deadline")
+    void shouldLeaveStatementsAloneWithoutDeadline() throws SQLException {
+        // When
+        dataSource.getConnection().prepareStatement("select 1");
+
+        // Then
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should refuse a connection once the deadline has passed")
+    void shouldRefuseConnectionAfterDeadline() {
+        // Given
+        DeadlineContext.bind(remaining(-1));
+
+        // When
+        final DeadlineExceededException exception =
+                assertThrows(DeadlineExceededException.class, dataSource::getConnection);
+
+        // Then
+        assertEquals("global.504.001", exception.getMessage());
+        verifyNoInteractions(target);
+    }
+
+    @Test
+    @DisplayName("Should refuse to send a statement once the deadline has passed")
+    void shouldRefuseStatementAfterDeadline() throws SQLException {
+        // Given
+        DeadlineContext.bind(remaining(60_000));
+        final Connection guarded = dataSource.getConnection();
+        DeadlineContext.bind(remaining(-1));
+
+        // When / Then
+        assertThrows(DeadlineExceededException.class, () -> guarded.prepareStatement("select 1"));
+        verifyNoInteractions(statement);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.store.component.deadline;
+
+import com.example.store.config.limit.DeadlineProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@Tag("unit")
+@DisplayName("DeadlineFilter - {Unit}")
+class DeadlineFilterTest {
+
+    private DeadlineFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        final DeadlineProperties properties = new DeadlineProperties();
+        properties.setDefaultTimeout(Duration.ofSeconds(10));
+        properties.setMaxTimeout(Duration.ofSeconds(30));
+        properties.setEndpoints(List.of(
+                new DeadlineProperties.Endpoint(null, "/auth/**", Duration.ofSeconds(5)),
+                new DeadlineProperties.Endpoint("GET", "/{resource}/{id}", Duration.ofSeconds(3))));
+        filter = new DeadlineFilter(properties);
+    }
+
+    private static MockHttpServletRequest request(final String method, final String path, final String timeout) {
+        final MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (timeout != null) {
+            request.addHeader("X-Request-Timeout", timeout);
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should take the client's budget, capped at the maximum")
+    void shouldTakeClientBudget() {
+        // When / Then
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1500), filter.timeoutNanos(request("GET", "/orders/1", "1500")));
+        assertEquals(TimeUnit.SECONDS.toNanos(30), filter.timeoutNanos(request("GET", "/orders/1", "600000")));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the first matching endpoint, then the default")
+    void shouldFallBackToEndpointDefaults() {
+        // When / Then
+        assertEquals(TimeUnit.SECONDS.toNanos(5), filter.timeoutNanos(request("POST", "/auth/authenticate", null)));
+        assertEquals(TimeUnit.SECONDS.toNanos(3), filter.timeoutNanos(request("GET", "/orders/1", "soon")));
+        assertEquals(TimeUnit.SECONDS.toNanos(10), filter.timeoutNanos(request("DELETE", "/orders/1", "-5")));
+        assertEquals(TimeUnit.SECONDS.toNanos(10), filter.timeoutNanos(request("GET", "/orders", null)));
+    }
+
+    @Test
+    @DisplayName("Should bind the deadline for the duration of the request only")
+    void shouldBindDeadlineDuringRequest() throws Exception {
+        // Given
+        final MockHttpServletRequest request = request("GET", "/orders/1", "2000");
+        final AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+        final FilterChain chain = (req, res) -> seen.set(DeadlineContext.current());
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        assertSame(seen.get(), request.getAttribute(RequestDeadline.ATTRIBUTE));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2000), seen.get().deadlineNanos() - seen.get().startNanos());
+        assertNull(DeadlineContext.current());
+    }
+}
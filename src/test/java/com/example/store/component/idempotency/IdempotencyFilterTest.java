@@ -0,0 +1,269 @@
+package com.example.store.component.idempotency;
+
+import com.google.gson.Gson;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyFilter - {Unit}")
+class IdempotencyFilterTest {
+    private static final byte[] REQUEST_BODY = "{\"description\":\"order\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESPONSE_BODY = "{\"id\":7}".getBytes(StandardCharsets.UTF_8);
+    private static final int MAX_BODY_BYTES = 64;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private IdempotencyFilter idempotencyFilter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+        idempotencyFilter = new IdempotencyFilter(idempotencyStore, new Gson(), messageSource, MAX_BODY_BYTES);
+        lenient().when(messageSource.getMessage(anyString(), any(), anyString(), any())).thenReturn("message");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse perform(final String path, final String key) throws ServletException, IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContent(REQUEST_BODY);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private static IdempotencyStore.Acquired acquired() {
+        return new IdempotencyStore.Acquired("id", "user@example.com", "k1", "hash", UUID.randomUUID(),
+                new CompletableFuture<>());
+    }
+
+    private void respondWith(final int status) throws ServletException, IOException {
+        doAnswer(invocation -> {
+            final HttpServletResponse response = invocation.getArgument(1);
+            final byte[] body = invocation.<ServletRequest>getArgument(0).getInputStream().readAllBytes();
+            assertArrayEquals(REQUEST_BODY, body);
+            response.setStatus(status);
+            response.setContentType("application/json");
+            response.getOutputStream().write(RESPONSE_BODY);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should execute the first request and store its response")
+    void shouldExecuteAndStore() throws ServletException, IOException {
+        // Given
+        final IdempotencyStore.Acquired acquired = acquired();
+        when(idempotencyStore.claim(eq("user@example.com"), eq("k1"), anyString())).thenReturn(acquired);
+        respondWith(201);
+
+        // When
+        final MockHttpServletResponse response = perform("/orders", "k1");
+
+        // Then
+        assertEquals(201, response.getStatus());
+        assertArrayEquals(RESPONSE_BODY, response.getContentAsByteArray());
+        verify(idempotencyStore).complete(acquired, 201, "application/json", RESPONSE_BODY);
+        verify(idempotencyStore, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should release the key instead of storing a server error")
+    void shouldReleaseOnServerError() throws ServletException, IOException {
+        // Given
+        final IdempotencyStore.Acquired acquired = acquired();
+        when(idempotencyStore.claim(eq("user@example.com"), eq("k1"), anyString())).thenReturn(acquired);
+        respondWith(503);
+
+        // When
+        final MockHttpServletResponse response = perform("/orders", "k1");
+
+        // Then
+        assertEquals(503, response.getStatus());
+        verify(idempotencyStore).release(acquired);
+        verify(idempotencyStore, never()).complete(any(), eq(503), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response for a retry with the same payload")
+    void shouldReplayMatchingRetry() throws ServletException, IOException {
+        // Given
+        when(idempotencyStore.claim(eq("user@example.com"), eq("k1"), anyString())).thenAnswer(invocation ->
+                new IdempotencyStore.Replay(new StoredResponse(invocation.getArgument(2), 201, "application/json",
+                        RESPONSE_BODY, Instant.now().plusSeconds(60))));
+
+        // When
+        final MockHttpServletResponse response = perform("/orders", " k1 ");
+
+        // Then
+        assertEquals(201, response.getStatus());
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertArrayEquals(RESPONSE_BODY, response.getContentAsByteArray());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different payload")
+    void shouldRejectReusedKey() throws ServletException, IOException {
+        // Given
+        when(idempotencyStore.claim(eq("user@example.com"), eq("k1"), anyString())).thenReturn(
+                new IdempotencyStore.Replay(new StoredResponse("other", 201, "application/json", RESPONSE_BODY,
+                        Instant.now().plusSeconds(60))));
+
+        // When
+        final MockHttpServletResponse response = perform("/orders", "k1");
+
+        // Then
+        assertEquals(422, response.getStatus());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    @DisplayName("Should answer 409 while a duplicate is still in flight")
+    void shouldRejectInFlightDuplicate() throws ServletException, IOException {
+        // Given
+        when(idempotencyStore.claim(eq("user@example.com"), eq("k1"), anyString()))
+                .thenReturn(new IdempotencyStore.InProgress());
+
+        // When
+        final MockHttpServletResponse response = perform("/orders", "k1");
+
+        // Then
+        assertEquals(409, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("CONFLICT"));
+    }
+
+    @Test
+    @DisplayName("Should reject a blank or oversized key")
+    void shouldRejectInvalidKey() throws ServletException, IOException {
+        // When
+        final MockHttpServletResponse blank = perform("/orders", "  ");
+        final MockHttpServletResponse oversized = perform("/orders", "k".repeat(256));
+
+        // Then
+        assertEquals(400, blank.getStatus());
+        assertEquals(400, oversized.getStatus());
+        verifyNoInteractions(idempotencyStore, filterChain);
+    }
+
+    @Test
+    @DisplayName("Should pass through requests without a key or outside the create endpoints")
+    void shouldPassThroughOtherRequests() throws ServletException, IOException {
+        // When
+        perform("/orders", null);
+        perform("/orders/1", "k1");
+
+        // Then
+        verifyNoInteractions(idempotencyStore);
+        verify(filterChain, times(2)).doFilter(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a body declared larger than the limit without reading it")
+    void shouldRejectDeclaredOversizedBody() throws ServletException, IOException {
+        // Given
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setContent(new byte[MAX_BODY_BYTES + 1]);
+        request.addHeader(IdempotencyFilter.HEADER, "k1");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        idempotencyFilter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals(413, response.getStatus());
+        verifyNoInteractions(idempotencyStore, filterChain);
+    }
+
+    @Test
+    @DisplayName("Should reject a body that turns out larger than the limit when no length is declared")
+    void shouldRejectUndeclaredOversizedBody() throws ServletException, IOException {
+        // Given
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(new byte[MAX_BODY_BYTES + 1]);
+        request.addHeader(IdempotencyFilter.HEADER, "k1");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        idempotencyFilter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals(413, response.getStatus());
+        verifyNoInteractions(idempotencyStore, filterChain);
+    }
+
+    @Test
+    @DisplayName("Should accept a body exactly at the limit")
+    void shouldAcceptBodyAtLimit() throws ServletException, IOException {
+        // Given
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setContent(new byte[MAX_BODY_BYTES]);
+        request.addHeader(IdempotencyFilter.HEADER, "k1");
+        when(idempotencyStore.claim(eq("user@example.com"), eq("k1"), anyString()))
+                .thenReturn(new IdempotencyStore.InProgress());
+
+        // When
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals(409, response.getStatus());
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.store.component.idempotency;
+
+import com.example.store.config.idempotency.IdempotencyProperties;
+import com.example.store.persistence.entity.IdempotencyRecord;
+import com.example.store.persistence.repo.IdempotencyRecordRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+@DisplayName("IdempotencyStore - {Unit}")
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+    private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private IdempotencyRecordRepo idempotencyRecordRepo;
+
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        final IdempotencyProperties props = new IdempotencyProperties();
+        props.setTtl(Duration.ofHours(24));
+        props.setClaimTimeout(Duration.ofSeconds(5));
+        props.setHotTtl(Duration.ofMinutes(10));
+        props.setMaxHotKeys(100);
+        props.setPurgeInterval(Duration.ofHours(1));
+        idempotencyStore = new IdempotencyStore(idempotencyRecordRepo, props);
+    }
+
+    private void claimSucceeds() {
+        when(idempotencyRecordRepo.claim(eq("user"), eq("k1"), eq("hash"), any(), any(), any())).thenReturn(1);
+    }
+
+    private void storeSucceeds() {
+        when(idempotencyRecordRepo.complete(eq("user"), eq("k1"), any(), anyInt(), any(), any(), any(), any()))
+                .thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("Should acquire a new key and serve the stored response from memory afterwards")
+    void shouldAcquireThenReplayFromMemory() {
+        // Given
+        claimSucceeds();
+        storeSucceeds();
+        final IdempotencyStore.Acquired acquired = assertInstanceOf(IdempotencyStore.Acquired.class,
+                idempotencyStore.claim("user", "k1", "hash"));
+
+        // When
+        idempotencyStore.complete(acquired, 201, "application/json", BODY);
+        final IdempotencyStore.Claim retry = idempotencyStore.claim("user", "k1", "other-hash");
+
+        // Then
+        final StoredResponse stored = assertInstanceOf(IdempotencyStore.Replay.class, retry).response();
+        assertEquals("hash", stored.requestHash());
+        assertEquals(201, stored.status());
+        assertArrayEquals(BODY, stored.body());
+        verify(idempotencyRecordRepo, times(1)).claim(anyString(), anyString(), anyString(), any(), any(), any());
+        verify(idempotencyRecordRepo).complete(eq("user"), eq("k1"), eq(acquired.claimToken()), eq(201),
+                eq("application/json"), eq(BODY), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should make an in-flight duplicate wait for the first request's response")
+    void shouldWaitForInFlightDuplicate() throws Exception {
+        // Given
+        claimSucceeds();
+        storeSucceeds();
+        final IdempotencyStore.Acquired acquired = (IdempotencyStore.Acquired) idempotencyStore.claim("user", "k1", "hash");
+
+        // When
+        final CompletableFuture<IdempotencyStore.Claim> duplicate =
+                CompletableFuture.supplyAsync(() -> idempotencyStore.claim("user", "k1", "hash"));
+        Thread.sleep(50);
+        assertFalse(duplicate.isDone());
+        idempotencyStore.complete(acquired, 201, "application/json", BODY);
+
+        // Then
+        final IdempotencyStore.Claim claim = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(201, assertInstanceOf(IdempotencyStore.Replay.class, claim).response().status());
+        verify(idempotencyRecordRepo, times(1)).claim(anyString(), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should neither cache nor replay a response whose claim was taken over meanwhile")
+    void shouldDropResponseOfTakenOverClaim() throws Exception {
+        // Given
+        claimSucceeds();
+        final IdempotencyStore.Acquired acquired = (IdempotencyStore.Acquired) idempotencyStore.claim("user", "k1", "hash");
+        final CompletableFuture<IdempotencyStore.Claim> duplicate =
+                CompletableFuture.supplyAsync(() -> idempotencyStore.claim("user", "k1", "hash"));
+        Thread.sleep(50);
+        when(idempotencyRecordRepo.complete(eq("user"), eq("k1"), eq(acquired.claimToken()), anyInt(), any(), any(),
+                any(), any())).thenReturn(0);
+
+        // When
+        idempotencyStore.complete(acquired, 201, "application/json", BODY);
+
+        // Then
+        assertInstanceOf(IdempotencyStore.Acquired.class, duplicate.get(5, TimeUnit.SECONDS));
+        verify(idempotencyRecordRepo, times(2)).claim(anyString(), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should let a waiting duplicate execute once the first request releases the key")
+    void shouldHandOverReleasedKey() throws Exception {
+        // Given
+        claimSucceeds();
+        final IdempotencyStore.Acquired acquired = (IdempotencyStore.Acquired) idempotencyStore.claim("user", "k1", "hash");
+        final CompletableFuture<IdempotencyStore.Claim> duplicate =
+                CompletableFuture.supplyAsync(() -> idempotencyStore.claim("user", "k1", "hash"));
+        Thread.sleep(50);
+
+        // When
+        idempotencyStore.release(acquired);
+
+        // Then
+        assertInstanceOf(IdempotencyStore.Acquired.class, duplicate.get(5, TimeUnit.SECONDS));
+        verify(idempotencyRecordRepo).release("user", "k1", acquired.claimToken());
+        verify(idempotencyRecordRepo, times(2)).claim(anyString(), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should replay a response stored by another instance")
+    void shouldReplayFromDatabase() {
+        // Given
+        final IdempotencyRecord record = new IdempotencyRecord();
+        record.setRequestHash("hash");
+        record.setStatus(201);
+        record.setContentType("application/json");
+        record.setResponseBody(BODY);
+        record.setExpiresAt(ZonedDateTime.now().plusHours(1));
+        when(idempotencyRecordRepo.claim(eq("user"), eq("k1"), eq("hash"), any(), any(), any())).thenReturn(0);
+        when(idempotencyRecordRepo.findByScopeAndIdemKey("user", "k1")).thenReturn(Optional.of(record));
+
+        // When
+        final IdempotencyStore.Claim claim = idempotencyStore.claim("user", "k1", "hash");
+
+        // Then
+        assertArrayEquals(BODY, assertInstanceOf(IdempotencyStore.Replay.class, claim).response().body());
+    }
+
+    @Test
+    @DisplayName("Should report a key still pending on another instance as in progress")
+    void shouldReportPendingKeyInProgress() {
+        // Given
+        final IdempotencyRecord record = new IdempotencyRecord();
+        record.setRequestHash("hash");
+        record.setExpiresAt(ZonedDateTime.now().plusSeconds(30));
+        when(idempotencyRecordRepo.claim(eq("user"), eq("k1"), eq("hash"), any(), any(), any())).thenReturn(0);
+        when(idempotencyRecordRepo.findByScopeAndIdemKey("user", "k1")).thenReturn(Optional.of(record));
+
+        // When
+        final IdempotencyStore.Claim claim = idempotencyStore.claim("user", "k1", "hash");
+
+        // Then
+        assertInstanceOf(IdempotencyStore.InProgress.class, claim);
+    }
+}
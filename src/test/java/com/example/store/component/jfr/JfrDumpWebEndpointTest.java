@@ -0,0 +1,69 @@
+package com.example.store.component.jfr;
+
+import com.example.store.config.observability.JfrProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("JfrDumpWebEndpoint - {Unit}")
+class JfrDumpWebEndpointTest {
+
+    private final JfrRecorder recorder = new JfrRecorder(new JfrProperties());
+    private final JfrDumpWebEndpoint endpoint = new JfrDumpWebEndpoint(recorder);
+
+    @AfterEach
+    void tearDown() {
+        recorder.stop();
+    }
+
+    @Test
+    @DisplayName("Should answer 404 when nothing is being recorded")
+    void shouldAnswerNotFoundWithoutRecording() throws Exception {
+        // When
+        final WebEndpointResponse<Resource> response = endpoint.dump();
+
+        // Then
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, response.getStatus());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should stream the dump and delete the temporary file once the stream is closed")
+    void shouldDeleteDumpAfterStreaming() throws Exception {
+        // Given
+        recorder.start(null, null, null);
+
+        // When
+        final WebEndpointResponse<Resource> response = endpoint.dump();
+
+        // Then
+        assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+        final Resource resource = response.getBody();
+        assertNotNull(resource);
+        assertFalse(resource.isFile());
+        final Path file = resource.getFile().toPath();
+        assertTrue(Files.exists(file));
+        try (InputStream in = resource.getInputStream()) {
+            // A JFR file starts with the "FLR\0" magic
+            assertEquals('F', in.read());
+            assertEquals('L', in.read());
+            assertEquals('R', in.read());
+            assertTrue(Files.exists(file));
+        }
+        assertFalse(Files.exists(file));
+    }
+}
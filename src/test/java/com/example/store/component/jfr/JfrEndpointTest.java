@@ -0,0 +1,55 @@
+package com.example.store.component.jfr;
+
+import com.example.store.config.observability.JfrProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Tag("unit")
+@DisplayName("JfrEndpoint - {Unit}")
+class JfrEndpointTest {
+
+    private final JfrRecorder recorder = new JfrRecorder(new JfrProperties());
+    private final JfrEndpoint endpoint = new JfrEndpoint(recorder);
+
+    @AfterEach
+    void tearDown() {
+        recorder.stop();
+    }
+
+    @Test
+    @DisplayName("Should report CLOSED before a recording is started")
+    void shouldReportClosed() {
+        // When
+        final JfrRecorder.Status status = endpoint.status();
+
+        // Then
+        assertEquals("CLOSED", status.state());
+        assertNull(status.started());
+    }
+
+    @Test
+    @DisplayName("Should start with the requested limits, report it running and stop it")
+    void shouldStartReportAndStop() throws Exception {
+        // When
+        final JfrRecorder.Status started = endpoint.start(null, Duration.ofMinutes(2), DataSize.ofMegabytes(10));
+        final JfrRecorder.Status running = endpoint.status();
+        final JfrRecorder.Status stopped = endpoint.stop();
+
+        // Then
+        assertEquals("RUNNING", started.state());
+        assertEquals("PT2M", started.maxAge());
+        assertEquals(DataSize.ofMegabytes(10).toBytes(), started.maxSize());
+        assertEquals("RUNNING", running.state());
+        assertEquals(started.started(), running.started());
+        assertEquals("CLOSED", stopped.state());
+        assertEquals("CLOSED", endpoint.status().state());
+    }
+}
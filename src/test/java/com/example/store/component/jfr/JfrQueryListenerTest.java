@@ -0,0 +1,46 @@
+package com.example.store.component.jfr;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("unit")
+@DisplayName("JfrQueryListener - {Unit}")
+class JfrQueryListenerTest {
+
+    private final JfrQueryListener listener = new JfrQueryListener();
+
+    @Test
+    @DisplayName("Should hand every statement that ran to the tracked repository call")
+    void shouldRecordStatementsAfterQuery() {
+        // Given
+        final ExecutionInfo execInfo = new ExecutionInfo();
+        final List<QueryInfo> queries = List.of(new QueryInfo("select 1"), new QueryInfo("select 2"));
+        final RepositoryCallTracker tracker = RepositoryCallTracker.start();
+
+        // When
+        try {
+            listener.beforeQuery(execInfo, queries);
+            listener.afterQuery(execInfo, queries);
+        } finally {
+            tracker.finish();
+        }
+
+        // Then
+        assertEquals(2, tracker.statements());
+        assertEquals("select 1;\nselect 2", tracker.sql());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no repository call is being tracked")
+    void shouldIgnoreQueryOutsideCall() {
+        assertDoesNotThrow(() -> listener.afterQuery(new ExecutionInfo(), List.of(new QueryInfo("select 1"))));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.store.component.jfr;
+
+import com.example.store.config.observability.JfrProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Tag("unit")
+@DisplayName("JfrRecorder - {Unit}")
+class JfrRecorderTest {
+
+    private JfrRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new JfrRecorder(new JfrProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.stop();
+    }
+
+    @Test
+    @DisplayName("Should start once and report the recording until it is stopped")
+    void shouldStartAndStop() throws Exception {
+        // When
+        final JfrRecorder.Status started = recorder.start(null, Duration.ofMinutes(5), null);
+        final JfrRecorder.Status again = recorder.start("profile", null, null);
+
+        // Then
+        assertEquals("RUNNING", started.state());
+        assertEquals(started.started(), again.started());
+        assertEquals("PT5M", again.maxAge());
+        assertEquals("CLOSED", recorder.stop().state());
+        assertNull(recorder.dump());
+    }
+
+    @Test
+    @DisplayName("Should dump the mapper calls above the threshold with their collection sizes")
+    void shouldDumpMapperCalls() throws Exception {
+        // Given
+        final Function<List<Integer>, List<String>> slowMapper = values -> {
+            sleepMillis(5);
+            return values.stream().map(String::valueOf).toList();
+        };
+        final ProxyFactory proxyFactory = new ProxyFactory(slowMapper);
+        proxyFactory.addInterface(Function.class);
+        proxyFactory.addAdvice(new JfrMapperInterceptor("SlowMapper"));
+        @SuppressWarnings("unchecked")
+        final Function<List<Integer>, List<String>> mapper =
+                (Function<List<Integer>, List<String>>) proxyFactory.getProxy();
+        recorder.start(null, null, null);
+
+        // When
+        mapper.apply(List.of(1, 2, 3));
+        final Path dump = recorder.dump();
+
+        // Then
+        assertNotNull(dump);
+        try {
+            final RecordedEvent event = RecordingFile.readAllEvents(dump).stream()
+                    .filter(e -> e.getEventType().getName().equals("com.example.store.MapperCall"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("SlowMapper", event.getString("mapper"));
+            assertEquals("apply", event.getString("method"));
+            assertEquals(3, event.getInt("inputSize"));
+            assertEquals(3, event.getInt("outputSize"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static void sleepMillis(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.store.component.jfr;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("unit")
+@DisplayName("JfrRepositoryInterceptor - {Unit}")
+class JfrRepositoryInterceptorTest {
+
+    @Test
+    @DisplayName("Should count a scalar count or delete result as one row, not by its value")
+    void shouldCountScalarAsOneRow() {
+        assertEquals(1, JfrRepositoryInterceptor.rows(42L));
+        assertEquals(1, JfrRepositoryInterceptor.rows(0));
+    }
+
+    @Test
+    @DisplayName("Should count the elements of collections, slices and optionals")
+    void shouldCountElements() {
+        assertEquals(3, JfrRepositoryInterceptor.rows(List.of(1, 2, 3)));
+        assertEquals(2, JfrRepositoryInterceptor.rows(new SliceImpl<>(List.of("a", "b"))));
+        assertEquals(0, JfrRepositoryInterceptor.rows(Optional.empty()));
+        assertEquals(0, JfrRepositoryInterceptor.rows(null));
+        assertEquals(-1, JfrRepositoryInterceptor.rows(Stream.of(1)));
+    }
+}
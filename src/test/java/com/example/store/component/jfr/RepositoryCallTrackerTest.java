@@ -0,0 +1,65 @@
+package com.example.store.component.jfr;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("unit")
+@DisplayName("RepositoryCallTracker - {Unit}")
+class RepositoryCallTrackerTest {
+
+    @Test
+    @DisplayName("Should count nested statements towards every enclosing call")
+    void shouldCountNestedStatementsTowardsOuterCall() {
+        // Given
+        final RepositoryCallTracker outer = RepositoryCallTracker.start();
+        RepositoryCallTracker.recordStatement("select 1");
+
+        // When
+        final RepositoryCallTracker inner = RepositoryCallTracker.start();
+        RepositoryCallTracker.recordStatement("select 2");
+        inner.finish();
+        RepositoryCallTracker.recordStatement("select 3");
+        outer.finish();
+        RepositoryCallTracker.recordStatement("select 4");
+
+        // Then
+        assertEquals(1, inner.statements());
+        assertEquals("select 2", inner.sql());
+        assertEquals(3, outer.statements());
+        assertEquals("select 1;\nselect 2;\nselect 3", outer.sql());
+    }
+
+    @Test
+    @DisplayName("Should record nothing without a call being tracked")
+    void shouldIgnoreStatementsOutsideCall() {
+        // When
+        RepositoryCallTracker.recordStatement("select 1");
+        final RepositoryCallTracker tracker = RepositoryCallTracker.start();
+        tracker.finish();
+
+        // Then
+        assertEquals(0, tracker.statements());
+        assertEquals("", tracker.sql());
+    }
+
+    @Test
+    @DisplayName("Should cap the SQL at 4096 characters but keep counting statements")
+    void shouldTruncateSql() {
+        // Given
+        final RepositoryCallTracker tracker = RepositoryCallTracker.start();
+        final String statement = "x".repeat(3000);
+
+        // When
+        RepositoryCallTracker.recordStatement(statement);
+        RepositoryCallTracker.recordStatement(statement);
+        RepositoryCallTracker.recordStatement(statement);
+        tracker.finish();
+
+        // Then
+        assertEquals(3, tracker.statements());
+        assertEquals(4096, tracker.sql().length());
+    }
+}
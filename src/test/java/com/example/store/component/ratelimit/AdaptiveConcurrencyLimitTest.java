@@ -0,0 +1,123 @@
+package com.example.store.component.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("AdaptiveConcurrencyLimit - {Unit}")
+class AdaptiveConcurrencyLimitTest {
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private long now;
+    private AdaptiveConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        limit = new AdaptiveConcurrencyLimit(20, 5, 100, 0.5, 1.5, 0.9, WINDOW_NANOS, 10, () -> now);
+    }
+
+    /**
+     * Fills the limit, completes every request with {@code rttNanos} and moves past the window end.
+     */
+    private void saturatedWindow(final long rttNanos, final boolean dropped) {
+        final int admitted = limit.getLimit();
+        for (int i = 0; i < admitted; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        now += WINDOW_NANOS;
+        for (int i = 0; i < admitted; i++) {
+            limit.release(rttNanos, dropped);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject requests beyond the limit until a permit is released")
+    void shouldRejectBeyondLimit() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+
+        // When / Then
+        assertFalse(limit.tryAcquire());
+        assertEquals(20, limit.getInFlight());
+        limit.release(MILLI, false);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while latency is stable and demand reaches it")
+    void shouldGrowWhileLatencyStable() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            saturatedWindow(10 * MILLI, false);
+        }
+
+        // Then
+        assertTrue(limit.getLimit() > 20, "limit " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises above the tolerance")
+    void shouldShrinkWhenLatencyRises() {
+        // Given
+        saturatedWindow(10 * MILLI, false);
+        final int before = limit.getLimit();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            saturatedWindow(50 * MILLI, false);
+        }
+
+        // Then
+        assertTrue(limit.getLimit() < before, before + " -> " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should back off after a drop and never go below the minimum")
+    void shouldBackOffOnDrop() {
+        // When
+        saturatedWindow(10 * MILLI, true);
+
+        // Then
+        assertEquals(18, limit.getLimit());
+        for (int i = 0; i < 50; i++) {
+            saturatedWindow(10 * MILLI, true);
+        }
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while demand stays far below it")
+    void shouldNotGrowWhenIdle() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 10; j++) {
+                assertTrue(limit.tryAcquire());
+                now += WINDOW_NANOS / 10;
+                limit.release(10 * MILLI, false);
+            }
+        }
+
+        // Then
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent limits")
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimit(1, 5, 100, 0.5, 1.5, 0.9, WINDOW_NANOS, 10, () -> 0));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.store.component.ratelimit;
+
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConcurrencyLimitFilter - {Unit}")
+class ConcurrencyLimitFilterTest {
+
+    @Mock
+    private MessageSource messageSource;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimit limit;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // One permit, and a window that never closes, so the limit stays put
+        limit = new AdaptiveConcurrencyLimit(1, 1, 10, 0.5, 1.5, 0.9, TimeUnit.HOURS.toNanos(1), 1000,
+                System::nanoTime);
+        filter = new ConcurrencyLimitFilter(limit, 2, new Gson(), messageSource, meterRegistry);
+        lenient().when(messageSource.getMessage(anyString(), any(), anyString(), any()))
+                .thenReturn("Service is overloaded. Please retry after 2 second(s)");
+    }
+
+    private MockHttpServletResponse perform(final String path) throws ServletException, IOException {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, filterChain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should shed requests beyond the limit with 503 and Retry-After")
+    void shouldShedBeyondLimit() throws ServletException, IOException {
+        // Given
+        final MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        doAnswer(invocation -> {
+            nested[0] = perform("/orders");
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // When
+        final MockHttpServletResponse outer = perform("/orders");
+
+        // Then
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("2", nested[0].getHeader("Retry-After"));
+        assertTrue(nested[0].getContentAsString().contains("SERVICE_UNAVAILABLE"));
+        assertEquals(0, limit.getInFlight());
+        assertEquals(1.0, meterRegistry.get("store.concurrency.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("store.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the chain throws")
+    void shouldReleaseOnException() throws ServletException, IOException {
+        // Given
+        doThrow(new ServletException("boom")).when(filterChain).doFilter(any(), any());
+
+        // When
+        assertThrows(ServletException.class, () -> perform("/orders"));
+
+        // Then
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should keep the permit of an async request until it completes")
+    void shouldHoldPermitForAsyncRequest() throws ServletException, IOException {
+        // Given
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders");
+        request.setAsyncSupported(true);
+        doAnswer(invocation -> {
+            request.startAsync();
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        assertEquals(1, limit.getInFlight());
+        request.getAsyncContext().complete();
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should leave actuator endpoints unlimited")
+    void shouldExemptActuator() throws ServletException, IOException {
+        // Given
+        doAnswer(invocation -> {
+            assertEquals(0, limit.getInFlight());
+            ((HttpServletResponse) invocation.getArgument(1)).setStatus(200);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        // When
+        final MockHttpServletResponse response = perform("/actuator/health");
+
+        // Then
+        assertEquals(200, response.getStatus());
+    }
+}
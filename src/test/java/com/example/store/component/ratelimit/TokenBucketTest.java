@@ -0,0 +1,123 @@
+package com.example.store.component.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("TokenBucket - {Unit}")
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then reject")
+    void shouldAllowBurstUpToCapacity() {
+        // Given
+        final TokenBucket bucket = new TokenBucket(3, 1);
+
+        // When / Then
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(0));
+    }
+
+    @Test
+    @DisplayName("Should credit whole tokens without losing fractional refill time")
+    void shouldRefillWithoutLosingFractions() {
+        // Given - 2 tokens per second, i.e. one every 500ms
+        final TokenBucket bucket = new TokenBucket(2, 2);
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+
+        // When / Then - polling before a full token accrues must not reset the refill clock
+        assertFalse(bucket.tryAcquire(300));
+        assertEquals(1, bucket.availableTokens(500));
+        assertTrue(bucket.tryAcquire(500));
+        assertFalse(bucket.tryAcquire(700));
+        assertTrue(bucket.tryAcquire(1000));
+    }
+
+    @Test
+    @DisplayName("Should never refill beyond capacity")
+    void shouldCapRefillAtCapacity() {
+        // Given
+        final TokenBucket bucket = new TokenBucket(5, 100);
+        assertTrue(bucket.tryAcquire(0));
+
+        // Then
+        assertEquals(5, bucket.availableTokens(60_000));
+    }
+
+    @Test
+    @DisplayName("Should report the wait until the next token in whole seconds")
+    void shouldReportRetryAfter() {
+        // Given - one token per second
+        final TokenBucket bucket = new TokenBucket(1, 1);
+        assertTrue(bucket.tryAcquire(0));
+
+        // Then
+        assertEquals(1, bucket.retryAfterSeconds(0));
+        assertEquals(1, bucket.retryAfterSeconds(999));
+    }
+
+    @Test
+    @DisplayName("Should admit exactly capacity per key when threads race on the same buckets")
+    void shouldNotOverAdmitUnderContention() throws InterruptedException {
+        // Given - no time passes, so each key can admit exactly its capacity; every key sees 8 x 40 attempts
+        final int keys = 25;
+        final int threads = 8;
+        final long capacity = 10;
+        final TokenBucket[] buckets = new TokenBucket[keys];
+        for (int key = 0; key < keys; key++) {
+            buckets[key] = new TokenBucket(capacity, 1);
+        }
+        final AtomicLongArray admitted = new AtomicLongArray(keys);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < keys * 40; i++) {
+                        if (buckets[i % keys].tryAcquire(0)) {
+                            admitted.incrementAndGet(i % keys);
+                        }
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        // Then
+        for (int key = 0; key < keys; key++) {
+            assertEquals(capacity, admitted.get(key), "key " + key);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid configuration")
+    void shouldRejectInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(TokenBucket.MAX_CAPACITY + 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.store.component.timing;
+
+import com.example.store.config.observability.ServerTimingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Tag("unit")
+@DisplayName("ServerTimingFilter - {Unit}")
+class ServerTimingFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ServerTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ServerTimingFilter(new ServerTimingProperties(), meterRegistry, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticateAs(final String role) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "user@example.com", null, List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    /**
+     * Records what the hooks would for a request that ran three statements and hit the cache twice, then writes a body.
+     */
+    private final FilterChain chain = (req, res) -> {
+        final RequestTimings timings = TimingContext.current();
+        timings.recordAuth(TimeUnit.MICROSECONDS.toNanos(250));
+        timings.recordCacheLookup(true);
+        timings.recordCacheLookup(true);
+        timings.recordCacheLookup(false);
+        timings.recordQuery(1, TimeUnit.MILLISECONDS.toNanos(2));
+        timings.recordQuery(2, TimeUnit.MILLISECONDS.toNanos(3));
+        timings.recordSerialization(TimeUnit.MICROSECONDS.toNanos(120));
+        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/orders/{id}");
+        clock.set(TimeUnit.MILLISECONDS.toNanos(8));
+        res.getWriter().write("{}");
+        res.flushBuffer();
+    };
+
+    @Test
+    @DisplayName("Should send the timings recorded before the commit to callers with an exposed role")
+    void shouldSendServerTimingToExposedRoles() throws Exception {
+        // Given
+        authenticateAs("ADMIN");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders/1"), response, chain);
+
+        // Then
+        assertEquals("db;dur=5.00;desc=\"3 statements\", cache;desc=\"2 hits 1 misses\", auth;dur=0.25, "
+                + "ser;dur=0.12, app;dur=8.00", response.getHeader(ServerTimingFilter.HEADER));
+        assertNull(TimingContext.current());
+    }
+
+    @Test
+    @DisplayName("Should not send the timings to other callers")
+    void shouldNotSendServerTimingToOtherRoles() throws Exception {
+        // Given
+        authenticateAs("USER");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders/1"), response, chain);
+
+        // Then
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    @DisplayName("Should publish the timings of every request as metrics tagged by URI pattern")
+    void shouldPublishMetrics() throws Exception {
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/orders/1"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(3.0, meterRegistry.get("store.request.db.statements")
+                .tags("method", "GET", "uri", "/orders/{id}").summary().totalAmount());
+        assertEquals(5.0, meterRegistry.get("store.request.db.duration").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(2.0, meterRegistry.get("store.request.cache.lookups").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("store.request.cache.lookups").tag("result", "miss").counter().count());
+        assertEquals(250.0, meterRegistry.get("store.request.auth.duration").timer()
+                .totalTime(TimeUnit.MICROSECONDS));
+        assertEquals(120.0, meterRegistry.get("store.request.serialization.duration").timer()
+                .totalTime(TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    @DisplayName("Should publish the timings of an async request once its response completes")
+    void shouldPublishAsyncRequestOnCompletion() throws Exception {
+        // Given
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders");
+        request.setAsyncSupported(true);
+        final RequestTimings[] captured = new RequestTimings[1];
+        final FilterChain asyncChain = (req, res) -> {
+            captured[0] = TimingContext.current();
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/orders");
+            req.startAsync();
+        };
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+        final int publishedBeforeCompletion = meterRegistry.find("store.request.db.statements").meters().size();
+        // The streamed body runs its query on the async thread
+        captured[0].recordQuery(1, TimeUnit.MILLISECONDS.toNanos(4));
+        request.getAsyncContext().complete();
+
+        // Then
+        assertEquals(0, publishedBeforeCompletion);
+        assertEquals(1.0, meterRegistry.get("store.request.db.statements")
+                .tags("method", "GET", "uri", "/orders").summary().totalAmount());
+        assertEquals(4.0, meterRegistry.get("store.request.db.duration").timer().totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should leave actuator requests untimed")
+    void shouldSkipActuator() throws Exception {
+        // Given
+        final FilterChain chain = (req, res) -> assertNull(TimingContext.current());
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertEquals(0, meterRegistry.find("store.request.db.statements").meters().size());
+    }
+}
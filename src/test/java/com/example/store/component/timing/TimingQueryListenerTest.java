@@ -0,0 +1,68 @@
+package com.example.store.component.timing;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("unit")
+@DisplayName("TimingQueryListener - {Unit}")
+class TimingQueryListenerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TimingQueryListener listener = new TimingQueryListener(clock::get);
+
+    @AfterEach
+    void tearDown() {
+        TimingContext.bind(null);
+    }
+
+    @Test
+    @DisplayName("Should record sub-millisecond statements at nanosecond resolution")
+    void shouldRecordSubMillisecondStatement() {
+        // Given
+        final RequestTimings timings = new RequestTimings(0);
+        TimingContext.bind(timings);
+        final ExecutionInfo execInfo = new ExecutionInfo();
+        final List<QueryInfo> queries = List.of(new QueryInfo("select 1"));
+
+        // When
+        clock.set(1_000);
+        listener.beforeQuery(execInfo, queries);
+        clock.addAndGet(TimeUnit.MICROSECONDS.toNanos(350));
+        listener.afterQuery(execInfo, queries);
+
+        // Then
+        assertEquals(1, timings.getStatements());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(350), timings.getDbNanos());
+    }
+
+    @Test
+    @DisplayName("Should count every statement of a batch once")
+    void shouldCountBatchStatements() {
+        // Given
+        final RequestTimings timings = new RequestTimings(0);
+        TimingContext.bind(timings);
+        final ExecutionInfo execInfo = new ExecutionInfo();
+        execInfo.setBatch(true);
+        execInfo.setBatchSize(5);
+        final List<QueryInfo> queries = List.of(new QueryInfo("insert into t values (?)"));
+
+        // When
+        listener.beforeQuery(execInfo, queries);
+        clock.addAndGet(2_000);
+        listener.afterQuery(execInfo, queries);
+
+        // Then
+        assertEquals(5, timings.getStatements());
+        assertEquals(2_000, timings.getDbNanos());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.store.config;
+
+import com.example.store.component.cache.TimedCaffeineCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@Tag("unit")
+@DisplayName("CacheConfig - {Unit}")
+class CacheConfigTest {
+
+    private final CacheManager cacheManager = new CacheConfig().cacheManager();
+
+    @Test
+    @DisplayName("Should hand out timed caches under the requested name")
+    void shouldAdaptToTimedCaches() {
+        // When
+        final Cache cache = cacheManager.getCache("orders");
+
+        // Then
+        assertInstanceOf(TimedCaffeineCache.class, cache);
+        assertEquals("orders", cache.getName());
+        assertSame(cache, cacheManager.getCache("orders"));
+    }
+
+    @Test
+    @DisplayName("Should keep allowing null values")
+    void shouldAllowNullValues() {
+        // Given
+        final Cache cache = cacheManager.getCache("customers");
+
+        // When
+        cache.put("id_1", null);
+
+        // Then
+        final Cache.ValueWrapper cached = cache.get("id_1");
+        assertNotNull(cached);
+        assertNull(cached.get());
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.store.config;
 
-import com.example.store.config.adapter.ZonedDateTimeBiSerializer;
+import com.example.store.config.adapter.ZonedDateTimeTypeAdapter;
 import com.example.store.dto.CustomerDTO;
 import com.example.store.dto.error.ErrorDTO;
 import com.example.store.dto.error.ViolationDTO;
@@ -30,8 +30,7 @@ class GsonConfigTest {
     void setUp() {
         // Create Gson instance manually instead of using Spring context
         gson = new GsonBuilder()
-                .registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeBiSerializer())
-                .setPrettyPrinting()
+                .registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeTypeAdapter())
                 .create();
     }
 
@@ -130,6 +130,7 @@ class ZonedDateTimeBiSerializerTest {
         assertTrue(exception.getArgs().length > 0);
         assertEquals(invalidValue, exception.getArgs()[0]);
         assertEquals("Error parsing ZonedDateTime", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
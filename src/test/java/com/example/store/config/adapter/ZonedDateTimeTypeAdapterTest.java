@@ -0,0 +1,169 @@
+package com.example.store.config.adapter;
+
+import com.example.store.exception.LocalizedJsonParseException;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("ZonedDateTimeTypeAdapter - {Unit}")
+class ZonedDateTimeTypeAdapterTest {
+
+    private Gson gson;
+
+    @BeforeEach
+    void setUp() {
+        gson = new GsonBuilder()
+                .registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeTypeAdapter())
+                .create();
+    }
+
+    static Stream<ZonedDateTime> timestamps() {
+        final LocalDateTime base = LocalDateTime.of(2024, 2, 29, 23, 59, 58);
+        return Stream.of(
+                base.atZone(ZoneOffset.UTC),
+                base.withNano(1).atZone(ZoneOffset.UTC),
+                base.withNano(120_000_000).atZone(ZoneOffset.UTC),
+                base.withNano(123_456_789).atZone(ZoneOffset.UTC),
+                base.plusDays(1).atZone(ZoneOffset.UTC),
+                base.atZone(ZoneId.of("UTC")),
+                base.atZone(ZoneOffset.ofHoursMinutes(5, 30)),
+                base.atZone(ZoneOffset.ofHoursMinutesSeconds(-3, -15, -7)),
+                base.withNano(500).atZone(ZoneId.of("Europe/Amsterdam")),
+                base.atZone(ZoneId.of("America/Argentina/ComodRivadavia")),
+                LocalDateTime.of(1, 1, 1, 0, 0).atZone(ZoneOffset.UTC),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59).atZone(ZoneOffset.UTC),
+                LocalDateTime.of(10_000, 1, 1, 0, 0).atZone(ZoneOffset.UTC),
+                LocalDateTime.of(-1, 6, 15, 12, 0).atZone(ZoneOffset.ofHours(-8))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("timestamps")
+    @DisplayName("Should format exactly like ISO_ZONED_DATE_TIME")
+    void shouldFormatLikeIsoZonedDateTime(final ZonedDateTime value) {
+        // When
+        final String formatted = ZonedDateTimeTypeAdapter.format(value);
+
+        // Then
+        assertEquals(DateTimeFormatter.ISO_ZONED_DATE_TIME.format(value), formatted);
+    }
+
+    @Test
+    @DisplayName("Should refresh the cached UTC date prefix when the day changes")
+    void shouldRefreshCachedUtcPrefix() {
+        // Given
+        final ZonedDateTime first = ZonedDateTime.of(2024, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+        final ZonedDateTime sameDay = first.plusHours(5);
+        final ZonedDateTime nextDay = first.plusDays(1);
+
+        // When / Then
+        assertEquals("2024-01-01T10:00:00Z", ZonedDateTimeTypeAdapter.format(first));
+        assertEquals("2024-01-01T15:00:00Z", ZonedDateTimeTypeAdapter.format(sameDay));
+        assertEquals("2024-01-02T10:00:00Z", ZonedDateTimeTypeAdapter.format(nextDay));
+        assertEquals("2024-01-01T10:00:00Z", ZonedDateTimeTypeAdapter.format(first));
+    }
+
+    @Test
+    @DisplayName("Should keep the shared UTC date prefix consistent across threads writing different days")
+    void shouldShareUtcPrefixAcrossThreads() throws Exception {
+        // Given
+        final ZonedDateTime start = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        final List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            final ZonedDateTime day = start.plusDays(i % 4).plusMinutes(i);
+            tasks.add(() -> {
+                for (int round = 0; round < 1_000; round++) {
+                    if (!DateTimeFormatter.ISO_ZONED_DATE_TIME.format(day)
+                            .equals(ZonedDateTimeTypeAdapter.format(day))) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }
+
+        // When
+        final List<Future<Boolean>> results;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            results = executor.invokeAll(tasks);
+        }
+
+        // Then
+        for (final Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Should round-trip through Gson")
+    void shouldRoundTrip() {
+        // Given
+        final ZonedDateTime value = ZonedDateTime.of(2024, 5, 6, 7, 8, 9, 10_000, ZoneId.of("Europe/Amsterdam"));
+
+        // When
+        final String json = gson.toJson(value, ZonedDateTime.class);
+        final ZonedDateTime parsed = gson.fromJson(json, ZonedDateTime.class);
+
+        // Then
+        assertEquals("\"2024-05-06T07:08:09.00001+02:00[Europe/Amsterdam]\"", json);
+        assertEquals(value, parsed);
+    }
+
+    @Test
+    @DisplayName("Should handle null and blank values")
+    void shouldHandleNullAndBlank() {
+        // When / Then
+        assertEquals("null", gson.toJson(null, ZonedDateTime.class));
+        assertNull(gson.fromJson("null", ZonedDateTime.class));
+        assertNull(gson.fromJson("\"  \"", ZonedDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should throw LocalizedJsonParseException for an invalid timestamp")
+    void shouldThrowOnInvalidTimestamp() {
+        // When
+        final LocalizedJsonParseException exception = assertThrows(LocalizedJsonParseException.class,
+                () -> gson.fromJson("\"not-a-date\"", ZonedDateTime.class));
+
+        // Then
+        assertEquals("global.400.011", exception.getMessageKey());
+        assertArrayEquals(new Object[]{"not-a-date"}, exception.getArgs());
+    }
+
+    @Test
+    @DisplayName("Should throw LocalizedJsonParseException for a non-string value")
+    void shouldThrowOnNonStringValue() {
+        // When
+        final LocalizedJsonParseException exception = assertThrows(LocalizedJsonParseException.class,
+                () -> gson.fromJson("{\"a\":1}", ZonedDateTime.class));
+
+        // Then
+        assertEquals("global.400.011", exception.getMessageKey());
+        assertArrayEquals(new Object[]{null}, exception.getArgs());
+    }
+}
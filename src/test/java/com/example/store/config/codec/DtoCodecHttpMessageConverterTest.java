@@ -0,0 +1,264 @@
+package com.example.store.config.codec;
+
+import com.example.store.config.CodecConfig;
+import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
+import com.example.store.dto.auth.req.AuthReqDTO;
+import com.example.store.dto.auth.req.RegReqDTO;
+import com.example.store.dto.auth.resp.AuthRespDTO;
+import com.example.store.dto.error.ErrorDTO;
+import com.example.store.dto.error.ViolationDTO;
+import com.example.store.exception.LocalizedJsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("DtoCodecHttpMessageConverter - {Unit}")
+class DtoCodecHttpMessageConverterTest {
+    private static final Type CUSTOMER_LIST = new ParameterizedTypeReference<List<CustomerDTO>>() { }.getType();
+    private static final ZonedDateTime CREATED = ZonedDateTime.of(2024, 5, 1, 10, 15, 30, 123_000_000, ZoneOffset.ofHours(2));
+
+    private final DtoCodecHttpMessageConverter converter = new DtoCodecHttpMessageConverter(new CodecConfig().dtoCodecs());
+    // Configured like the Spring Boot ObjectMapper the codecs replace
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Nested
+    @DisplayName("When writing")
+    class WhenWriting {
+
+        @Test
+        @DisplayName("Then produce the same JSON as Jackson for every DTO")
+        void thenMatchJacksonOutput() throws IOException {
+            assertSameJsonAsJackson(customer());
+            assertSameJsonAsJackson(order());
+            assertSameJsonAsJackson(product());
+            assertSameJsonAsJackson(error());
+            assertSameJsonAsJackson(AuthRespDTO.builder().accessToken("a").refreshToken("r").tokenType("Bearer").expiresIn(3600L).build());
+            assertSameJsonAsJackson(new CustomerDTO());
+        }
+
+        @Test
+        @DisplayName("Then write lists of DTOs as JSON arrays")
+        void thenWriteLists() throws IOException {
+            // Given
+            final List<CustomerDTO> customers = List.of(customer(), customer());
+            final MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+            // When
+            converter.write(customers, CUSTOMER_LIST, MediaType.APPLICATION_JSON, output);
+
+            // Then
+            assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(customers)),
+                    objectMapper.readTree(output.getBodyAsString(StandardCharsets.UTF_8)));
+            assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+        }
+
+        @Test
+        @DisplayName("Then leave types without a codec to the next converter")
+        void thenIgnoreTypesWithoutCodec() {
+            assertFalse(converter.canWrite(String.class, String.class, MediaType.APPLICATION_JSON));
+            assertFalse(converter.canWrite(Map.class, Map.class, MediaType.APPLICATION_JSON));
+            assertFalse(converter.canWrite(new ParameterizedTypeReference<List<String>>() { }.getType(), List.class,
+                    MediaType.APPLICATION_JSON));
+            assertFalse(converter.canWrite(CustomerDTO.class, CustomerDTO.class, MediaType.APPLICATION_XML));
+            assertTrue(converter.canWrite(CUSTOMER_LIST, List.class, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Nested
+    @DisplayName("When reading")
+    class WhenReading {
+
+        @Test
+        @DisplayName("Then read what Jackson wrote for every DTO")
+        void thenRoundTripJacksonOutput() throws IOException {
+            assertEquals(customer(), read(CustomerDTO.class, objectMapper.writeValueAsString(customer())));
+            assertEquals(order(), read(OrderDTO.class, objectMapper.writeValueAsString(order())));
+            assertEquals(product(), read(ProductDTO.class, objectMapper.writeValueAsString(product())));
+            assertEquals(error(), read(ErrorDTO.class, objectMapper.writeValueAsString(error())));
+
+            final RegReqDTO regReqDTO = new RegReqDTO("John", "Doe", "john@example.com", "password123");
+            assertEquals(regReqDTO, read(RegReqDTO.class, objectMapper.writeValueAsString(regReqDTO)));
+            final AuthReqDTO authReqDTO = new AuthReqDTO("john@example.com", "password123");
+            assertEquals(authReqDTO, read(AuthReqDTO.class, objectMapper.writeValueAsString(authReqDTO)));
+        }
+
+        @Test
+        @DisplayName("Then skip unknown fields and coerce numeric strings")
+        void thenBeLenientLikeSpringBootJackson() throws IOException {
+            // When
+            final OrderDTO order = (OrderDTO) read(OrderDTO.class,
+                    "{\"description\":\"d\",\"customerId\":\"7\",\"extra\":{\"nested\":[1,2]},\"productIds\":[1,\"2\"]}");
+
+            // Then
+            assertEquals("d", order.getDescription());
+            assertEquals(7L, order.getCustomerId());
+            assertEquals(Set.of(1L, 2L), order.getProductIds());
+            assertNull(order.getId());
+        }
+
+        @Test
+        @DisplayName("Then read JSON arrays into lists")
+        void thenReadLists() throws IOException {
+            // Given
+            final MockHttpInputMessage input = input(objectMapper.writeValueAsString(List.of(customer())));
+
+            // When
+            final Object result = converter.read(CUSTOMER_LIST, null, input);
+
+            // Then
+            assertEquals(List.of(customer()), result);
+        }
+
+        @Test
+        @DisplayName("Then reject malformed JSON as unreadable")
+        void thenRejectMalformedJson() {
+            assertThrows(HttpMessageNotReadableException.class, () -> read(CustomerDTO.class, "{\"name\":"));
+            assertThrows(HttpMessageNotReadableException.class, () -> read(CustomerDTO.class, "[]"));
+            assertThrows(HttpMessageNotReadableException.class, () -> read(OrderDTO.class, "{\"customerId\":\"x\"}"));
+        }
+
+        @Test
+        @DisplayName("Then report unparsable timestamps with the localized message key")
+        void thenLocalizeTimestampErrors() {
+            final LocalizedJsonParseException exception = assertThrows(LocalizedJsonParseException.class,
+                    () -> read(CustomerDTO.class, "{\"created\":\"yesterday\"}"));
+            assertEquals("global.400.011", exception.getMessageKey());
+        }
+    }
+
+    @Nested
+    @DisplayName("When negotiating CBOR")
+    class WhenNegotiatingCbor {
+        private final DtoCodecHttpMessageConverter cborConverter = new DtoCodecHttpMessageConverter(
+                new CodecConfig().dtoCodecs(), new CBORFactory(), MediaType.APPLICATION_CBOR);
+        private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory())
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        @Test
+        @DisplayName("Then only handle application/cbor")
+        void thenOnlyHandleCbor() {
+            assertTrue(cborConverter.canWrite(CustomerDTO.class, CustomerDTO.class, MediaType.APPLICATION_CBOR));
+            assertFalse(cborConverter.canWrite(CustomerDTO.class, CustomerDTO.class, MediaType.APPLICATION_JSON));
+            assertFalse(converter.canWrite(CustomerDTO.class, CustomerDTO.class, MediaType.APPLICATION_CBOR));
+        }
+
+        @Test
+        @DisplayName("Then write the same document as Jackson's CBOR mapper, smaller than JSON")
+        void thenMatchJacksonCbor() throws IOException {
+            // Given
+            final List<CustomerDTO> customers = List.of(customer(), customer());
+            final MockHttpOutputMessage cbor = new MockHttpOutputMessage();
+            final MockHttpOutputMessage json = new MockHttpOutputMessage();
+
+            // When
+            cborConverter.write(customers, CUSTOMER_LIST, MediaType.APPLICATION_CBOR, cbor);
+            converter.write(customers, CUSTOMER_LIST, MediaType.APPLICATION_JSON, json);
+
+            // Then
+            assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(customers)),
+                    cborMapper.readTree(cbor.getBodyAsBytes()));
+            assertTrue(cbor.getBodyAsBytes().length < json.getBodyAsBytes().length);
+        }
+
+        @Test
+        @DisplayName("Then round-trip every DTO and error body")
+        void thenRoundTrip() throws IOException {
+            for (final Object value : List.of(customer(), order(), product(), error())) {
+                // Given
+                final MockHttpOutputMessage output = new MockHttpOutputMessage();
+                cborConverter.write(value, value.getClass(), MediaType.APPLICATION_CBOR, output);
+                final MockHttpInputMessage input = new MockHttpInputMessage(output.getBodyAsBytes());
+                input.getHeaders().setContentType(MediaType.APPLICATION_CBOR);
+
+                // When
+                final Object read = cborConverter.read(value.getClass(), null, input);
+
+                // Then
+                assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(value)),
+                        objectMapper.readTree(objectMapper.writeValueAsString(read)));
+            }
+        }
+    }
+
+    private void assertSameJsonAsJackson(final Object value) throws IOException {
+        final MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(value, value.getClass(), MediaType.APPLICATION_JSON, output);
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(value)),
+                objectMapper.readTree(output.getBodyAsString(StandardCharsets.UTF_8)));
+    }
+
+    private Object read(final Class<?> type, final String json) throws IOException {
+        return converter.read(type, null, input(json));
+    }
+
+    private static MockHttpInputMessage input(final String json) {
+        final MockHttpInputMessage input = new MockHttpInputMessage(json.getBytes(StandardCharsets.UTF_8));
+        input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return input;
+    }
+
+    private static CustomerDTO customer() {
+        final CustomerDTO customer = new CustomerDTO();
+        customer.setId(1L);
+        customer.setName("Jane \"JJ\" Doe");
+        customer.setOrders(Set.of(10L, 11L));
+        customer.setCreated(CREATED);
+        customer.setUpdated(CREATED.plusDays(1));
+        return customer;
+    }
+
+    private static OrderDTO order() {
+        final OrderDTO order = new OrderDTO();
+        order.setId(2L);
+        order.setDescription("Order");
+        order.setCustomerId(1L);
+        order.setProductIds(Set.of(3L));
+        order.setCreated(CREATED);
+        return order;
+    }
+
+    private static ProductDTO product() {
+        final ProductDTO product = new ProductDTO();
+        product.setId(3L);
+        product.setDescription("Product");
+        product.setSku(UUID.fromString("6f1c2a9e-8d7b-4b35-9a51-0f6f7c1d2e3a"));
+        product.setOrderIds(Set.of());
+        return product;
+    }
+
+    private static ErrorDTO error() {
+        return new ErrorDTO("BAD_REQUEST", "Validation failed",
+                List.of(new ViolationDTO("name", "", "must not be blank", "global.400.001")), CREATED);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.store.config.codec;
+
+import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
+import com.example.store.dto.auth.req.AuthReqDTO;
+import com.example.store.dto.auth.req.RegReqDTO;
+import com.example.store.dto.auth.resp.AuthRespDTO;
+import com.example.store.dto.error.ErrorDTO;
+import com.example.store.dto.error.ViolationDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+@DisplayName("DtoCodec - {Unit}")
+class DtoCodecTest {
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+    private static final ZonedDateTime CREATED = ZonedDateTime.of(2024, 5, 1, 10, 15, 30, 123_000_000, ZoneOffset.ofHours(2));
+    // An unknown field whose value nests objects and arrays, so skipping it has to skip the whole subtree
+    private static final String UNKNOWN = "\"extra\":{\"a\":[1,{\"name\":\"wrong\"}],\"b\":{}}";
+
+    @Nested
+    @DisplayName("When coding a CustomerDTO")
+    class WhenCodingCustomer {
+        private final CustomerDTOCodec codec = new CustomerDTOCodec();
+
+        @Test
+        @DisplayName("Then read back what it wrote")
+        void thenRoundTrip() throws IOException {
+            final CustomerDTO customer = new CustomerDTO();
+            customer.setId(1L);
+            customer.setName("Jane \"JJ\" Doe");
+            customer.setOrders(Set.of(10L, 11L));
+            customer.setCreated(CREATED);
+            customer.setUpdated(CREATED.plusDays(1));
+
+            assertEquals(customer, roundTrip(codec, customer));
+        }
+
+        @Test
+        @DisplayName("Then keep a null orders collection null")
+        void thenKeepNullCollection() throws IOException {
+            final CustomerDTO customer = new CustomerDTO();
+            customer.setName("Jane");
+
+            final String json = write(codec, customer);
+
+            assertEquals("{\"id\":null,\"created\":null,\"updated\":null,\"name\":\"Jane\",\"orders\":null}", json);
+            assertNull(read(codec, json).getOrders());
+        }
+
+        @Test
+        @DisplayName("Then skip unknown fields with nested values")
+        void thenSkipUnknownFields() throws IOException {
+            final CustomerDTO customer = read(codec, "{" + UNKNOWN + ",\"name\":\"Jane\",\"orders\":[1]}");
+
+            assertEquals("Jane", customer.getName());
+            assertEquals(Set.of(1L), customer.getOrders());
+        }
+
+        @Test
+        @DisplayName("Then reject values of the wrong type")
+        void thenRejectWrongTokens() {
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"orders\":1}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"name\":{\"first\":\"Jane\"}}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"id\":\"one\"}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "[{\"name\":\"Jane\"}]"));
+        }
+    }
+
+    @Nested
+    @DisplayName("When coding an OrderDTO")
+    class WhenCodingOrder {
+        private final OrderDTOCodec codec = new OrderDTOCodec();
+
+        @Test
+        @DisplayName("Then read back what it wrote")
+        void thenRoundTrip() throws IOException {
+            final OrderDTO order = new OrderDTO();
+            order.setId(2L);
+            order.setDescription("Order");
+            order.setCustomerId(1L);
+            order.setProductIds(Set.of(3L, 4L));
+            order.setCreated(CREATED);
+
+            assertEquals(order, roundTrip(codec, order));
+        }
+
+        @Test
+        @DisplayName("Then keep a null productIds collection null")
+        void thenKeepNullCollection() throws IOException {
+            final OrderDTO order = new OrderDTO();
+            order.setDescription("Order");
+
+            final OrderDTO read = roundTrip(codec, order);
+
+            assertNull(read.getProductIds());
+            assertNull(read.getCustomerId());
+        }
+
+        @Test
+        @DisplayName("Then skip unknown fields with nested values")
+        void thenSkipUnknownFields() throws IOException {
+            final OrderDTO order = read(codec, "{\"customerId\":7," + UNKNOWN + ",\"description\":\"d\"}");
+
+            assertEquals(7L, order.getCustomerId());
+            assertEquals("d", order.getDescription());
+        }
+
+        @Test
+        @DisplayName("Then reject values of the wrong type")
+        void thenRejectWrongTokens() {
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"customerId\":true}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"customerId\":1.5}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"productIds\":{\"id\":1}}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"description\":[\"d\"]}"));
+        }
+    }
+
+    @Nested
+    @DisplayName("When coding a ProductDTO")
+    class WhenCodingProduct {
+        private final ProductDTOCodec codec = new ProductDTOCodec();
+
+        @Test
+        @DisplayName("Then read back what it wrote")
+        void thenRoundTrip() throws IOException {
+            final ProductDTO product = new ProductDTO();
+            product.setId(3L);
+            product.setDescription("Product");
+            product.setSku(UUID.fromString("6f1c2a9e-8d7b-4b35-9a51-0f6f7c1d2e3a"));
+            product.setOrderIds(Set.of());
+            product.setUpdated(CREATED);
+
+            assertEquals(product, roundTrip(codec, product));
+        }
+
+        @Test
+        @DisplayName("Then keep a null sku and orderIds null")
+        void thenKeepNulls() throws IOException {
+            final ProductDTO product = new ProductDTO();
+            product.setDescription("Product");
+
+            final ProductDTO read = roundTrip(codec, product);
+
+            assertNull(read.getSku());
+            assertNull(read.getOrderIds());
+        }
+
+        @Test
+        @DisplayName("Then skip unknown fields with nested values")
+        void thenSkipUnknownFields() throws IOException {
+            final ProductDTO product = read(codec, "{" + UNKNOWN + ",\"description\":\"p\"}");
+
+            assertEquals("p", product.getDescription());
+        }
+
+        @Test
+        @DisplayName("Then reject values of the wrong type")
+        void thenRejectWrongTokens() {
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"sku\":\"not-a-uuid\"}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"sku\":{}}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"orderIds\":\"1\"}"));
+        }
+    }
+
+    @Nested
+    @DisplayName("When coding an ErrorDTO")
+    class WhenCodingError {
+        private final ErrorDTOCodec codec = new ErrorDTOCodec();
+
+        @Test
+        @DisplayName("Then read back what it wrote, including null violations")
+        void thenRoundTrip() throws IOException {
+            final ErrorDTO error = new ErrorDTO("BAD_REQUEST", "Validation failed",
+                    Arrays.asList(new ViolationDTO("name", "", "must not be blank", "global.400.001"), null),
+                    CREATED);
+
+            assertEquals(error, roundTrip(codec, error));
+        }
+
+        @Test
+        @DisplayName("Then keep a null violations list null")
+        void thenKeepNullCollection() throws IOException {
+            final ErrorDTO error = new ErrorDTO("NOT_FOUND", "Not found", null, null);
+
+            assertEquals(error, roundTrip(codec, error));
+        }
+
+        @Test
+        @DisplayName("Then skip unknown fields of the error and of its violations")
+        void thenSkipUnknownFields() throws IOException {
+            final ErrorDTO error = read(codec, "{" + UNKNOWN + ",\"name\":\"BAD_REQUEST\",\"violations\":[{"
+                    + UNKNOWN + ",\"field\":\"name\"}]}");
+
+            assertEquals("BAD_REQUEST", error.getName());
+            assertEquals(List.of(new ViolationDTO("name", null, null, null)), error.getViolations());
+        }
+
+        @Test
+        @DisplayName("Then reject violations that are not an array of objects")
+        void thenRejectMalformedViolations() {
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"violations\":{\"field\":\"name\"}}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"violations\":[\"name\"]}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"violations\":[{\"field\":[]}]}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"message\":{}}"));
+        }
+    }
+
+    @Nested
+    @DisplayName("When coding the auth DTOs")
+    class WhenCodingAuth {
+
+        @Test
+        @DisplayName("Then read back an AuthReqDTO and skip unknown fields")
+        void thenRoundTripAuthReq() throws IOException {
+            final AuthReqDTOCodec codec = new AuthReqDTOCodec();
+            final AuthReqDTO authReq = new AuthReqDTO("john@example.com", "password123");
+
+            assertEquals(authReq, roundTrip(codec, authReq));
+            assertEquals(authReq, read(codec,
+                    "{\"email\":\"john@example.com\"," + UNKNOWN + ",\"password\":\"password123\"}"));
+            assertEquals(new AuthReqDTO(null, null), roundTrip(codec, new AuthReqDTO(null, null)));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"email\":[\"john@example.com\"]}"));
+        }
+
+        @Test
+        @DisplayName("Then read back a RegReqDTO and skip unknown fields")
+        void thenRoundTripRegReq() throws IOException {
+            final RegReqDTOCodec codec = new RegReqDTOCodec();
+            final RegReqDTO regReq = new RegReqDTO("John", "Doe", "john@example.com", "password123");
+
+            assertEquals(regReq, roundTrip(codec, regReq));
+            assertEquals(regReq, read(codec, "{\"firstName\":\"John\",\"lastName\":\"Doe\"," + UNKNOWN
+                    + ",\"email\":\"john@example.com\",\"password\":\"password123\"}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"firstName\":{}}"));
+        }
+
+        @Test
+        @DisplayName("Then read back an AuthRespDTO and skip unknown fields")
+        void thenRoundTripAuthResp() throws IOException {
+            final AuthRespDTOCodec codec = new AuthRespDTOCodec();
+            final AuthRespDTO authResp = AuthRespDTO.builder()
+                    .accessToken("a").refreshToken("r").tokenType("Bearer").expiresIn(3600L).build();
+
+            assertEquals(authResp, roundTrip(codec, authResp));
+            assertEquals(authResp, read(codec, "{\"accessToken\":\"a\",\"refreshToken\":\"r\"," + UNKNOWN
+                    + ",\"tokenType\":\"Bearer\",\"expiresIn\":\"3600\"}"));
+            assertThrows(JsonParseException.class, () -> read(codec, "{\"expiresIn\":\"soon\"}"));
+        }
+    }
+
+    private static <T> T roundTrip(final DtoCodec<T> codec, final T value) throws IOException {
+        return read(codec, write(codec, value));
+    }
+
+    private static <T> String write(final DtoCodec<T> codec, final T value) throws IOException {
+        final StringWriter json = new StringWriter();
+        try (JsonGenerator generator = FACTORY.createGenerator(json)) {
+            codec.write(generator, value);
+        }
+        return json.toString();
+    }
+
+    /**
+     * Reads one object and checks the codec left the parser on its closing brace, as {@link DtoCodec#read} promises.
+     */
+    private static <T> T read(final DtoCodec<T> codec, final String json) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            parser.nextToken();
+            final T value = codec.read(parser);
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+            assertNull(parser.nextToken());
+            return value;
+        }
+    }
+}
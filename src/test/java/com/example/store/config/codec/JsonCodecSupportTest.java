@@ -0,0 +1,133 @@
+package com.example.store.config.codec;
+
+import com.example.store.exception.LocalizedJsonParseException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+@DisplayName("JsonCodecSupport - {Unit}")
+class JsonCodecSupportTest {
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+
+    @Nested
+    @DisplayName("When reading a long")
+    class WhenReadingLong {
+
+        @Test
+        @DisplayName("Then accept numbers, numeric strings and null")
+        void thenAcceptNumbers() throws IOException {
+            assertEquals(7L, JsonCodecSupport.readLong(value("7")));
+            assertEquals(7L, JsonCodecSupport.readLong(value("\" 7 \"")));
+            assertNull(JsonCodecSupport.readLong(value("null")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"\"seven\"", "\"\"", "1.5", "true", "[1]", "{}"})
+        @DisplayName("Then reject anything that is not a whole number")
+        void thenRejectMalformed(final String json) {
+            assertThrows(JsonParseException.class, () -> JsonCodecSupport.readLong(value(json)));
+        }
+    }
+
+    @Nested
+    @DisplayName("When reading a set of longs")
+    class WhenReadingLongs {
+
+        @Test
+        @DisplayName("Then keep the order, drop duplicates and read null as null")
+        void thenReadArray() throws IOException {
+            assertEquals(Set.of(3L, 1L), JsonCodecSupport.readLongs(value("[3,\"1\",3]")));
+            assertEquals(Set.of(), JsonCodecSupport.readLongs(value("[]")));
+            assertNull(JsonCodecSupport.readLongs(value("null")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"1", "\"1,2\"", "{}", "[1,\"x\"]", "[[1]]"})
+        @DisplayName("Then reject anything that is not an array of whole numbers")
+        void thenRejectMalformed(final String json) {
+            assertThrows(JsonParseException.class, () -> JsonCodecSupport.readLongs(value(json)));
+        }
+    }
+
+    @Nested
+    @DisplayName("When reading a UUID")
+    class WhenReadingUuid {
+
+        @Test
+        @DisplayName("Then parse the canonical form and read null as null")
+        void thenParseUuid() throws IOException {
+            final UUID uuid = UUID.fromString("6f1c2a9e-8d7b-4b35-9a51-0f6f7c1d2e3a");
+            assertEquals(uuid, JsonCodecSupport.readUuid(value("\"" + uuid + "\"")));
+            assertNull(JsonCodecSupport.readUuid(value("null")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"\"not-a-uuid\"", "\"\"", "42", "[]", "{}"})
+        @DisplayName("Then reject anything that is not a UUID string")
+        void thenRejectMalformed(final String json) {
+            assertThrows(JsonParseException.class, () -> JsonCodecSupport.readUuid(value(json)));
+        }
+    }
+
+    @Nested
+    @DisplayName("When reading a ZonedDateTime")
+    class WhenReadingZonedDateTime {
+
+        @Test
+        @DisplayName("Then parse ISO timestamps and read null or blank as null")
+        void thenParseTimestamp() throws IOException {
+            assertEquals(ZonedDateTime.of(2024, 5, 1, 10, 15, 30, 0, ZoneOffset.ofHours(2)),
+                    JsonCodecSupport.readZonedDateTime(value("\"2024-05-01T10:15:30+02:00\"")));
+            assertNull(JsonCodecSupport.readZonedDateTime(value("null")));
+            assertNull(JsonCodecSupport.readZonedDateTime(value("\" \"")));
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"\"yesterday\"", "\"2024-05-01\"", "\"2024-13-01T10:15:30Z\"", "1714551330"})
+        @DisplayName("Then report unparsable timestamps with the localized message key")
+        void thenLocalizeMalformed(final String json) {
+            final LocalizedJsonParseException exception = assertThrows(LocalizedJsonParseException.class,
+                    () -> JsonCodecSupport.readZonedDateTime(value(json)));
+            assertEquals("global.400.011", exception.getMessageKey());
+        }
+
+        @Test
+        @DisplayName("Then reject values that are not strings")
+        void thenRejectWrongToken() {
+            assertThrows(JsonParseException.class, () -> JsonCodecSupport.readZonedDateTime(value("{}")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should require an object where a DTO starts")
+    void shouldRequireStartObject() throws IOException {
+        assertThrows(JsonParseException.class, () -> JsonCodecSupport.requireStartObject(value("[]")));
+        JsonCodecSupport.requireStartObject(value("{}"));
+    }
+
+    /**
+     * @return a parser positioned on the first token of {@code json}
+     */
+    private static JsonParser value(final String json) throws IOException {
+        final JsonParser parser = FACTORY.createParser(json);
+        parser.nextToken();
+        return parser;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.store.config.i18n;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+@DisplayName("MessageCatalog - {Unit}")
+class MessageCatalogTest {
+
+    private MessageCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new MessageCatalog("i18n/messages", Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should render every bundled message exactly like ReloadableResourceBundleMessageSource")
+    void shouldMatchReloadableMessageSource() throws IOException {
+        // Given
+        final ReloadableResourceBundleMessageSource reference = new ReloadableResourceBundleMessageSource();
+        reference.setBasename("classpath:i18n/messages");
+        reference.setDefaultEncoding("UTF-8");
+        final Properties bundle = new Properties();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("i18n/messages.properties")) {
+            bundle.load(in);
+        }
+        final Object[] args = {12_500, "it's"};
+
+        // When / Then
+        for (final String code : bundle.stringPropertyNames()) {
+            for (final Locale locale : new Locale[]{Locale.ENGLISH, Locale.GERMANY}) {
+                assertEquals(reference.getMessage(code, null, locale), catalog.getMessage(code, null, locale), code);
+                assertEquals(reference.getMessage(code, args, locale), catalog.getMessage(code, args, locale), code);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep quotes as written without arguments and unescape them with arguments")
+    void shouldHandleQuotes() {
+        // When / Then
+        assertEquals("Invalid sort direction. Valid values are 'asc' and 'desc'",
+                catalog.getMessage("global.400.009", null, Locale.ENGLISH));
+        assertEquals("Parameter 'page' has invalid value: 'x'",
+                catalog.getMessage("global.400.010", new Object[]{"page", "x"}, Locale.ENGLISH));
+    }
+
+    @Test
+    @DisplayName("Should render the default message of an unknown code")
+    void shouldRenderDefaultMessage() {
+        // When / Then
+        assertEquals("Fallback 7", catalog.getMessage("missing.code", new Object[]{7}, "Fallback {0}", Locale.ENGLISH));
+        assertEquals("Fallback {0}", catalog.getMessage("missing.code", null, "Fallback {0}", Locale.ENGLISH));
+        assertNull(catalog.getMessage("missing.code", null, null, Locale.ENGLISH));
+        assertThrows(NoSuchMessageException.class, () -> catalog.getMessage("missing.code", null, Locale.ENGLISH));
+    }
+
+    @Test
+    @DisplayName("Should resolve resolvables, including resolvable arguments")
+    void shouldResolveResolvables() {
+        // Given
+        final DefaultMessageSourceResolvable field = new DefaultMessageSourceResolvable(
+                new String[]{"missing.field"}, "name");
+        final DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"missing.code", "global.400.013"}, new Object[]{field, "id, email"});
+
+        // When / Then
+        assertEquals("Unknown field 'name'. Allowed fields are: id, email",
+                catalog.getMessage(resolvable, Locale.ENGLISH));
+        assertThrows(NoSuchMessageException.class, () -> catalog.getMessage(
+                new DefaultMessageSourceResolvable(new String[]{"missing.code"}), Locale.ENGLISH));
+    }
+
+    @Test
+    @DisplayName("Should serve a reloaded snapshot")
+    void shouldReload() {
+        // Given
+        final MessageCatalog refreshing = new MessageCatalog("i18n/messages", Duration.ofNanos(1));
+
+        // When
+        refreshing.reload();
+
+        // Then
+        assertEquals("Email is required", refreshing.getMessage("auth.400.001", null, Locale.ENGLISH));
+        assertEquals("Email is required", refreshing.getMessage("auth.400.001", null, Locale.ENGLISH));
+    }
+}
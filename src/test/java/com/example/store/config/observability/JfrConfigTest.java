@@ -0,0 +1,68 @@
+package com.example.store.config.observability;
+
+import com.example.store.mapper.CustomerMapper;
+import com.example.store.persistence.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@Tag("unit")
+@DisplayName("JfrConfig - {Unit}")
+class JfrConfigTest {
+
+    private final BeanPostProcessor postProcessor = JfrConfig.jfrEventPostProcessor();
+
+    @Test
+    @DisplayName("Should wrap the MapStruct mappers in a proxy that still maps")
+    void shouldProxyMappers() {
+        // Given
+        final CustomerMapper mapper = Mappers.getMapper(CustomerMapper.class);
+        final Customer customer = new Customer();
+        customer.setName("Ada");
+
+        // When
+        final Object bean = postProcessor.postProcessAfterInitialization(mapper, "customerMapper");
+
+        // Then
+        assertTrue(AopUtils.isAopProxy(bean));
+        final CustomerMapper proxied = assertInstanceOf(CustomerMapper.class, bean);
+        assertEquals("Ada", proxied.toCustomerDTOWithoutOrders(customer).getName());
+    }
+
+    @Test
+    @DisplayName("Should leave beans that are not mappers as they are")
+    void shouldNotProxyOtherBeans() {
+        // Given
+        final Object bean = new JfrProperties();
+
+        // When / Then
+        assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "jfrProperties"));
+        assertSame(bean, postProcessor.postProcessBeforeInitialization(bean, "jfrProperties"));
+    }
+
+    @Test
+    @DisplayName("Should customise every repository factory so the repositories report their calls")
+    void shouldCustomiseRepositoryFactories() {
+        // Given
+        final RepositoryFactoryBeanSupport<?, ?, ?> factoryBean = mock(RepositoryFactoryBeanSupport.class);
+
+        // When
+        final Object bean = postProcessor.postProcessBeforeInitialization(factoryBean, "customerRepo");
+
+        // Then
+        assertSame(factoryBean, bean);
+        verify(factoryBean).addRepositoryFactoryCustomizer(any());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.store.config.observability;
+
+import com.example.store.component.ratelimit.ConcurrencyLimitFilter;
+import com.example.store.component.timing.ServerTimingFilter;
+import com.example.store.config.limit.ConcurrencyLimitConfig;
+import com.example.store.config.limit.ConcurrencyLimitProperties;
+import com.example.store.config.limit.DeadlineConfig;
+import com.example.store.config.limit.DeadlineProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@Tag("unit")
+@DisplayName("ServerTimingConfig - {Unit}")
+class ServerTimingConfigTest {
+
+    private final ServerTimingConfig config = new ServerTimingConfig(new ServerTimingProperties());
+
+    @Test
+    @DisplayName("Should register the filter after the concurrency limiter and ahead of the security chain")
+    void shouldRegisterFilterInOrder() {
+        // When
+        final FilterRegistrationBean<ServerTimingFilter> registration =
+                config.serverTimingFilterRegistration(new SimpleMeterRegistry());
+
+        // Then
+        assertEquals(SecurityProperties.DEFAULT_FILTER_ORDER - 8, registration.getOrder());
+        assertTrue(registration.getOrder() < SecurityProperties.DEFAULT_FILTER_ORDER);
+    }
+
+    @Test
+    @DisplayName("Should not time shed requests but time the deadline and the bulkheads")
+    void shouldRegisterFilterBetweenLimiterAndDeadline() {
+        // When
+        final int serverTiming = config.serverTimingFilterRegistration(new SimpleMeterRegistry()).getOrder();
+        final int concurrencyLimit = new ConcurrencyLimitConfig(new ConcurrencyLimitProperties())
+                .concurrencyLimitFilterRegistration(mock(ConcurrencyLimitFilter.class)).getOrder();
+        final int deadline = new DeadlineConfig(new DeadlineProperties()).deadlineFilterRegistration().getOrder();
+
+        // Then
+        assertTrue(concurrencyLimit < serverTiming);
+        assertTrue(serverTiming < deadline);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.store.config.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("PublicEndpoints - {Unit}")
+class PublicEndpointsTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/auth", "/auth/authenticate", "/auth/refresh-token",
+            "/actuator/health",
+            "/v3/api-docs", "/v3/api-docs/swagger-config",
+            "/swagger-ui/index.html", "/swagger-ui/swagger-ui.css",
+            "/swagger-ui.html"
+    })
+    @DisplayName("Should match the auth, health and documentation endpoints")
+    void shouldMatchPublicEndpoints(final String uri) {
+        assertTrue(PublicEndpoints.matches(request("", uri)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/authx", "/authx/authenticate", "/api/auth/authenticate",
+            "/actuator/health/liveness", "/actuator/jfr", "/actuator/metrics",
+            "/v3/api-docsx", "/swagger-uix/index.html",
+            "/customers", "/orders/1", "/"
+    })
+    @DisplayName("Should not match other endpoints, including ones that only share a prefix")
+    void shouldNotMatchOtherEndpoints(final String uri) {
+        assertFalse(PublicEndpoints.matches(request("", uri)));
+    }
+
+    @Test
+    @DisplayName("Should match the path below the context path")
+    void shouldStripContextPath() {
+        assertTrue(PublicEndpoints.matches(request("/store", "/store/auth/authenticate")));
+        assertTrue(PublicEndpoints.matches(request("/store", "/store/swagger-ui.html")));
+        assertFalse(PublicEndpoints.matches(request("/store", "/store/customers")));
+    }
+
+    @Test
+    @DisplayName("Should match only what follows the context path")
+    void shouldMatchOnlyBelowContextPath() {
+        assertFalse(PublicEndpoints.matches(request("/store", "/store/store/auth/authenticate")));
+        assertFalse(PublicEndpoints.matches(request("/auth", "/auth/customers")));
+    }
+
+    private static MockHttpServletRequest request(final String contextPath, final String uri) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setContextPath(contextPath);
+        return request;
+    }
+}
@@ -110,6 +110,27 @@ class ProductControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("When finding products by ids")
+    class WhenFindingProductsByIds {
+
+        @Test
+        @DisplayName("Then check the id cap and return the products in request order")
+        void thenReturnProductsInRequestOrder() {
+            // Given
+            final List<Long> ids = List.of(2L, 1L);
+            when(globalSearchProps.getMaxIds()).thenReturn(100);
+            when(productService.findProductsByIds(ids)).thenReturn(List.of(productDTOList.get(1), productDTOList.get(0)));
+
+            // When
+            List<ProductDTO> result = productController.findProductsByIds(ids);
+
+            // Then
+            assertEquals(List.of(2L, 1L), result.stream().map(ProductDTO::getId).toList());
+            verify(pageableBuilder).checkMaxIds(ids, 100);
+        }
+    }
+
     @Nested
     @DisplayName("When finding products")
     class WhenFindingProducts {
@@ -1,5 +1,7 @@
 package com.example.store.controller.auth;
 
+import com.example.store.component.auth.token.RefreshTokenRevocationIndex;
+import com.example.store.component.idempotency.IdempotencyStore;
 import com.example.store.config.security.JwtProperties;
 import com.example.store.controller.handler.FieldErrorExtractor;
 import com.example.store.dto.auth.req.AuthReqDTO;
@@ -52,6 +54,12 @@ class AuthControllerTest {
     @MockBean
     private JwtProperties jwtProperties;
 
+    @MockBean
+    private RefreshTokenRevocationIndex refreshTokenRevocationIndex;
+
+    @MockBean
+    private IdempotencyStore idempotencyStore;
+
     @MockBean
     private FieldErrorExtractor fieldErrorExtractor;
 
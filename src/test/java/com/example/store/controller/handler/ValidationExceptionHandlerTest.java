@@ -7,6 +7,7 @@ import com.example.store.exception.CustomerNotFoundException;
 import com.example.store.exception.EmailAlreadyExistsException;
 import com.example.store.exception.InvalidRefreshTokenException;
 import com.example.store.exception.LocalizedJsonParseException;
+import com.example.store.exception.PasswordHashingRejectedException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -297,6 +298,33 @@ class ValidationExceptionHandlerTest {
         }
     }
 
+    @Nested
+    @DisplayName("When handling PasswordHashingRejectedException")
+    class WhenHandlingPasswordHashingRejectedException {
+
+        @Test
+        @DisplayName("Then create ErrorDTO with TOO_MANY_REQUESTS status")
+        void thenCreateErrorDTOWithTooManyRequestsStatus() {
+            // Given
+            String errorCode = "auth.429.001";
+            String resolvedMessage = "Too many authentication requests. Please retry shortly";
+            PasswordHashingRejectedException exception = new PasswordHashingRejectedException(errorCode);
+
+            when(messageSource.getMessage(eq(errorCode), isNull(), eq("Too many authentication requests"), any(Locale.class)))
+                    .thenReturn(resolvedMessage);
+
+            // When
+            ErrorDTO result = validationExceptionHandler.handlePasswordHashingRejected(exception);
+
+            // Then
+            assertNotNull(result);
+            assertEquals(resolvedMessage, result.getMessage());
+            assertEquals("TOO_MANY_REQUESTS", result.getName());
+            assertNull(result.getViolations());
+            assertNotNull(result.getTimestamp());
+        }
+    }
+
     @Nested
     @DisplayName("When handling BadCredentialsException")
     class WhenHandlingBadCredentialsException {
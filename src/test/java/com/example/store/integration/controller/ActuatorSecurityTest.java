@@ -0,0 +1,122 @@
+package com.example.store.integration.controller;
+
+import com.example.store.StoreApp;
+import com.example.store.dto.auth.req.AuthReqDTO;
+import com.example.store.dto.auth.resp.AuthRespDTO;
+import com.example.store.integration.config.IntTestConfig;
+import com.example.store.persistence.entity.Role;
+import com.example.store.persistence.entity.User;
+import com.example.store.persistence.repo.UserRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = StoreApp.class)
+@AutoConfigureMockMvc
+@Tag("int")
+@DisplayName("Integration Test - Actuator Security")
+@Transactional
+@Testcontainers
+@ActiveProfiles("int")
+@Import(IntTestConfig.class)
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userRepo.deleteAll();
+        userToken = authenticate("user@example.com", Role.USER);
+        adminToken = authenticate("admin@example.com", Role.ADMIN);
+    }
+
+    @Nested
+    @DisplayName("When accessing the JFR endpoints as a USER")
+    class WhenAccessingJfrEndpointsAsUser {
+
+        @Test
+        @DisplayName("Then return 403 when reading the recording status")
+        void thenReturn403WhenReadingJfrStatus() throws Exception {
+            mockMvc.perform(get("/actuator/jfr")
+                            .header("Authorization", userToken))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("Then return 403 when downloading the recording")
+        void thenReturn403WhenDownloadingJfrDump() throws Exception {
+            mockMvc.perform(get("/actuator/jfrdump")
+                            .header("Authorization", userToken))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("When accessing the JFR endpoints as an ADMIN")
+    class WhenAccessingJfrEndpointsAsAdmin {
+
+        @Test
+        @DisplayName("Then return 200 when reading the recording status")
+        void thenReturn200WhenReadingJfrStatus() throws Exception {
+            mockMvc.perform(get("/actuator/jfr")
+                            .header("Authorization", adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.state").exists());
+        }
+    }
+
+    private String authenticate(final String email, final Role role) throws Exception {
+        userRepo.save(User.builder()
+                .firstName("Test")
+                .lastName(role.name())
+                .email(email)
+                .password(passwordEncoder.encode("password"))
+                .role(role)
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .build());
+
+        final MvcResult result = mockMvc.perform(post("/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthReqDTO(email, "password"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return "Bearer " + objectMapper.readValue(result.getResponse().getContentAsString(), AuthRespDTO.class)
+                .accessToken();
+    }
+}
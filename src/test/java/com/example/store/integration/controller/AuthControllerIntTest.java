@@ -25,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -132,11 +133,42 @@ class AuthControllerIntTest {
                         .header("Authorization", refreshToken))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accessToken").isNotEmpty())
-                .andExpect(jsonPath("$.refreshToken").value(refreshToken)) // Same refresh token should be returned
+                .andExpect(jsonPath("$.refreshToken").value(not(refreshToken))) // Refresh token is rotated on use
                 .andExpect(jsonPath("$.tokenType").value("Bearer"))
                 .andExpect(jsonPath("$.expiresIn").isNumber());
     }
 
+    @Test
+    @DisplayName("Should revoke the whole token family when a rotated refresh token is reused")
+    void shouldRevokeTokenFamilyOnRefreshTokenReuse() throws Exception {
+        // Given
+        final RegReqDTO regReqDTO = new RegReqDTO("Eve", "Replay", "eve.replay@example.com", "password123");
+        final MvcResult registerResult = mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(regReqDTO)))
+                .andExpect(status().isOk())
+                .andReturn();
+        final String originalToken = objectMapper.readValue(
+                registerResult.getResponse().getContentAsString(), AuthRespDTO.class).refreshToken();
+
+        final MvcResult rotateResult = mockMvc.perform(post("/auth/refresh-token")
+                        .header("Authorization", originalToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        final String rotatedToken = objectMapper.readValue(
+                rotateResult.getResponse().getContentAsString(), AuthRespDTO.class).refreshToken();
+
+        // When - the spent token is replayed
+        mockMvc.perform(post("/auth/refresh-token")
+                        .header("Authorization", originalToken))
+                .andExpect(status().isUnauthorized());
+
+        // Then - its legitimate successor is revoked too
+        mockMvc.perform(post("/auth/refresh-token")
+                        .header("Authorization", rotatedToken))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Nested
     @DisplayName("Register Endpoint Validation Tests")
     class RegisterEndpointValidationTests {
@@ -397,7 +397,9 @@ class OrderControllerIntTest {
                     .andExpect(status().isBadRequest())
                     .andExpect(jsonPath("$.violations", hasSize(1)))
                     .andExpect(jsonPath("$.violations[0].field").value("productIds"))
-                    .andExpect(jsonPath("$.violations[0].errMsg").value("order.400.001"));
+                    .andExpect(jsonPath("$.violations[0].errMsg")
+                            .value("Invalid Order. An order should have 1 or more product/s"))
+                    .andExpect(jsonPath("$.violations[0].errCode").value("order.400.001"));
         }
     }
 }
\ No newline at end of file
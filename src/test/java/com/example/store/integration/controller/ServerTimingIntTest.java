@@ -0,0 +1,112 @@
+package com.example.store.integration.controller;
+
+import com.example.store.StoreApp;
+import com.example.store.component.timing.ServerTimingFilter;
+import com.example.store.dto.auth.req.AuthReqDTO;
+import com.example.store.dto.auth.resp.AuthRespDTO;
+import com.example.store.integration.config.IntTestConfig;
+import com.example.store.persistence.entity.Role;
+import com.example.store.persistence.entity.User;
+import com.example.store.persistence.repo.UserRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = StoreApp.class)
+@AutoConfigureMockMvc
+@Tag("int")
+@DisplayName("Integration Test - Server-Timing Header")
+@Transactional
+@Testcontainers
+@ActiveProfiles("int")
+@Import(IntTestConfig.class)
+class ServerTimingIntTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userRepo.deleteAll();
+        userToken = authenticate("user@example.com", Role.USER);
+        adminToken = authenticate("admin@example.com", Role.ADMIN);
+    }
+
+    @Nested
+    @DisplayName("When calling the API")
+    class WhenCallingApi {
+
+        @Test
+        @DisplayName("Then add the request timings for an ADMIN")
+        void thenAddServerTimingForAdmin() throws Exception {
+            mockMvc.perform(get("/products")
+                            .header("Authorization", adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(ServerTimingFilter.HEADER, containsString("db;dur=")));
+        }
+
+        @Test
+        @DisplayName("Then leave the request timings out for a USER")
+        void thenOmitServerTimingForUser() throws Exception {
+            mockMvc.perform(get("/products")
+                            .header("Authorization", userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(ServerTimingFilter.HEADER));
+        }
+    }
+
+    private String authenticate(final String email, final Role role) throws Exception {
+        userRepo.save(User.builder()
+                .firstName("Test")
+                .lastName(role.name())
+                .email(email)
+                .password(passwordEncoder.encode("password"))
+                .role(role)
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .build());
+
+        final MvcResult result = mockMvc.perform(post("/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthReqDTO(email, "password"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        return "Bearer " + objectMapper.readValue(result.getResponse().getContentAsString(), AuthRespDTO.class)
+                .accessToken();
+    }
+}
@@ -0,0 +1,654 @@
+package com.example.store.integration.controller;
+
+import com.example.store.StoreApp;
+import com.example.store.component.auth.token.RefreshTokenRevocationIndex;
+import com.example.store.dto.auth.resp.AuthRespDTO;
+import com.example.store.integration.config.IntTestConfig;
+import com.example.store.persistence.entity.AbstractSuperEntity;
+import com.example.store.persistence.entity.Customer;
+import com.example.store.persistence.entity.Order;
+import com.example.store.persistence.entity.Product;
+import com.example.store.persistence.entity.ProductOrder;
+import com.example.store.persistence.entity.Role;
+import com.example.store.persistence.entity.User;
+import com.example.store.persistence.repo.CustomerRepo;
+import com.example.store.persistence.repo.IdempotencyRecordRepo;
+import com.example.store.persistence.repo.OrderRepo;
+import com.example.store.persistence.repo.ProductOrderRepo;
+import com.example.store.persistence.repo.ProductRepo;
+import com.example.store.persistence.repo.RefreshTokenRepo;
+import com.example.store.persistence.repo.UserRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.quickperf.junit5.QuickPerfTest;
+import org.quickperf.spring.sql.QuickPerfSqlConfig;
+import org.quickperf.sql.annotation.ExpectInsert;
+import org.quickperf.sql.annotation.ExpectSelect;
+import org.quickperf.sql.annotation.ExpectUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each endpoint issues. List and multi-get endpoints are checked at several
+ * sizes with the same expectation, so a query per row (an N+1) fails the larger sizes.
+ * <p>
+ * The Spring Boot 2 starter's auto-configuration is not picked up by Boot 3, so the QuickPerf data source proxy is
+ * imported explicitly. Statements run by {@code setUp} are not counted, and the persistence context is cleared
+ * before each test so nothing is served from it. Streamed lists are read once at {@link #ROWS}, more than fit in a
+ * buffered page.
+ */
+@SpringBootTest(classes = StoreApp.class)
+@AutoConfigureMockMvc
+@Tag("int")
+@DisplayName("SQL statement counts - {int}")
+@Transactional
+@Testcontainers
+@ActiveProfiles("int")
+@Import({IntTestConfig.class, QuickPerfSqlConfig.class})
+@QuickPerfTest
+class SqlStatementCountIntTest {
+    // More rows than the largest page below, so every page is full and Spring Data always runs its count query
+    private static final int ROWS = 110;
+    // Every authenticated request starts with the JWT filter loading its principal
+    private static final int PRINCIPAL = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private RefreshTokenRevocationIndex revocationIndex;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CustomerRepo customerRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private ProductOrderRepo productOrderRepo;
+
+    @Autowired
+    private RefreshTokenRepo refreshTokenRepo;
+
+    @Autowired
+    private IdempotencyRecordRepo idempotencyRecordRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private String authToken;
+    private String refreshToken;
+    private List<Customer> customers;
+    private List<Order> orders;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+
+        idempotencyRecordRepo.deleteAllInBatch();
+        refreshTokenRepo.deleteAllInBatch();
+        productOrderRepo.deleteAllInBatch();
+        orderRepo.deleteAllInBatch();
+        customerRepo.deleteAllInBatch();
+        productRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+
+        userRepo.save(User.builder()
+                .firstName("Test")
+                .lastName("User")
+                .email("test@example.com")
+                .password(passwordEncoder.encode("password"))
+                .role(Role.USER)
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .build());
+
+        final MvcResult result = mockMvc.perform(post("/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"test@example.com\",\"password\":\"password\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        final AuthRespDTO tokens = objectMapper.readValue(result.getResponse().getContentAsString(), AuthRespDTO.class);
+        authToken = "Bearer " + tokens.accessToken();
+        refreshToken = tokens.refreshToken();
+
+        customers = new ArrayList<>();
+        products = new ArrayList<>();
+        orders = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            final Customer customer = new Customer();
+            customer.setName("Customer " + i);
+            customers.add(customer);
+
+            final Product product = new Product();
+            product.setDescription("Product " + i);
+            product.setSku(UUID.randomUUID());
+            products.add(product);
+        }
+        customerRepo.saveAll(customers);
+        productRepo.saveAll(products);
+
+        // Ten customers with eleven orders each; every order holds two products
+        final List<ProductOrder> productOrders = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            final Order order = new Order();
+            order.setDescription("Order " + i);
+            order.setCustomer(customers.get(i % 10));
+            orders.add(order);
+
+            productOrders.add(productOrder(order, products.get(i)));
+            productOrders.add(productOrder(order, products.get((i + 1) % ROWS)));
+        }
+        orderRepo.saveAll(orders);
+        productOrderRepo.saveAll(productOrders);
+
+        // Build the revocation filter now rather than inside the first measured request
+        revocationIndex.isRevoked(UUID.randomUUID());
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        entityManager.clear();
+    }
+
+    private static ProductOrder productOrder(final Order order, final Product product) {
+        final ProductOrder productOrder = new ProductOrder();
+        productOrder.setOrder(order);
+        productOrder.setProduct(product);
+        productOrder.setQuantity(1);
+        productOrder.setPrice(BigDecimal.ONE);
+        return productOrder;
+    }
+
+    private void list(final String path, final int limit) throws Exception {
+        mockMvc.perform(get(path)
+                        .param("limit", String.valueOf(limit))
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(limit)));
+    }
+
+    private void listWith(final String path, final String param, final String value, final int limit) throws Exception {
+        mockMvc.perform(get(path)
+                        .param(param, value)
+                        .param("limit", String.valueOf(limit))
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(limit)));
+    }
+
+    private void multiGet(final String path, final List<? extends AbstractSuperEntity> entities, final int count)
+            throws Exception {
+        final String ids = entities.stream()
+                .limit(count)
+                .map(entity -> String.valueOf(entity.getId()))
+                .collect(Collectors.joining(","));
+        mockMvc.perform(get(path)
+                        .param("ids", ids)
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(count)));
+    }
+
+    private void getOne(final String path, final Long id) throws Exception {
+        mockMvc.perform(get(path + "/" + id)
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id));
+    }
+
+    private void getOne(final String path, final Long id, final String include) throws Exception {
+        mockMvc.perform(get(path + "/" + id)
+                        .param("include", include)
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id));
+    }
+
+    private void stream(final String path, final int limit) throws Exception {
+        final MvcResult started = mockMvc.perform(get(path)
+                        .param("stream", "true")
+                        .param("limit", String.valueOf(limit))
+                        .header("Authorization", authToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(limit)));
+    }
+
+    private void create(final String path, final String json) throws Exception {
+        mockMvc.perform(post(path)
+                        .header("Authorization", authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(jsonPath("$.id").isNotEmpty());
+    }
+
+    @Nested
+    @DisplayName("CustomerController")
+    class CustomerControllerStatements {
+
+        // Page, count, and the order ids of the whole page
+        @Test
+        @ExpectSelect(PRINCIPAL + 3)
+        @DisplayName("Then list 5 customers with a constant number of selects")
+        void thenList5() throws Exception {
+            list("/customers", 5);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 3)
+        @DisplayName("Then list 25 customers with a constant number of selects")
+        void thenList25() throws Exception {
+            list("/customers", 25);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 3)
+        @DisplayName("Then list 100 customers with a constant number of selects")
+        void thenList100() throws Exception {
+            list("/customers", 100);
+        }
+
+        // Matching customers and their order ids; a name search runs no count query
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then search 5 customers by name with a constant number of selects")
+        void thenSearch5() throws Exception {
+            listWith("/customers", "name", "customer", 5);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then search 25 customers by name with a constant number of selects")
+        void thenSearch25() throws Exception {
+            listWith("/customers", "name", "customer", 25);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then search 100 customers by name with a constant number of selects")
+        void thenSearch100() throws Exception {
+            listWith("/customers", "name", "customer", 100);
+        }
+
+        // One IN query for the customers and one for their order ids
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then multi-get 5 customers with a constant number of selects")
+        void thenMultiGet5() throws Exception {
+            multiGet("/customers", customers, 5);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then multi-get 25 customers with a constant number of selects")
+        void thenMultiGet25() throws Exception {
+            multiGet("/customers", customers, 25);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then multi-get 100 customers with a constant number of selects")
+        void thenMultiGet100() throws Exception {
+            multiGet("/customers", customers, 100);
+        }
+
+        // The customer and its orders collection
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then get a customer by id")
+        void thenGetById() throws Exception {
+            getOne("/customers", customers.getFirst().getId());
+        }
+
+        // The customer, then its eleven orders with one query for them and one for their product ids
+        @Test
+        @ExpectSelect(PRINCIPAL + 4)
+        @DisplayName("Then get a customer with its orders included")
+        void thenGetWithIncludes() throws Exception {
+            getOne("/customers", customers.getFirst().getId(), "orders");
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL)
+        @ExpectInsert(1)
+        @DisplayName("Then create a customer with a single insert")
+        void thenCreate() throws Exception {
+            create("/customers", "{\"name\":\"New Customer\"}");
+        }
+    }
+
+    @Nested
+    @DisplayName("OrderController")
+    class OrderControllerStatements {
+
+        // Page, count, and the product ids of the whole page
+        @Test
+        @ExpectSelect(PRINCIPAL + 3)
+        @DisplayName("Then list 5 orders with a constant number of selects")
+        void thenList5() throws Exception {
+            list("/orders", 5);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 3)
+        @DisplayName("Then list 25 orders with a constant number of selects")
+        void thenList25() throws Exception {
+            list("/orders", 25);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 3)
+        @DisplayName("Then list 100 orders with a constant number of selects")
+        void thenList100() throws Exception {
+            list("/orders", 100);
+        }
+
+        // The selected columns and the product ids of the whole page
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then list 5 orders' sparse fields with a constant number of selects")
+        void thenListFields5() throws Exception {
+            listWith("/orders", "fields", "id,description,productIds", 5);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then list 25 orders' sparse fields with a constant number of selects")
+        void thenListFields25() throws Exception {
+            listWith("/orders", "fields", "id,description,productIds", 25);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then list 100 orders' sparse fields with a constant number of selects")
+        void thenListFields100() throws Exception {
+            listWith("/orders", "fields", "id,description,productIds", 100);
+        }
+
+        // One IN query for the orders and one for their product ids
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then multi-get 5 orders with a constant number of selects")
+        void thenMultiGet5() throws Exception {
+            multiGet("/orders", orders, 5);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then multi-get 25 orders with a constant number of selects")
+        void thenMultiGet25() throws Exception {
+            multiGet("/orders", orders, 25);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then multi-get 100 orders with a constant number of selects")
+        void thenMultiGet100() throws Exception {
+            multiGet("/orders", orders, 100);
+        }
+
+        // The order and its products collection; the customer id comes from the foreign key
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then get an order by id")
+        void thenGetById() throws Exception {
+            getOne("/orders", orders.getFirst().getId());
+        }
+
+        // The order, then two queries each for its customer and its products
+        @Test
+        @ExpectSelect(PRINCIPAL + 6)
+        @DisplayName("Then get an order with its customer and products included")
+        void thenGetWithIncludes() throws Exception {
+            getOne("/orders", orders.getFirst().getId(), "customer,products");
+        }
+
+        // The customer lookup, then the insert
+        @Test
+        @ExpectSelect(PRINCIPAL + 1)
+        @ExpectInsert(1)
+        @DisplayName("Then create an order with a single insert")
+        void thenCreate() throws Exception {
+            create("/orders", "{\"description\":\"New Order\",\"customerId\":%d,\"productIds\":[]}"
+                    .formatted(customers.getFirst().getId()));
+        }
+    }
+
+    @Nested
+    @DisplayName("ProductController")
+    class ProductControllerStatements {
+
+        // Page, count, and the order ids of the whole page
+        @Test
+        @ExpectSelect(PRINCIPAL + 3)
+        @DisplayName("Then list 5 products with a constant number of selects")
+        void thenList5() throws Exception {
+            list("/products", 5);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 3)
+        @DisplayName("Then list 25 products with a constant number of selects")
+        void thenList25() throws Exception {
+            list("/products", 25);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 3)
+        @DisplayName("Then list 100 products with a constant number of selects")
+        void thenList100() throws Exception {
+            list("/products", 100);
+        }
+
+        // The selected columns and the order ids of the whole page
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then list 5 products' sparse fields with a constant number of selects")
+        void thenListFields5() throws Exception {
+            listWith("/products", "fields", "id,sku,orderIds", 5);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then list 25 products' sparse fields with a constant number of selects")
+        void thenListFields25() throws Exception {
+            listWith("/products", "fields", "id,sku,orderIds", 25);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then list 100 products' sparse fields with a constant number of selects")
+        void thenListFields100() throws Exception {
+            listWith("/products", "fields", "id,sku,orderIds", 100);
+        }
+
+        // One IN query for the products and one for their order ids
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then multi-get 5 products with a constant number of selects")
+        void thenMultiGet5() throws Exception {
+            multiGet("/products", products, 5);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then multi-get 25 products with a constant number of selects")
+        void thenMultiGet25() throws Exception {
+            multiGet("/products", products, 25);
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then multi-get 100 products with a constant number of selects")
+        void thenMultiGet100() throws Exception {
+            multiGet("/products", products, 100);
+        }
+
+        // The product and its product-order rows
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then get a product by id")
+        void thenGetById() throws Exception {
+            getOne("/products", products.getFirst().getId());
+        }
+
+        // The product, then its two orders with one query for them and one for their product ids
+        @Test
+        @ExpectSelect(PRINCIPAL + 4)
+        @DisplayName("Then get a product with its orders included")
+        void thenGetWithIncludes() throws Exception {
+            getOne("/products", products.getFirst().getId(), "orders");
+        }
+
+        @Test
+        @ExpectSelect(PRINCIPAL)
+        @ExpectInsert(1)
+        @DisplayName("Then create a product with a single insert")
+        void thenCreate() throws Exception {
+            create("/products", "{\"description\":\"New Product\",\"sku\":\"%s\"}".formatted(UUID.randomUUID()));
+        }
+    }
+
+    /**
+     * A streamed body is read on the async request thread in its own transaction, which cannot see rows the test
+     * transaction has not committed; these tests run without one and clean up after themselves.
+     */
+    @Nested
+    @DisplayName("Streamed lists")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class StreamStatements {
+
+        @AfterEach
+        void tearDown() {
+            idempotencyRecordRepo.deleteAllInBatch();
+            refreshTokenRepo.deleteAllInBatch();
+            productOrderRepo.deleteAllInBatch();
+            orderRepo.deleteAllInBatch();
+            customerRepo.deleteAllInBatch();
+            productRepo.deleteAllInBatch();
+            userRepo.deleteAllInBatch();
+        }
+
+        // The stream, and the order ids of each fetch-sized chunk
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then stream every customer with a constant number of selects")
+        void thenStreamCustomers() throws Exception {
+            stream("/customers", ROWS);
+        }
+
+        // The stream, and the product ids of each fetch-sized chunk
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then stream every order with a constant number of selects")
+        void thenStreamOrders() throws Exception {
+            stream("/orders", ROWS);
+        }
+
+        // The stream, and the order ids of each fetch-sized chunk
+        @Test
+        @ExpectSelect(PRINCIPAL + 2)
+        @DisplayName("Then stream every product with a constant number of selects")
+        void thenStreamProducts() throws Exception {
+            stream("/products", ROWS);
+        }
+    }
+
+    @Nested
+    @DisplayName("AuthController")
+    class AuthControllerStatements {
+
+        // The user insert-if-absent and the refresh token
+        @Test
+        @ExpectSelect(0)
+        @ExpectInsert(2)
+        @DisplayName("Then register without any select")
+        void thenRegister() throws Exception {
+            mockMvc.perform(post("/auth/register")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"firstName":"New","lastName":"User","email":"new@example.com","password":"password123"}
+                                    """))
+                    .andExpect(status().isOk());
+        }
+
+        // The user is read by the authentication provider and again by the service
+        @Test
+        @ExpectSelect(2)
+        @ExpectInsert(1)
+        @DisplayName("Then authenticate with two user lookups and a refresh token insert")
+        void thenAuthenticate() throws Exception {
+            mockMvc.perform(post("/auth/authenticate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"test@example.com\",\"password\":\"password\"}"))
+                    .andExpect(status().isOk());
+        }
+
+        // The user lookup, the conditional update spending the token, and its successor
+        @Test
+        @ExpectSelect(1)
+        @ExpectUpdate(1)
+        @ExpectInsert(1)
+        @DisplayName("Then refresh a token with one select, one update and one insert")
+        void thenRefresh() throws Exception {
+            mockMvc.perform(post("/auth/refresh-token")
+                            .header("Authorization", refreshToken))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.store.integration.service;
+
+import com.example.store.StoreApp;
+import com.example.store.dto.auth.req.RegReqDTO;
+import com.example.store.exception.EmailAlreadyExistsException;
+import com.example.store.integration.config.IntTestConfig;
+import com.example.store.persistence.repo.UserRepo;
+import com.example.store.service.auth.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Not {@code @Transactional}: every registration has to commit in its own transaction for the race to be real.
+ * <p>
+ * The calls are bound to no request, so they take their connections through the default bulkhead, kept smaller than
+ * the number of callers to make them queue for it.
+ */
+@SpringBootTest(classes = StoreApp.class)
+@Tag("int")
+@DisplayName("AuthService registration - {Int}")
+@Testcontainers
+@ActiveProfiles("dev")
+@Import(IntTestConfig.class)
+@TestPropertySource(properties = {
+    "application.bulkhead.enabled=true",
+    "application.bulkhead.groups.background.max-concurrent=4",
+    "application.bulkhead.groups.background.max-wait=10s"
+})
+class AuthServiceRegistrationIntTest {
+    private static final int CONCURRENT_REGISTRATIONS = 16;
+    private static final String EMAIL = "race.condition@example.com";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        userRepo.findByEmail(EMAIL).ifPresent(userRepo::delete);
+    }
+
+    @Test
+    @DisplayName("Should register exactly one user when the same email is registered concurrently")
+    void shouldRegisterExactlyOnceUnderContention() throws Exception {
+        // Given
+        final RegReqDTO request = new RegReqDTO("Race", "Condition", EMAIL, "password123");
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REGISTRATIONS)) {
+            for (int i = 0; i < CONCURRENT_REGISTRATIONS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return authService.register(request);
+                }));
+            }
+            start.countDown();
+        }
+
+        // Then
+        int succeeded = 0;
+        for (final Future<?> result : results) {
+            try {
+                result.get();
+                succeeded++;
+            } catch (final ExecutionException e) {
+                assertInstanceOf(EmailAlreadyExistsException.class, e.getCause());
+            }
+        }
+        assertEquals(1, succeeded);
+        assertTrue(userRepo.existsByEmail(EMAIL));
+        assertEquals(1, userRepo.findAll().stream().filter(user -> EMAIL.equals(user.getEmail())).count());
+        assertEquals(4.0, meterRegistry.get("store.bulkhead.limit").tag("bulkhead", "background").gauge().value());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.store.persistence.repo;
+
+import com.example.store.persistence.entity.Order;
+import com.example.store.persistence.entity.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import test.config.TestConfig;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("repo")
+@ActiveProfiles("db")
+@DataJpaTest
+@Import({TestConfig.class, ColumnProjectionRepo.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+@DisplayName("ColumnProjectionRepo - {Int}")
+class ColumnProjectionRepoTest {
+    @Autowired
+    private ColumnProjectionRepo columnProjectionRepo;
+    @Autowired
+    private OrderRepo orderRepo;
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    @DisplayName("Should return the requested columns in page and sort order")
+    void shouldReturnRequestedColumns() {
+        // Given
+        final SequencedMap<String, String> columns = new LinkedHashMap<>();
+        columns.put("description", "description");
+        columns.put("customerId", "customer.id");
+        final PageRequest pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "id"));
+
+        // When
+        final List<Map<String, Object>> rows = columnProjectionRepo.findPage(Order.class, columns, pageable);
+
+        // Then
+        final List<Order> expected = orderRepo.findAll(pageable).getContent();
+        assertFalse(rows.isEmpty());
+        assertEquals(expected.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(List.of("id", "description", "customerId"), List.copyOf(rows.get(i).keySet()));
+            assertEquals(expected.get(i).getId(), rows.get(i).get("id"));
+            assertEquals(expected.get(i).getDescription(), rows.get(i).get("description"));
+            assertEquals(expected.get(i).getCustomer().getId(), rows.get(i).get("customerId"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should always select the id, even with no other column")
+    void shouldAlwaysSelectId() {
+        // When
+        final List<Map<String, Object>> rows = columnProjectionRepo.findPage(Product.class, new LinkedHashMap<>(),
+                PageRequest.of(0, 3, Sort.by("id")));
+
+        // Then
+        assertEquals(Math.min(3, productRepo.count()), rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.keySet().equals(Set.of("id"))));
+    }
+}
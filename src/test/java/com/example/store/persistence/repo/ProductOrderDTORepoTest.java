@@ -4,6 +4,7 @@ import com.example.store.persistence.entity.Customer;
 import com.example.store.persistence.entity.Order;
 import com.example.store.persistence.entity.Product;
 import com.example.store.persistence.entity.ProductOrder;
+import com.example.store.persistence.projection.IdLink;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,8 +21,11 @@ import test.config.TestConfig;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -133,5 +137,18 @@ class ProductOrderDTORepoTest {
             assertTrue(orderIds.contains(order1.getId()) || orderIds.contains(order2.getId()),
                     "Expected order IDs to include at least one of our test orders");
         }
+
+        @Test
+        @DisplayName("Then return the order and product id links for a batch of ids")
+        void returnIdLinksForBatch() {
+            final var orderIdsByProduct = IdLink.group(List.of(testProduct.getId()),
+                    productOrderRepo.findOrderIdLinksByProductIds(List.of(testProduct.getId())));
+            final var productIdsByOrder = IdLink.group(List.of(order1.getId(), order2.getId()),
+                    productOrderRepo.findProductIdLinksByOrderIds(List.of(order1.getId(), order2.getId())));
+
+            assertEquals(Set.of(order1.getId(), order2.getId()), orderIdsByProduct.get(testProduct.getId()));
+            assertEquals(Set.of(testProduct.getId()), productIdsByOrder.get(order1.getId()));
+            assertEquals(Set.of(testProduct.getId()), productIdsByOrder.get(order2.getId()));
+        }
     }
-}
\ No newline at end of file
+}
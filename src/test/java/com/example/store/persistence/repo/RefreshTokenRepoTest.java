@@ -0,0 +1,88 @@
+package com.example.store.persistence.repo;
+
+import com.example.store.persistence.entity.RefreshToken;
+import com.example.store.persistence.entity.Role;
+import com.example.store.persistence.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import test.config.TestConfig;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("repo")
+@ActiveProfiles("db")
+@DataJpaTest
+@Import(TestConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+@DisplayName("RefreshTokenRepo - {Int}")
+class RefreshTokenRepoTest {
+    @Autowired
+    private RefreshTokenRepo refreshTokenRepo;
+    @Autowired
+    private UserRepo userRepo;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepo.save(User.builder()
+                .firstName("Purge")
+                .lastName("Test")
+                .email("purge." + UUID.randomUUID() + "@example.com")
+                .password("encoded")
+                .role(Role.USER)
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .build());
+    }
+
+    private RefreshToken token(final ZonedDateTime expiresAt, final boolean revoked, final boolean spent) {
+        final RefreshToken token = new RefreshToken();
+        token.setJti(UUID.randomUUID());
+        token.setFamilyId(UUID.randomUUID());
+        token.setUser(user);
+        token.setExpiresAt(expiresAt);
+        token.setRevoked(revoked);
+        token.setReplacedBy(spent ? UUID.randomUUID() : null);
+        return refreshTokenRepo.saveAndFlush(token);
+    }
+
+    @Test
+    @DisplayName("Should delete every expired token and keep the live ones")
+    void shouldDeleteExpiredTokens() {
+        // Given
+        final ZonedDateTime now = ZonedDateTime.now();
+        final RefreshToken expired = token(now.minusDays(1), false, false);
+        final RefreshToken expiredSpent = token(now.minusHours(1), false, true);
+        final RefreshToken expiredRevoked = token(now.minusMinutes(1), true, false);
+        final RefreshToken live = token(now.plusDays(1), false, false);
+        final RefreshToken liveRevoked = token(now.plusDays(1), true, false);
+
+        // When
+        final int purged = refreshTokenRepo.deleteExpired(now);
+
+        // Then
+        assertEquals(3, purged);
+        assertFalse(refreshTokenRepo.existsByJti(expired.getJti()));
+        assertFalse(refreshTokenRepo.existsByJti(expiredSpent.getJti()));
+        assertFalse(refreshTokenRepo.existsByJti(expiredRevoked.getJti()));
+        assertTrue(refreshTokenRepo.existsByJti(live.getJti()));
+        assertTrue(refreshTokenRepo.existsByJti(liveRevoked.getJti()));
+    }
+}
@@ -28,11 +28,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Locale;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -61,6 +63,9 @@ class AuthServiceTest {
     @Mock
     private MessageSource messageSource;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -73,6 +78,8 @@ class AuthServiceTest {
     private final String encodedPassword = "encodedPassword";
     private final String accessToken = "access.token.value";
     private final String refreshToken = "refresh.token.value";
+    private final String rotatedRefreshToken = "rotated.refresh.token.value";
+    private final UUID familyId = UUID.randomUUID();
     private final Long expiration = 3600L;
 
     @BeforeEach
@@ -121,11 +128,11 @@ class AuthServiceTest {
     @DisplayName("Should register a new user successfully")
     void shouldRegisterNewUserSuccessfully() {
         // Given
-        when(userRepo.existsByEmail(email)).thenReturn(false);
         when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
-        when(userRepo.save(any(User.class))).thenReturn(user);
-        when(jwtService.generateAccessToken(any(User.class))).thenReturn(accessToken);
-        when(jwtService.generateRefreshToken(any(User.class))).thenReturn(refreshToken);
+        when(userRepo.insertIfAbsent(any(User.class))).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+        when(refreshTokenService.issue(any(User.class)))
+                .thenReturn(new RefreshTokenService.IssuedToken(refreshToken, familyId));
+        when(jwtService.generateAccessToken(any(User.class), eq(familyId))).thenReturn(accessToken);
 
         // When
         AuthRespDTO response = authService.register(regReqDTO);
@@ -139,7 +146,7 @@ class AuthServiceTest {
 
         // Verify user creation
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepo).save(userCaptor.capture());
+        verify(userRepo).insertIfAbsent(userCaptor.capture());
         User savedUser = userCaptor.getValue();
         assertEquals(email, savedUser.getEmail());
         assertEquals(encodedPassword, savedUser.getPassword());
@@ -152,7 +159,8 @@ class AuthServiceTest {
     @DisplayName("Should throw exception when registering with existing email")
     void shouldThrowExceptionWhenRegisteringWithExistingEmail() {
         // Given
-        when(userRepo.existsByEmail(email)).thenReturn(true);
+        when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
+        when(userRepo.insertIfAbsent(any(User.class))).thenReturn(Optional.empty());
 
         // When/Then
         EmailAlreadyExistsException exception = assertThrows(
@@ -161,7 +169,7 @@ class AuthServiceTest {
         );
 
         assertEquals("auth.400.011", exception.getMessage());
-        verify(userRepo, never()).save(any(User.class));
+        verify(refreshTokenService, never()).issue(any(User.class));
     }
 
     @Test
@@ -169,8 +177,8 @@ class AuthServiceTest {
     void shouldAuthenticateUserSuccessfully() {
         // Given
         when(userRepo.findByEmail(email)).thenReturn(Optional.of(user));
-        when(jwtService.generateAccessToken(user)).thenReturn(accessToken);
-        when(jwtService.generateRefreshToken(user)).thenReturn(refreshToken);
+        when(refreshTokenService.issue(user)).thenReturn(new RefreshTokenService.IssuedToken(refreshToken, familyId));
+        when(jwtService.generateAccessToken(user, familyId)).thenReturn(accessToken);
 
         // When
         AuthRespDTO response = authService.authenticate(authReqDTO);
@@ -226,14 +234,17 @@ class AuthServiceTest {
         when(jwtService.extractUsername(refreshToken)).thenReturn(email);
         when(userRepo.findByEmail(email)).thenReturn(Optional.of(user));
         when(jwtService.isTokenValid(refreshToken, user)).thenReturn(true);
-        when(jwtService.generateAccessToken(user)).thenReturn(accessToken);
+        when(refreshTokenService.rotate(refreshToken, user))
+                .thenReturn(new RefreshTokenService.IssuedToken(rotatedRefreshToken, familyId));
+        when(jwtService.generateAccessToken(user, familyId)).thenReturn(accessToken);
 
         // When
         AuthRespDTO response = authService.refreshToken(refreshTokenReqDTO);
 
         // Then
         assertNotNull(response);
-        assertEquals(refreshToken, response.refreshToken());
+        assertEquals(accessToken, response.accessToken());
+        assertEquals(rotatedRefreshToken, response.refreshToken());
         assertEquals("Bearer", response.tokenType());
         assertEquals(expiration, response.expiresIn());
     }
@@ -255,6 +266,25 @@ class AuthServiceTest {
         assertEquals("auth.400.007", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Should propagate rejection of a spent or revoked refresh token")
+    void shouldPropagateRejectionOfSpentRefreshToken() {
+        // Given
+        when(jwtService.extractUsername(refreshToken)).thenReturn(email);
+        when(userRepo.findByEmail(email)).thenReturn(Optional.of(user));
+        when(jwtService.isTokenValid(refreshToken, user)).thenReturn(true);
+        when(refreshTokenService.rotate(refreshToken, user)).thenThrow(new InvalidRefreshTokenException("auth.400.007"));
+
+        // When/Then
+        InvalidRefreshTokenException exception = assertThrows(
+                InvalidRefreshTokenException.class,
+                () -> authService.refreshToken(refreshTokenReqDTO)
+        );
+
+        assertEquals("auth.400.007", exception.getMessage());
+        verify(jwtService, never()).generateAccessToken(any(User.class), any(UUID.class));
+    }
+
     @Test
     @DisplayName("Should throw exception when refreshing with null username")
     void shouldThrowExceptionWhenRefreshingWithNullUsername() {
@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Tag("unit")
@@ -98,4 +99,24 @@ class CustomUserDetailsServiceTest {
         final String expectedMessage = messageSource.getMessage("auth.400.010", new Object[]{email}, "User not found with email: " + email, Locale.getDefault());
         assertEquals(expectedMessage, exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should persist upgraded password hash and return user carrying it")
+    void shouldPersistUpgradedPasswordHash() {
+        // Given
+        final String email = "user@example.com";
+        final User user = User.builder()
+                .email(email)
+                .password("$2a$04$oldHash")
+                .role(Role.USER)
+                .build();
+        when(userRepo.updatePasswordByEmail(email, "$2a$12$newHash")).thenReturn(1);
+
+        // When
+        final UserDetails updated = userDetailsService.updatePassword(user, "$2a$12$newHash");
+
+        // Then
+        verify(userRepo).updatePasswordByEmail(email, "$2a$12$newHash");
+        assertEquals("$2a$12$newHash", updated.getPassword());
+    }
+}
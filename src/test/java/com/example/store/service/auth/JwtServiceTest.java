@@ -16,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -90,6 +91,37 @@ class JwtServiceTest {
         assertTrue(jwtService.isTokenValid(token, userDetails));
     }
 
+    @Test
+    @DisplayName("Should carry jti and family claims on tracked refresh tokens")
+    void shouldCarryJtiAndFamilyOnTrackedRefreshToken() {
+        // Given
+        final UUID jti = UUID.randomUUID();
+        final UUID familyId = UUID.randomUUID();
+
+        // When
+        String token = jwtService.generateRefreshToken(userDetails, jti, familyId);
+
+        // Then
+        assertEquals(jti.toString(), jwtService.extractId(token));
+        assertEquals(familyId.toString(), jwtService.extractFamily(token));
+        assertTrue(jwtService.isTokenValid(token, userDetails));
+    }
+
+    @Test
+    @DisplayName("Should carry family claim on access tokens issued for a token family")
+    void shouldCarryFamilyOnAccessToken() {
+        // Given
+        final UUID familyId = UUID.randomUUID();
+
+        // When
+        String token = jwtService.generateAccessToken(userDetails, familyId);
+
+        // Then
+        assertEquals(familyId.toString(), jwtService.extractFamily(token));
+        assertNull(jwtService.extractId(token));
+        assertNull(jwtService.extractFamily(jwtService.generateAccessToken(userDetails)));
+    }
+
     @Test
     @DisplayName("Should validate token with correct user details")
     void shouldValidateTokenWithCorrectUserDetails() {
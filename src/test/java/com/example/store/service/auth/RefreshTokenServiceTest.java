@@ -0,0 +1,199 @@
+package com.example.store.service.auth;
+
+import com.example.store.component.auth.token.RefreshTokenRevocationIndex;
+import com.example.store.config.security.JwtProperties;
+import com.example.store.exception.InvalidRefreshTokenException;
+import com.example.store.persistence.entity.RefreshToken;
+import com.example.store.persistence.entity.Role;
+import com.example.store.persistence.entity.User;
+import com.example.store.persistence.repo.RefreshTokenRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService - {Unit}")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepo refreshTokenRepo;
+
+    @Mock
+    private RefreshTokenRevocationIndex revocationIndex;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private JwtProperties jwtProperties;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+    private final String token = "refresh.token.value";
+    private final UUID jti = UUID.randomUUID();
+    private final UUID familyId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .email("user@example.com")
+                .password("encoded")
+                .role(Role.USER)
+                .build();
+
+        lenient().when(jwtProperties.getRefreshExpiration()).thenReturn(259_200_000L);
+        lenient().when(jwtService.generateRefreshToken(eq(user), any(UUID.class), any(UUID.class)))
+                .thenReturn("next.refresh.token");
+    }
+
+    @Test
+    @DisplayName("Should start a new family and persist the issued token")
+    void shouldIssueNewFamily() {
+        // When
+        final RefreshTokenService.IssuedToken issued = refreshTokenService.issue(user);
+
+        // Then
+        final ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepo).save(captor.capture());
+        final RefreshToken saved = captor.getValue();
+        assertEquals("next.refresh.token", issued.token());
+        assertEquals(saved.getFamilyId(), issued.familyId());
+        assertEquals(user, saved.getUser());
+        assertFalse(saved.getRevoked());
+        assertTrue(saved.getExpiresAt().isAfter(ZonedDateTime.now().plusDays(2)));
+        verify(jwtService).generateRefreshToken(user, saved.getJti(), saved.getFamilyId());
+    }
+
+    @Test
+    @DisplayName("Should spend the presented token and issue its successor in the same family")
+    void shouldRotateWithinFamily() {
+        // Given
+        stubClaims();
+        when(revocationIndex.isRevoked(familyId)).thenReturn(false);
+        when(refreshTokenRepo.markRotated(eq(jti), any(UUID.class), any(ZonedDateTime.class))).thenReturn(1);
+
+        // When
+        final RefreshTokenService.IssuedToken rotated = refreshTokenService.rotate(token, user);
+
+        // Then
+        assertEquals("next.refresh.token", rotated.token());
+        assertEquals(familyId, rotated.familyId());
+        verify(refreshTokenRepo).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a spent token is replayed")
+    void shouldRevokeFamilyOnReuse() {
+        // Given
+        stubClaims();
+        when(revocationIndex.isRevoked(familyId)).thenReturn(false);
+        when(refreshTokenRepo.markRotated(eq(jti), any(UUID.class), any(ZonedDateTime.class))).thenReturn(0);
+        when(refreshTokenRepo.existsByJti(jti)).thenReturn(true);
+
+        // When
+        final InvalidRefreshTokenException exception = assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(token, user));
+
+        // Then
+        assertEquals("auth.400.007", exception.getMessage());
+        verify(refreshTokenRepo).revokeFamily(eq(familyId), any(ZonedDateTime.class));
+        verify(revocationIndex).markRevoked(familyId);
+        verify(refreshTokenRepo, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Should reject untracked tokens without revoking anything")
+    void shouldRejectUntrackedToken() {
+        // Given
+        stubClaims();
+        when(revocationIndex.isRevoked(familyId)).thenReturn(false);
+        when(refreshTokenRepo.markRotated(eq(jti), any(UUID.class), any(ZonedDateTime.class))).thenReturn(0);
+        when(refreshTokenRepo.existsByJti(jti)).thenReturn(false);
+
+        // When / Then
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token, user));
+        verify(refreshTokenRepo, never()).revokeFamily(any(UUID.class), any(ZonedDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should reject tokens of a revoked family before touching the token row")
+    void shouldRejectRevokedFamily() {
+        // Given
+        stubClaims();
+        when(revocationIndex.isRevoked(familyId)).thenReturn(true);
+
+        // When / Then
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(token, user));
+        verify(refreshTokenRepo, never()).markRotated(any(UUID.class), any(UUID.class), any(ZonedDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should reject legacy tokens without jti or family claims")
+    void shouldRejectLegacyToken() {
+        // Given
+        when(jwtService.extractId(token)).thenReturn(null);
+        when(jwtService.extractFamily(token)).thenReturn(null);
+
+        // When
+        final InvalidRefreshTokenException exception = assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.rotate(token, user));
+
+        // Then
+        assertEquals("auth.400.006", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should delete the tokens expired by now")
+    void shouldPurgeExpiredTokens() {
+        // Given
+        final ZonedDateTime before = ZonedDateTime.now();
+        when(refreshTokenRepo.deleteExpired(any(ZonedDateTime.class))).thenReturn(3);
+
+        // When
+        refreshTokenService.purgeExpired();
+
+        // Then
+        final ArgumentCaptor<ZonedDateTime> captor = ArgumentCaptor.forClass(ZonedDateTime.class);
+        verify(refreshTokenRepo).deleteExpired(captor.capture());
+        assertFalse(captor.getValue().isBefore(before));
+    }
+
+    @Test
+    @DisplayName("Should swallow a failed purge so the next run retries it")
+    void shouldSurvivePurgeFailure() {
+        // Given
+        when(refreshTokenRepo.deleteExpired(any(ZonedDateTime.class))).thenThrow(new IllegalStateException("down"));
+
+        // When / Then
+        refreshTokenService.purgeExpired();
+        verify(refreshTokenRepo).deleteExpired(any(ZonedDateTime.class));
+    }
+
+    private void stubClaims() {
+        when(jwtService.extractId(token)).thenReturn(jti.toString());
+        when(jwtService.extractFamily(token)).thenReturn(familyId.toString());
+    }
+}
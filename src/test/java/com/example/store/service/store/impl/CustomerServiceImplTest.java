@@ -1,10 +1,14 @@
 package com.example.store.service.store.impl;
 
 import com.example.store.component.CustomerSearchProps;
+import com.example.store.component.cache.PerIdCache;
 import com.example.store.dto.CustomerDTO;
 import com.example.store.mapper.CustomerMapper;
 import com.example.store.persistence.entity.Customer;
+import com.example.store.persistence.projection.IdLink;
 import com.example.store.persistence.repo.CustomerRepo;
+import com.example.store.persistence.repo.OrderRepo;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,7 +17,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -23,6 +29,8 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -30,6 +38,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -48,13 +57,23 @@ class CustomerServiceImplTest {
     @Mock
     private CustomerSearchProps customerSearchProps;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private OrderRepo orderRepo;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Spy
+    private PerIdCache perIdCache = new PerIdCache(cacheManager);
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
     private Customer testCustomer;
     private CustomerDTO testCustomerDTO;
     private List<Customer> customerList;
-    private List<CustomerDTO> customerDTOList;
     private Pageable pageable;
 
     @BeforeEach
@@ -79,14 +98,39 @@ class CustomerServiceImplTest {
         customerList = new ArrayList<>();
         customerList.add(testCustomer);
 
-        // Create list of customer DTOs
-        customerDTOList = new ArrayList<>();
-        customerDTOList.add(testCustomerDTO);
-
         // Create pageable mock
         pageable = Pageable.ofSize(10);
     }
 
+    @Nested
+    @DisplayName("When finding customers by ids")
+    class WhenFindingCustomersByIds {
+
+        @Test
+        @DisplayName("Then serve cached customers and batch-load the rest with their order ids")
+        void thenServeCacheAndBatchMisses() {
+            // Given
+            final CustomerDTO cached = new CustomerDTO();
+            cached.setId(2L);
+            cacheManager.getCache("customers").put("id_2", cached);
+
+            final CustomerDTO loaded = new CustomerDTO();
+            loaded.setId(1L);
+            when(customerRepo.findAllById(List.of(1L, 3L))).thenReturn(List.of(testCustomer));
+            when(customerMapper.toCustomerDTOWithoutOrders(testCustomer)).thenReturn(loaded);
+            when(orderRepo.findOrderIdLinksByCustomerIds(Set.of(1L))).thenReturn(List.of(new IdLink(1L, 10L)));
+
+            // When
+            final List<CustomerDTO> result = customerService.findCustomersByIds(List.of(2L, 1L, 3L));
+
+            // Then
+            assertEquals(List.of(cached, loaded), result);
+            assertEquals(Set.of(10L), loaded.getOrders());
+            verify(customerRepo, times(1)).findAllById(any());
+            verify(customerMapper, times(0)).toCustomerDTO(any());
+        }
+    }
+
     @Nested
     @DisplayName("When finding all customers")
     class WhenFindingAllCustomers {
@@ -97,7 +141,8 @@ class CustomerServiceImplTest {
             // Given
             Page<Customer> customerPage = new PageImpl<>(customerList);
             when(customerRepo.findAll(any(Pageable.class))).thenReturn(customerPage);
-            when(customerMapper.toCustomerDTOs(customerList)).thenReturn(customerDTOList);
+            when(customerMapper.toCustomerDTOWithoutOrders(testCustomer)).thenReturn(testCustomerDTO);
+            when(orderRepo.findOrderIdLinksByCustomerIds(Set.of(1L))).thenReturn(List.of(new IdLink(1L, 10L)));
 
             // When
             List<CustomerDTO> result = customerService.findAllCustomers(pageable);
@@ -106,8 +151,11 @@ class CustomerServiceImplTest {
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(testCustomerDTO, result.get(0));
+            assertEquals(Set.of(10L), result.get(0).getOrders());
             verify(customerRepo, times(1)).findAll(pageable);
-            verify(customerMapper, times(1)).toCustomerDTOs(customerList);
+            // One query for the order ids of the whole page, never one per customer
+            verify(orderRepo, times(1)).findOrderIdLinksByCustomerIds(any());
+            verify(customerMapper, never()).toCustomerDTO(any(Customer.class));
         }
     }
 
@@ -122,7 +170,8 @@ class CustomerServiceImplTest {
             String searchName = "Test";
             when(customerRepo.findCustomersByNameContainingIgnoreCase(anyString(), any(Pageable.class)))
                     .thenReturn(customerList);
-            when(customerMapper.toCustomerDTOs(customerList)).thenReturn(customerDTOList);
+            when(customerMapper.toCustomerDTOWithoutOrders(testCustomer)).thenReturn(testCustomerDTO);
+            when(orderRepo.findOrderIdLinksByCustomerIds(Set.of(1L))).thenReturn(List.of());
 
             // When
             List<CustomerDTO> result = customerService.findCustomersNameContainingSubString(searchName, pageable);
@@ -133,7 +182,7 @@ class CustomerServiceImplTest {
             assertEquals(testCustomerDTO, result.get(0));
             verify(customerRepo, times(1))
                     .findCustomersByNameContainingIgnoreCase(searchName, pageable);
-            verify(customerMapper, times(1)).toCustomerDTOs(customerList);
+            verify(orderRepo, times(1)).findOrderIdLinksByCustomerIds(any());
         }
     }
 
@@ -196,4 +245,45 @@ class CustomerServiceImplTest {
             verify(customerRepo, times(1)).findById(999L);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("When streaming customers")
+    class WhenStreamingCustomers {
+
+        @Test
+        @DisplayName("Then hand each mapped customer to the sink and detach it")
+        void thenEmitEachCustomerAndDetachIt() {
+            // Given
+            when(customerRepo.streamAllBy(pageable)).thenReturn(Stream.of(testCustomer));
+            when(customerMapper.toCustomerDTOWithoutOrders(testCustomer)).thenReturn(testCustomerDTO);
+            when(orderRepo.findOrderIdLinksByCustomerIds(Set.of(1L))).thenReturn(List.of(new IdLink(1L, 10L)));
+            final List<CustomerDTO> emitted = new ArrayList<>();
+
+            // When
+            customerService.streamAllCustomers(pageable, emitted::add);
+
+            // Then
+            assertEquals(List.of(testCustomerDTO), emitted);
+            assertEquals(Set.of(10L), testCustomerDTO.getOrders());
+            verify(customerMapper, never()).toCustomerDTO(any(Customer.class));
+            verify(entityManager).detach(testCustomer);
+        }
+
+        @Test
+        @DisplayName("Then stream customers filtered by name")
+        void thenStreamCustomersFilteredByName() {
+            // Given
+            when(customerRepo.streamCustomersByNameContainingIgnoreCase("Test", pageable)).thenReturn(Stream.of(testCustomer));
+            when(customerMapper.toCustomerDTOWithoutOrders(testCustomer)).thenReturn(testCustomerDTO);
+            when(orderRepo.findOrderIdLinksByCustomerIds(Set.of(1L))).thenReturn(List.of());
+            final List<CustomerDTO> emitted = new ArrayList<>();
+
+            // When
+            customerService.streamCustomersNameContainingSubString("Test", pageable, emitted::add);
+
+            // Then
+            assertEquals(List.of(testCustomerDTO), emitted);
+            verify(customerRepo, times(0)).streamAllBy(any(Pageable.class));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.store.service.store.impl;
+
+import com.example.store.component.GlobalSearchProps;
+import com.example.store.dto.CustomerDTO;
+import com.example.store.dto.OrderDTO;
+import com.example.store.dto.ProductDTO;
+import com.example.store.dto.ResourceGraphDTO;
+import com.example.store.exception.PageSizeExceededException;
+import com.example.store.service.store.CustomerService;
+import com.example.store.service.store.OrderService;
+import com.example.store.service.store.ProductService;
+import com.example.store.util.IncludeTree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@Tag("unit")
+@DisplayName("Unit Test - IncludeServiceImpl")
+@ExtendWith(MockitoExtension.class)
+class IncludeServiceImplTest {
+    private static final int MAX_IDS = 100;
+
+    @Mock
+    private CustomerService customerService;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private GlobalSearchProps globalSearchProps;
+
+    @InjectMocks
+    private IncludeServiceImpl includeService;
+
+    @BeforeEach
+    void setUp() {
+        when(globalSearchProps.getIncludeBatchSize()).thenReturn(1000);
+        when(globalSearchProps.getMaxIds()).thenReturn(MAX_IDS);
+    }
+
+    private static CustomerDTO customer(final long id, final Long... orderIds) {
+        final CustomerDTO customer = new CustomerDTO();
+        customer.setId(id);
+        customer.setOrders(Set.of(orderIds));
+        return customer;
+    }
+
+    private static OrderDTO order(final long id, final long customerId, final Long... productIds) {
+        final OrderDTO order = new OrderDTO();
+        order.setId(id);
+        order.setCustomerId(customerId);
+        order.setProductIds(Set.of(productIds));
+        return order;
+    }
+
+    private static ProductDTO product(final long id) {
+        final ProductDTO product = new ProductDTO();
+        product.setId(id);
+        return product;
+    }
+
+    @Test
+    @DisplayName("Should resolve customer -> orders -> products with one multi-get per level")
+    void shouldBatchEachLevel() {
+        // Given
+        final CustomerDTO root = customer(1L, 12L, 11L, 13L);
+        final OrderDTO order11 = order(11L, 1L, 101L, 102L);
+        final OrderDTO order12 = order(12L, 1L, 102L, 103L);
+        when(orderService.findOrdersByIds(List.of(11L, 12L, 13L))).thenReturn(List.of(order11, order12));
+        when(productService.findProductsByIds(List.of(101L, 102L, 103L)))
+                .thenReturn(List.of(product(101L), product(102L), product(103L)));
+
+        // When
+        final ResourceGraphDTO<CustomerDTO> graph = includeService.resolve(root,
+                IncludeTree.parse("orders.products", CustomerService.INCLUDES));
+
+        // Then
+        assertSame(root, graph.getResource());
+        final List<ResourceGraphDTO<?>> orders = graph.getEmbedded().get("orders");
+        assertEquals(List.of(order11, order12), orders.stream().map(ResourceGraphDTO::getResource).toList());
+        assertEquals(List.of(101L, 102L), orders.get(0).getEmbedded().get("products").stream()
+                .map(node -> node.getResource().getId()).toList());
+        assertEquals(List.of(102L, 103L), orders.get(1).getEmbedded().get("products").stream()
+                .map(node -> node.getResource().getId()).toList());
+        assertSame(orders.get(0).getEmbedded().get("products").get(1).getResource(),
+                orders.get(1).getEmbedded().get("products").get(0).getResource());
+
+        verify(orderService, times(1)).findOrdersByIds(List.of(11L, 12L, 13L));
+        verify(productService, times(1)).findProductsByIds(List.of(101L, 102L, 103L));
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    @DisplayName("Should resolve sibling relations of the same level together")
+    void shouldResolveSiblingRelations() {
+        // Given
+        final OrderDTO root = order(11L, 1L, 101L);
+        when(customerService.findCustomersByIds(List.of(1L))).thenReturn(List.of(customer(1L, 11L)));
+        when(productService.findProductsByIds(List.of(101L))).thenReturn(List.of(product(101L)));
+
+        // When
+        final ResourceGraphDTO<OrderDTO> graph = includeService.resolve(root,
+                IncludeTree.parse("products,customer", OrderService.INCLUDES));
+
+        // Then
+        assertEquals(List.of("products", "customer"), List.copyOf(graph.getEmbedded().keySet()));
+        assertEquals(1L, graph.getEmbedded().get("customer").getFirst().getResource().getId());
+        assertTrue(graph.getEmbedded().get("customer").getFirst().getEmbedded().isEmpty());
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    @DisplayName("Should embed a relation linking exactly max-ids resources")
+    void shouldEmbedRelationAtMaxIds() {
+        // Given
+        final List<Long> orderIds = LongStream.rangeClosed(1, MAX_IDS).boxed().toList();
+        final ProductDTO root = product(101L);
+        root.setOrderIds(Set.copyOf(orderIds));
+        when(orderService.findOrdersByIds(orderIds))
+                .thenReturn(orderIds.stream().map(id -> order(id, 1L)).toList());
+
+        // When
+        final ResourceGraphDTO<ProductDTO> graph = includeService.resolve(root,
+                IncludeTree.parse("orders", ProductService.INCLUDES));
+
+        // Then
+        assertEquals(MAX_IDS, graph.getEmbedded().get("orders").size());
+    }
+
+    @Test
+    @DisplayName("Should reject a relation linking more than max-ids resources before loading any of them")
+    void shouldRejectRelationOverMaxIds() {
+        // Given
+        final ProductDTO root = product(101L);
+        root.setOrderIds(LongStream.rangeClosed(1, MAX_IDS + 1).boxed().collect(Collectors.toSet()));
+        final IncludeTree include = IncludeTree.parse("orders.customer", ProductService.INCLUDES);
+
+        // When
+        final PageSizeExceededException exception = assertThrows(PageSizeExceededException.class,
+                () -> includeService.resolve(root, include));
+
+        // Then
+        assertEquals("global.400.014", exception.getMessage());
+        assertEquals(MAX_IDS, exception.getArgs()[0]);
+        verifyNoInteractions(orderService, customerService);
+    }
+
+    @Test
+    @DisplayName("Should embed an empty list when the resource has no links")
+    void shouldEmbedEmptyListWithoutLinks() {
+        // Given
+        final ProductDTO root = product(101L);
+
+        // When
+        final ResourceGraphDTO<ProductDTO> graph = includeService.resolve(root,
+                IncludeTree.parse("orders.customer", ProductService.INCLUDES));
+
+        // Then
+        assertEquals(List.of(), graph.getEmbedded().get("orders"));
+        verifyNoInteractions(orderService, customerService);
+    }
+}
@@ -4,8 +4,13 @@ import com.example.store.dto.OrderDTO;
 import com.example.store.mapper.OrderMapper;
 import com.example.store.persistence.entity.Customer;
 import com.example.store.persistence.entity.Order;
+import com.example.store.persistence.projection.IdLink;
+import com.example.store.persistence.repo.ColumnProjectionRepo;
 import com.example.store.persistence.repo.CustomerRepo;
 import com.example.store.persistence.repo.OrderRepo;
+import com.example.store.persistence.repo.ProductOrderRepo;
+import com.example.store.service.store.OrderService;
+import com.example.store.util.SparseFields;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,8 +26,11 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SequencedMap;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,6 +38,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -48,13 +58,18 @@ class OrderServiceImplTest {
     @Mock
     private CustomerRepo customerRepo;
 
+    @Mock
+    private ColumnProjectionRepo columnProjectionRepo;
+
+    @Mock
+    private ProductOrderRepo productOrderRepo;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
     private Order testOrder;
     private OrderDTO testOrderDTO;
     private List<Order> orderList;
-    private List<OrderDTO> orderDTOList;
     private Pageable pageable;
 
     @BeforeEach
@@ -86,10 +101,6 @@ class OrderServiceImplTest {
         orderList = new ArrayList<>();
         orderList.add(testOrder);
 
-        // Create list of order DTOs
-        orderDTOList = new ArrayList<>();
-        orderDTOList.add(testOrderDTO);
-
         // Create pageable mock
         pageable = Pageable.ofSize(10);
     }
@@ -104,7 +115,8 @@ class OrderServiceImplTest {
             // Given
             Page<Order> orderPage = new PageImpl<>(orderList);
             when(orderRepo.findAll(any(Pageable.class))).thenReturn(orderPage);
-            when(orderMapper.ordersToOrderDTOs(orderList)).thenReturn(orderDTOList);
+            when(orderMapper.toOrderDTOWithoutProductIds(testOrder)).thenReturn(testOrderDTO);
+            when(productOrderRepo.findProductIdLinksByOrderIds(Set.of(1L))).thenReturn(List.of(new IdLink(1L, 5L)));
 
             // When
             List<OrderDTO> result = orderService.findAllOrders(pageable);
@@ -113,8 +125,68 @@ class OrderServiceImplTest {
             assertNotNull(result);
             assertEquals(1, result.size());
             assertEquals(testOrderDTO, result.get(0));
+            assertEquals(Set.of(5L), result.get(0).getProductIds());
             verify(orderRepo, times(1)).findAll(pageable);
-            verify(orderMapper, times(1)).ordersToOrderDTOs(orderList);
+            // One query for the product ids of the whole page, never one per order
+            verify(productOrderRepo, times(1)).findProductIdLinksByOrderIds(any());
+            verify(orderMapper, never()).toOrderDTO(any(Order.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("When finding orders with sparse fields")
+    class WhenFindingSparseOrders {
+
+        @Test
+        @DisplayName("Then select only the requested columns and skip the product lookup")
+        void thenSelectOnlyRequestedColumns() {
+            // Given
+            final SparseFields fields = SparseFields.parse("description", OrderService.SPARSE_FIELDS);
+            when(columnProjectionRepo.findPage(eq(Order.class), any(), eq(pageable)))
+                    .thenReturn(List.of(row(1L, "Test Order")));
+
+            // When
+            final List<Map<String, Object>> result = orderService.findAllOrders(pageable, fields);
+
+            // Then
+            assertEquals(List.of(Map.of("description", "Test Order")), result);
+            verify(columnProjectionRepo).findPage(Order.class, columns("description", "description"), pageable);
+            verify(productOrderRepo, never()).findProductIdLinksByOrderIds(any());
+        }
+
+        @Test
+        @DisplayName("Then fetch product ids for the whole page in one query")
+        void thenBatchProductIds() {
+            // Given
+            final SparseFields fields = SparseFields.parse("id,productIds", OrderService.SPARSE_FIELDS);
+            when(columnProjectionRepo.findPage(eq(Order.class), any(), eq(pageable)))
+                    .thenReturn(List.of(row(1L, null), row(2L, null)));
+            when(productOrderRepo.findProductIdLinksByOrderIds(List.of(1L, 2L)))
+                    .thenReturn(List.of(new IdLink(1L, 10L), new IdLink(1L, 11L)));
+
+            // When
+            final List<Map<String, Object>> result = orderService.findAllOrders(pageable, fields);
+
+            // Then
+            assertEquals(Map.of("id", 1L, "productIds", Set.of(10L, 11L)), result.get(0));
+            assertEquals(Map.of("id", 2L, "productIds", Set.of()), result.get(1));
+            verify(columnProjectionRepo).findPage(Order.class, columns("id", "id"), pageable);
+            verify(productOrderRepo, times(1)).findProductIdLinksByOrderIds(any());
+        }
+
+        private static Map<String, Object> row(final Long id, final String description) {
+            final Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", id);
+            if (description != null) {
+                row.put("description", description);
+            }
+            return row;
+        }
+
+        private static SequencedMap<String, String> columns(final String name, final String path) {
+            final SequencedMap<String, String> columns = new LinkedHashMap<>();
+            columns.put(name, path);
+            return columns;
         }
     }
 
@@ -5,8 +5,12 @@ import com.example.store.mapper.ProductMapper;
 import com.example.store.persistence.entity.Order;
 import com.example.store.persistence.entity.Product;
 import com.example.store.persistence.entity.ProductOrder;
+import com.example.store.persistence.projection.IdLink;
+import com.example.store.persistence.repo.ColumnProjectionRepo;
 import com.example.store.persistence.repo.ProductOrderRepo;
 import com.example.store.persistence.repo.ProductRepo;
+import com.example.store.service.store.ProductService;
+import com.example.store.util.SparseFields;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -22,7 +26,9 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -32,6 +38,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,13 +59,15 @@ class ProductServiceImplTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ColumnProjectionRepo columnProjectionRepo;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
     private Product testProduct;
     private ProductDTO testProductDTO;
     private List<Product> productList;
-    private List<ProductDTO> productDTOList;
     private List<ProductOrder> productOrderList;
     private Set<Long> orderIds;
     private Pageable pageable;
@@ -88,10 +99,6 @@ class ProductServiceImplTest {
         productList = new ArrayList<>();
         productList.add(testProduct);
 
-        // Create list of product DTOs
-        productDTOList = new ArrayList<>();
-        productDTOList.add(testProductDTO);
-
         // Create product orders
         productOrderList = new ArrayList<>();
         Order order1 = new Order();
@@ -115,6 +122,46 @@ class ProductServiceImplTest {
         pageable = Pageable.ofSize(10);
     }
 
+    @Nested
+    @DisplayName("When finding products with sparse fields")
+    class WhenFindingSparseProducts {
+
+        @Test
+        @DisplayName("Then select only the requested columns and skip the order lookup")
+        void thenSkipOrderLookup() {
+            // Given
+            final SparseFields fields = SparseFields.parse("id,sku", ProductService.SPARSE_FIELDS);
+            final Map<String, Object> row = new LinkedHashMap<>(Map.of("id", 1L, "sku", testProduct.getSku()));
+            when(columnProjectionRepo.findPage(eq(Product.class), argThat(columns -> columns.keySet().equals(Set.of("id", "sku"))),
+                    eq(pageable))).thenReturn(List.of(row));
+
+            // When
+            final List<Map<String, Object>> result = productService.findAllProducts(pageable, fields);
+
+            // Then
+            assertEquals(List.of(Map.of("id", 1L, "sku", testProduct.getSku())), result);
+            verify(productOrderRepo, never()).findOrderIdLinksByProductIds(any());
+            verify(productOrderRepo, never()).findOrderIdsByProduct_Id(anyLong());
+        }
+
+        @Test
+        @DisplayName("Then batch the order ids and drop the id column when not requested")
+        void thenBatchOrderIds() {
+            // Given
+            final SparseFields fields = SparseFields.parse("orderIds", ProductService.SPARSE_FIELDS);
+            final Map<String, Object> row = new LinkedHashMap<>(Map.of("id", 1L));
+            when(columnProjectionRepo.findPage(eq(Product.class), argThat(Map::isEmpty), eq(pageable))).thenReturn(List.of(row));
+            when(productOrderRepo.findOrderIdLinksByProductIds(List.of(1L)))
+                    .thenReturn(List.of(new IdLink(1L, 101L), new IdLink(1L, 102L)));
+
+            // When
+            final List<Map<String, Object>> result = productService.findAllProducts(pageable, fields);
+
+            // Then
+            assertEquals(List.of(Map.of("orderIds", orderIds)), result);
+        }
+    }
+
     @Nested
     @DisplayName("When finding product by ID")
     class WhenFindingProductById {
@@ -125,7 +172,7 @@ class ProductServiceImplTest {
             // Given
             when(productRepo.findById(anyLong())).thenReturn(Optional.of(testProduct));
             when(productOrderRepo.findProductOrdersByProduct_Id(anyLong())).thenReturn(productOrderList);
-            when(productMapper.toProductDTO(any(Product.class))).thenReturn(testProductDTO);
+            when(productMapper.toProductDTOWithoutOrderIds(any(Product.class))).thenReturn(testProductDTO);
 
             // When
             ProductDTO result = productService.findProductById(1L);
@@ -137,7 +184,7 @@ class ProductServiceImplTest {
             assertEquals(testProductDTO.getSku(), result.getSku());
             verify(productRepo, times(1)).findById(1L);
             verify(productOrderRepo, times(1)).findProductOrdersByProduct_Id(1L);
-            verify(productMapper, times(1)).toProductDTO(testProduct);
+            verify(productMapper, times(1)).toProductDTOWithoutOrderIds(testProduct);
         }
 
         @Test
@@ -189,8 +236,9 @@ class ProductServiceImplTest {
             // Given
             Page<Product> productPage = new PageImpl<>(productList);
             when(productRepo.findAll(any(Pageable.class))).thenReturn(productPage);
-            when(productMapper.toProductDTOList(productList)).thenReturn(productDTOList);
-            when(productOrderRepo.findOrderIdsByProduct_Id(anyLong())).thenReturn(orderIds);
+            when(productMapper.toProductDTOWithoutOrderIds(testProduct)).thenReturn(testProductDTO);
+            when(productOrderRepo.findOrderIdLinksByProductIds(Set.of(1L)))
+                    .thenReturn(List.of(new IdLink(1L, 101L), new IdLink(1L, 102L)));
 
             // When
             List<ProductDTO> result = productService.findAllProducts(pageable);
@@ -202,8 +250,9 @@ class ProductServiceImplTest {
             assertEquals(testProductDTO.getDescription(), result.get(0).getDescription());
             assertEquals(orderIds, result.get(0).getOrderIds());
             verify(productRepo, times(1)).findAll(pageable);
-            verify(productMapper, times(1)).toProductDTOList(productList);
-            verify(productOrderRepo, times(1)).findOrderIdsByProduct_Id(1L);
+            // One query for the order ids of the whole page, never one per product
+            verify(productOrderRepo, times(1)).findOrderIdLinksByProductIds(any());
+            verify(productOrderRepo, never()).findOrderIdsByProduct_Id(anyLong());
         }
     }
 
@@ -219,7 +268,7 @@ class ProductServiceImplTest {
             // Given
             when(productRepo.findById(anyLong())).thenReturn(Optional.of(testProduct));
             when(productOrderRepo.findProductOrdersByProduct_Id(anyLong())).thenReturn(productOrderList);
-            when(productMapper.toProductDTO(any(Product.class))).thenReturn(testProductDTO);
+            when(productMapper.toProductDTOWithoutOrderIds(any(Product.class))).thenReturn(testProductDTO);
 
             // When
             ProductDTO result = productService.findProductById(1L);
@@ -0,0 +1,85 @@
+package com.example.store.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("BatchLoader - {Unit}")
+class BatchLoaderTest {
+    private final List<List<Long>> batches = new ArrayList<>();
+
+    /**
+     * Resolves every id except 404 to its own string form, recording each batch it is asked for.
+     */
+    private BatchLoader<String> loader(final int maxBatchSize) {
+        return new BatchLoader<>(ids -> {
+            batches.add(List.copyOf(ids));
+            return ids.stream().filter(id -> id != 404).map(String::valueOf).toList();
+        }, Long::valueOf, maxBatchSize);
+    }
+
+    @Test
+    @DisplayName("Should load everything enqueued before a dispatch in one batch")
+    void shouldBatchEnqueuedIds() {
+        // Given
+        final BatchLoader<String> loader = loader(10);
+        loader.enqueue(List.of(3L, 1L));
+        loader.enqueue(Arrays.asList(1L, null, 2L));
+
+        // When
+        loader.dispatch();
+
+        // Then
+        assertEquals(List.of(List.of(3L, 1L, 2L)), batches);
+        assertEquals(List.of("1", "2", "3"), loader.get(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    @DisplayName("Should not reload ids already loaded or known to be missing")
+    void shouldMemoizeLoadedIds() {
+        // Given
+        final BatchLoader<String> loader = loader(10);
+        loader.enqueue(List.of(1L, 404L));
+        loader.dispatch();
+
+        // When
+        loader.enqueue(List.of(1L, 404L, 5L));
+        loader.dispatch();
+        loader.dispatch();
+
+        // Then
+        assertEquals(List.of(List.of(1L, 404L), List.of(5L)), batches);
+        assertEquals(List.of("5", "1"), loader.get(List.of(5L, 404L, 1L)));
+    }
+
+    @Test
+    @DisplayName("Should split dispatches larger than the batch size")
+    void shouldSplitLargeDispatches() {
+        // Given
+        final BatchLoader<String> loader = loader(2);
+        loader.enqueue(List.of(1L, 2L, 3L, 4L, 5L));
+
+        // When
+        loader.dispatch();
+
+        // Then
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), batches);
+        assertTrue(loader.get(List.of(6L)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive batch size")
+    void shouldRejectInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchLoader<String>(ids -> List.of(), Long::valueOf, 0));
+    }
+}
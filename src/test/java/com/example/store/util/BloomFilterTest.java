@@ -0,0 +1,69 @@
+package com.example.store.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("BloomFilter - {Unit}")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never return a false negative")
+    void shouldNeverReturnFalseNegative() {
+        // Given
+        final BloomFilter filter = new BloomFilter(10_000, 0.01);
+        final List<UUID> inserted = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            final UUID value = UUID.randomUUID();
+            inserted.add(value);
+            filter.put(value);
+        }
+
+        // Then
+        inserted.forEach(value -> assertTrue(filter.mightContain(value)));
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate close to the configured target")
+    void shouldKeepFalsePositiveRateNearTarget() {
+        // Given
+        final BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID());
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // Then - generous bound, the target is 1%
+        assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should report absent values on an empty filter")
+    void shouldReportAbsentOnEmptyFilter() {
+        assertFalse(new BloomFilter(100, 0.01).mightContain(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing")
+    void shouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+}
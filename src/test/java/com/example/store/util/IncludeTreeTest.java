@@ -0,0 +1,53 @@
+package com.example.store.util;
+
+import com.example.store.exception.InvalidFieldsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("IncludeTree - {Unit}")
+class IncludeTreeTest {
+    private static final List<String> ALLOWED = List.of("orders", "orders.products", "orders.customer");
+
+    @Test
+    @DisplayName("Should fold dotted paths into a tree and ignore blanks and duplicates")
+    void shouldFoldPathsIntoTree() {
+        // When
+        final IncludeTree tree = IncludeTree.parse(" orders.products, ,orders.customer,orders ", ALLOWED);
+
+        // Then
+        assertEquals(Set.of("orders"), tree.children().keySet());
+        final IncludeTree orders = tree.children().get("orders");
+        assertEquals(List.of("products", "customer"), List.copyOf(orders.children().keySet()));
+        assertTrue(orders.children().get("products").isLeaf());
+        assertTrue(orders.children().get("customer").isLeaf());
+    }
+
+    @Test
+    @DisplayName("Should reject paths outside the whitelist")
+    void shouldRejectUnknownPath() {
+        // When
+        final InvalidFieldsException exception = assertThrows(InvalidFieldsException.class,
+                () -> IncludeTree.parse("orders.products.orders", ALLOWED));
+
+        // Then
+        assertEquals("global.400.015", exception.getMessage());
+        assertArrayEquals(new Object[]{"orders.products.orders", "orders, orders.products, orders.customer"},
+                exception.getArgs());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty include")
+    void shouldRejectEmptyInclude() {
+        assertThrows(InvalidFieldsException.class, () -> IncludeTree.parse(" , ", ALLOWED));
+    }
+}
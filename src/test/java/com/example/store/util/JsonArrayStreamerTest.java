@@ -0,0 +1,232 @@
+package com.example.store.util;
+
+import com.example.store.component.StreamProps;
+import com.example.store.component.bulkhead.BulkheadContext;
+import com.example.store.component.deadline.DeadlineContext;
+import com.example.store.component.deadline.RequestDeadline;
+import com.example.store.component.timing.RequestTimings;
+import com.example.store.component.timing.TimingContext;
+import com.example.store.config.CodecConfig;
+import com.example.store.dto.CustomerDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+@DisplayName("JsonArrayStreamer - {Unit}")
+class JsonArrayStreamerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private JsonArrayStreamer jsonArrayStreamer;
+
+    @BeforeEach
+    void setUp() {
+        final StreamProps streamProps = new StreamProps();
+        streamProps.setBufferSize(64);
+        streamProps.setFlushEvery(2);
+        jsonArrayStreamer = new JsonArrayStreamer(objectMapper, new CodecConfig().dtoCodecs(), streamProps);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        BulkheadContext.bind(null);
+        DeadlineContext.bind(null);
+        TimingContext.bind(null);
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON array as the buffered list response")
+    void shouldWriteSameArrayAsBufferedResponse() throws IOException {
+        // Given
+        final List<CustomerDTO> customers = customers(5);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        final ResponseEntity<StreamingResponseBody> response = jsonArrayStreamer.stream(customers::forEach);
+        assertNotNull(response.getBody());
+        response.getBody().writeTo(out);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(customers)), objectMapper.readTree(out.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("Should write a CBOR array with the same content when CBOR is requested")
+    void shouldWriteCborArray() throws IOException {
+        // Given
+        final List<CustomerDTO> customers = customers(5);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        final ResponseEntity<StreamingResponseBody> response = jsonArrayStreamer.stream(MediaType.APPLICATION_CBOR, customers::forEach);
+        assertNotNull(response.getBody());
+        response.getBody().writeTo(out);
+
+        // Then
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(customers)),
+                new ObjectMapper(new CBORFactory()).readTree(out.toByteArray()));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "application/cbor                                  | application/cbor",
+            "application/json, application/cbor                | application/json",
+            "application/json;q=0.5, application/cbor          | application/cbor",
+            "*/*                                               | application/json",
+            "application/cbor;q=0.1, */*                       | application/json",
+            "text/plain, application/cbor;q=0.8                | application/cbor",
+            "not a media type                                  | application/json"
+    })
+    @DisplayName("Should negotiate the format from the request's Accept header")
+    void shouldNegotiateFromAcceptHeader(final String accept, final String expected) {
+        // Given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, accept);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // When
+        final ResponseEntity<StreamingResponseBody> response = jsonArrayStreamer.stream(sink -> { });
+
+        // Then
+        assertEquals(MediaType.parseMediaType(expected), response.getHeaders().getContentType());
+    }
+
+    @Test
+    @DisplayName("Should write an empty array when the source is empty")
+    void shouldWriteEmptyArray() throws IOException {
+        // Given
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        jsonArrayStreamer.stream(sink -> { }).getBody().writeTo(out);
+
+        // Then
+        assertEquals("[]", out.toString());
+    }
+
+    @Test
+    @DisplayName("Should flush every configured number of elements instead of after each one")
+    void shouldFlushInBatches() throws IOException {
+        // Given
+        final List<CustomerDTO> customers = customers(6);
+        final SnapshotOutputStream out = new SnapshotOutputStream();
+
+        // When
+        jsonArrayStreamer.stream(customers::forEach).getBody().writeTo(out);
+
+        // Then - each flush carries exactly the next two elements
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(customers.subList(0, 2))),
+                objectMapper.readTree(out.snapshots.getFirst() + "]"));
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(customers.subList(0, 4))),
+                objectMapper.readTree(out.snapshots.get(1) + "]"));
+    }
+
+    @Test
+    @DisplayName("Should bind the request's bulkhead, deadline and timings around the body written on another thread")
+    void shouldCarryRequestContextsToBody() throws Exception {
+        // Given
+        final RequestDeadline deadline = RequestDeadline.startingNow(TimeUnit.SECONDS.toNanos(10));
+        final RequestTimings timings = new RequestTimings(0);
+        BulkheadContext.bind("bulk");
+        DeadlineContext.bind(deadline);
+        TimingContext.bind(timings);
+        final Object[] seen = new Object[3];
+        final StreamingResponseBody body = jsonArrayStreamer.stream(sink -> {
+            seen[0] = BulkheadContext.current();
+            seen[1] = DeadlineContext.current();
+            seen[2] = TimingContext.current();
+        }).getBody();
+        assertNotNull(body);
+
+        // When
+        final Object[] after = CompletableFuture.supplyAsync(() -> {
+            try {
+                body.writeTo(new ByteArrayOutputStream());
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return new Object[]{BulkheadContext.current(), DeadlineContext.current(), TimingContext.current()};
+        }).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals("bulk", seen[0]);
+        assertSame(deadline, seen[1]);
+        assertSame(timings, seen[2]);
+        assertNull(after[0]);
+        assertNull(after[1]);
+        assertNull(after[2]);
+    }
+
+    @Test
+    @DisplayName("Should surface write failures as IOException")
+    void shouldSurfaceWriteFailures() {
+        // Given
+        final OutputStream broken = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When / Then
+        final IOException exception = assertThrows(IOException.class,
+                () -> jsonArrayStreamer.stream(customers(100)::forEach).getBody().writeTo(broken));
+        assertEquals("Broken pipe", exception.getMessage());
+    }
+
+    private static List<CustomerDTO> customers(final int count) {
+        final List<CustomerDTO> customers = new ArrayList<>();
+        IntStream.rangeClosed(1, count).forEach(i -> {
+            final CustomerDTO customer = new CustomerDTO();
+            customer.setId((long) i);
+            customer.setName("Customer " + i);
+            customer.setOrders(Set.of((long) i));
+            customers.add(customer);
+        });
+        return customers;
+    }
+
+    /**
+     * Records what had reached the underlying stream at each flush.
+     */
+    private static final class SnapshotOutputStream extends ByteArrayOutputStream {
+        private final List<String> snapshots = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            snapshots.add(toString());
+        }
+    }
+}
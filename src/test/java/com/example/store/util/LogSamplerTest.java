@@ -0,0 +1,43 @@
+package com.example.store.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("unit")
+@DisplayName("LogSampler - {Unit}")
+class LogSamplerTest {
+
+    @Test
+    @DisplayName("Should let a few events through per window and report the dropped ones afterwards")
+    void shouldSamplePerWindow() {
+        // Given
+        final AtomicLong clock = new AtomicLong();
+        final LogSampler sampler = new LogSampler(2, 1_000, clock::get);
+
+        // When / Then
+        assertEquals(0, sampler.sample("a"));
+        assertEquals(0, sampler.sample("a"));
+        assertEquals(-1, sampler.sample("a"));
+        assertEquals(-1, sampler.sample("a"));
+        assertEquals(0, sampler.sample("b"));
+
+        clock.set(1_000);
+        assertEquals(2, sampler.sample("a"));
+        assertEquals(0, sampler.sample("a"));
+        assertEquals(-1, sampler.sample("a"));
+    }
+
+    @Test
+    @DisplayName("Should reject a sampler that lets nothing through")
+    void shouldRejectEmptyWindow() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new LogSampler(0, Duration.ofSeconds(1)));
+    }
+}
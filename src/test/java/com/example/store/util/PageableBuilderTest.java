@@ -1,6 +1,7 @@
 package com.example.store.util;
 
 import com.example.store.dto.SortEnumDTO;
+import com.example.store.exception.PageSizeExceededException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -10,10 +11,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.util.List;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Tag("unit")
 @DisplayName("PageableBuilder - {Unit}")
@@ -119,6 +124,39 @@ class PageableBuilderTest {
         assertEquals(expectedDirection, pageable.getSort().getOrderFor(expectedSortBy).getDirection());
     }
 
+    @Test
+    @DisplayName("Should accept page sizes up to the maximum and the default size")
+    void shouldAcceptPageSizesUpToMaximum() {
+        assertDoesNotThrow(() -> pageableBuilder.checkMaxSize(100, 100));
+        assertDoesNotThrow(() -> pageableBuilder.checkMaxSize(null, 100));
+    }
+
+    @Test
+    @DisplayName("Should reject page sizes above the maximum")
+    void shouldRejectPageSizesAboveMaximum() {
+        // When
+        PageSizeExceededException exception = assertThrows(PageSizeExceededException.class,
+                () -> pageableBuilder.checkMaxSize(101, 100));
+
+        // Then
+        assertEquals("global.400.012", exception.getMessage());
+        assertEquals(100, exception.getArgs()[0]);
+    }
+
+    @Test
+    @DisplayName("Should reject multi-gets for more ids than the maximum")
+    void shouldRejectTooManyIds() {
+        // Given
+        final List<Long> ids = LongStream.rangeClosed(1, 3).boxed().toList();
+
+        // When / Then
+        assertDoesNotThrow(() -> pageableBuilder.checkMaxIds(ids, 3));
+        PageSizeExceededException exception = assertThrows(PageSizeExceededException.class,
+                () -> pageableBuilder.checkMaxIds(ids, 2));
+        assertEquals("global.400.014", exception.getMessage());
+        assertEquals(2, exception.getArgs()[0]);
+    }
+
     private static Stream<Arguments> provideNullAndNonNullParameters() {
         return Stream.of(
                 // page, size, sortBy, sortDir, expectedPage, expectedSize, expectedSortBy, expectedDirection
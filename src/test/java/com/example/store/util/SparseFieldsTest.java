@@ -0,0 +1,50 @@
+package com.example.store.util;
+
+import com.example.store.exception.InvalidFieldsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("SparseFields - {Unit}")
+class SparseFieldsTest {
+    private static final List<String> ALLOWED = List.of("id", "description", "productIds", "created");
+
+    @Test
+    @DisplayName("Should keep the whitelist order and ignore blanks and duplicates")
+    void shouldParseInWhitelistOrder() {
+        // When
+        final SparseFields fields = SparseFields.parse(" productIds, ,id,productIds ", ALLOWED);
+
+        // Then
+        assertEquals(List.of("id", "productIds"), List.copyOf(fields.names()));
+        assertTrue(fields.includes("id"));
+        assertFalse(fields.includes("description"));
+    }
+
+    @Test
+    @DisplayName("Should reject fields outside the whitelist")
+    void shouldRejectUnknownField() {
+        // When
+        final InvalidFieldsException exception = assertThrows(InvalidFieldsException.class,
+                () -> SparseFields.parse("id,password", ALLOWED));
+
+        // Then
+        assertEquals("global.400.013", exception.getMessage());
+        assertArrayEquals(new Object[]{"password", "id, description, productIds, created"}, exception.getArgs());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty selection")
+    void shouldRejectEmptySelection() {
+        assertThrows(InvalidFieldsException.class, () -> SparseFields.parse(" , ", ALLOWED));
+    }
+}
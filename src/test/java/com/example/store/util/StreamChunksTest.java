@@ -0,0 +1,52 @@
+package com.example.store.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("unit")
+@DisplayName("StreamChunks - {Unit}")
+class StreamChunksTest {
+
+    @Test
+    @DisplayName("Should hand the stream over in order, in full chunks and a smaller last one")
+    void shouldChunkInOrder() {
+        // Given
+        final List<List<Integer>> chunks = new ArrayList<>();
+
+        // When
+        StreamChunks.forEachChunk(IntStream.rangeClosed(1, 7).boxed(), 3, chunks::add);
+
+        // Then
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7)), chunks);
+    }
+
+    @Test
+    @DisplayName("Should not call the action for an empty stream")
+    void shouldSkipEmptyStream() {
+        // Given
+        final List<List<Object>> chunks = new ArrayList<>();
+
+        // When
+        StreamChunks.forEachChunk(Stream.empty(), 3, chunks::add);
+
+        // Then
+        assertTrue(chunks.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive chunk size")
+    void shouldRejectNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> StreamChunks.forEachChunk(Stream.of(1), 0, chunk -> { }));
+    }
+}